@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@code GraphIndexBenchmark} benchmarks index lookups on a {@link TinkerGraph} while other threads update the
+ * indexed properties.  The readers and writers of a group share a single graph so that lookups are measured under
+ * contention on the same index buckets the writers are moving vertices between.
+ *
+ * @author agent
+ */
+@State(Scope.Group)
+public class GraphIndexBenchmark extends AbstractBenchmarkBase {
+
+    private static final int VERTEX_COUNT = 10000;
+    private static final int STATUS_COUNT = 100;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+    private List<Vertex> vertices;
+
+    @Setup
+    public void prepare() {
+        graph = TinkerGraph.open();
+        graph.createIndex("status", Vertex.class);
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        g = graph.traversal();
+        vertices = new ArrayList<>(VERTEX_COUNT);
+        for (int i = 0; i < VERTEX_COUNT; i++) {
+            vertices.add(graph.addVertex("status", "s" + (i % STATUS_COUNT), "age", i % 100));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(4)
+    public long testReadOnlyLookup() {
+        return g.V().has("status", randomStatus()).count().next();
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(4)
+    public long testReadOnlyRange() {
+        final int age = ThreadLocalRandom.current().nextInt(100);
+        return g.V().has("age", P.between(age, age + 5)).count().next();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public long testReadWriteLookup() {
+        return g.V().has("status", randomStatus()).count().next();
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public VertexProperty testReadWriteUpdate() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Vertex vertex = vertices.get(random.nextInt(VERTEX_COUNT));
+        vertex.property("age", random.nextInt(100));
+        return vertex.property("status", randomStatus());
+    }
+
+    private static String randomStatus() {
+        return "s" + ThreadLocalRandom.current().nextInt(STATUS_COUNT);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer;
+
+/**
+ * The statistics of a single phase of a {@link GraphComputer} computation as reported to a
+ * {@link GraphComputerListener}. A phase is an iteration of the {@link VertexProgram} or a stage of a
+ * {@link MapReduce} job.
+ *
+ * @author agent
+ */
+public final class ComputerProgress {
+
+    private final int iteration;
+    private final long processed;
+    private final long messagesSent;
+    private final long time;
+    private final long usedMemory;
+
+    public ComputerProgress(final int iteration, final long processed, final long messagesSent, final long time, final long usedMemory) {
+        this.iteration = iteration;
+        this.processed = processed;
+        this.messagesSent = messagesSent;
+        this.time = time;
+        this.usedMemory = usedMemory;
+    }
+
+    /**
+     * Gets the iteration of the {@link VertexProgram} that the phase belongs to. For a {@link MapReduce} stage this
+     * is the number of iterations the vertex program ran.
+     */
+    public int getIteration() {
+        return this.iteration;
+    }
+
+    /**
+     * Gets the number of vertices processed in the phase, or the number of keys for the reduce stage of a
+     * {@link MapReduce} job.
+     */
+    public long getProcessed() {
+        return this.processed;
+    }
+
+    /**
+     * Gets the number of vertices or keys processed per second during the phase.
+     */
+    public double getProcessedPerSecond() {
+        return this.processed * 1000.0d / Math.max(1l, this.time);
+    }
+
+    /**
+     * Gets the number of messages sent by the {@link VertexProgram} in the phase which is always zero for a
+     * {@link MapReduce} stage.
+     */
+    public long getMessagesSent() {
+        return this.messagesSent;
+    }
+
+    /**
+     * Gets the time the phase took in milliseconds.
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     * Gets the number of bytes of heap in use when the phase completed.
+     */
+    public long getUsedMemory() {
+        return this.usedMemory;
+    }
+
+    @Override
+    public String toString() {
+        return "progress[iteration:" + this.iteration + ", processed:" + this.processed + ", messagesSent:" +
+                this.messagesSent + ", time:" + this.time + "ms, usedMemory:" + this.usedMemory + "]";
+    }
+}
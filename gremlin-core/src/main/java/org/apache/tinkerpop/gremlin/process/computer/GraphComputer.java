@@ -145,6 +145,18 @@ public interface GraphComputer {
         return this;
     }
 
+    /**
+     * Add a {@link GraphComputerListener} that is notified as each iteration of the {@link VertexProgram} and each
+     * stage of the {@link MapReduce} jobs completes.
+     * The default implementation does not report progress and simply returns the {@link GraphComputer} unchanged.
+     *
+     * @param listener the listener to notify of the progress of the computation
+     * @return the updated GraphComputer with the newly added listener
+     */
+    public default GraphComputer listener(final GraphComputerListener listener) {
+        return this;
+    }
+
     /**
      * Submit the {@link VertexProgram} and the set of {@link MapReduce} jobs for execution by the {@link GraphComputer}.
      *
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer;
+
+/**
+ * A GraphComputerListener is notified of the progress of a {@link GraphComputer} computation. It is registered with
+ * {@link GraphComputer#listener(GraphComputerListener)} and is called by the thread coordinating the computation, so
+ * an implementation should return quickly. An exception thrown by a listener aborts the computation, which makes the
+ * listener a place to cancel a job that is running too long or too slowly.
+ *
+ * @author agent
+ */
+public interface GraphComputerListener {
+
+    /**
+     * Called after each iteration of the {@link VertexProgram} has completed.
+     *
+     * @param progress the statistics of the completed iteration
+     */
+    public default void iterationCompleted(final ComputerProgress progress) {
+    }
+
+    /**
+     * Called after the map or reduce stage of a {@link MapReduce} job has completed.
+     *
+     * @param mapReduce the job whose stage has completed
+     * @param stage     the stage that has completed
+     * @param progress  the statistics of the completed stage
+     */
+    public default void mapReduceStageCompleted(final MapReduce mapReduce, final MapReduce.Stage stage, final ComputerProgress progress) {
+    }
+}
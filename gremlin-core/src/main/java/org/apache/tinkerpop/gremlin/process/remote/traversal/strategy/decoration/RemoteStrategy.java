@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.remote.RemoteConnection;
 import org.apache.tinkerpop.gremlin.process.remote.RemoteGraph;
 import org.apache.tinkerpop.gremlin.process.remote.traversal.step.map.RemoteStep;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
@@ -32,10 +33,12 @@ import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decorati
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.VerificationException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInstructions;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -67,9 +70,14 @@ public final class RemoteStrategy extends AbstractTraversalStrategy<TraversalStr
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        // ensure that ids are not elements so they are serializable
+        // ensure that ids are not elements so they are serializable - this is done before the instructions are
+        // encoded as they share the id arrays with the steps
         TraversalHelper.getStepsOfAssignableClass(GraphStep.class, traversal).forEach(GraphStep::convertElementsToIds);
 
+        // the instructions are checked against the traversal before anything below modifies it
+        final TraversalInstructions instructions = traversal.getParent() instanceof EmptyStep && isReplayable(traversal) ?
+                traversal.getInstructions().get() : null;
+
         if (!(traversal.getParent() instanceof EmptyStep))
             return;
 
@@ -86,6 +94,7 @@ public final class RemoteStrategy extends AbstractTraversalStrategy<TraversalStr
 
         final Traversal.Admin<?, ?> remoteTraversal = new DefaultTraversal<>();
         TraversalHelper.removeToTraversal(traversal.getStartStep(), EmptyStep.instance(), (Traversal.Admin) remoteTraversal);
+        remoteTraversal.setInstructions(instructions);
         final RemoteStep<?, ?> remoteStep = new RemoteStep<>(traversal, remoteTraversal, remoteGraph.getConnection());
         traversal.addStep(remoteStep);
 
@@ -93,4 +102,17 @@ public final class RemoteStrategy extends AbstractTraversalStrategy<TraversalStr
         assert traversal.getSteps().size() == 1;
         assert traversal.getEndStep() == remoteStep;
     }
+
+    /**
+     * A traversal can be submitted as its {@link TraversalInstructions} if replaying them on a default traversal
+     * source of the remote graph yields the same traversal. That is not the case when the traversal source was
+     * configured with strategies, side-effects or a sack as only the spawning call of the source is recorded.
+     */
+    private static boolean isReplayable(final Traversal.Admin<?, ?> traversal) {
+        final Optional<TraversalInstructions> instructions = traversal.getInstructions();
+        return instructions.isPresent() && instructions.get().getSource().isPresent() &&
+                traversal.getSideEffects().keys().isEmpty() && null == traversal.getSideEffects().getSackInitialValue() &&
+                traversal.getStrategies().toList().equals(TraversalStrategies.GlobalCache.getStrategies(RemoteGraph.class).toList()) &&
+                instructions.get().isReplayOf(traversal);
+    }
 }
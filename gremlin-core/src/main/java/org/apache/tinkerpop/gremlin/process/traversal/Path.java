@@ -18,12 +18,14 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.javatuples.Pair;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -65,6 +67,24 @@ public interface Path extends Cloneable, Iterable<Object> {
      */
     public Path extend(final Set<String> labels);
 
+    /**
+     * Remove labels from the path. An object whose labels were all removed is removed from the path as well, while
+     * objects that never had a label are kept.
+     *
+     * @param labels the labels to remove
+     * @return the path without the labels
+     */
+    public default Path retract(final Set<String> labels) {
+        final Path path = MutablePath.make();
+        this.forEach((object, objectLabels) -> {
+            final Set<String> retainedLabels = new LinkedHashSet<>(objectLabels);
+            retainedLabels.removeAll(labels);
+            if (objectLabels.isEmpty() || !retainedLabels.isEmpty())
+                path.extend(object, retainedLabels);
+        });
+        return path;
+    }
+
     /**
      * Get the object associated with the particular label of the path.
      * If the path as multiple labels of the type, then return a {@link List} of those objects.
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInstructions;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 
@@ -430,6 +431,25 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable, Cloneable {
 
         public void setGraph(final Graph graph);
 
+        /**
+         * Get the {@link TraversalInstructions} that the traversal was built from. Traversals that do not record
+         * their instructions return an empty {@link Optional}.
+         *
+         * @return the recorded instructions of the traversal
+         */
+        public default Optional<TraversalInstructions> getInstructions() {
+            return Optional.empty();
+        }
+
+        /**
+         * Set the {@link TraversalInstructions} of the traversal. Traversals that do not record their instructions
+         * ignore them.
+         *
+         * @param instructions the instructions of the traversal
+         */
+        public default void setInstructions(final TraversalInstructions instructions) {
+        }
+
         public default boolean equals(final Traversal.Admin<S, E> other) {
             final List<Step> steps = this.getSteps();
             final List<Step> otherSteps = other.getSteps();
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal;
 
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 
 import java.io.Serializable;
@@ -181,8 +182,29 @@ public interface Traverser<T> extends Serializable, Comparable<Traverser<T>>, Cl
          */
         public Admin<T> split();
 
+        /**
+         * Signal that the traverser is no longer referenced by the traversal (e.g. it was filtered or a child has been
+         * split from it), so that it may be reused by a later {@link #split()}. Only traversers that were generated
+         * for a traversal that requires {@link TraverserRequirement#RECYCLE} are reused, otherwise this does nothing.
+         * The traverser must not be used once it has been recycled.
+         */
+        public default void recycle() {
+
+        }
+
         public void addLabels(final Set<String> labels);
 
+        /**
+         * Drop the labels of the path of the traverser that are not in the provided set as no later step will read
+         * them. Objects of the path that are left without a label are dropped with them. Traversers whose path is not
+         * limited to labeled objects ignore this.
+         *
+         * @param labels the labels to keep
+         */
+        public default void keepLabels(final Set<String> labels) {
+
+        }
+
         /**
          * Set the current object location of the traverser.
          *
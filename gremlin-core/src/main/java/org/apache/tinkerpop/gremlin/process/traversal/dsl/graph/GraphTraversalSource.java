@@ -28,8 +28,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.engine.ComputerTraversalEn
 import org.apache.tinkerpop.gremlin.process.traversal.engine.StandardTraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.AddVertexStartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.RequirementsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInstructions;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
@@ -194,6 +198,36 @@ public class GraphTraversalSource implements TraversalSource {
         return clone;
     }
 
+    /**
+     * Caches the strategized form of up to the given number of traversal shapes, so that spawned traversals that
+     * only differ in their start ids or {@code has()} values skip strategy application. See
+     * {@link TraversalPlanCache} for the traversals that are cached.
+     */
+    public GraphTraversalSource withPlanCache(final int maxSize) {
+        final GraphTraversalSource clone = this.clone();
+        clone.strategies.setPlanCache(new TraversalPlanCache(maxSize));
+        return clone;
+    }
+
+    /**
+     * Reuses the traversers that spawned traversals discard, rather than allocating a new traverser for every step
+     * a traverser takes. Recycling is only done for traversers that do not hold a path and only by the thread that
+     * iterates the traversal. Lambdas in the traversal must not hold on to the traversers they are given.
+     */
+    public GraphTraversalSource withRecycling() {
+        final GraphTraversalSource clone = this.clone();
+        RequirementsStrategy.addRequirements(clone.strategies, TraverserRequirement.RECYCLE);
+        return clone;
+    }
+
+    /**
+     * Executes spawned traversals over the given number of threads up to their first barrier. See
+     * {@link ParallelStrategy} for the traversals that qualify.
+     */
+    public GraphTraversalSource withParallelism(final int parallelism) {
+        return this.withStrategies(new ParallelStrategy(parallelism));
+    }
+
     //// SPAWNS
 
     /**
@@ -202,6 +236,7 @@ public class GraphTraversalSource implements TraversalSource {
     @Deprecated
     public GraphTraversal<Vertex, Vertex> addV(final Object... keyValues) {
         final GraphTraversal.Admin<Vertex, Vertex> traversal = this.generateTraversal();
+        TraversalInstructions.recordSource(traversal, "addV", (Object) keyValues);
         traversal.addStep(new AddVertexStartStep(traversal, null));
         ((AddVertexStartStep) traversal.getEndStep()).addPropertyMutations(keyValues);
         return traversal;
@@ -209,25 +244,31 @@ public class GraphTraversalSource implements TraversalSource {
 
     public GraphTraversal<Vertex, Vertex> addV(final String label) {
         final GraphTraversal.Admin<Vertex, Vertex> traversal = this.generateTraversal();
+        TraversalInstructions.recordSource(traversal, "addV", label);
         return traversal.addStep(new AddVertexStartStep(traversal, label));
     }
 
     public GraphTraversal<Vertex, Vertex> addV() {
         final GraphTraversal.Admin<Vertex, Vertex> traversal = this.generateTraversal();
+        TraversalInstructions.recordSource(traversal, "addV");
         return traversal.addStep(new AddVertexStartStep(traversal, null));
     }
 
     public <S> GraphTraversal<S, S> inject(S... starts) {
-        return (GraphTraversal<S, S>) this.generateTraversal().inject(starts);
+        final GraphTraversal.Admin<S, S> traversal = this.generateTraversal();
+        TraversalInstructions.recordSource(traversal, "inject", (Object) starts);
+        return traversal.addStep(new InjectStep<>(traversal, starts));
     }
 
     public GraphTraversal<Vertex, Vertex> V(final Object... vertexIds) {
         final GraphTraversal.Admin<Vertex, Vertex> traversal = this.generateTraversal();
+        TraversalInstructions.recordSource(traversal, "V", (Object) vertexIds);
         return traversal.addStep(new GraphStep<>(traversal, Vertex.class, true, vertexIds));
     }
 
     public GraphTraversal<Edge, Edge> E(final Object... edgesIds) {
         final GraphTraversal.Admin<Edge, Edge> traversal = this.generateTraversal();
+        TraversalInstructions.recordSource(traversal, "E", (Object) edgesIds);
         return traversal.addStep(new GraphStep<>(traversal, Edge.class, true, edgesIds));
     }
 
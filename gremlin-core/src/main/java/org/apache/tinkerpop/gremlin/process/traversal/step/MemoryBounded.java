@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A step that holds a {@link Map} or {@link Collection} in memory which grows with the number of traversers that
+ * pass through it. The number of entries can be bounded with {@link #setMaxSize(int)}, and the step fails fast once
+ * the bound is exceeded instead of exhausting the heap.
+ *
+ * @author agent
+ */
+public interface MemoryBounded {
+
+    /**
+     * @param maxSize the maximum number of entries the step may hold in memory
+     */
+    public void setMaxSize(final int maxSize);
+
+    public int getMaxSize();
+
+    /**
+     * Throws an {@link IllegalStateException} if the object is a {@link Map} or {@link Collection} with more
+     * entries than {@link #getMaxSize()}. A {@link BulkSet} is measured by its number of unique objects.
+     */
+    public default void validateSize(final Object object) throws IllegalStateException {
+        final int size;
+        if (object instanceof BulkSet)
+            size = ((BulkSet) object).uniqueSize();
+        else if (object instanceof Map)
+            size = ((Map) object).size();
+        else if (object instanceof Collection)
+            size = ((Collection) object).size();
+        else
+            return;
+        if (size > this.getMaxSize())
+            throw Exceptions.maxSizeExceeded(this, this.getMaxSize());
+    }
+
+    public static class Exceptions {
+
+        private Exceptions() {
+        }
+
+        public static IllegalStateException maxSizeExceeded(final MemoryBounded step, final int maxSize) {
+            return new IllegalStateException("The step holds more than the maximum of " + maxSize + " entries in memory: " + step);
+        }
+    }
+}
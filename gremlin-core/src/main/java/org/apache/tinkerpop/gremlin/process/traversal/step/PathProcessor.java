@@ -19,11 +19,14 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.ElementValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.structure.T;
 
+import java.util.Set;
+
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -56,4 +59,18 @@ public interface PathProcessor {
         }
         return max;
     }
+
+    /**
+     * Sets the labels that the steps after this step read from the path, so the other labels can be dropped from the
+     * path of the traversers this step emits. If {@code null}, the path is left as it is.
+     */
+    public void setKeepLabels(final Set<String> keepLabels);
+
+    public Set<String> getKeepLabels();
+
+    public static <S> Traverser.Admin<S> processTraverserPathLabels(final Traverser.Admin<S> traverser, final Set<String> keepLabels) {
+        if (null != keepLabels)
+            traverser.keepLabels(keepLabels);
+        return traverser;
+    }
 }
@@ -29,13 +29,19 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BloomFilter;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillingSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MemoryBoundStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -48,15 +54,33 @@ import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
+ * By default the objects that were seen are held in a {@code HashSet}. With {@link #setSpilling(int, File, GryoMapper)}
+ * they are held in a {@link SpillingSet} that writes them to disk beyond a maximum number of objects, and with
+ * {@link #setApproximate(long, double)} only a {@link BloomFilter} of them is kept, which filters a traverser whose
+ * object was not seen before with the false positive probability of the filter. The run files of a spilling set are
+ * deleted when the step is reset and when the step of a root traversal has no more starts. The spilling set is also
+ * added to the {@link MemoryBoundStrategy#SPILLING_SETS} side-effect, if the traversal has one, so that the run files
+ * of a traversal that is not iterated to its end can be deleted with {@link MemoryBoundStrategy#release(Traversal.Admin)}.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
+    private BloomFilter<Object> duplicateFilter = null;
     private boolean onGraphComputer = false;
     private final Set<String> dedupLabels;
 
+    private int spillMaxSize = 0;
+    private File spillDirectory = null;
+    private transient GryoMapper spillMapper = null;
+    private boolean registered = false;
+    private long expectedInsertions = 0L;
+    private double falsePositiveProbability = 0.0d;
+
+    private Set<String> keepLabels;
+
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
         this.dedupLabels = dedupLabels.length == 0 ? null : Collections.unmodifiableSet(new HashSet<>(Arrays.asList(dedupLabels)));
@@ -67,14 +91,48 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         if (this.onGraphComputer) return true;
         traverser.setBulk(1);
         if (null == this.dedupLabels) {
-            return this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
+            return this.addDuplicate(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             this.dedupLabels.forEach(label -> objects.add(TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, label, traverser), this.dedupTraversal)));
-            return this.duplicateSet.add(objects);
+            return this.addDuplicate(objects);
         }
     }
 
+    private boolean addDuplicate(final Object object) {
+        return null == this.duplicateFilter ? this.duplicateSet.add(object) : this.duplicateFilter.add(object);
+    }
+
+    /**
+     * Holds at most {@code maxSize} objects in memory and writes the objects beyond that to run files in the
+     * directory.
+     */
+    public void setSpilling(final int maxSize, final File directory, final GryoMapper mapper) {
+        this.spillMaxSize = maxSize;
+        this.spillDirectory = directory;
+        this.spillMapper = mapper;
+        this.expectedInsertions = 0L;
+        this.duplicateSet = this.createDuplicateSet();
+        this.duplicateFilter = null;
+    }
+
+    /**
+     * Only keeps a {@link BloomFilter} of the objects that were seen.
+     */
+    public void setApproximate(final long expectedInsertions, final double falsePositiveProbability) {
+        this.spillMaxSize = 0;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.duplicateFilter = new BloomFilter<>(expectedInsertions, falsePositiveProbability);
+        this.duplicateSet = new HashSet<>();
+    }
+
+    private Set<Object> createDuplicateSet() {
+        return 0 == this.spillMaxSize ?
+                new HashSet<>() :
+                new SpillingSet<>(this.spillMaxSize, this.spillDirectory, this.spillMapper);
+    }
+
     @Override
     public ElementRequirement getMaxRequirement() {
         return null == this.dedupLabels ? ElementRequirement.ID : PathProcessor.super.getMaxRequirement();
@@ -90,10 +148,42 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         this.dedupTraversal = this.integrateChild(dedupTraversal);
     }
 
+    @Override
+    protected Traverser.Admin<S> processNextStart() {
+        if (!this.registered) {
+            this.registered = true;
+            if (this.duplicateSet instanceof SpillingSet && this.traversal.getSideEffects().exists(MemoryBoundStrategy.SPILLING_SETS))
+                this.traversal.getSideEffects().add(MemoryBoundStrategy.SPILLING_SETS, Collections.singletonList(this.duplicateSet));
+        }
+        final Traverser.Admin<S> traverser;
+        try {
+            traverser = super.processNextStart();
+        } catch (final NoSuchElementException e) {
+            // no more starts reach the step of a root traversal, which a following reducing barrier may not iterate to its end
+            if (this.traversal.getParent() instanceof EmptyStep && this.duplicateSet instanceof SpillingSet)
+                ((SpillingSet) this.duplicateSet).close();
+            throw e;
+        }
+        return PathProcessor.processTraverserPathLabels(traverser, this.keepLabels);
+    }
+
+    @Override
+    public void setKeepLabels(final Set<String> keepLabels) {
+        this.keepLabels = keepLabels;
+    }
+
+    @Override
+    public Set<String> getKeepLabels() {
+        return this.keepLabels;
+    }
+
     @Override
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
-        clone.duplicateSet = new HashSet<>();
+        clone.duplicateSet = this.createDuplicateSet();
+        clone.registered = false;
+        if (null != this.duplicateFilter)
+            clone.duplicateFilter = new BloomFilter<>(this.expectedInsertions, this.falsePositiveProbability);
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -119,6 +209,8 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public void reset() {
         super.reset();
         this.duplicateSet.clear();
+        if (null != this.duplicateFilter)
+            this.duplicateFilter.clear();
     }
 
     @Override
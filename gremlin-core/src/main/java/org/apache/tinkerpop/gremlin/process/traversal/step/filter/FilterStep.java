@@ -37,6 +37,7 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
             final Traverser.Admin<S> traverser = this.starts.next();
             if (this.filter(traverser))
                 return traverser;
+            traverser.recycle();
         }
     }
 
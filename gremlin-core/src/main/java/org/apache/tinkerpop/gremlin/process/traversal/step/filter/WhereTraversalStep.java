@@ -47,6 +47,8 @@ public final class WhereTraversalStep<S> extends FilterStep<S> implements Traver
     protected Traversal.Admin<?, ?> whereTraversal;
     protected final Set<String> scopeKeys = new HashSet<>();
 
+    private Set<String> keepLabels;
+
     public WhereTraversalStep(final Traversal.Admin traversal, final Traversal<?, ?> whereTraversal) {
         super(traversal);
         this.whereTraversal = whereTraversal.asAdmin();
@@ -109,6 +111,21 @@ public final class WhereTraversalStep<S> extends FilterStep<S> implements Traver
         return Collections.unmodifiableSet(this.scopeKeys);
     }
 
+    @Override
+    protected Traverser.Admin<S> processNextStart() {
+        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+    }
+
+    @Override
+    public void setKeepLabels(final Set<String> keepLabels) {
+        this.keepLabels = keepLabels;
+    }
+
+    @Override
+    public Set<String> getKeepLabels() {
+        return this.keepLabels;
+    }
+
     @Override
     public WhereTraversalStep<S> clone() {
         final WhereTraversalStep<S> clone = (WhereTraversalStep<S>) super.clone();
@@ -43,6 +43,8 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
             if (this.iterator.hasNext()) {
                 return this.head.split(this.iterator.next(), this);
             } else {
+                if (null != this.head) this.head.recycle();
+                this.head = null; // so an exhausted start step does not leave a recycled head behind
                 this.head = this.starts.next();
                 this.iterator = this.flatMap(this.head);
             }
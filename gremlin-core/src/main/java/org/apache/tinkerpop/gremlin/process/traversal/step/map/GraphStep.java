@@ -50,6 +50,7 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
     protected final Class<E> returnClass;
     protected Object[] ids;
     protected transient Supplier<Iterator<E>> iteratorSupplier;
+    private transient boolean defaultIteratorSupplier;
     protected boolean isStart;
     protected boolean done = false;
     private Traverser.Admin<S> head = null;
@@ -61,9 +62,14 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         this.returnClass = returnClass;
         this.ids = (ids.length == 1 && ids[0] instanceof Collection) ? ((Collection) ids[0]).toArray(new Object[((Collection) ids[0]).size()]) : ids;
         this.isStart = isStart;
+        this.setDefaultIteratorSupplier();
+    }
+
+    private void setDefaultIteratorSupplier() {
         this.iteratorSupplier = () -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
                 this.getTraversal().getGraph().get().vertices(this.ids) :
                 this.getTraversal().getGraph().get().edges(this.ids));
+        this.defaultIteratorSupplier = true;
     }
 
     public String toString() {
@@ -90,8 +96,13 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         return this.returnClass.equals(Edge.class);
     }
 
+    /**
+     * Sets the supplier of the elements of the step. A supplier that reads the state of the step is bound to that
+     * step instance, so a subclass that sets one must override {@link #clone()} to set a new supplier on the clone.
+     */
     public void setIteratorSupplier(final Supplier<Iterator<E>> iteratorSupplier) {
         this.iteratorSupplier = iteratorSupplier;
+        this.defaultIteratorSupplier = false;
     }
 
     public Object[] getIds() {
@@ -112,6 +123,7 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
     @Override
     public void onGraphComputer() {
         this.iteratorSupplier = Collections::emptyIterator;
+        this.defaultIteratorSupplier = false;
         convertElementsToIds();
     }
 
@@ -151,6 +163,14 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         this.iterator = EmptyIterator.instance();
     }
 
+    @Override
+    public GraphStep<S, E> clone() {
+        final GraphStep<S, E> clone = (GraphStep<S, E>) super.clone();
+        if (this.defaultIteratorSupplier)
+            clone.setDefaultIteratorSupplier();
+        return clone;
+    }
+
 
     @Override
     public int hashCode() {
@@ -92,11 +92,13 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         if (null == this.preTraversal) {
             map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) traverser);
         } else {
+            // the key is computed first as the pre-traversal may recycle the traverser
+            final K key = TraversalUtil.applyNullable(traverser, this.keyTraversal);
             final TraverserSet traverserSet = new TraverserSet<>();
             this.preTraversal.reset();
             this.preTraversal.addStart(traverser);
             this.preTraversal.getEndStep().forEachRemaining(traverserSet::add);
-            map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) traverserSet);
+            map.put(key, (V) traverserSet);
         }
         return map;
     }
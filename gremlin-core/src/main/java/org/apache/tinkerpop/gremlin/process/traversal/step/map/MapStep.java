@@ -34,7 +34,11 @@ public abstract class MapStep<S, E> extends AbstractStep<S, E> {
     @Override
     protected Traverser.Admin<E> processNextStart() {
         final Traverser.Admin<S> traverser = this.starts.next();
-        return traverser.split(this.map(traverser), this);
+        final E end = this.map(traverser);
+        final Traverser.Admin<E> split = traverser.split(end, this);
+        if (end != traverser)
+            traverser.recycle();
+        return split;
     }
 
     protected abstract E map(final Traverser.Admin<S> traverser);
@@ -19,7 +19,9 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.*;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.*;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
@@ -60,6 +62,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
 
     private Set<List<Object>> dedups = null;
     private Set<String> dedupLabels = null;
+    private Deque<Traverser.Admin<Object>> joinedTraversers = new ArrayDeque<>();
 
     public MatchStep(final Traversal.Admin traversal, final ConnectiveStep.Connective connective, final Traversal... matchTraversals) {
         super(traversal);
@@ -180,6 +183,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     public void reset() {
         super.reset();
         this.first = true;
+        this.joinedTraversers.clear();
     }
 
     public void setMatchAlgorithm(final Class<? extends MatchAlgorithm> matchAlgorithmClass) {
@@ -200,6 +204,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             clone.matchTraversals.add(traversal.clone());
         }
         if (this.dedups != null) clone.dedups = new HashSet<>();
+        clone.joinedTraversers = new ArrayDeque<>();
         return clone;
     }
 
@@ -297,6 +302,8 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             if (this.first) {
                 this.first = false;
                 this.initializeMatchAlgorithm(TraversalEngine.Type.STANDARD);
+            } else if (!this.joinedTraversers.isEmpty()) {
+                traverser = this.joinedTraversers.poll();
             } else {
                 for (final Traversal.Admin<?, ?> matchTraversal : this.matchTraversals) {
                     if (matchTraversal.hasNext()) {
@@ -317,6 +324,11 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                     return IteratorUtils.of(traverser.split(this.getBindings(traverser), this));
 
                 if (this.connective == ConnectiveStep.Connective.AND) {
+                    final Iterator<Traverser.Admin<Object>> joined = this.getMatchAlgorithm().join(traverser);
+                    if (null != joined) {
+                        joined.forEachRemaining(this.joinedTraversers::add); // several sub-patterns were evaluated at once
+                        continue;
+                    }
                     final Traversal.Admin<Object, Object> matchTraversal = this.getMatchAlgorithm().apply(traverser);
                     traverser.getTags().add(matchTraversal.getStartStep().getId());
                     matchTraversal.addStart(traverser); // determine which sub-pattern the traverser should try next
@@ -575,6 +587,15 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         public default void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
 
         }
+
+        /**
+         * Evaluates several of the sub-patterns the traverser has not executed at once. The returned traversers are
+         * processed as if they had exited those sub-patterns. If {@code null} is returned, the traverser is sent to
+         * the sub-pattern chosen by {@link #apply(Object)} instead. This is only called for OLTP traversals.
+         */
+        public default Iterator<Traverser.Admin<Object>> join(final Traverser.Admin<Object> traverser) {
+            return null;
+        }
     }
 
     public static class GreedyMatchAlgorithm implements MatchAlgorithm {
@@ -678,4 +699,122 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
     }
+
+    /**
+     * A {@link CountMatchAlgorithm} that evaluates sub-patterns variable-at-a-time in the manner of a generic join
+     * (a worst-case optimal join). When two or more sub-patterns that the traverser has not executed bind the same
+     * unbound variable from variables the traverser has already bound, the objects each of them reaches are
+     * computed once and intersected, instead of expanding one sub-pattern and re-running the others for every object
+     * it reaches. For a triangle {@code a->b, b->c, a->c} with {@code a} and {@code b} bound, this is proportional to
+     * the degrees of {@code a} and {@code b} rather than their product. The sub-pattern with the lowest observed
+     * multiplicity drives the intersection and its traversers carry the result, with their bulk multiplied by the
+     * number of ways the other sub-patterns reach the same object.
+     * <p/>
+     * Only sub-patterns with no labels between their start and end and without side-effects or mutations are joined.
+     * All other sub-patterns, and all sub-patterns on {@code GraphComputer}, are processed as by
+     * {@link CountMatchAlgorithm}.
+     */
+    public static class GenericJoinMatchAlgorithm extends CountMatchAlgorithm {
+
+        private Map<Traversal.Admin<Object, Object>, Traversal.Admin<Object, Object>> joinTraversals;
+        private Map<Traversal.Admin<Object, Object>, Traversal.Admin<Object, Object>> originalTraversals;
+
+        @Override
+        public void initialize(final TraversalEngine.Type traversalEngineType, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(traversalEngineType, traversals);
+            this.joinTraversals = new IdentityHashMap<>();
+            this.originalTraversals = new IdentityHashMap<>();
+            if (this.onComputer)
+                return;
+            for (final Traversal.Admin<Object, Object> traversal : traversals) {
+                if (isJoinable(traversal)) {
+                    // a dedicated copy, so evaluating a sub-pattern does not mix with the traversers pending in it
+                    final Traversal.Admin<Object, Object> joinTraversal = traversal.clone();
+                    joinTraversal.setSideEffects(traversal.getSideEffects());
+                    this.joinTraversals.put(traversal, joinTraversal);
+                    this.originalTraversals.put(joinTraversal, traversal);
+                }
+            }
+        }
+
+        private static boolean isJoinable(final Traversal.Admin<Object, Object> traversal) {
+            if (!(traversal.getStartStep() instanceof MatchStartStep) ||
+                    Helper.getTraversalType(traversal) != TraversalType.MATCH_TRAVERSAL ||
+                    !Helper.getEndLabel(traversal).isPresent())
+                return false;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof ProfileStep || (!(step instanceof MatchStartStep) && !step.getLabels().isEmpty()))
+                    return false;
+            }
+            return !TraversalHelper.anyStepRecursively(step -> step instanceof SideEffectCapable || step instanceof Mutating, traversal);
+        }
+
+        @Override
+        public Iterator<Traverser.Admin<Object>> join(final Traverser.Admin<Object> traverser) {
+            if (this.joinTraversals.isEmpty())
+                return null;
+            final Map<String, List<Traversal.Admin<Object, Object>>> joins = new LinkedHashMap<>();
+            for (final Bundle bundle : this.bundles) {   // ordered by multiplicity
+                if (Helper.hasExecutedTraversal(traverser, bundle.traversal) || !Helper.hasStartLabels(traverser, bundle.traversal))
+                    continue;
+                if (bundle.traversalType != TraversalType.MATCH_TRAVERSAL || Helper.hasEndLabel(traverser, bundle.traversal))
+                    return null; // filters are cheaper than any join
+                if (this.joinTraversals.containsKey(bundle.traversal))
+                    joins.computeIfAbsent(Helper.getEndLabel(bundle.traversal).get(), label -> new ArrayList<>()).add(bundle.traversal);
+            }
+            List<Traversal.Admin<Object, Object>> join = null;
+            for (final List<Traversal.Admin<Object, Object>> traversals : joins.values()) {
+                if (traversals.size() > 1) {
+                    join = traversals;
+                    break;
+                }
+            }
+            if (null == join)
+                return null;
+
+            final Set<String> tags = new HashSet<>();
+            join.forEach(traversal -> tags.add(traversal.getStartStep().getId()));
+            final Traverser.Admin<Object> start = traverser.split();
+            start.getTags().addAll(tags);
+            List<Traverser.Admin<Object>> results = this.evaluate(join.get(0), start);
+            for (int i = 1; i < join.size() && !results.isEmpty(); i++) {
+                final Traverser.Admin<Object> split = start.split();
+                split.setBulk(1l);
+                final Map<Object, Long> counts = new HashMap<>();
+                for (final Traverser.Admin<Object> result : this.evaluate(join.get(i), split)) {
+                    counts.merge(result.get(), result.bulk(), (a, b) -> a + b);
+                }
+                final List<Traverser.Admin<Object>> intersection = new ArrayList<>();
+                for (final Traverser.Admin<Object> result : results) {
+                    final Long count = counts.get(result.get());
+                    if (null != count) {
+                        result.setBulk(result.bulk() * count);
+                        intersection.add(result);
+                    }
+                }
+                results = intersection;
+            }
+            return results.iterator();
+        }
+
+        private List<Traverser.Admin<Object>> evaluate(final Traversal.Admin<Object, Object> traversal, final Traverser.Admin<Object> traverser) {
+            final Traversal.Admin<Object, Object> joinTraversal = this.joinTraversals.get(traversal);
+            joinTraversal.addStart(traverser);
+            final List<Traverser.Admin<Object>> results = new ArrayList<>();
+            while (joinTraversal.hasNext()) {
+                results.add(joinTraversal.getEndStep().next());
+            }
+            return results;
+        }
+
+        @Override
+        public void recordStart(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            super.recordStart(traverser, this.originalTraversals.getOrDefault(traversal, traversal));
+        }
+
+        @Override
+        public void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            super.recordEnd(traverser, this.originalTraversals.getOrDefault(traversal, traversal));
+        }
+    }
 }
@@ -33,11 +33,26 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * A barrier that collects traversers only so that equal traversers are merged into a single bulked traverser. At most
+ * {@code maxBarrierSize} distinct traversers are collected before they are emitted.
+ * <p/>
+ * An adaptive barrier starts with a smaller window and resizes it each time a full window has been collected: the
+ * window is doubled (up to {@code maxBarrierSize}) if on average at least two incoming traversers were merged into each
+ * collected traverser and halved (down to 100) if hardly any were merged, as then the barrier only delays the
+ * traversers behind it.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
 
+    private static final int MIN_ADAPTIVE_SIZE = 100;
+    private static final int INITIAL_ADAPTIVE_SIZE = 1000;
+    private static final double GROW_RATIO = 2.0d;
+    private static final double SHRINK_RATIO = 1.1d;
+
     private int maxBarrierSize;
+    private final boolean adaptive;
+    private int barrierSize;
     private TraverserSet<S> barrier = new TraverserSet<>();
 
     public NoOpBarrierStep(final Traversal.Admin traversal) {
@@ -45,8 +60,26 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, false);
+    }
+
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, final boolean adaptive) {
         super(traversal);
         this.maxBarrierSize = maxBarrierSize;
+        this.adaptive = adaptive;
+        this.barrierSize = adaptive ? Math.min(maxBarrierSize, INITIAL_ADAPTIVE_SIZE) : maxBarrierSize;
+    }
+
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * The number of distinct traversers that are collected before they are emitted. It only differs from the maximum
+     * barrier size if the barrier is adaptive.
+     */
+    public int getBarrierSize() {
+        return this.barrierSize;
     }
 
     @Override
@@ -63,10 +96,22 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
-        while (this.starts.hasNext() && (this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize)) {
+        final boolean filling = this.adaptive && this.barrier.isEmpty();
+        long added = 0l;
+        while (this.starts.hasNext() && (this.barrierSize == Integer.MAX_VALUE || this.barrier.size() < this.barrierSize)) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
-            this.barrier.add(traverser);
+            if (!this.barrier.add(traverser))
+                traverser.recycle(); // merged into an equal traverser already in the barrier
+            added++;
+        }
+        // only a window that was filled from empty says how well the traversers bulk
+        if (filling && this.barrier.size() >= this.barrierSize) {
+            final double ratio = (double) added / this.barrier.size();
+            if (ratio >= GROW_RATIO)
+                this.barrierSize = (int) Math.min(this.maxBarrierSize, 2l * this.barrierSize);
+            else if (ratio < SHRINK_RATIO)
+                this.barrierSize = Math.max(Math.min(this.maxBarrierSize, MIN_ADAPTIVE_SIZE), this.barrierSize / 2);
         }
     }
 
@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequire
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.ChainedComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.javatuples.Pair;
 
 import java.io.Serializable;
@@ -39,11 +40,16 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 /**
+ * When a limit is set (see {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy}),
+ * the step keeps only the top traversers up to that limit in a bounded heap while it collects them, rather than
+ * collecting and sorting all of them, and partial results on {@code GraphComputer} are merged the same way.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating {
@@ -56,16 +62,32 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         super(traversal);
     }
 
+    @Override
+    public void processAllStarts() {
+        if (Long.MAX_VALUE == this.limit || this.getChainedComparator().isShuffle())
+            super.processAllStarts();
+        else if (this.starts.hasNext()) {
+            final TraverserSet<S> topTraversers = new TraverserSet<>();
+            retainTop(IteratorUtils.concat(this.traverserSet.iterator(), this.starts), this.chainedComparator, this.limit, topTraversers);
+            this.traverserSet = topTraversers;
+            this.barrierConsumer(this.traverserSet);
+        }
+    }
+
     @Override
     public void barrierConsumer(final TraverserSet<S> traverserSet) {
-        if (null == this.chainedComparator)
-            this.chainedComparator = new ChainedComparator<>(true, this.comparators);
-        if (this.chainedComparator.isShuffle())
+        if (this.getChainedComparator().isShuffle())
             traverserSet.shuffle();
         else
             traverserSet.sort((Comparator) this.chainedComparator);
     }
 
+    private ChainedComparator<S, C> getChainedComparator() {
+        if (null == this.chainedComparator)
+            this.chainedComparator = new ChainedComparator<>(true, this.comparators);
+        return this.chainedComparator;
+    }
+
     public void setLimit(final long limit) {
         this.limit = limit;
     }
@@ -137,9 +159,37 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     @Override
     public MemoryComputeKey<TraverserSet<S>> getMemoryComputeKey() {
-        if (null == this.chainedComparator)
-            this.chainedComparator = new ChainedComparator<>(true, this.comparators);
-        return MemoryComputeKey.of(this.getId(), new OrderBiOperator<>(this.chainedComparator, this.limit), false, true);
+        return MemoryComputeKey.of(this.getId(), new OrderBiOperator<>(this.getChainedComparator(), this.limit), false, true);
+    }
+
+    /**
+     * Adds the first traversers in the order of the comparator to the provided set until their bulks sum up to the
+     * limit. Only those traversers are held in a heap whose head is the last of them, so a traverser that does not
+     * precede the head once the limit is reached is dropped with a single comparison. Equal traversers are ordered
+     * by arrival, which retains the same traversers as a stable sort would. A traverser is not split, so the bulk of
+     * the retained traversers may exceed the limit.
+     */
+    private static <S> void retainTop(final Iterator<Traverser.Admin<S>> traversers, final Comparator comparator, final long limit, final TraverserSet<S> topTraversers) {
+        final Comparator<Pair<Traverser.Admin<S>, Long>> order = (a, b) -> {
+            final int comparison = comparator.compare(a.getValue0(), b.getValue0());
+            return 0 != comparison ? comparison : Long.compare(a.getValue1(), b.getValue1());
+        };
+        final PriorityQueue<Pair<Traverser.Admin<S>, Long>> heap = new PriorityQueue<>((int) Math.max(1L, Math.min(limit, 1024L)), order.reversed());
+        long arrival = 0L;
+        long bulk = 0L;
+        while (traversers.hasNext()) {
+            final Traverser.Admin<S> traverser = traversers.next();
+            if (bulk >= limit && (heap.isEmpty() || comparator.compare(traverser, heap.peek().getValue0()) >= 0))
+                continue;
+            heap.add(new Pair<>(traverser, arrival++));
+            bulk = bulk + traverser.bulk();
+            while (!heap.isEmpty() && bulk - heap.peek().getValue0().bulk() >= limit) {
+                bulk = bulk - heap.poll().getValue0().bulk();
+            }
+        }
+        final List<Pair<Traverser.Admin<S>, Long>> top = new ArrayList<>(heap);
+        top.sort(order);
+        top.forEach(pair -> topTraversers.add(pair.getValue0()));
     }
 
     ////////////////
@@ -160,20 +210,25 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
         @Override
         public TraverserSet<S> apply(final TraverserSet<S> setA, final TraverserSet<S> setB) {
-            setA.addAll(setB);
-            if (Long.MAX_VALUE != this.limit && setA.bulkSize() > this.limit) {
-                if (this.chainedComparator.isShuffle())
+            if (Long.MAX_VALUE == this.limit)
+                setA.addAll(setB);
+            else if (this.chainedComparator.isShuffle()) {
+                setA.addAll(setB);
+                if (setA.bulkSize() > this.limit) {
                     setA.shuffle();
-                else
-                    setA.sort(this.chainedComparator);
-                long counter = 0l;
-                final Iterator<Traverser.Admin<S>> traversers = setA.iterator();
-                while (traversers.hasNext()) {
-                    final Traverser.Admin<S> traverser = traversers.next();
-                    if (counter > this.limit)
-                        traversers.remove();
-                    counter = counter + traverser.bulk();
+                    long counter = 0l;
+                    final Iterator<Traverser.Admin<S>> traversers = setA.iterator();
+                    while (traversers.hasNext()) {
+                        final Traverser.Admin<S> traverser = traversers.next();
+                        if (counter >= this.limit)
+                            traversers.remove();
+                        counter = counter + traverser.bulk();
+                    }
                 }
+            } else {
+                final TraverserSet<S> topTraversers = new TraverserSet<>();
+                retainTop(IteratorUtils.concat(setA.iterator(), setB.iterator()), this.chainedComparator, this.limit, topTraversers);
+                return topTraversers;
             }
             return setA;
         }
@@ -40,6 +40,8 @@ public final class PathStep<S> extends MapStep<S, Path> implements TraversalPare
 
     private TraversalRing<Object, Object> traversalRing;
 
+    private Set<String> keepLabels;
+
     public PathStep(final Traversal.Admin traversal) {
         super(traversal);
         this.traversalRing = new TraversalRing<>();
@@ -58,6 +60,21 @@ public final class PathStep<S> extends MapStep<S, Path> implements TraversalPare
         return path;
     }
 
+    @Override
+    protected Traverser.Admin<Path> processNextStart() {
+        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+    }
+
+    @Override
+    public void setKeepLabels(final Set<String> keepLabels) {
+        this.keepLabels = keepLabels;
+    }
+
+    @Override
+    public Set<String> getKeepLabels() {
+        return this.keepLabels;
+    }
+
     @Override
     public PathStep<S> clone() {
         final PathStep<S> clone = (PathStep<S>) super.clone();
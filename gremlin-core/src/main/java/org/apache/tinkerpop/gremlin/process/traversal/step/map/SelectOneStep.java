@@ -43,6 +43,8 @@ public final class SelectOneStep<S, E> extends MapStep<S, E> implements Traversa
     private final String selectKey;
     private Traversal.Admin<S, E> selectTraversal = null;
 
+    private Set<String> keepLabels;
+
     public SelectOneStep(final Traversal.Admin traversal, Pop pop, final String selectKey) {
         super(traversal);
         this.pop = pop;
@@ -60,6 +62,21 @@ public final class SelectOneStep<S, E> extends MapStep<S, E> implements Traversa
         return StringFactory.stepString(this, this.pop, this.selectKey, this.selectTraversal);
     }
 
+    @Override
+    protected Traverser.Admin<E> processNextStart() {
+        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+    }
+
+    @Override
+    public void setKeepLabels(final Set<String> keepLabels) {
+        this.keepLabels = keepLabels;
+    }
+
+    @Override
+    public Set<String> getKeepLabels() {
+        return this.keepLabels;
+    }
+
     @Override
     public SelectOneStep<S, E> clone() {
         final SelectOneStep<S, E> clone = (SelectOneStep<S, E>) super.clone();
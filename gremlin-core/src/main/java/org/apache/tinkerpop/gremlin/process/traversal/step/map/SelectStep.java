@@ -50,6 +50,8 @@ public final class SelectStep<S, E> extends MapStep<S, Map<String, E>> implement
     private final List<String> selectKeys;
     private final Set<String> selectKeysSet;
 
+    private Set<String> keepLabels;
+
     public SelectStep(final Traversal.Admin traversal, final Pop pop, final String... selectKeys) {
         super(traversal);
         this.pop = pop;
@@ -86,6 +88,21 @@ public final class SelectStep<S, E> extends MapStep<S, Map<String, E>> implement
         return StringFactory.stepString(this, this.pop, this.selectKeys, this.traversalRing);
     }
 
+    @Override
+    protected Traverser.Admin<Map<String, E>> processNextStart() {
+        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+    }
+
+    @Override
+    public void setKeepLabels(final Set<String> keepLabels) {
+        this.keepLabels = keepLabels;
+    }
+
+    @Override
+    public Set<String> getKeepLabels() {
+        return this.keepLabels;
+    }
+
     @Override
     public SelectStep<S, E> clone() {
         final SelectStep<S, E> clone = (SelectStep<S, E>) super.clone();
@@ -45,6 +45,8 @@ public final class TreeStep<S> extends ReducingBarrierStep<S, Tree> implements T
 
     private TraversalRing<Object, Object> traversalRing = new TraversalRing<>();
 
+    private Set<String> keepLabels;
+
     public TreeStep(final Traversal.Admin traversal) {
         super(traversal);
         this.setSeedSupplier((Supplier) TreeSupplier.instance());
@@ -82,6 +84,21 @@ public final class TreeStep<S> extends ReducingBarrierStep<S, Tree> implements T
     }
 
 
+    @Override
+    public Traverser.Admin<Tree> processNextStart() {
+        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+    }
+
+    @Override
+    public void setKeepLabels(final Set<String> keepLabels) {
+        this.keepLabels = keepLabels;
+    }
+
+    @Override
+    public Set<String> getKeepLabels() {
+        return this.keepLabels;
+    }
+
     @Override
     public TreeStep<S> clone() {
         final TreeStep<S> clone = (TreeStep<S>) super.clone();
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
@@ -44,11 +45,12 @@ import java.util.function.Supplier;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class AggregateStep<S> extends AbstractStep<S, S> implements SideEffectCapable<Collection, Collection>, TraversalParent, ByModulating, LocalBarrier<S> {
+public final class AggregateStep<S> extends AbstractStep<S, S> implements SideEffectCapable<Collection, Collection>, TraversalParent, ByModulating, LocalBarrier<S>, MemoryBounded {
 
     private Traversal.Admin<S, Object> aggregateTraversal = null;
     private String sideEffectKey;
     private TraverserSet<S> barrier = new TraverserSet<>();
+    private int maxSize = Integer.MAX_VALUE;
 
     public AggregateStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
@@ -61,6 +63,16 @@ public final class AggregateStep<S> extends AbstractStep<S, S> implements SideEf
         return this.sideEffectKey;
     }
 
+    @Override
+    public void setMaxSize(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.sideEffectKey, this.aggregateTraversal);
@@ -121,6 +133,8 @@ public final class AggregateStep<S> extends AbstractStep<S, S> implements SideEf
                 this.barrier.add(traverser);
             }
             this.getTraversal().getSideEffects().add(this.sideEffectKey, bulkSet);
+            if (Integer.MAX_VALUE != this.maxSize)
+                this.validateSize(this.getTraversal().getSideEffects().get(this.sideEffectKey));
         }
     }
 
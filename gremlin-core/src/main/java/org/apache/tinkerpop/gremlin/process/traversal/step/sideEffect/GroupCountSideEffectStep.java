@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupCountStep;
@@ -38,10 +39,11 @@ import java.util.Set;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class GroupCountSideEffectStep<S, E> extends SideEffectStep<S> implements SideEffectCapable<Map<E, Long>, Map<E, Long>>, TraversalParent, ByModulating {
+public final class GroupCountSideEffectStep<S, E> extends SideEffectStep<S> implements SideEffectCapable<Map<E, Long>, Map<E, Long>>, TraversalParent, ByModulating, MemoryBounded {
 
     private Traversal.Admin<S, E> keyTraversal = null;
     private String sideEffectKey;
+    private int maxSize = Integer.MAX_VALUE;
 
     public GroupCountSideEffectStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
@@ -54,6 +56,18 @@ public final class GroupCountSideEffectStep<S, E> extends SideEffectStep<S> impl
         final Map<E, Long> map = new HashMap<>(1);
         map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), traverser.bulk());
         this.getTraversal().getSideEffects().add(this.sideEffectKey, map);
+        if (Integer.MAX_VALUE != this.maxSize)
+            this.validateSize(this.getTraversal().getSideEffects().get(this.sideEffectKey));
+    }
+
+    @Override
+    public void setMaxSize(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
     }
 
     @Override
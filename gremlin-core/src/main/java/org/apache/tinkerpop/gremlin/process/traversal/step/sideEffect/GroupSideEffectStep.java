@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
@@ -40,7 +41,7 @@ import java.util.Set;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class GroupSideEffectStep<S, K, V> extends SideEffectStep<S> implements SideEffectCapable<Map<K, ?>, Map<K, V>>, TraversalParent, ByModulating {
+public final class GroupSideEffectStep<S, K, V> extends SideEffectStep<S> implements SideEffectCapable<Map<K, ?>, Map<K, V>>, TraversalParent, ByModulating, MemoryBounded {
 
     private char state = 'k';
     private Traversal.Admin<S, K> keyTraversal = null;
@@ -48,6 +49,7 @@ public final class GroupSideEffectStep<S, K, V> extends SideEffectStep<S> implem
     private Traversal.Admin<S, V> valueTraversal = this.integrateChild(__.fold().asAdmin());
     ///
     private String sideEffectKey;
+    private int maxSize = Integer.MAX_VALUE;
 
     public GroupSideEffectStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
@@ -85,6 +87,18 @@ public final class GroupSideEffectStep<S, K, V> extends SideEffectStep<S> implem
             map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) traverserSet);
         }
         this.getTraversal().getSideEffects().add(this.sideEffectKey, map);
+        if (Integer.MAX_VALUE != this.maxSize)
+            this.validateSize(this.getTraversal().getSideEffects().get(this.sideEffectKey));
+    }
+
+    @Override
+    public void setMaxSize(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
     }
 
     @Override
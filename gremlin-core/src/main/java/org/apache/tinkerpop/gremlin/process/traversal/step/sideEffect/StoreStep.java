@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
@@ -39,10 +40,11 @@ import java.util.function.Supplier;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class StoreStep<S> extends SideEffectStep<S> implements SideEffectCapable<Collection, Collection>, TraversalParent, ByModulating {
+public final class StoreStep<S> extends SideEffectStep<S> implements SideEffectCapable<Collection, Collection>, TraversalParent, ByModulating, MemoryBounded {
 
     private Traversal.Admin<S, Object> storeTraversal = null;
     private String sideEffectKey;
+    private int maxSize = Integer.MAX_VALUE;
 
     public StoreStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
@@ -55,6 +57,18 @@ public final class StoreStep<S> extends SideEffectStep<S> implements SideEffectC
         final BulkSet<Object> bulkSet = new BulkSet<>();
         bulkSet.add(TraversalUtil.applyNullable(traverser, this.storeTraversal), traverser.bulk());
         this.getTraversal().getSideEffects().add(this.sideEffectKey, bulkSet);
+        if (Integer.MAX_VALUE != this.maxSize)
+            this.validateSize(this.getTraversal().getSideEffects().get(this.sideEffectKey));
+    }
+
+    @Override
+    public void setMaxSize(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
     }
 
     @Override
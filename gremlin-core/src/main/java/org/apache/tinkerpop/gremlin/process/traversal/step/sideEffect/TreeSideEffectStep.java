@@ -45,6 +45,8 @@ public final class TreeSideEffectStep<S> extends SideEffectStep<S> implements Si
     private TraversalRing<Object, Object> traversalRing;
     private String sideEffectKey;
 
+    private Set<String> keepLabels;
+
     public TreeSideEffectStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
         this.sideEffectKey = sideEffectKey;
@@ -83,6 +85,21 @@ public final class TreeSideEffectStep<S> extends SideEffectStep<S> implements Si
         return StringFactory.stepString(this, this.sideEffectKey, this.traversalRing);
     }
 
+    @Override
+    protected Traverser.Admin<S> processNextStart() {
+        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+    }
+
+    @Override
+    public void setKeepLabels(final Set<String> keepLabels) {
+        this.keepLabels = keepLabels;
+    }
+
+    @Override
+    public Set<String> getKeepLabels() {
+        return this.keepLabels;
+    }
+
     @Override
     public TreeSideEffectStep<S> clone() {
         final TreeSideEffectStep<S> clone = (TreeSideEffectStep<S>) super.clone();
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A Bloom filter over the {@link Object#hashCode()} of the added objects. It answers whether an object may have been
+ * added with a fixed amount of memory no matter how many objects are added: an object that was added is always
+ * reported, but an object that was not added is reported with the false positive probability the filter was sized
+ * for (and a higher one once more than the expected number of objects have been added).
+ *
+ * @author agent
+ */
+public final class BloomFilter<S> implements Serializable {
+
+    private static final double LN2 = Math.log(2);
+    private static final long MAX_WORDS = 1L << 26; // the bit indices are derived from two 32 bit hashes
+
+    private final long[] bits;
+    private final long numberOfBits;
+    private final int numberOfHashes;
+
+    /**
+     * @param expectedInsertions       the number of objects the filter is sized for
+     * @param falsePositiveProbability the probability that {@link #mightContain(Object)} is {@code true} for an
+     *                                 object that was not added once the expected number of objects were added
+     */
+    public BloomFilter(final long expectedInsertions, final double falsePositiveProbability) {
+        if (expectedInsertions < 1)
+            throw new IllegalArgumentException("The expected number of insertions must be greater than zero: " + expectedInsertions);
+        if (falsePositiveProbability <= 0.0d || falsePositiveProbability >= 1.0d)
+            throw new IllegalArgumentException("The false positive probability must be between 0 and 1: " + falsePositiveProbability);
+        final long bits = Math.max(64L, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN2 * LN2)));
+        this.bits = new long[(int) Math.min(MAX_WORDS, (bits + 63) / 64)];
+        this.numberOfBits = this.bits.length * 64L;
+        this.numberOfHashes = Math.max(1, (int) Math.round((double) this.numberOfBits / expectedInsertions * LN2));
+    }
+
+    /**
+     * Adds the object to the filter.
+     *
+     * @return {@code true} if the object was definitely not added before
+     */
+    public boolean add(final S object) {
+        final long hash = hash(object);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32) | 1;
+        boolean changed = false;
+        for (int i = 0; i < this.numberOfHashes; i++) {
+            final long index = ((h1 + i * h2) & 0xFFFFFFFFL) % this.numberOfBits;
+            final long mask = 1L << index;
+            final int word = (int) (index >>> 6);
+            if ((this.bits[word] & mask) == 0) {
+                this.bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return {@code false} if the object was definitely not added and {@code true} if it may have been added
+     */
+    public boolean mightContain(final Object object) {
+        final long hash = hash(object);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < this.numberOfHashes; i++) {
+            final long index = ((h1 + i * h2) & 0xFFFFFFFFL) % this.numberOfBits;
+            if ((this.bits[(int) (index >>> 6)] & (1L << index)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(this.bits, 0L);
+    }
+
+    /**
+     * Spreads the 32 bit hash code of the object over 64 bits, which are split into the two hashes that the index
+     * of each bit is derived from.
+     */
+    private static long hash(final Object object) {
+        long hash = Objects.hashCode(object) * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 31;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -21,47 +21,66 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 import java.io.Serializable;
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 /**
  * BulkSet is a weighted set (i.e. a multi-set). Objects are added along with a bulk counter the denotes how many times the object was added to the set.
  * Given that count-based compression (vs. enumeration) can yield large sets, methods exist that are long-based (2^64).
+ * <p/>
+ * The objects are kept in insertion order in an array with a parallel array of primitive bulks and are found through
+ * an open addressing table of positions in those arrays. Removing an object compacts the arrays, which is linear in
+ * the number of unique objects, as objects are rarely removed from a bulk set.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializable {
-    private final Map<S, Long> map = new LinkedHashMap<>();
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final Object[] NO_OBJECTS = new Object[0];
+    private static final long[] NO_BULKS = new long[0];
+    private static final int[] NO_INTS = new int[0];
+
+    private Object[] objects = NO_OBJECTS;
+    private long[] bulks = NO_BULKS;
+    private int[] hashes = NO_INTS;
+    /**
+     * Open addressing table of positions in {@link #objects} plus one or {@code 0} for a free slot.
+     */
+    private int[] slots = NO_INTS;
+    private int uniqueSize = 0;
+    private long longSize = 0l;
 
     @Override
     public int size() {
-        return (int) this.longSize();
+        return (int) this.longSize;
     }
 
     public int uniqueSize() {
-        return this.map.size();
+        return this.uniqueSize;
     }
 
     public long longSize() {
-        return this.map.values().stream().collect(Collectors.summingLong(Long::longValue));
+        return this.longSize;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.uniqueSize;
     }
 
     @Override
     public boolean contains(final Object s) {
-        return this.map.containsKey(s);
+        return this.find(s, hash(s)) >= 0;
     }
 
     @Override
@@ -72,7 +91,10 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     @Override
     public boolean addAll(final Collection<? extends S> collection) {
         if (collection instanceof BulkSet) {
-            ((BulkSet<S>) collection).map.forEach(this::add);
+            final BulkSet<S> bulkSet = (BulkSet<S>) collection;
+            for (int i = 0; i < bulkSet.uniqueSize; i++) {
+                this.add((S) bulkSet.objects[i], bulkSet.bulks[i]);
+            }
         } else {
             collection.iterator().forEachRemaining(this::add);
         }
@@ -80,23 +102,32 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     }
 
     public void forEach(final BiConsumer<S, Long> consumer) {
-        this.map.forEach(consumer);
+        for (int i = 0; i < this.uniqueSize; i++) {
+            consumer.accept((S) this.objects[i], this.bulks[i]);
+        }
     }
 
     public boolean add(final S s, final long bulk) {
-        final Long current = this.map.get(s);
-        if (current != null) {
-            this.map.put(s, current + bulk);
+        final int hash = hash(s);
+        final int position = this.find(s, hash);
+        this.longSize = this.longSize + bulk;
+        if (position >= 0) {
+            this.bulks[position] = this.bulks[position] + bulk;
             return false;
-        } else {
-            this.map.put(s, bulk);
-            return true;
         }
+        if (this.uniqueSize == this.objects.length)
+            this.resize(0 == this.objects.length ? INITIAL_CAPACITY : 2 * this.objects.length);
+        this.objects[this.uniqueSize] = s;
+        this.bulks[this.uniqueSize] = bulk;
+        this.hashes[this.uniqueSize] = hash;
+        this.index(this.uniqueSize);
+        this.uniqueSize++;
+        return true;
     }
 
     public long get(final S s) {
-        final Long bulk = this.map.get(s);
-        return null == bulk ? 0 : bulk;
+        final int position = this.find(s, hash(s));
+        return position < 0 ? 0 : this.bulks[position];
     }
 
     /*public void set(final S s, final long bulk) {
@@ -106,12 +137,19 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
 
     @Override
     public boolean remove(final Object s) {
-        return this.map.remove(s) != null;
+        final int position = this.find(s, hash(s));
+        if (position < 0)
+            return false;
+        this.compact(Collections.singleton(position));
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        Arrays.fill(this.objects, 0, this.uniqueSize, null);
+        Arrays.fill(this.slots, 0);
+        this.uniqueSize = 0;
+        this.longSize = 0l;
     }
 
     @Override
@@ -122,32 +160,54 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     @Override
     public boolean removeAll(final Collection<?> collection) {
         Objects.requireNonNull(collection);
-        boolean modified = false;
+        final Set<Integer> removed = new HashSet<>();
         for (final Object object : collection) {
-            if (null != this.map.remove(object))
-                modified = true;
+            final int position = this.find(object, hash(object));
+            if (position >= 0)
+                removed.add(position);
         }
-        return modified;
+        if (removed.isEmpty())
+            return false;
+        this.compact(removed);
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return this.map.hashCode();
+        // the hash code of the map of objects to bulks this set used to be backed by
+        int hashCode = 0;
+        for (int i = 0; i < this.uniqueSize; i++) {
+            hashCode = hashCode + (Objects.hashCode(this.objects[i]) ^ Long.hashCode(this.bulks[i]));
+        }
+        return hashCode;
     }
 
     @Override
     public boolean equals(final Object object) {
-        return object instanceof BulkSet && this.map.equals(((BulkSet) object).map);
+        if (!(object instanceof BulkSet) || ((BulkSet) object).uniqueSize != this.uniqueSize)
+            return false;
+        final BulkSet<S> other = (BulkSet<S>) object;
+        for (int i = 0; i < this.uniqueSize; i++) {
+            final int position = other.find(this.objects[i], this.hashes[i]);
+            if (position < 0 || other.bulks[position] != this.bulks[i])
+                return false;
+        }
+        return true;
     }
 
     @Override
     public String toString() {
-        return this.map.toString();
+        final StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < this.uniqueSize; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(this.objects[i]).append('=').append(this.bulks[i]);
+        }
+        return builder.append('}').toString();
     }
 
     private List<S> toList() {
         final List<S> list = new ArrayList<>();
-        this.map.forEach((k, v) -> {
+        this.forEach((k, v) -> {
             for (long i = 0; i < v; i++) {
                 list.add(k);
             }
@@ -158,29 +218,84 @@ public final class BulkSet<S> extends AbstractSet<S> implements Set<S>, Serializ
     @Override
     public Iterator<S> iterator() {
         return new Iterator<S>() {
-            final Iterator<Map.Entry<S, Long>> entryIterator = map.entrySet().iterator();
-            S lastObject = null;
+            int position = 0;
             long lastCount = 0l;
 
             public boolean hasNext() {
-                return this.lastCount > 0l || this.entryIterator.hasNext();
+                return this.lastCount > 0l || this.position < uniqueSize;
             }
 
             @Override
             public S next() {
                 if (this.lastCount > 0l) {
                     this.lastCount--;
-                    return this.lastObject;
-                }
-                final Map.Entry<S, Long> entry = entryIterator.next();
-                if (entry.getValue() == 1) {
-                    return entry.getKey();
-                } else {
-                    this.lastObject = entry.getKey();
-                    this.lastCount = entry.getValue() - 1;
-                    return this.lastObject;
+                    return (S) objects[this.position - 1];
                 }
+                if (this.position >= uniqueSize)
+                    throw new NoSuchElementException();
+                this.lastCount = bulks[this.position] - 1;
+                return (S) objects[this.position++];
             }
         };
     }
+
+    /**
+     * The position of the object or {@code -1} if it is not in the set.
+     */
+    private int find(final Object s, final int hash) {
+        if (0 == this.uniqueSize)
+            return -1;
+        final int mask = this.slots.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            final int position = this.slots[i] - 1;
+            if (-1 == position)
+                return -1;
+            else if (this.hashes[position] == hash && Objects.equals(this.objects[position], s))
+                return position;
+        }
+    }
+
+    private void index(final int position) {
+        final int mask = this.slots.length - 1;
+        int i = this.hashes[position] & mask;
+        while (0 != this.slots[i]) {
+            i = (i + 1) & mask;
+        }
+        this.slots[i] = position + 1;
+    }
+
+    private void resize(final int capacity) {
+        this.objects = Arrays.copyOf(this.objects, capacity);
+        this.bulks = Arrays.copyOf(this.bulks, capacity);
+        this.hashes = Arrays.copyOf(this.hashes, capacity);
+        this.slots = new int[2 * capacity];
+        for (int i = 0; i < this.uniqueSize; i++) {
+            this.index(i);
+        }
+    }
+
+    private void compact(final Set<Integer> removed) {
+        int position = 0;
+        for (int i = 0; i < this.uniqueSize; i++) {
+            if (removed.contains(i)) {
+                this.longSize = this.longSize - this.bulks[i];
+                continue;
+            }
+            this.objects[position] = this.objects[i];
+            this.bulks[position] = this.bulks[i];
+            this.hashes[position] = this.hashes[i];
+            position++;
+        }
+        Arrays.fill(this.objects, position, this.uniqueSize, null);
+        this.uniqueSize = position;
+        Arrays.fill(this.slots, 0);
+        for (int i = 0; i < this.uniqueSize; i++) {
+            this.index(i);
+        }
+    }
+
+    private static int hash(final Object s) {
+        final int hash = Objects.hashCode(s) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
 }
@@ -39,7 +39,7 @@ import java.util.function.BinaryOperator;
  */
 public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> implements Barrier<TraverserSet<S>> {
 
-    private TraverserSet<S> traverserSet = new TraverserSet<>();
+    protected TraverserSet<S> traverserSet = new TraverserSet<>();
     private int maxBarrierSize;
 
     public CollectingBarrierStep(final Traversal.Admin traversal) {
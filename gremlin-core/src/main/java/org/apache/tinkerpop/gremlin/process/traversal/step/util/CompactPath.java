@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable {@link Path} that shares its prefix with the path it was extended from, like {@link ImmutablePath}, but
+ * which does not copy a label set per object. Labels and label sets are interned into a dictionary that is shared by
+ * every path extended from the same start, so the objects of a step share one label set, and each object holds two
+ * arrays indexed by label id: the first and the last object of the path with that label. The arrays are shared with
+ * the previous object unless the object is labeled, so unlabeled objects only cost a single node, and
+ * {@link #hasLabel(String)} and {@link #get(Pop, String)} for {@link Pop#first} and {@link Pop#last} are
+ * constant-time lookups.
+ *
+ * @author agent
+ */
+public class CompactPath implements Path, Serializable, Cloneable {
+
+    private static final CompactPath[] NO_SLOTS = new CompactPath[0];
+    private static final CompactPath EMPTY = new CompactPath();
+
+    private final CompactPath previous;
+    private final Object object;
+    private final int size;
+    private final Set<String> labels;
+    private final LabelDictionary dictionary;
+    private final CompactPath[] first;
+    private final CompactPath[] last;
+
+    private CompactPath() {
+        this.previous = null;
+        this.object = null;
+        this.size = 0;
+        this.labels = Collections.emptySet();
+        this.dictionary = null;
+        this.first = NO_SLOTS;
+        this.last = NO_SLOTS;
+    }
+
+    private CompactPath(final CompactPath previous, final Object object, final Set<String> labels, final LabelDictionary dictionary) {
+        this.previous = previous;
+        this.object = object;
+        this.size = previous.size + 1;
+        if (labels.isEmpty()) {
+            this.labels = Collections.emptySet();
+            this.dictionary = previous.dictionary;
+            this.first = previous.first;
+            this.last = previous.last;
+        } else {
+            this.dictionary = null != previous.dictionary ? previous.dictionary : null != dictionary ? dictionary : new LabelDictionary();
+            this.labels = this.dictionary.intern(labels);
+            CompactPath[] first = previous.first;
+            CompactPath[] last = null;
+            for (final String label : labels) {
+                final int id = this.dictionary.intern(label);
+                if (null == last)
+                    last = Arrays.copyOf(previous.last, Math.max(previous.last.length, id + 1));
+                else if (id >= last.length)
+                    last = Arrays.copyOf(last, id + 1);
+                last[id] = this;
+                if (id >= first.length || null == first[id]) {
+                    first = first == previous.first || id >= first.length ?
+                            Arrays.copyOf(first, Math.max(first.length, id + 1)) :
+                            first;
+                    first[id] = this;
+                }
+            }
+            this.first = first;
+            this.last = last;
+        }
+    }
+
+    public static Path make() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
+    @Override
+    public CompactPath clone() {
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Path extend(final Object object, final Set<String> labels) {
+        return new CompactPath(this, object, labels, this.dictionary);
+    }
+
+    @Override
+    public Path extend(final Set<String> labels) {
+        if (0 == this.size)
+            throw new UnsupportedOperationException("A head path can not have labels added to it");
+        final Set<String> currentLabels = new LinkedHashSet<>(this.labels);
+        return currentLabels.addAll(labels) ?
+                new CompactPath(this.previous, this.object, currentLabels, this.dictionary) :
+                this;
+    }
+
+    @Override
+    public Path retract(final Set<String> labels) {
+        boolean retract = false;
+        for (final String label : labels) {
+            if (this.hasLabel(label)) {
+                retract = true;
+                break;
+            }
+        }
+        if (!retract)
+            return this;
+        final CompactPath[] nodes = this.nodes();
+        CompactPath path = EMPTY;
+        for (final CompactPath node : nodes) {
+            if (node.labels.isEmpty()) {
+                path = new CompactPath(path, node.object, node.labels, this.dictionary);
+            } else {
+                final Set<String> retainedLabels = new LinkedHashSet<>(node.labels);
+                retainedLabels.removeAll(labels);
+                if (!retainedLabels.isEmpty())
+                    path = new CompactPath(path, node.object, retainedLabels, this.dictionary);
+            }
+        }
+        return path;
+    }
+
+    @Override
+    public <A> A get(final int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        CompactPath node = this;
+        while (node.size - 1 != index) {
+            node = node.previous;
+        }
+        return (A) node.object;
+    }
+
+    @Override
+    public <A> A get(final String label) {
+        final int id = this.labelId(label);
+        if (-1 == id)
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        return this.first[id] == this.last[id] ? (A) this.last[id].object : this.get(Pop.all, label);
+    }
+
+    @Override
+    public <A> A get(final Pop pop, final String label) {
+        final int id = this.labelId(label);
+        if (Pop.all == pop) {
+            final List<Object> objects = new ArrayList<>();
+            if (-1 != id) {
+                // walk from one object with the label to the previous one without visiting the objects in between
+                CompactPath node = this.last[id];
+                while (null != node) {
+                    objects.add(node.object);
+                    node = id < node.previous.last.length ? node.previous.last[id] : null;
+                }
+                Collections.reverse(objects);
+            }
+            return (A) objects;
+        } else {
+            if (-1 == id)
+                throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+            return Pop.first == pop ? (A) this.first[id].object : (A) this.last[id].object;
+        }
+    }
+
+    @Override
+    public boolean hasLabel(final String label) {
+        return -1 != this.labelId(label);
+    }
+
+    @Override
+    public List<Object> objects() {
+        final Object[] objects = new Object[this.size];
+        for (CompactPath node = this; node.size > 0; node = node.previous) {
+            objects[node.size - 1] = node.object;
+        }
+        return Collections.unmodifiableList(Arrays.asList(objects));
+    }
+
+    @Override
+    public List<Set<String>> labels() {
+        final List<Set<String>> labels = new ArrayList<>(this.size);
+        for (final CompactPath node : this.nodes()) {
+            labels.add(new LinkedHashSet<>(node.labels));
+        }
+        return Collections.unmodifiableList(labels);
+    }
+
+    @Override
+    public boolean popEquals(final Pop pop, final Object other) {
+        if (!(other instanceof Path))
+            return false;
+        final Path otherPath = (Path) other;
+        for (int id = 0; id < this.last.length; id++) {
+            if (null != this.last[id]) {
+                final String label = this.dictionary.get(id);
+                if (!otherPath.hasLabel(label) || !otherPath.get(pop, label).equals(this.get(pop, label)))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the id of the label if some object of the path has the label, else {@code -1}.
+     */
+    private int labelId(final String label) {
+        if (null == this.dictionary)
+            return -1;
+        final int id = this.dictionary.indexOf(label);
+        return -1 != id && id < this.last.length && null != this.last[id] ? id : -1;
+    }
+
+    private CompactPath[] nodes() {
+        final CompactPath[] nodes = new CompactPath[this.size];
+        for (CompactPath node = this; node.size > 0; node = node.previous) {
+            nodes[node.size - 1] = node;
+        }
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        return this.objects().toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return this.objects().hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof Path))
+            return false;
+        final Path otherPath = (Path) other;
+        return otherPath.size() == this.size &&
+                this.objects().equals(otherPath.objects()) &&
+                this.labels().equals(otherPath.labels());
+    }
+
+    /**
+     * The labels of the paths extended from the same start, where the id of a label is its position, and their label
+     * sets. Labels are only ever appended, so an id never changes once assigned. Paths that share a prefix may be
+     * extended concurrently (e.g. by the workers of a {@code GraphComputer}) so appends are synchronized and reads see
+     * a complete array.
+     */
+    private static final class LabelDictionary implements Serializable {
+
+        private volatile String[] labels = new String[0];
+        private final Map<Set<String>, Set<String>> labelSets = new ConcurrentHashMap<>();
+
+        /**
+         * Gets the shared, unmodifiable copy of the label set. Label sets are equal regardless of their order, so a
+         * set with the same labels in another order is copied but not shared.
+         */
+        public Set<String> intern(final Set<String> labels) {
+            final Set<String> interned = this.labelSets.get(labels);
+            if (null != interned && inSameOrder(interned, labels))
+                return interned;
+            final Set<String> copy = Collections.unmodifiableSet(new LinkedHashSet<>(labels));
+            if (null == interned)
+                this.labelSets.putIfAbsent(copy, copy);
+            return copy;
+        }
+
+        public int indexOf(final String label) {
+            final String[] labels = this.labels;
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i].equals(label))
+                    return i;
+            }
+            return -1;
+        }
+
+        public int intern(final String label) {
+            final int id = this.indexOf(label);
+            return -1 != id ? id : this.append(label);
+        }
+
+        private synchronized int append(final String label) {
+            int id = this.indexOf(label);
+            if (-1 == id) {
+                id = this.labels.length;
+                final String[] labels = Arrays.copyOf(this.labels, id + 1);
+                labels[id] = label;
+                this.labels = labels;
+            }
+            return id;
+        }
+
+        private static boolean inSameOrder(final Set<String> labelsA, final Set<String> labelsB) {
+            final Iterator<String> iterator = labelsB.iterator();
+            for (final String label : labelsA) {
+                if (!label.equals(iterator.next()))
+                    return false;
+            }
+            return true;
+        }
+
+        public String get(final int id) {
+            return this.labels[id];
+        }
+    }
+}
@@ -51,6 +51,11 @@ public final class EmptyPath implements Path, Serializable {
         return this;
     }
 
+    @Override
+    public Path retract(final Set<String> labels) {
+        return this;
+    }
+
     @Override
     public <A> A get(final String label) {
         throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
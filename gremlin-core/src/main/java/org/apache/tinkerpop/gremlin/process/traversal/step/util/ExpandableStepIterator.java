@@ -26,11 +26,16 @@ import java.io.Serializable;
 import java.util.Iterator;
 
 /**
+ * The starts of a step: the traversers added to the step directly and then those of the previous step. A single added
+ * traverser, which can not be bulked with anything, is held without going through the {@link TraverserSet}, as is the
+ * case for the traversers that are handed to a {@code repeat()} or {@code local()} traversal one at a time.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin<S>>, Serializable {
 
     private final TraverserSet<S> traverserSet = new TraverserSet<>();
+    private Traverser.Admin<S> single = null;
     private final Step<S, ?> hostStep;
 
     public ExpandableStepIterator(final Step<S, ?> hostStep) {
@@ -39,11 +44,16 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
 
     @Override
     public boolean hasNext() {
-        return !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext();
+        return null != this.single || !this.traverserSet.isEmpty() || this.hostStep.getPreviousStep().hasNext();
     }
 
     @Override
     public Traverser.Admin<S> next() {
+        if (null != this.single) {
+            final Traverser.Admin<S> traverser = this.single;
+            this.single = null;
+            return traverser;
+        }
         if (!this.traverserSet.isEmpty())
             return this.traverserSet.remove();
         /////////////
@@ -54,19 +64,28 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
     }
 
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
-        iterator.forEachRemaining(this.traverserSet::add);
+        iterator.forEachRemaining(this::add);
     }
 
     public void add(final Traverser.Admin<S> traverser) {
-        this.traverserSet.add(traverser);
+        if (null == this.single && this.traverserSet.isEmpty())
+            this.single = traverser;
+        else {
+            if (null != this.single) {
+                this.traverserSet.add(this.single);
+                this.single = null;
+            }
+            this.traverserSet.add(traverser);
+        }
     }
 
     @Override
     public String toString() {
-        return this.traverserSet.toString();
+        return null == this.single ? this.traverserSet.toString() : "[" + this.single + "]";
     }
 
     public void clear() {
+        this.single = null;
         this.traverserSet.clear();
     }
 }
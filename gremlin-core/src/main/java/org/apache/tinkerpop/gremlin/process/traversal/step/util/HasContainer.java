@@ -42,6 +42,13 @@ public final class HasContainer implements Serializable, Cloneable, Predicate<El
 
     public HasContainer(final String key, final P<?> predicate) {
         this.key = key;
+        this.setPredicate(predicate);
+    }
+
+    /**
+     * Sets the predicate of the container, e.g. to test a cached {@code has()} with a new value.
+     */
+    public void setPredicate(final P<?> predicate) {
         this.predicate = predicate;
 
         if (!this.key.equals(T.id.getAccessor()))
@@ -58,8 +65,8 @@ public final class HasContainer implements Serializable, Cloneable, Predicate<El
                     ((Collection) this.predicate.getValue()).toArray()[0] : this.predicate.getValue();
 
             // if the key being evaluated is id then the has() test can evaluate as a toString() representation of the
-            // identifier.  this could be done in the test() method but it seems cheaper to do the conversion once in
-            // the constructor.  the original value in P is maintained separately
+            // identifier.  this could be done in the test() method but it seems cheaper to do the conversion once when
+            // the predicate is set.  the original value in P is maintained separately
             this.testingIdString = this.key.equals(T.id.getAccessor()) && valueInstance instanceof String;
             if (this.testingIdString)
                 this.predicate.setValue(this.predicate.getValue() instanceof Collection ? IteratorUtils.set(IteratorUtils.map(((Collection<Object>) this.predicate.getValue()).iterator(), Object::toString)) : this.predicate.getValue().toString());
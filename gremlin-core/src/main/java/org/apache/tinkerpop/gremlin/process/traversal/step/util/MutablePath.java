@@ -84,6 +84,18 @@ public class MutablePath implements Path, Serializable {
         return this;
     }
 
+    @Override
+    public Path retract(final Set<String> labels) {
+        for (int i = this.labels.size() - 1; i >= 0; i--) {
+            final Set<String> objectLabels = this.labels.get(i);
+            if (!objectLabels.isEmpty() && objectLabels.removeAll(labels) && objectLabels.isEmpty()) {
+                this.objects.remove(i);
+                this.labels.remove(i);
+            }
+        }
+        return this;
+    }
+
     @Override
     public <A> A get(int index) {
         return (A) this.objects.get(index);
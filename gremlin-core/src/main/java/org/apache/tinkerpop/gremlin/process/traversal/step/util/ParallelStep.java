@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+/**
+ * Executes a segment of a traversal over partitions of its incoming traversers on a {@link ForkJoinPool}. Every
+ * partition is processed by its own clone of the segment, so steps in the segment never see concurrent access.
+ * The segment ends where the next step of the parent traversal, a {@link Barrier}, begins. If the segment itself
+ * ends with a clone of that barrier, the partial barrier of each partition is merged into the next step with
+ * {@link Barrier#addBarrier(Object)} and this step yields no traversers. Otherwise, the traversers emitted by the
+ * partitions are yielded in partition order for the barrier to collect.
+ * <p/>
+ * The incoming traversers are read lazily into partitions of a fixed number of traversers and at most
+ * {@link #getParallelism()} partitions of a traversal are processed at once, so that only those partitions are held
+ * in memory. All traversals share one pool with as many threads as there are processors, so that the number of
+ * threads does not grow with the number of traversals that are executed concurrently. Its threads are daemons that
+ * end once they have been idle for a while.
+ *
+ * @author agent
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private static final int PARTITION_SIZE = 256;
+
+    private Traversal.Admin<S, E> parallelTraversal;
+    private final int parallelism;
+    private final boolean reducing;
+    private Iterator<Traverser.Admin<E>> results = null;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> parallelTraversal, final int parallelism, final boolean reducing) {
+        super(traversal);
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be greater than zero: " + parallelism);
+        this.parallelTraversal = this.integrateChild(parallelTraversal);
+        this.parallelism = parallelism;
+        this.reducing = reducing;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Whether the partial barriers of the partitions are merged into the next step rather than the traversers of the
+     * partitions being yielded.
+     */
+    public boolean isReducing() {
+        return this.reducing;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.parallelTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.parallelTraversal.getTraverserRequirements();
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (null == this.results)
+            this.results = this.execute();
+        if (this.results.hasNext())
+            return this.results.next();
+        else
+            throw FastNoSuchElementException.instance();
+    }
+
+    private Iterator<Traverser.Admin<E>> execute() {
+        final List<Traverser.Admin<E>> results = new ArrayList<>();
+        // a traversal that is itself executed by the pool would wait on the threads it occupies
+        if (ForkJoinTask.getPool() == Pool.INSTANCE) {
+            while (this.starts.hasNext()) {
+                this.merge(this.processPartition(this.parallelTraversal.clone(), this.nextPartition()), results);
+            }
+            return results.iterator();
+        }
+
+        // the partitions are merged in the order they were read so that the result is the same as that of a
+        // sequential execution
+        final List<Future<Object>> partitions = new ArrayList<>();
+        int merged = 0;
+        while (this.starts.hasNext()) {
+            if (partitions.size() - merged == this.parallelism) {
+                this.merge(this.await(partitions, partitions.get(merged)), results);
+                partitions.set(merged++, null);
+            }
+            final List<Traverser.Admin<S>> partition = this.nextPartition();
+            final Traversal.Admin<S, E> clone = this.parallelTraversal.clone();
+            partitions.add(Pool.INSTANCE.submit(() -> this.processPartition(clone, partition)));
+        }
+        while (merged < partitions.size()) {
+            this.merge(this.await(partitions, partitions.get(merged)), results);
+            partitions.set(merged++, null);
+        }
+        return results.iterator();
+    }
+
+    private List<Traverser.Admin<S>> nextPartition() {
+        final List<Traverser.Admin<S>> partition = new ArrayList<>(PARTITION_SIZE);
+        while (partition.size() < PARTITION_SIZE && this.starts.hasNext()) {
+            partition.add(this.starts.next());
+        }
+        return partition;
+    }
+
+    private void merge(final Object result, final List<Traverser.Admin<E>> results) {
+        if (this.reducing)
+            ((Barrier) this.getNextStep()).addBarrier(result);
+        else
+            results.addAll((List<Traverser.Admin<E>>) result);
+    }
+
+    private Object processPartition(final Traversal.Admin<S, E> clone, final List<Traverser.Admin<S>> partition) {
+        for (final Traverser.Admin<S> start : partition) {
+            clone.addStart(start);
+        }
+        if (this.reducing)
+            return ((Barrier) clone.getEndStep()).nextBarrier();
+        final List<Traverser.Admin<E>> results = new ArrayList<>();
+        final Step<?, E> endStep = clone.getEndStep();
+        while (endStep.hasNext()) {
+            results.add(endStep.next());
+        }
+        return results;
+    }
+
+    private Object await(final List<Future<Object>> partitions, final Future<Object> partition) {
+        try {
+            return partition.get();
+        } catch (final InterruptedException ie) {
+            cancel(partitions);
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException ee) {
+            cancel(partitions);
+            if (ee.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ee.getCause();
+            else
+                throw new IllegalStateException(ee.getCause().getMessage(), ee.getCause());
+        }
+    }
+
+    private static void cancel(final List<Future<Object>> partitions) {
+        for (final Future<Object> partition : partitions) {
+            if (null != partition)
+                partition.cancel(true);
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.results = null;
+        this.parallelTraversal.reset();
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.parallelTraversal = this.parallelTraversal.clone();
+        clone.results = null;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.parallelTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.parallelism, this.parallelTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.parallelTraversal.hashCode() ^ Integer.hashCode(this.parallelism);
+    }
+
+    /**
+     * Holds the pool that is shared by all traversals, which is only created once a traversal is executed in
+     * parallel.
+     */
+    private static final class Pool {
+        private static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Generating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 
 import java.util.function.BinaryOperator;
@@ -33,12 +34,13 @@ import java.util.function.Supplier;
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 
-public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> implements Barrier<E>, Generating<E, E> {
+public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> implements Barrier<E>, Generating<E, E>, MemoryBounded {
 
     protected Supplier<E> seedSupplier;
     protected BinaryOperator<E> reducingBiOperator;
     private boolean hasProcessedOnce = false;
     private E seed = null;
+    private int maxSize = Integer.MAX_VALUE;
 
     public ReducingBarrierStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -62,6 +64,16 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         return this.reducingBiOperator;
     }
 
+    @Override
+    public void setMaxSize(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
     public void reset() {
         super.reset();
         this.hasProcessedOnce = false;
@@ -80,8 +92,11 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
             return;
         this.hasProcessedOnce = true;
         if (this.seed == null) this.seed = this.seedSupplier.get();
-        while (this.starts.hasNext())
+        while (this.starts.hasNext()) {
             this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+            if (Integer.MAX_VALUE != this.maxSize)
+                this.validateSize(this.seed);
+        }
     }
 
     @Override
@@ -0,0 +1,401 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.channels.Channels;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link Set} that holds at most a maximum number of objects in memory. When the in-memory objects reach that
+ * maximum, they are sorted by hash code and written to a run file with Gryo, and the memory is cleared. Each run
+ * keeps a {@link BloomFilter} and a sparse index of hash codes in memory, so a lookup only reads the run from disk
+ * when the filter reports that the object may be in it, and then only the records that share its hash code. When
+ * there are more than {@code 8} runs, they are merged into a single run.
+ * <p/>
+ * Elements, properties and paths are written as references and thus compare by id only once spilled. The objects
+ * must otherwise be serializable by the provided {@link GryoMapper}. The run files are deleted on {@link #clear()}
+ * and {@link #close()}, when the set is garbage collected without having been closed and, failing all of those, when
+ * the JVM exits. A closed set is empty and can be used again. The set is not thread-safe.
+ *
+ * @author agent
+ */
+public final class SpillingSet<S> extends AbstractSet<S> implements AutoCloseable {
+
+    private static final int INDEX_INTERVAL = 64;
+    private static final int MAX_RUNS = 8;
+    private static final double RUN_FALSE_POSITIVE_PROBABILITY = 0.01d;
+    private static final Comparator<Object> HASH_ORDER = Comparator.comparingInt(Objects::hashCode);
+
+    private static final ReferenceQueue<SpillingSet<?>> RELEASED = new ReferenceQueue<>();
+    private static final Set<Runs> OPEN = ConcurrentHashMap.newKeySet();
+
+    private final int maxSize;
+    private final File directory;
+    private final GryoMapper mapper;
+    private Set<S> memory = new HashSet<>();
+    private Runs runs = null;
+    private long spilledSize = 0L;
+    private Kryo kryo = null;
+
+    /**
+     * @param maxSize   the maximum number of objects held in memory
+     * @param directory the directory of the run files or {@code null} for the default temporary-file directory
+     * @param mapper    the mapper that serializes the objects to the run files or {@code null} for the default
+     *                  {@link GryoMapper}
+     */
+    public SpillingSet(final int maxSize, final File directory, final GryoMapper mapper) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("The maximum size must be greater than zero: " + maxSize);
+        this.maxSize = maxSize;
+        this.directory = directory;
+        this.mapper = mapper;
+    }
+
+    public SpillingSet(final int maxSize) {
+        this(maxSize, null, null);
+    }
+
+    @Override
+    public boolean add(final S object) {
+        if (this.memory.contains(object) || this.spilledContains(object))
+            return false;
+        this.memory.add(object);
+        if (this.memory.size() >= this.maxSize)
+            this.spill();
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return this.memory.contains(object) || this.spilledContains(object);
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, this.memory.size() + this.spilledSize);
+    }
+
+    /**
+     * @return the number of run files the set currently has on disk
+     */
+    public int getRunCount() {
+        return null == this.runs ? 0 : this.runs.list.size();
+    }
+
+    @Override
+    public Iterator<S> iterator() {
+        if (0 == this.getRunCount())
+            return this.memory.iterator();
+        final Iterator[] iterators = new Iterator[this.runs.list.size() + 1];
+        iterators[0] = this.memory.iterator();
+        for (int i = 0; i < this.runs.list.size(); i++) {
+            iterators[i + 1] = this.runs.list.get(i).iterator(this.kryo);
+        }
+        return IteratorUtils.concat(iterators);
+    }
+
+    @Override
+    public void clear() {
+        this.memory.clear();
+        this.spilledSize = 0L;
+        if (null != this.runs)
+            this.runs.close();
+    }
+
+    @Override
+    public void close() {
+        this.clear();
+        if (null != this.runs) {
+            OPEN.remove(this.runs);
+            this.runs.clear();
+            this.runs = null;
+        }
+    }
+
+    private boolean spilledContains(final Object object) {
+        if (0 == this.getRunCount())
+            return false;
+        final Object spillable = spillable(object);
+        final int hash = Objects.hashCode(spillable);
+        try {
+            for (final Run run : this.runs.list) {
+                if (run.contains(spillable, hash, this.kryo))
+                    return true;
+            }
+            return false;
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private void spill() {
+        if (null == this.runs) {
+            releaseUnreachable();
+            this.runs = new Runs(this);
+            OPEN.add(this.runs);
+            this.kryo = (null == this.mapper ? GryoMapper.build().create() : this.mapper).createMapper();
+        }
+        final Object[] objects = new Object[this.memory.size()];
+        int i = 0;
+        for (final S object : this.memory) {
+            objects[i++] = spillable(object);
+        }
+        Arrays.sort(objects, HASH_ORDER);
+        try {
+            this.runs.list.add(this.writeRun(Arrays.asList(objects).iterator(), objects.length));
+            this.spilledSize = this.spilledSize + objects.length;
+            this.memory = new HashSet<>();
+            if (this.runs.list.size() > MAX_RUNS)
+                this.merge();
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Merges all runs into one. The runs are disjoint as an object is only added if no run contains it, so the
+     * merge is a plain k-way merge on hash code.
+     */
+    private void merge() throws IOException {
+        final List<Run> merging = new ArrayList<>(this.runs.list);
+        final PriorityQueue<Head> heads = new PriorityQueue<>(merging.size());
+        for (final Run run : merging) {
+            final Iterator<Object> iterator = run.iterator(this.kryo);
+            if (iterator.hasNext())
+                heads.add(new Head(iterator.next(), iterator));
+        }
+        final Iterator<Object> merged = new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Object next() {
+                final Head head = heads.poll();
+                if (null == head)
+                    throw new NoSuchElementException();
+                final Object object = head.object;
+                if (head.iterator.hasNext())
+                    heads.add(new Head(head.iterator.next(), head.iterator));
+                return object;
+            }
+        };
+        final Run run = this.writeRun(merged, this.spilledSize);
+        merging.forEach(Run::close);
+        this.runs.list.clear();
+        this.runs.list.add(run);
+    }
+
+    private Run writeRun(final Iterator<Object> objects, final long size) throws IOException {
+        final File file = File.createTempFile("gremlin-spill-", ".kryo", this.directory);
+        file.deleteOnExit();
+        final BloomFilter<Object> filter = new BloomFilter<>(Math.max(1L, size), RUN_FALSE_POSITIVE_PROBABILITY);
+        final int[] indexHashes = new int[(int) ((size + INDEX_INTERVAL - 1) / INDEX_INTERVAL)];
+        final long[] indexOffsets = new long[indexHashes.length];
+        try (final Output output = new Output(new FileOutputStream(file), 65536)) {
+            long record = 0L;
+            while (objects.hasNext()) {
+                final Object object = objects.next();
+                final int hash = Objects.hashCode(object);
+                if (0 == record % INDEX_INTERVAL) {
+                    indexHashes[(int) (record / INDEX_INTERVAL)] = hash;
+                    indexOffsets[(int) (record / INDEX_INTERVAL)] = output.total();
+                }
+                output.writeInt(hash);
+                this.kryo.writeClassAndObject(output, object);
+                filter.add(object);
+                record++;
+            }
+        } catch (final IOException | RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+        return new Run(file, filter, indexHashes, indexOffsets, size);
+    }
+
+    private static Object spillable(final Object object) {
+        if (object instanceof List) {
+            final List<Object> list = new ArrayList<>(((List) object).size());
+            for (final Object item : (List<?>) object) {
+                list.add(ReferenceFactory.detach(item));
+            }
+            return list;
+        }
+        return ReferenceFactory.detach(object);
+    }
+
+    /**
+     * Deletes the run files of the sets that were garbage collected without being closed.
+     */
+    private static void releaseUnreachable() {
+        Runs runs;
+        while (null != (runs = (Runs) RELEASED.poll())) {
+            runs.close();
+            OPEN.remove(runs);
+        }
+    }
+
+    /**
+     * The runs of a set. It does not reference the set itself and is enqueued once the set is unreachable, so the
+     * run files can be deleted even if the set is never closed.
+     */
+    private static final class Runs extends PhantomReference<SpillingSet<?>> {
+
+        private final List<Run> list = new ArrayList<>();
+
+        private Runs(final SpillingSet<?> set) {
+            super(set, RELEASED);
+        }
+
+        private void close() {
+            this.list.forEach(Run::close);
+            this.list.clear();
+        }
+    }
+
+    private static final class Run {
+
+        private final File file;
+        private final BloomFilter<Object> filter;
+        private final int[] indexHashes;
+        private final long[] indexOffsets;
+        private final long size;
+        private final RandomAccessFile access;
+        private final Input input = new Input(4096);
+        private final InputStream stream;
+
+        private Run(final File file, final BloomFilter<Object> filter, final int[] indexHashes, final long[] indexOffsets, final long size) throws IOException {
+            this.file = file;
+            this.filter = filter;
+            this.indexHashes = indexHashes;
+            this.indexOffsets = indexOffsets;
+            this.size = size;
+            this.access = new RandomAccessFile(file, "r");
+            this.stream = Channels.newInputStream(this.access.getChannel());
+        }
+
+        private boolean contains(final Object object, final int hash, final Kryo kryo) throws IOException {
+            if (0L == this.size || !this.filter.mightContain(object))
+                return false;
+            // start at the last block that begins before the hash as records of the same hash may span blocks
+            int block = Arrays.binarySearch(this.indexHashes, hash);
+            if (block < 0)
+                block = -block - 2;
+            while (block > 0 && this.indexHashes[block] >= hash) {
+                block--;
+            }
+            if (block < 0)
+                return false;
+            this.access.seek(this.indexOffsets[block]);
+            this.input.setInputStream(this.stream);
+            for (long record = (long) block * INDEX_INTERVAL; record < this.size; record++) {
+                final int recordHash = this.input.readInt();
+                if (recordHash > hash)
+                    return false;
+                final Object stored = kryo.readClassAndObject(this.input);
+                if (recordHash == hash && Objects.equals(stored, object))
+                    return true;
+            }
+            return false;
+        }
+
+        private Iterator<Object> iterator(final Kryo kryo) {
+            final Input input;
+            try {
+                input = new Input(new FileInputStream(this.file), 65536);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            return new Iterator<Object>() {
+                private long record = 0L;
+
+                @Override
+                public boolean hasNext() {
+                    if (this.record < size)
+                        return true;
+                    input.close();
+                    return false;
+                }
+
+                @Override
+                public Object next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+                    this.record++;
+                    input.readInt();
+                    return kryo.readClassAndObject(input);
+                }
+            };
+        }
+
+        private void close() {
+            try {
+                this.access.close();
+            } catch (final IOException e) {
+                // the file is deleted regardless
+            }
+            this.file.delete();
+        }
+    }
+
+    private static final class Head implements Comparable<Head> {
+
+        private final Object object;
+        private final int hash;
+        private final Iterator<Object> iterator;
+
+        private Head(final Object object, final Iterator<Object> iterator) {
+            this.object = object;
+            this.hash = Objects.hashCode(object);
+            this.iterator = iterator;
+        }
+
+        @Override
+        public int compareTo(final Head other) {
+            return Integer.compare(this.hash, other.hash);
+        }
+    }
+}
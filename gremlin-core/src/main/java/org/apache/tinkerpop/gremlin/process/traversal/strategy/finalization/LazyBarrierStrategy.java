@@ -29,14 +29,25 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
-import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.HashSet;
 import java.util.Set;
 
 /**
+ * LazyBarrierStrategy inserts adaptive {@link NoOpBarrierStep}s after the steps that follow the first vertex step of
+ * a traversal with many vertex steps, so that traversers that arrive at the same element are bulked before the
+ * traversal branches out from them again. The barriers resize themselves from the number of traversers they actually
+ * merge, up to {@link #MAX_BARRIER_SIZE}.
+ * <p/>
+ * Barriers are inserted even if the traversal requires paths. Two traversers are only merged if their (labeled) paths
+ * are equal, which for labeled paths means the same last object for every label, and a barrier that merges little
+ * shrinks to a small window.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
+ * @example <pre>
+ * __.out().out().out().count()   // is replaced by __.out().out().barrier(10000).out().barrier(10000).count()
+ * </pre>
  */
 public final class LazyBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
 
@@ -61,9 +72,6 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
         if (TraversalHelper.onGraphComputer(traversal))
             return;
 
-        if (traversal.getTraverserRequirements().contains(TraverserRequirement.PATH))
-            return;
-
         int depth = 0;
         for (final Step<?, ?> step : traversal.getSteps()) {
             if (step instanceof VertexStep)
@@ -79,7 +87,7 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                     bigStart = step instanceof GraphStep && (((GraphStep) step).getIds().length >= BIG_START_SIZE || (((GraphStep) step).getIds().length == 0 && step instanceof HasContainerHolder && ((HasContainerHolder) step).getHasContainers().isEmpty()));
                 else if ('v' == foundVertexStep || bigStart) {
                     if (!(step instanceof FilterStep) && !(step instanceof Barrier) && !(step instanceof VertexStep && ((VertexStep) step).returnsEdge())) {
-                        TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE), step, traversal);
+                        TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE, true), step, traversal);
                     }
                 }
 
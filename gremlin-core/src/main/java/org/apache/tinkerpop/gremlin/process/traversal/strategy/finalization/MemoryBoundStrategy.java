@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.MemoryBounded;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BloomFilter;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillingSet;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code MemoryBoundStrategy} bounds the number of objects that the steps of an OLTP traversal hold in memory. A
+ * {@link DedupGlobalStep} holds at most the maximum number of objects in memory and writes the rest to run files on
+ * disk (see {@link SpillingSet}), or, if an approximate dedup is configured, only keeps a {@link BloomFilter} of
+ * them. The other {@link MemoryBounded} steps, such as {@code group()}, {@code groupCount()}, {@code aggregate()}
+ * and {@code store()}, produce their result as a single in-memory object and thus can not spill, so they throw an
+ * {@link IllegalStateException} once their result holds more than the maximum number of entries. This includes the
+ * side-effect forms such as {@code group("a")} and {@code groupCount("a")}.
+ * <p/>
+ * The run files of a {@code dedup()} are deleted once the step has no more starts. The strategy registers the
+ * {@link #SPILLING_SETS} side-effect with a traversal that spills, so that the run files of a traversal that is not
+ * iterated to its end can be deleted with {@link #release(Traversal.Admin)}.
+ *
+ * @author agent
+ * @example <pre>
+ * __.V().out().dedup()      // with build().maxSize(100000).create() the dedup spills after 100000 vertices
+ * __.V().out().groupCount() // with build().maxSize(100000).create() the groupCount fails after 100000 keys
+ * </pre>
+ */
+public final class MemoryBoundStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    /**
+     * The side-effect that holds the {@link SpillingSet} of every {@code dedup()} of the traversal that has started.
+     */
+    public static final String SPILLING_SETS = Graph.Hidden.hide("spillingSets");
+
+    private final int maxSize;
+    private final File spillDirectory;
+    private final GryoMapper mapper;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private MemoryBoundStrategy(final Builder builder) {
+        this.maxSize = builder.maxSize;
+        this.spillDirectory = builder.spillDirectory;
+        this.mapper = builder.mapper;
+        this.expectedInsertions = builder.expectedInsertions;
+        this.falsePositiveProbability = builder.falsePositiveProbability;
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof DedupGlobalStep) {
+                if (0L == this.expectedInsertions) {
+                    ((DedupGlobalStep) step).setSpilling(this.maxSize, this.spillDirectory, this.mapper);
+                    traversal.getSideEffects().registerIfAbsent(SPILLING_SETS, ArrayList::new, Operator.addAll);
+                } else
+                    ((DedupGlobalStep) step).setApproximate(this.expectedInsertions, this.falsePositiveProbability);
+            } else if (step instanceof MemoryBounded)
+                ((MemoryBounded) step).setMaxSize(this.maxSize);
+        }
+    }
+
+    /**
+     * Deletes the run files of the spilling {@code dedup()} steps of the traversal, which is only needed if the
+     * traversal is not iterated to its end. The traversal must not be iterated any further.
+     */
+    public static void release(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.getSideEffects().exists(SPILLING_SETS))
+            return;
+        for (final SpillingSet<?> set : traversal.getSideEffects().<List<SpillingSet<?>>>get(SPILLING_SETS)) {
+            set.close();
+        }
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int maxSize = 0;
+        private File spillDirectory = null;
+        private GryoMapper mapper = null;
+        private long expectedInsertions = 0L;
+        private double falsePositiveProbability = 0.0d;
+
+        private Builder() {
+        }
+
+        /**
+         * The maximum number of objects or entries a step may hold in memory.
+         */
+        public Builder maxSize(final int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * The directory of the run files of {@code dedup()}, which defaults to the temporary-file directory.
+         */
+        public Builder spillDirectory(final File spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        /**
+         * The mapper that writes the objects of {@code dedup()} to the run files, which must be configured with the
+         * custom classes of the graph if any are deduplicated.
+         */
+        public Builder mapper(final GryoMapper mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
+        /**
+         * Makes {@code dedup()} only keep a {@link BloomFilter} sized for the expected number of objects, so a
+         * traverser whose object was not seen before is filtered with the false positive probability.
+         */
+        public Builder approximateDedup(final long expectedInsertions, final double falsePositiveProbability) {
+            this.expectedInsertions = expectedInsertions;
+            this.falsePositiveProbability = falsePositiveProbability;
+            return this;
+        }
+
+        public MemoryBoundStrategy create() {
+            if (this.maxSize < 1)
+                throw new IllegalStateException("The maximum size must be greater than zero: " + this.maxSize);
+            if (this.expectedInsertions < 0L)
+                throw new IllegalStateException("The expected number of insertions must be greater than zero: " + this.expectedInsertions);
+            if (0L != this.expectedInsertions && (this.falsePositiveProbability <= 0.0d || this.falsePositiveProbability >= 1.0d))
+                throw new IllegalStateException("The false positive probability must be between 0 and 1: " + this.falsePositiveProbability);
+            return new MemoryBoundStrategy(this);
+        }
+    }
+}
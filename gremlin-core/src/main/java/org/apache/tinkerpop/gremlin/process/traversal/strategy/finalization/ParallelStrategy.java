@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FoldStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStepV3d0;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SupplyingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.util.function.ArrayListSupplier;
+import org.javatuples.Pair;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code ParallelStrategy} executes the start of an OLTP traversal over multiple threads. The steps between the
+ * start {@link GraphStep} and the first {@link Barrier} are moved into a {@link ParallelStep} which processes
+ * partitions of the start traversers with clones of those steps on a {@link java.util.concurrent.ForkJoinPool}.
+ * The partitions are merged at the barrier: a {@link ReducingBarrierStep} is also cloned into each partition and
+ * the partial results are combined with {@link Barrier#addBarrier(Object)}, while the traversers of the partitions
+ * are handed to a {@link CollectingBarrierStep} or {@link SupplyingBarrierStep} as is.
+ * <p/>
+ * The strategy only applies to traversals whose segment has the same result when split. It does not apply if the
+ * segment mutates the graph or writes side-effects, if a global child of the segment contains a barrier, if the
+ * traversal is profiled, or if the graph supports transactions (as transactions are bound to a thread). The graph
+ * must support concurrent reads. As a lambda may hold state of its own, a segment with a {@link LambdaHolder} step
+ * is only split if lambdas are allowed, which asserts that the lambdas of the traversal can be called concurrently.
+ * A barrier is only reduced in the partitions if it starts each partition from a seed of its own, which is not the
+ * case for {@code group()} and a {@code fold()} with a given seed, nor for a barrier with a lambda unless lambdas are
+ * allowed. Such a barrier collects the traversers of the partitions instead.
+ *
+ * @author agent
+ * @example <pre>
+ * __.V().out().out().count()           // is replaced by
+ * [GraphStep, ParallelStep([VertexStep, VertexStep, CountGlobalStep]), CountGlobalStep]
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = new HashSet<>();
+
+    static {
+        PRIORS.add(ProfileStrategy.class);
+    }
+
+    private final int parallelism;
+    private final boolean lambdas;
+
+    public ParallelStrategy(final int parallelism) {
+        this(parallelism, false);
+    }
+
+    /**
+     * @param parallelism the number of threads to execute a traversal over
+     * @param lambdas     whether a traversal with lambdas is split, in which case its lambdas are called concurrently
+     */
+    public ParallelStrategy(final int parallelism, final boolean lambdas) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be greater than zero: " + parallelism);
+        this.parallelism = parallelism;
+        this.lambdas = lambdas;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public boolean allowsLambdas() {
+        return this.lambdas;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep) ||
+                TraversalHelper.onGraphComputer(traversal) ||
+                !(traversal.getStartStep() instanceof GraphStep) ||
+                !traversal.getGraph().isPresent() ||
+                traversal.getGraph().get().features().graph().supportsTransactions() ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal))
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        int barrierIndex = 1;
+        while (barrierIndex < steps.size() && !isMergingBarrier(steps.get(barrierIndex))) {
+            barrierIndex++;
+        }
+        if (barrierIndex == 1 || barrierIndex == steps.size())
+            return;
+        final Step<?, ?> barrier = steps.get(barrierIndex);
+        if (!(barrier instanceof ReducingBarrierStep || barrier instanceof CollectingBarrierStep || barrier instanceof SupplyingBarrierStep))
+            return;
+        for (int i = 1; i < barrierIndex; i++) {
+            if (!isParallelizable(steps.get(i)))
+                return;
+        }
+
+        final boolean reducing = barrier instanceof ReducingBarrierStep && this.isReducibleInPartitions((ReducingBarrierStep<?, ?>) barrier);
+        final Traversal.Admin<?, ?> parallelTraversal = new DefaultTraversal<>();
+        TraversalHelper.removeToTraversal(steps.get(1), barrier, (Traversal.Admin) parallelTraversal);
+        if (reducing)
+            parallelTraversal.addStep(barrier.clone());
+        TraversalHelper.insertBeforeStep(new ParallelStep<>(traversal, parallelTraversal, this.parallelism, reducing), (Step) barrier, traversal);
+    }
+
+    /**
+     * A {@link LocalBarrier} only bulks the traversers that pass through it and can thus be part of a partition.
+     */
+    private static boolean isMergingBarrier(final Step<?, ?> step) {
+        return step instanceof Barrier && !(step instanceof LocalBarrier);
+    }
+
+    private boolean isParallelizable(final Step<?, ?> step) {
+        if (!this.isSafe(step))
+            return false;
+        if (step instanceof TraversalParent) {
+            for (final Traversal.Admin<?, ?> localChild : ((TraversalParent) step).getLocalChildren()) {
+                if (TraversalHelper.anyStepRecursively(s -> !this.isSafe(s), localChild))
+                    return false;
+            }
+            // global children see the whole stream of traversers, so a barrier in them would only see a partition
+            for (final Traversal.Admin<?, ?> globalChild : ((TraversalParent) step).getGlobalChildren()) {
+                if (TraversalHelper.anyStepRecursively(s -> isMergingBarrier(s) || !this.isSafe(s), globalChild))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the step can be executed by several partitions at once without them sharing any state.
+     */
+    private boolean isSafe(final Step<?, ?> step) {
+        return !(step instanceof Mutating || step instanceof SideEffectCapable) && (this.lambdas || !isLambda(step));
+    }
+
+    /**
+     * Whether each clone of the barrier starts from a seed of its own, so that the partial barriers of the partitions
+     * can be merged. A {@code fold()} with a given seed hands every clone the same seed and {@code group()} reduces
+     * with an operator that holds its value traversal, so neither can be shared by clones.
+     */
+    private boolean isReducibleInPartitions(final ReducingBarrierStep<?, ?> barrier) {
+        if (barrier instanceof GroupStep || barrier instanceof GroupStepV3d0)
+            return false;
+        if (barrier instanceof FoldStep && !(barrier.getSeedSupplier() instanceof ArrayListSupplier))
+            return false;
+        if (!this.lambdas && barrier instanceof TraversalParent) {
+            final TraversalParent parent = (TraversalParent) barrier;
+            for (final Traversal.Admin<?, ?> child : parent.getLocalChildren()) {
+                if (TraversalHelper.anyStepRecursively(ParallelStrategy::isLambda, child))
+                    return false;
+            }
+        }
+        return this.lambdas || !isLambda(barrier);
+    }
+
+    private static boolean isLambda(final Step<?, ?> step) {
+        if (step instanceof LambdaHolder)
+            return true;
+        if (step instanceof ComparatorHolder) {
+            for (final Pair<Traversal.Admin<Object, Comparable>, Comparator<Comparable>> comparator : ((ComparatorHolder<Object, Comparable>) step).getComparators()) {
+                if (comparator.toString().contains("$$Lambda$"))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+}
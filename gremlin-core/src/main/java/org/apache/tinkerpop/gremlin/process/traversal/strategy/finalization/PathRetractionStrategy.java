@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PathRetractionStrategy drops the labels that no later step reads from the paths of the traversers. A traversal that
+ * only requires labeled paths (e.g. for {@code select()} and {@code where()}) otherwise carries every labeled object
+ * to the end of the traversal, which costs memory and keeps traversers from being bulked. The labels read after a
+ * {@link PathProcessor} step of the root traversal are the scope keys of the {@link Scoping} steps (and the scoping
+ * steps of their children) that follow it, and the step drops all other labels from the traversers it emits.
+ * <p/>
+ * The strategy does nothing if the traversal requires full paths, if it has a step that reads the path without
+ * declaring the labels it reads (e.g. a lambda step or {@code match()}) or if it is executed by a graph computer.
+ *
+ * @author agent
+ * @example <pre>
+ * __.V().as("a").out().as("b").select("a").out().as("c").select("c")  // only "c" is kept after select("a")
+ * </pre>
+ */
+public final class PathRetractionStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final PathRetractionStrategy INSTANCE = new PathRetractionStrategy();
+
+    private PathRetractionStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep) || TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        boolean labeledPath = false;
+        for (final Step<?, ?> step : TraversalHelper.getStepsOfAssignableClassRecursively(Step.class, traversal)) {
+            if (step instanceof LambdaHolder || step instanceof MatchStep)
+                return;
+            final Set<TraverserRequirement> requirements = step.getRequirements();
+            if (requirements.contains(TraverserRequirement.PATH))
+                return;
+            if (requirements.contains(TraverserRequirement.LABELED_PATH)) {
+                if (!(step instanceof Scoping) && !(step instanceof TraversalParent))
+                    return;
+                labeledPath = true;
+            }
+        }
+        if (!labeledPath)
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        final Set<String> referencedLabels = new HashSet<>();
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            final Step<?, ?> step = steps.get(i);
+            if (step instanceof PathProcessor)
+                ((PathProcessor) step).setKeepLabels(Collections.unmodifiableSet(new HashSet<>(referencedLabels)));
+            if (step instanceof Scoping)
+                referencedLabels.addAll(((Scoping) step).getScopeKeys());
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    this.addScopeKeys(child, referencedLabels);
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    this.addScopeKeys(child, referencedLabels);
+                }
+            }
+        }
+    }
+
+    private void addScopeKeys(final Traversal.Admin<?, ?> traversal, final Set<String> labels) {
+        for (final Scoping scoping : TraversalHelper.getStepsOfAssignableClassRecursively(Scoping.class, traversal)) {
+            labels.addAll(scoping.getScopeKeys());
+        }
+    }
+
+    public static PathRetractionStrategy instance() {
+        return INSTANCE;
+    }
+}
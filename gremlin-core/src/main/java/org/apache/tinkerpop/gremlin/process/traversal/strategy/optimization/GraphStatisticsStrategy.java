@@ -0,0 +1,322 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.LazyBarrierStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * GraphStatisticsStrategy uses the {@link Graph.Statistics} of the graph, if it provides any, to choose between
+ * equivalent forms of a traversal.
+ * <ul>
+ * <li>Consecutive {@code has()}-steps, and the predicates of a single {@code has()}-step, are ordered from the most to
+ * the least selective predicate.</li>
+ * <li>A {@code where()}-traversal that walks a chain of adjacent vertices from one bound variable to another is
+ * reversed if walking the chain from the other end is expected to touch fewer vertices.</li>
+ * <li>A barrier is inserted after a vertex-emitting step of the root traversal if the estimated number of
+ * traversers is greater than the number of vertices they can be at, so that traversers at the same vertex are
+ * bulked.</li>
+ * </ul>
+ * Labeled steps and steps with predicates other than those of {@link Compare} and {@link Contains} are not moved. Barriers are not inserted if the traversal requires (labeled) paths, as traversers
+ * with different paths can not be bulked, or if {@link LazyBarrierStrategy} is registered.
+ *
+ * @author agent
+ * @example <pre>
+ * __.V().has("age", gt(20)).has("name", "marko")            // is replaced by __.V().has("name", "marko").has("age", gt(20))
+ * __.where(as("a").out("created").as("b"))                  // may be replaced by __.where(as("b").in("created").as("a"))
+ * __.V().out().out().out().count()                          // may be replaced by __.V().out().barrier(10000).out().barrier(10000).out().count()
+ * </pre>
+ */
+public final class GraphStatisticsStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final GraphStatisticsStrategy INSTANCE = new GraphStatisticsStrategy();
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>();
+
+    static {
+        PRIORS.add(AdjacentToIncidentStrategy.class);
+        PRIORS.add(FilterRankingStrategy.class);
+        PRIORS.add(IncidentToAdjacentStrategy.class);
+        PRIORS.add(MatchPredicateStrategy.class);
+    }
+
+    /**
+     * Bulking only pays off if traversers are expected to meet at the same vertex more than once.
+     */
+    private static final double BULKING_RATIO = 2.0d;
+    private static final int MAX_BARRIER_SIZE = 10000;
+
+    private GraphStatisticsStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        final Optional<Graph.Statistics> statistics = traversal.getGraph().flatMap(Graph::statistics);
+        if (!statistics.isPresent())
+            return;
+
+        orderHasSteps(traversal, statistics.get());
+        for (final WhereTraversalStep<?> whereStep : TraversalHelper.getStepsOfClass(WhereTraversalStep.class, traversal)) {
+            reverseWhereTraversal(whereStep.getLocalChildren().get(0), statistics.get());
+        }
+        if (traversal.getParent() instanceof EmptyStep &&
+                !TraversalHelper.onGraphComputer(traversal) &&
+                !traversal.getStrategies().toList().contains(LazyBarrierStrategy.instance()) &&
+                !traversal.getTraverserRequirements().contains(TraverserRequirement.PATH) &&
+                !traversal.getTraverserRequirements().contains(TraverserRequirement.LABELED_PATH))
+            insertBarriers(traversal, statistics.get());
+    }
+
+    private static void orderHasSteps(final Traversal.Admin<?, ?> traversal, final Graph.Statistics statistics) {
+        final List<Step> steps = traversal.getSteps();
+        int i = 0;
+        while (i < steps.size()) {
+            if (!isMovable(steps.get(i))) {
+                i++;
+                continue;
+            }
+            final Class<? extends Element> elementClass = getElementClass(steps.get(i));
+            int end = i;
+            while (end < steps.size() && isMovable(steps.get(end))) {
+                end++;
+            }
+            if (null != elementClass) {
+                final List<HasStep<?>> run = new ArrayList<>();
+                for (int j = i; j < end; j++) {
+                    run.add(orderHasContainers(traversal, (HasStep<?>) steps.get(j), elementClass, statistics));
+                }
+                final List<HasStep<?>> ordered = new ArrayList<>(run);
+                ordered.sort(Comparator.comparingDouble(step -> selectivity(step.getHasContainers(), elementClass, statistics)));
+                if (!isSameOrder(ordered, run)) {
+                    for (final HasStep<?> step : run) {
+                        traversal.removeStep(step);
+                    }
+                    for (int j = 0; j < ordered.size(); j++) {
+                        traversal.addStep(i + j, ordered.get(j));
+                    }
+                }
+            }
+            i = end;
+        }
+    }
+
+    private static HasStep<?> orderHasContainers(final Traversal.Admin<?, ?> traversal, final HasStep<?> step, final Class<? extends Element> elementClass, final Graph.Statistics statistics) {
+        final List<HasContainer> hasContainers = step.getHasContainers();
+        if (hasContainers.size() < 2 || !hasContainers.stream().allMatch(GraphStatisticsStrategy::isEstimable))
+            return step;
+        final List<HasContainer> ordered = new ArrayList<>(hasContainers);
+        ordered.sort(Comparator.comparingDouble(hasContainer -> selectivity(hasContainer, elementClass, statistics)));
+        if (isSameOrder(ordered, hasContainers))
+            return step;
+        final HasStep<?> orderedStep = new HasStep<>(traversal, ordered.toArray(new HasContainer[ordered.size()]));
+        TraversalHelper.replaceStep((Step) step, orderedStep, traversal);
+        return orderedStep;
+    }
+
+    private static void reverseWhereTraversal(final Traversal.Admin<?, ?> whereTraversal, final Graph.Statistics statistics) {
+        final List<Step> steps = whereTraversal.getSteps();
+        if (steps.size() < 3 ||
+                !(steps.get(0) instanceof WhereTraversalStep.WhereStartStep) ||
+                !(steps.get(steps.size() - 1) instanceof WhereTraversalStep.WhereEndStep))
+            return;
+        final Set<String> startKeys = ((WhereTraversalStep.WhereStartStep<?>) steps.get(0)).getScopeKeys();
+        final Set<String> endKeys = ((WhereTraversalStep.WhereEndStep) steps.get(steps.size() - 1)).getScopeKeys();
+        if (startKeys.isEmpty() || endKeys.isEmpty() || !steps.get(0).getLabels().isEmpty())
+            return;
+
+        final List<VertexStep<?>> chain = new ArrayList<>();
+        double forward = 1.0d;
+        double backward = 1.0d;
+        for (int i = 1; i < steps.size() - 1; i++) {
+            final Step<?, ?> step = steps.get(i);
+            if (!(step instanceof VertexStep) || !((VertexStep) step).returnsVertex() || !step.getLabels().isEmpty())
+                return;
+            final VertexStep<?> vertexStep = (VertexStep<?>) step;
+            chain.add(vertexStep);
+            forward = forward * statistics.averageDegree(vertexStep.getDirection(), vertexStep.getEdgeLabels());
+            backward = backward * statistics.averageDegree(vertexStep.getDirection().opposite(), vertexStep.getEdgeLabels());
+        }
+        if (backward >= forward)
+            return;
+
+        final String startKey = startKeys.iterator().next();
+        final String endKey = endKeys.iterator().next();
+        for (final VertexStep<?> vertexStep : chain) {
+            whereTraversal.removeStep(vertexStep);
+            vertexStep.reverseDirection();
+        }
+        TraversalHelper.replaceStep(whereTraversal.getStartStep(), (Step) new WhereTraversalStep.WhereStartStep<>(whereTraversal, endKey), whereTraversal);
+        TraversalHelper.replaceStep(whereTraversal.getEndStep(), (Step) new WhereTraversalStep.WhereEndStep(whereTraversal, startKey), whereTraversal);
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            whereTraversal.addStep(whereTraversal.getSteps().size() - 1, chain.get(i));
+        }
+    }
+
+    private static void insertBarriers(final Traversal.Admin<?, ?> traversal, final Graph.Statistics statistics) {
+        if (!(traversal.getStartStep() instanceof GraphStep))
+            return;
+        final GraphStep<?, ?> graphStep = (GraphStep<?, ?>) traversal.getStartStep();
+        double traversers = graphStep.getIds().length > 0 ?
+                graphStep.getIds().length :
+                graphStep.returnsVertex() ? statistics.vertexCount() : statistics.edgeCount();
+        final List<Step> steps = traversal.getSteps();
+        for (int i = 1; i < steps.size() - 1; i++) {
+            final Step<?, ?> step = steps.get(i);
+            final double vertices;
+            if (step instanceof HasStep) {
+                final Class<? extends Element> elementClass = getElementClass(step);
+                if (null != elementClass)
+                    traversers = traversers * selectivity(((HasStep<?>) step).getHasContainers(), elementClass, statistics);
+                continue;
+            } else if (step instanceof FilterStep || step instanceof IdentityStep) {
+                continue;
+            } else if (step instanceof VertexStep) {
+                final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                final double degree = statistics.vertexCount() == 0 ? 0.0d :
+                        (double) edgeCount(statistics, vertexStep.getEdgeLabels()) / statistics.vertexCount();
+                traversers = traversers * (vertexStep.getDirection() == Direction.BOTH ? 2.0d * degree : degree);
+                if (vertexStep.returnsEdge())
+                    continue;
+                vertices = vertexStep.getDirection() == Direction.BOTH ?
+                        statistics.vertexCount() :
+                        vertexCount(statistics, vertexStep.getDirection().opposite(), vertexStep.getEdgeLabels());
+            } else if (step instanceof EdgeVertexStep || step instanceof EdgeOtherVertexStep) {
+                vertices = statistics.vertexCount();
+            } else {
+                return;
+            }
+            if (traversers > BULKING_RATIO * vertices && !(step.getNextStep() instanceof Barrier)) {
+                TraversalHelper.insertAfterStep(new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE), step, traversal);
+                traversers = vertices;
+                i++;
+            }
+        }
+    }
+
+    private static boolean isMovable(final Step<?, ?> step) {
+        return step instanceof HasStep && step.getLabels().isEmpty() &&
+                ((HasStep<?>) step).getHasContainers().stream().allMatch(GraphStatisticsStrategy::isEstimable);
+    }
+
+    /**
+     * Only predicates built from {@link Compare} and {@link Contains} are handed to the statistics. Any other predicate
+     * may have side-effects, so it is neither evaluated while planning nor moved relative to the others.
+     */
+    private static boolean isEstimable(final HasContainer hasContainer) {
+        return isEstimable(hasContainer.getPredicate());
+    }
+
+    private static boolean isEstimable(final P<?> predicate) {
+        if (predicate instanceof ConnectiveP)
+            return ((ConnectiveP<?>) predicate).getPredicates().stream().allMatch(GraphStatisticsStrategy::isEstimable);
+        return predicate.getBiPredicate() instanceof Compare || predicate.getBiPredicate() instanceof Contains;
+    }
+
+    private static boolean isSameOrder(final List<?> a, final List<?> b) {
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) return false;
+        }
+        return true;
+    }
+
+    private static Class<? extends Element> getElementClass(Step<?, ?> step) {
+        while (!(step instanceof EmptyStep)) {
+            if (step instanceof GraphStep)
+                return ((GraphStep<?, ?>) step).returnsVertex() ? Vertex.class : Edge.class;
+            else if (step instanceof VertexStep)
+                return ((VertexStep<?>) step).returnsVertex() ? Vertex.class : Edge.class;
+            else if (step instanceof EdgeVertexStep || step instanceof EdgeOtherVertexStep)
+                return Vertex.class;
+            else if (!(step instanceof FilterStep) && !(step instanceof IdentityStep) && !(step instanceof NoOpBarrierStep))
+                return null;
+            step = step.getPreviousStep();
+        }
+        return null;
+    }
+
+    private static double selectivity(final List<HasContainer> hasContainers, final Class<? extends Element> elementClass, final Graph.Statistics statistics) {
+        double selectivity = 1.0d;
+        for (final HasContainer hasContainer : hasContainers) {
+            selectivity = selectivity * selectivity(hasContainer, elementClass, statistics);
+        }
+        return selectivity;
+    }
+
+    private static double selectivity(final HasContainer hasContainer, final Class<? extends Element> elementClass, final Graph.Statistics statistics) {
+        return isEstimable(hasContainer) ?
+                statistics.selectivity(elementClass, hasContainer.getKey(), hasContainer.getPredicate()) :
+                1.0d;
+    }
+
+    private static long edgeCount(final Graph.Statistics statistics, final String... edgeLabels) {
+        if (edgeLabels.length == 0)
+            return statistics.edgeCount();
+        long count = 0l;
+        for (final String edgeLabel : edgeLabels) {
+            count = count + statistics.edgeCount(edgeLabel);
+        }
+        return count;
+    }
+
+    private static long vertexCount(final Graph.Statistics statistics, final Direction direction, final String... edgeLabels) {
+        if (edgeLabels.length == 0)
+            return statistics.vertexCount(direction, null);
+        long count = 0l;
+        for (final String edgeLabel : edgeLabels) {
+            count = count + statistics.vertexCount(direction, edgeLabel);
+        }
+        return Math.min(count, statistics.vertexCount());
+    }
+
+    public static GraphStatisticsStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -30,7 +30,6 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SackStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectStep;
-import org.apache.tinkerpop.gremlin.process.traversal.step.map.TreeStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
@@ -40,7 +39,14 @@ import java.util.List;
 import java.util.Set;
 
 /**
+ * {@code OrderLimitStrategy} passes the high range of a {@link RangeGlobalStep} that follows an
+ * {@link OrderGlobalStep} (with only steps in between that neither filter nor reorder) to the
+ * {@link OrderGlobalStep}, which then only retains the traversers within that range while it collects and merges.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
+ * @example <pre>
+ * __.order().by("score", decr).limit(10)     // the order step only retains the top 10 traversers
+ * </pre>
  */
 public final class OrderLimitStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
 
@@ -52,17 +58,13 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
                     PathStep.class,
                     SelectStep.class,
                     SelectOneStep.class,
-                    SackStep.class,
-                    TreeStep.class));
+                    SackStep.class));
 
     private OrderLimitStrategy() {
     }
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        if (!TraversalHelper.onGraphComputer(traversal))
-            return;
-
         final List<OrderGlobalStep> orders = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal);
         for (final OrderGlobalStep order : orders) {
             RangeGlobalStep range = null;
@@ -76,7 +78,7 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
                 else
                     currentStep = currentStep.getNextStep();
             }
-            if (null != range)
+            if (null != range && -1 != range.getHighRange())
                 order.setLimit(range.getHighRange());
         }
     }
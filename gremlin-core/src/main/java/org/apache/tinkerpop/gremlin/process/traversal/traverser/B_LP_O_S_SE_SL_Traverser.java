@@ -22,9 +22,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
-import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -39,7 +40,7 @@ public class B_LP_O_S_SE_SL_Traverser<T> extends B_O_S_SE_SL_Traverser<T> {
 
     public B_LP_O_S_SE_SL_Traverser(final T t, final Step<T, ?> step, final long initialBulk) {
         super(t, step, initialBulk);
-        this.path = ImmutablePath.make();
+        this.path = CompactPath.make();
         if (!step.getLabels().isEmpty()) this.path = this.path.extend(t, step.getLabels());
     }
 
@@ -84,6 +85,19 @@ public class B_LP_O_S_SE_SL_Traverser<T> extends B_O_S_SE_SL_Traverser<T> {
                     this.path.extend(labels);
     }
 
+    @Override
+    public void keepLabels(final Set<String> labels) {
+        final Set<String> retractLabels = new HashSet<>();
+        for (final Set<String> objectLabels : this.path.labels()) {
+            for (final String label : objectLabels) {
+                if (!labels.contains(label))
+                    retractLabels.add(label);
+            }
+        }
+        if (!retractLabels.isEmpty())
+            this.path = this.path.retract(retractLabels);
+    }
+
     @Override
     public int hashCode() {
         return super.hashCode() + this.path.hashCode();
@@ -22,6 +22,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.AbstractTraverser;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -100,6 +101,14 @@ public class B_O_S_SE_SL_Traverser<T> extends B_O_Traverser<T> {
         return clone;
     }
 
+    @Override
+    protected void copyTo(final AbstractTraverser<?> traverser) {
+        super.copyTo(traverser);
+        ((B_O_S_SE_SL_Traverser<?>) traverser).sack = this.sack;
+        ((B_O_S_SE_SL_Traverser<?>) traverser).loops = this.loops;
+        ((B_O_S_SE_SL_Traverser<?>) traverser).sideEffects = this.sideEffects;
+    }
+
     @Override
     public void merge(final Traverser.Admin<?> other) {
         super.merge(other);
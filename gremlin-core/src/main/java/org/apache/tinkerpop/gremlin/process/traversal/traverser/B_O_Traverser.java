@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.AbstractTraverser;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -61,6 +62,13 @@ public class B_O_Traverser<T> extends O_Traverser<T> {
         this.future = stepId;
     }
 
+    @Override
+    protected void copyTo(final AbstractTraverser<?> traverser) {
+        super.copyTo(traverser);
+        ((B_O_Traverser<?>) traverser).bulk = this.bulk;
+        ((B_O_Traverser<?>) traverser).future = this.future;
+    }
+
     @Override
     public boolean equals(final Object object) {
         return object instanceof B_O_Traverser &&
@@ -61,6 +61,12 @@ public abstract class O_Traverser<T> extends AbstractTraverser<T> {
         return clone;
     }
 
+    @Override
+    protected void copyTo(final AbstractTraverser<?> traverser) {
+        super.copyTo(traverser);
+        ((O_Traverser<?>) traverser).tags = this.tags;
+    }
+
     @Override
     public void merge(final Traverser.Admin<?> other) {
         super.merge(other);
@@ -37,6 +37,11 @@ public enum TraverserRequirement {
     OBJECT,
     ONE_BULK,
     PATH,
+    /**
+     * Traversers that are no longer referenced by the traversal may be reused by the traversal. This is an opt-in
+     * optimization for OLTP traversals that is only provided for traversers that do not hold a path.
+     */
+    RECYCLE,
     SACK,
     SIDE_EFFECTS,
     SINGLE_LOOP
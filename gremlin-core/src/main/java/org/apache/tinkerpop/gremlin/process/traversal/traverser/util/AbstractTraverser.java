@@ -36,6 +36,7 @@ import java.util.function.Function;
 public abstract class AbstractTraverser<T> implements Traverser<T>, Traverser.Admin<T> {
 
     protected T t;
+    protected transient TraverserPool pool = null;
 
     protected AbstractTraverser() {
 
@@ -54,17 +55,39 @@ public abstract class AbstractTraverser<T> implements Traverser<T>, Traverser.Ad
 
     @Override
     public <R> Admin<R> split(final R r, final Step<T, R> step) {
-        try {
-            final AbstractTraverser<R> clone = (AbstractTraverser<R>) super.clone();
-            clone.t = r;
-            return clone;
-        } catch (final CloneNotSupportedException e) {
-            throw new IllegalStateException(e.getMessage(), e);
-        }
+        final AbstractTraverser<R> clone = (AbstractTraverser<R>) this.copy();
+        clone.t = r;
+        return clone;
     }
 
     @Override
     public Admin<T> split() {
+        return this.copy();
+    }
+
+    @Override
+    public void recycle() {
+        if (null != this.pool && this.pool.offer(this))
+            this.t = null;
+    }
+
+    /**
+     * Copy the state of this traverser into a recycled traverser of the same class. A traverser class whose instances
+     * are recycled must override this to copy the state it adds.
+     */
+    protected void copyTo(final AbstractTraverser<?> traverser) {
+        ((AbstractTraverser<T>) traverser).t = this.t;
+        traverser.pool = this.pool;
+    }
+
+    private AbstractTraverser<T> copy() {
+        if (null != this.pool) {
+            final AbstractTraverser<T> recycled = (AbstractTraverser<T>) this.pool.poll();
+            if (null != recycled) {
+                this.copyTo(recycled);
+                return recycled;
+            }
+        }
         try {
             return (AbstractTraverser<T>) super.clone();
         } catch (final CloneNotSupportedException e) {
@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserGenerat
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -47,8 +48,22 @@ public class DefaultTraverserGeneratorFactory implements TraverserGeneratorFacto
     private DefaultTraverserGeneratorFactory() {
     }
 
+    /**
+     * If the requirements include {@link TraverserRequirement#RECYCLE}, a new {@link RecyclingTraverserGenerator} is
+     * returned if the traversers that meet the other requirements can be recycled, otherwise the requirement is
+     * ignored.
+     */
     @Override
     public TraverserGenerator getTraverserGenerator(final Set<TraverserRequirement> requirements) {
+        if (requirements.contains(TraverserRequirement.RECYCLE)) {
+            final Set<TraverserRequirement> otherRequirements = EnumSet.copyOf(requirements);
+            otherRequirements.remove(TraverserRequirement.RECYCLE);
+            final TraverserGenerator generator = this.getTraverserGenerator(otherRequirements);
+            return generator == B_O_TraverserGenerator.instance() || generator == B_O_S_SE_SL_TraverserGenerator.instance() ?
+                    new RecyclingTraverserGenerator(generator) :
+                    generator;
+        }
+
         if (requirements.contains(TraverserRequirement.ONE_BULK)) {
             if (O_OB_S_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
                 return O_OB_S_SE_SL_TraverserGenerator.instance();
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Generates the traversers of another {@link TraverserGenerator} with a {@link TraverserPool} that is shared by the
+ * traversers generated for a single traversal and all of their splits. A traverser that is
+ * {@link Traverser.Admin#recycle() recycled} is put in the pool and reused by a later split instead of cloning the
+ * splitting traverser. {@link DefaultTraverserGeneratorFactory} creates one of these per traversal that requires
+ * {@link TraverserRequirement#RECYCLE}.
+ *
+ * @author agent
+ */
+public final class RecyclingTraverserGenerator implements TraverserGenerator {
+
+    private final TraverserGenerator generator;
+    private final Set<TraverserRequirement> requirements;
+    private final TraverserPool pool = new TraverserPool();
+
+    /**
+     * @param generator a generator of traversers that extend {@link AbstractTraverser} and override
+     *                  {@link AbstractTraverser#copyTo(AbstractTraverser)} to copy all of their state
+     */
+    public RecyclingTraverserGenerator(final TraverserGenerator generator) {
+        this.generator = generator;
+        this.requirements = EnumSet.copyOf(generator.getProvidedRequirements());
+        this.requirements.add(TraverserRequirement.RECYCLE);
+    }
+
+    @Override
+    public <S> Traverser.Admin<S> generate(final S start, final Step<S, ?> startStep, final long initialBulk) {
+        final AbstractTraverser<S> traverser = (AbstractTraverser<S>) this.generator.generate(start, startStep, initialBulk);
+        traverser.pool = this.pool;
+        return traverser;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getProvidedRequirements() {
+        return this.requirements;
+    }
+}
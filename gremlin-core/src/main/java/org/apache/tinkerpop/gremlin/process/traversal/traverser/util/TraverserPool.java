@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+/**
+ * A bounded stack of recycled traversers of a single traversal. Steps run in the thread that iterates the traversal,
+ * so the pool is not synchronized and instead ignores any other thread: the thread that created the pool is the only
+ * one to recycle and reuse traversers, while traversers split or recycled in other threads (e.g. by
+ * {@code withParallelism()}) are simply cloned and garbage collected.
+ *
+ * @author agent
+ */
+final class TraverserPool {
+
+    private static final int MAX_POOL_SIZE = 1024;
+
+    private final Thread owner = Thread.currentThread();
+    private final AbstractTraverser<?>[] traversers = new AbstractTraverser[MAX_POOL_SIZE];
+    private int size = 0;
+
+    /**
+     * @return {@code true} if the traverser was added to the pool
+     */
+    boolean offer(final AbstractTraverser<?> traverser) {
+        if (this.size == MAX_POOL_SIZE || Thread.currentThread() != this.owner)
+            return false;
+        this.traversers[this.size++] = traverser;
+        return true;
+    }
+
+    AbstractTraverser<?> poll() {
+        if (0 == this.size || Thread.currentThread() != this.owner)
+            return null;
+        final AbstractTraverser<?> traverser = this.traversers[--this.size];
+        this.traversers[this.size] = null;
+        return traverser;
+    }
+}
@@ -20,74 +20,160 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.Serializable;
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * A set of traversers in insertion order in which an added traverser that is equal to a traverser already in the set
+ * is merged into it. It is a FIFO {@link Queue} where {@link #remove()} pops the oldest traverser.
+ * <p/>
+ * The traversers are kept in an array in insertion order along with their hash codes and are found through an open
+ * addressing table of positions in that array, so there is no entry object per traverser and no iterator is created
+ * to pop a traverser. The arrays are kept when the set is emptied so a set that is filled and drained over and over
+ * again (e.g. the starts of a step) does not allocate once it has grown.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = new LinkedHashMap<>();
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int FREE = 0;
+    private static final int DELETED = -1;
+    private static final Traverser.Admin[] NO_TRAVERSERS = new Traverser.Admin[0];
+    private static final int[] NO_INTS = new int[0];
+
+    private Traverser.Admin<S>[] traversers = NO_TRAVERSERS;
+    private int[] hashes = NO_INTS;
+    /**
+     * Open addressing table of positions in {@link #traversers} plus one, {@link #FREE} or {@link #DELETED}. The
+     * arrays are only allocated once the first traverser is added.
+     */
+    private int[] slots = NO_INTS;
+    private int head = 0;
+    private int tail = 0;
+    private int size = 0;
+    private int deleted = 0;
+    private transient int modCount = 0;
 
     public TraverserSet() {
 
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
-        this.map.put(traverser, traverser);
+        this.add(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new Iterator<Traverser.Admin<S>>() {
+            private int current = head;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                while (this.current < tail && null == traversers[this.current]) {
+                    this.current++;
+                }
+                return this.current < tail;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (!this.hasNext()) throw FastNoSuchElementException.instance();
+                this.last = this.current++;
+                return traversers[this.last];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) throw new IllegalStateException();
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                removeAt(this.last);
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int slot = this.find(traverser, hash(traverser));
+        return slot < 0 ? null : this.traversers[this.slots[slot] - 1];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     public long bulkSize() {
-        return this.map.values().stream().map(Traverser::bulk).reduce(0l, (a, b) -> a + b);
+        long bulkSize = 0l;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i]) bulkSize = bulkSize + this.traversers[i].bulk();
+        }
+        return bulkSize;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return traverser instanceof Traverser.Admin && this.find(traverser, hash(traverser)) >= 0;
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
-            return true;
-        } else {
-            existing.merge(traverser);
-            return false;
+        if (0 == this.slots.length) {
+            this.traversers = new Traverser.Admin[INITIAL_CAPACITY];
+            this.hashes = new int[INITIAL_CAPACITY];
+            this.slots = new int[2 * INITIAL_CAPACITY];
+        }
+        final int hash = hash(traverser);
+        final int mask = this.slots.length - 1;
+        int insert = -1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            final int position = this.slots[i];
+            if (FREE == position) {
+                if (-1 == insert) insert = i;
+                break;
+            } else if (DELETED == position) {
+                if (-1 == insert) insert = i;
+            } else if (this.hashes[position - 1] == hash && this.traversers[position - 1].equals(traverser)) {
+                this.traversers[position - 1].merge(traverser);
+                return false;
+            }
         }
+        if (this.tail == this.traversers.length) {
+            this.rebuild();
+            return this.add(traverser);
+        }
+        if (DELETED == this.slots[insert])
+            this.deleted--;
+        this.traversers[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        this.slots[insert] = ++this.tail;
+        this.size++;
+        this.modCount++;
+        if (2 * (this.tail - this.head + this.deleted) > this.slots.length)
+            this.rebuild();
+        return true;
     }
 
     @Override
@@ -97,63 +183,167 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (0 == this.size)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
-        return next;
+        while (null == this.traversers[this.head]) {
+            this.head++;
+        }
+        final Traverser.Admin<S> traverser = this.traversers[this.head];
+        this.removeAt(this.head);
+        return traverser;
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return 0 == this.size ? null : this.remove();
     }
 
     @Override
     public Traverser.Admin<S> element() { // peek, exception if empty
-        return this.iterator().next();
+        final Traverser.Admin<S> traverser = this.peek();
+        if (null == traverser)
+            throw new NoSuchElementException();
+        return traverser;
     }
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        if (0 == this.size)
+            return null;
+        while (null == this.traversers[this.head]) {
+            this.head++;
+        }
+        return this.traversers[this.head];
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        if (!(traverser instanceof Traverser.Admin))
+            return false;
+        final int slot = this.find(traverser, hash(traverser));
+        if (slot < 0)
+            return false;
+        this.removeAt(this.slots[slot] - 1);
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        if (0 == this.size && 0 == this.tail && 0 == this.deleted)
+            return;
+        Arrays.fill(this.traversers, this.head, this.tail, null);
+        Arrays.fill(this.slots, FREE);
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        this.deleted = 0;
+        this.modCount++;
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
-    }
-
-    @Override
-    public String toString() {
-        return this.map.values().toString();
+        return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
+        final List<Traverser.Admin<S>> list = this.drain();
         Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        list.forEach(this::add);
     }
 
     public void shuffle() {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
+        final List<Traverser.Admin<S>> list = this.drain();
         Collections.shuffle(list);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        list.forEach(this::add);
     }
 
+    private List<Traverser.Admin<S>> drain() {
+        final List<Traverser.Admin<S>> list = new ArrayList<>(this.size);
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i]) list.add(this.traversers[i]);
+        }
+        this.clear();
+        return list;
+    }
+
+    private void removeAt(final int position) {
+        final int mask = this.slots.length - 1;
+        for (int i = this.hashes[position] & mask; ; i = (i + 1) & mask) {
+            if (this.slots[i] == position + 1) {
+                this.slots[i] = DELETED;
+                break;
+            }
+        }
+        this.traversers[position] = null;
+        this.deleted++;
+        this.size--;
+        this.modCount++;
+        if (0 == this.size) {
+            // only deleted slots are left so the positions can start over
+            this.head = 0;
+            this.tail = 0;
+        } else if (position == this.head) {
+            this.head++;
+        }
+    }
+
+    /**
+     * The slot that holds the position of the traverser or {@code -1} if it is not in the set.
+     */
+    private int find(final Object traverser, final int hash) {
+        if (0 == this.size)
+            return -1;
+        final int mask = this.slots.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            final int position = this.slots[i];
+            if (FREE == position)
+                return -1;
+            else if (DELETED != position && this.hashes[position - 1] == hash && this.traversers[position - 1].equals(traverser))
+                return i;
+        }
+    }
+
+    /**
+     * Moves the traversers to the front of the arrays, growing them if they are more than half full, and rebuilds the
+     * table without deleted slots.
+     */
+    private void rebuild() {
+        final int capacity = this.size * 2 > this.traversers.length ? this.traversers.length * 2 : this.traversers.length;
+        final Traverser.Admin<S>[] traversers = capacity == this.traversers.length ? this.traversers : new Traverser.Admin[capacity];
+        final int[] hashes = capacity == this.hashes.length ? this.hashes : new int[capacity];
+        int position = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i]) {
+                final Traverser.Admin<S> traverser = this.traversers[i];
+                final int hash = this.hashes[i];
+                this.traversers[i] = null;
+                traversers[position] = traverser;
+                hashes[position] = hash;
+                position++;
+            }
+        }
+        this.traversers = traversers;
+        this.hashes = hashes;
+        this.head = 0;
+        this.tail = position;
+        this.deleted = 0;
+        if (this.slots.length == 2 * capacity)
+            Arrays.fill(this.slots, FREE);
+        else
+            this.slots = new int[2 * capacity];
+        final int mask = this.slots.length - 1;
+        for (int p = 0; p < this.tail; p++) {
+            int i = this.hashes[p] & mask;
+            while (FREE != this.slots[i]) {
+                i = (i + 1) & mask;
+            }
+            this.slots[i] = p + 1;
+        }
+        this.modCount++;
+    }
+
+    private static int hash(final Object traverser) {
+        final int hash = traverser.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
 }
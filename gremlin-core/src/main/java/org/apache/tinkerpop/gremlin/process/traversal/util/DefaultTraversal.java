@@ -59,6 +59,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     protected transient TraverserGenerator generator;
     protected Set<TraverserRequirement> requirements;
     protected boolean locked = false;
+    protected transient TraversalInstructions instructions = null;
 
     public DefaultTraversal() {
         this.graph = null;
@@ -89,6 +90,15 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     public void applyStrategies() throws IllegalStateException {
         if (this.locked) throw Traversal.Exceptions.traversalIsLocked();
         TraversalHelper.reIdSteps(this.stepPosition, this);
+        final TraversalPlanCache planCache = this.parent instanceof EmptyStep ? this.strategies.getPlanCache().orElse(null) : null;
+        final TraversalPlanCache.Shape shape = null == planCache ? null : planCache.getShape(this);
+        if (null != shape) {
+            final Traversal.Admin<?, ?> plan = planCache.getPlan(shape);
+            if (null != plan) {
+                this.applyPlan(plan);
+                return;
+            }
+        }
         this.strategies.applyStrategies(this);
         boolean hasGraph = null != this.graph;
         for (final Step<?, ?> step : this.getSteps()) {
@@ -114,6 +124,49 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
             this.getTraverserRequirements();
         }
         this.locked = true;
+        if (null != shape) planCache.putPlan(shape, this);
+    }
+
+    /**
+     * Replaces the steps of this root traversal with those of a cached plan of it (see {@link TraversalPlanCache}).
+     */
+    private void applyPlan(final Traversal.Admin<?, ?> plan) {
+        this.steps.clear();
+        for (final Step<?, ?> step : plan.getSteps()) {
+            step.setTraversal(this);
+            this.steps.add(step);
+        }
+        // the strategies registered side-effects and the sack on the traversal they were applied to, so only those
+        // registrations are carried over to the side-effects of this traversal and not any of their values
+        final TraversalSideEffects planSideEffects = plan.getSideEffects();
+        for (final String key : planSideEffects.keys()) {
+            this.sideEffects.registerIfAbsent(key, planSideEffects.getSupplier(key), planSideEffects.getReducer(key));
+        }
+        if (null == this.sideEffects.getSackInitialValue() && null != planSideEffects.getSackInitialValue())
+            this.sideEffects.setSack(planSideEffects.getSackInitialValue(), planSideEffects.getSackSplitter(), planSideEffects.getSackMerger());
+        this.integratePlanChildren(this);
+        this.finalEndStep = this.getEndStep();
+        this.generator = null;
+        this.requirements = null;
+        this.getTraverserRequirements();
+        this.locked = true;
+    }
+
+    private void integratePlanChildren(final Traversal.Admin<?, ?> traversal) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> globalChild : ((TraversalParent) step).getGlobalChildren()) {
+                    globalChild.setSideEffects(this.sideEffects);
+                    if (null != this.graph) globalChild.setGraph(this.graph);
+                    this.integratePlanChildren(globalChild);
+                }
+                for (final Traversal.Admin<?, ?> localChild : ((TraversalParent) step).getLocalChildren()) {
+                    localChild.setSideEffects(this.sideEffects);
+                    if (null != this.graph) localChild.setGraph(this.graph);
+                    this.integratePlanChildren(localChild);
+                }
+            }
+        }
     }
 
     @Override
@@ -208,6 +261,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
             clone.strategies = this.strategies;
             clone.lastEnd = null;
             clone.lastEndCount = 0l;
+            if (null != this.instructions) clone.instructions = this.instructions.clone();
             for (final Step<?, ?> step : this.steps) {
                 final Step<?, ?> clonedStep = step.clone();
                 clonedStep.setTraversal(clone);
@@ -295,6 +349,16 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         this.graph = graph;
     }
 
+    @Override
+    public Optional<TraversalInstructions> getInstructions() {
+        return Optional.ofNullable(this.instructions);
+    }
+
+    @Override
+    public void setInstructions(final TraversalInstructions instructions) {
+        this.instructions = instructions;
+    }
+
     @Override
     public boolean equals(final Object other) {
         return other != null && other.getClass().equals(this.getClass()) && this.equals(((Traversal.Admin) other));
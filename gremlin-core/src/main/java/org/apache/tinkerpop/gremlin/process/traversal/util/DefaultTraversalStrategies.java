@@ -34,6 +34,7 @@ import java.util.Optional;
 public class DefaultTraversalStrategies implements TraversalStrategies {
 
     protected List<TraversalStrategy<?>> traversalStrategies = new ArrayList<>();
+    protected transient TraversalPlanCache planCache = null;
 
     @Override
     @SuppressWarnings({"unchecked", "varargs"})
@@ -80,6 +81,17 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
         }
     }
 
+    @Override
+    public Optional<TraversalPlanCache> getPlanCache() {
+        return Optional.ofNullable(this.planCache);
+    }
+
+    @Override
+    public TraversalStrategies setPlanCache(final TraversalPlanCache planCache) {
+        this.planCache = planCache;
+        return this;
+    }
+
     @Override
     public DefaultTraversalStrategies clone() {
         try {
@@ -0,0 +1,536 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.remote.traversal.strategy.decoration.RemoteStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoPool;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+
+/**
+ * The {@link GraphTraversalSource} and {@link GraphTraversal} method calls that a traversal was built from: the source
+ * instruction that spawned it (e.g. {@code V(1)}) followed by one instruction per step method with the arguments it
+ * was given (e.g. {@code to(OUT,[knows])} for {@code out("knows")}). Child traversals are arguments of the
+ * instructions that take them and are represented by their own instructions. The instructions are recorded as the
+ * traversal is built, before any strategy is applied, so they can be encoded with Gryo as a compact form of the
+ * traversal and replayed against a {@link GraphTraversalSource} in another JVM.
+ * <p/>
+ * Steps that are added with {@link Traversal.Admin#addStep(Step)} or removed from the traversal directly are not
+ * recorded, so {@link #isReplayOf(Traversal.Admin)} should be checked before the instructions are used in place of
+ * the traversal. Arguments are encoded with a default {@link GryoPool} so lambdas, custom predicates and types that
+ * are only known to an {@code IoRegistry} can not be encoded.
+ * <p/>
+ * Only a traversal that holds instructions records its calls. A traversal that is spawned from a
+ * {@link GraphTraversalSource} with the {@link RemoteStrategy}, such as that of a {@code RemoteGraph}, starts with
+ * them, so that building a traversal that is executed in the same JVM does not allocate anything for its
+ * instructions. An anonymous traversal can not know whether it becomes the child of such a traversal, so those that
+ * are started with {@link __#start()} always record. The step methods call the overload of {@code record()} with the
+ * number of arguments they pass so that no argument array is allocated for a traversal that does not record.
+ *
+ * @author agent
+ */
+public final class TraversalInstructions implements Cloneable {
+
+    private static final byte NULL = 0;
+    private static final byte OBJECT = 1;
+    private static final byte ENUM = 2;
+    private static final byte ARRAY = 3;
+    private static final byte PREDICATE = 4;
+    private static final byte AND_PREDICATE = 5;
+    private static final byte OR_PREDICATE = 6;
+    private static final byte TRAVERSAL = 7;
+
+    private static final Map<String, List<Method>> SOURCE_METHODS = getMethods(GraphTraversalSource.class);
+    private static final Map<String, List<Method>> STEP_METHODS = getMethods(GraphTraversal.class);
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+    private static final int MAX_VERIFIED = 1000;
+
+    /**
+     * The encoded instructions and string representations of the traversals that {@link #isReplayOf(Traversal.Admin)}
+     * verified, so a traversal that is submitted again is only compared by its encoded form.
+     */
+    private static final Map<List<Object>, Boolean> VERIFIED = Collections.synchronizedMap(new LinkedHashMap<List<Object>, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<List<Object>, Boolean> eldest) {
+            return this.size() > MAX_VERIFIED;
+        }
+    });
+
+    private Instruction source = null;
+    private List<Instruction> steps = new ArrayList<>();
+    private byte[] encoded = null;
+
+    private TraversalInstructions() {
+    }
+
+    /**
+     * Let the traversal record the calls of its step methods from now on.
+     */
+    public static void startRecording(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.getInstructions().isPresent())
+            traversal.setInstructions(new TraversalInstructions());
+    }
+
+    /**
+     * Record the call of a {@link GraphTraversal} step method if the traversal records its instructions.
+     */
+    public static void record(final Traversal.Admin<?, ?> traversal, final String operator) {
+        final Optional<TraversalInstructions> instructions = traversal.getInstructions();
+        if (instructions.isPresent()) instructions.get().add(operator, NO_ARGUMENTS);
+    }
+
+    public static void record(final Traversal.Admin<?, ?> traversal, final String operator, final Object a) {
+        final Optional<TraversalInstructions> instructions = traversal.getInstructions();
+        if (instructions.isPresent()) instructions.get().add(operator, new Object[]{a});
+    }
+
+    public static void record(final Traversal.Admin<?, ?> traversal, final String operator, final Object a, final Object b) {
+        final Optional<TraversalInstructions> instructions = traversal.getInstructions();
+        if (instructions.isPresent()) instructions.get().add(operator, new Object[]{a, b});
+    }
+
+    public static void record(final Traversal.Admin<?, ?> traversal, final String operator, final Object a, final Object b, final Object c) {
+        final Optional<TraversalInstructions> instructions = traversal.getInstructions();
+        if (instructions.isPresent()) instructions.get().add(operator, new Object[]{a, b, c});
+    }
+
+    public static void record(final Traversal.Admin<?, ?> traversal, final String operator, final Object a, final Object b, final Object c, final Object d) {
+        final Optional<TraversalInstructions> instructions = traversal.getInstructions();
+        if (instructions.isPresent()) instructions.get().add(operator, new Object[]{a, b, c, d});
+    }
+
+    /**
+     * Record the call of the {@link GraphTraversalSource} method that spawned the traversal, which starts the
+     * recording of its instructions if its strategies include the {@link RemoteStrategy}.
+     */
+    public static void recordSource(final Traversal.Admin<?, ?> traversal, final String operator) {
+        if (isRemote(traversal)) startSource(traversal, new Instruction(operator, NO_ARGUMENTS));
+    }
+
+    public static void recordSource(final Traversal.Admin<?, ?> traversal, final String operator, final Object a) {
+        if (isRemote(traversal)) startSource(traversal, new Instruction(operator, new Object[]{a}));
+    }
+
+    private static boolean isRemote(final Traversal.Admin<?, ?> traversal) {
+        for (final TraversalStrategy<?> strategy : traversal.getStrategies().toList()) {
+            if (strategy instanceof RemoteStrategy)
+                return true;
+        }
+        return false;
+    }
+
+    private static void startSource(final Traversal.Admin<?, ?> traversal, final Instruction source) {
+        final TraversalInstructions instructions = new TraversalInstructions();
+        instructions.source = source;
+        traversal.setInstructions(instructions);
+    }
+
+    private void add(final String operator, final Object[] arguments) {
+        this.steps.add(new Instruction(operator, arguments));
+        this.encoded = null;
+    }
+
+    public Optional<Instruction> getSource() {
+        return Optional.ofNullable(this.source);
+    }
+
+    public List<Instruction> getSteps() {
+        return Collections.unmodifiableList(this.steps);
+    }
+
+    /**
+     * Determines if decoding the encoded instructions and replaying them yields the given traversal, which is not the
+     * case if the traversal, or one of its child traversals, has steps that were not added by a recorded method or if
+     * an argument can not be encoded. The traversal must not have had its strategies applied. The outcome is
+     * remembered for the encoded instructions and the string representation of the traversal, so only the first
+     * submission of a traversal is decoded and replayed.
+     */
+    public boolean isReplayOf(final Traversal.Admin<?, ?> traversal) {
+        final byte[] bytes;
+        try {
+            bytes = this.toBytes();
+        } catch (final IllegalStateException | IllegalArgumentException e) {
+            return false;
+        }
+        final List<Object> key = Arrays.asList(ByteBuffer.wrap(bytes), traversal.toString());
+        final Boolean verified = VERIFIED.get(key);
+        if (null != verified)
+            return verified;
+
+        boolean replayOf;
+        try {
+            final TraversalInstructions decoded = fromBytes(bytes);
+            final Traversal.Admin<?, ?> replayed = null == decoded.source ?
+                    decoded.replaySteps(new DefaultGraphTraversal<>()) :
+                    decoded.replay(EmptyGraph.instance().traversal());
+            // compare the strings first as the hash code of a start step replaces its iterator
+            replayOf = replayed.toString().equals(key.get(1)) && replayed.equals(traversal);
+        } catch (final IllegalStateException | IllegalArgumentException e) {
+            replayOf = false;
+        }
+        VERIFIED.put(key, replayOf);
+        // the traversal may now print differently, so it must be found by that string too
+        final String string = traversal.toString();
+        if (!string.equals(key.get(1)))
+            VERIFIED.put(Arrays.asList(key.get(0), string), replayOf);
+        return replayOf;
+    }
+
+    /**
+     * Encode the instructions and those of the child traversals in their arguments. The encoded form is kept until
+     * another instruction is recorded and must not be modified.
+     *
+     * @throws IllegalStateException    if a child traversal has steps but did not record its instructions
+     * @throws IllegalArgumentException if an argument can not be encoded
+     */
+    public byte[] toBytes() {
+        if (null != this.encoded)
+            return this.encoded;
+        final Kryo kryo = Pool.INSTANCE.takeKryo();
+        try {
+            final Output output = new Output(256, -1);
+            this.write(kryo, output, true);
+            this.encoded = output.toBytes();
+            return this.encoded;
+        } catch (final IllegalStateException | IllegalArgumentException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalArgumentException("The instructions could not be encoded: " + e.getMessage(), e);
+        } finally {
+            Pool.INSTANCE.offerKryo(kryo);
+        }
+    }
+
+    /**
+     * Decode instructions that were encoded with {@link #toBytes()}. The child traversals in the arguments are
+     * replayed as they are decoded.
+     */
+    public static TraversalInstructions fromBytes(final byte[] bytes) {
+        final Kryo kryo = Pool.INSTANCE.takeKryo();
+        try {
+            return read(kryo, new Input(bytes));
+        } catch (final IllegalArgumentException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IllegalArgumentException("The instructions could not be decoded: " + e.getMessage(), e);
+        } finally {
+            Pool.INSTANCE.offerKryo(kryo);
+        }
+    }
+
+    /**
+     * Rebuild the traversal by calling the recorded methods on the given source and on the traversal it spawns.
+     *
+     * @throws IllegalStateException    if there is no source instruction
+     * @throws IllegalArgumentException if an instruction does not match a method
+     */
+    public <S, E> GraphTraversal.Admin<S, E> replay(final GraphTraversalSource traversalSource) {
+        if (null == this.source)
+            throw new IllegalStateException("The instructions do not start from a traversal source");
+        final GraphTraversal.Admin<S, E> traversal = ((GraphTraversal<S, E>) invoke(SOURCE_METHODS, traversalSource, this.source)).asAdmin();
+        return this.replaySteps(traversal);
+    }
+
+    private <S, E> GraphTraversal.Admin<S, E> replaySteps(final GraphTraversal.Admin<S, E> traversal) {
+        for (final Instruction instruction : this.steps) {
+            invoke(STEP_METHODS, traversal, instruction);
+        }
+        return traversal;
+    }
+
+    @Override
+    public TraversalInstructions clone() {
+        try {
+            final TraversalInstructions clone = (TraversalInstructions) super.clone();
+            clone.steps = new ArrayList<>(this.steps);
+            return clone;
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(null == this.source ? "__" : "g." + this.source);
+        for (final Instruction instruction : this.steps) {
+            builder.append('.').append(instruction);
+        }
+        return builder.toString();
+    }
+
+    ////////////////
+
+    private void write(final Kryo kryo, final Output output, final boolean root) {
+        if (!root && null != this.source)
+            throw new IllegalStateException("A child traversal can not start from a traversal source: " + this);
+        output.writeBoolean(null != this.source);
+        if (null != this.source)
+            writeInstruction(kryo, output, this.source);
+        output.writeInt(this.steps.size(), true);
+        for (final Instruction instruction : this.steps) {
+            writeInstruction(kryo, output, instruction);
+        }
+    }
+
+    private static TraversalInstructions read(final Kryo kryo, final Input input) {
+        final TraversalInstructions instructions = new TraversalInstructions();
+        if (input.readBoolean())
+            instructions.source = readInstruction(kryo, input);
+        final int size = input.readInt(true);
+        for (int i = 0; i < size; i++) {
+            instructions.steps.add(readInstruction(kryo, input));
+        }
+        return instructions;
+    }
+
+    private static void writeInstruction(final Kryo kryo, final Output output, final Instruction instruction) {
+        output.writeString(instruction.operator);
+        output.writeInt(instruction.arguments.length, true);
+        for (final Object argument : instruction.arguments) {
+            writeArgument(kryo, output, argument);
+        }
+    }
+
+    private static Instruction readInstruction(final Kryo kryo, final Input input) {
+        final String operator = input.readString();
+        final Object[] arguments = new Object[input.readInt(true)];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = readArgument(kryo, input);
+        }
+        return new Instruction(operator, arguments);
+    }
+
+    private static void writeArgument(final Kryo kryo, final Output output, final Object argument) {
+        if (null == argument) {
+            output.writeByte(NULL);
+        } else if (argument instanceof Enum) {
+            output.writeByte(ENUM);
+            output.writeString(((Enum) argument).getDeclaringClass().getName());
+            output.writeString(((Enum) argument).name());
+        } else if (argument instanceof Object[]) {
+            final Object[] array = (Object[]) argument;
+            output.writeByte(ARRAY);
+            output.writeString(array.getClass().getComponentType().getName());
+            output.writeInt(array.length, true);
+            for (final Object element : array) {
+                writeArgument(kryo, output, element);
+            }
+        } else if (argument instanceof AndP || argument instanceof OrP) {
+            final List<P<?>> predicates = (List) ((ConnectiveP<?>) argument).getPredicates();
+            output.writeByte(argument instanceof AndP ? AND_PREDICATE : OR_PREDICATE);
+            output.writeInt(predicates.size(), true);
+            for (final P<?> predicate : predicates) {
+                writeArgument(kryo, output, predicate);
+            }
+        } else if (argument instanceof P) {
+            if (!argument.getClass().equals(P.class))
+                throw new IllegalArgumentException("Only the predicates of P, AndP and OrP can be encoded: " + argument);
+            output.writeByte(PREDICATE);
+            writeArgument(kryo, output, ((P<?>) argument).getBiPredicate());
+            writeArgument(kryo, output, ((P<?>) argument).getValue());
+        } else if (argument instanceof Traversal) {
+            if (!(argument instanceof DefaultTraversal))
+                throw new IllegalArgumentException("Only traversals built from their instructions can be encoded: " + argument);
+            final Traversal.Admin<?, ?> traversal = ((Traversal<?, ?>) argument).asAdmin();
+            final Optional<TraversalInstructions> instructions = traversal.getInstructions();
+            if (!instructions.isPresent() && !traversal.getSteps().isEmpty())
+                throw new IllegalStateException("The child traversal did not record its instructions: " + traversal);
+            output.writeByte(TRAVERSAL);
+            instructions.orElseGet(TraversalInstructions::new).write(kryo, output, false);
+        } else if (argument instanceof Element) {
+            output.writeByte(OBJECT);
+            kryo.writeClassAndObject(output, DetachedFactory.detach((Element) argument, true));
+        } else if (argument instanceof List && !(argument instanceof ArrayList)) {
+            // e.g. the Arrays.asList() of P.within(a,b)
+            output.writeByte(OBJECT);
+            kryo.writeClassAndObject(output, new ArrayList<>((List<?>) argument));
+        } else {
+            output.writeByte(OBJECT);
+            kryo.writeClassAndObject(output, argument);
+        }
+    }
+
+    private static Object readArgument(final Kryo kryo, final Input input) {
+        final byte type = input.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case OBJECT:
+                return kryo.readClassAndObject(input);
+            case ENUM:
+                final Class enumClass = forName(input.readString());
+                if (!enumClass.isEnum())
+                    throw new IllegalArgumentException("The class is not an enum: " + enumClass.getName());
+                return Enum.valueOf(enumClass, input.readString());
+            case ARRAY:
+                final Object[] array = (Object[]) Array.newInstance(forName(input.readString()), input.readInt(true));
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readArgument(kryo, input);
+                }
+                return array;
+            case PREDICATE:
+                return new P((BiPredicate) readArgument(kryo, input), readArgument(kryo, input));
+            case AND_PREDICATE:
+            case OR_PREDICATE:
+                final List<P> predicates = new ArrayList<>();
+                final int size = input.readInt(true);
+                for (int i = 0; i < size; i++) {
+                    predicates.add((P) readArgument(kryo, input));
+                }
+                return type == AND_PREDICATE ? new AndP(predicates) : new OrP(predicates);
+            case TRAVERSAL:
+                final TraversalInstructions instructions = read(kryo, input);
+                if (null != instructions.source)
+                    throw new IllegalArgumentException("A child traversal can not start from a traversal source: " + instructions);
+                return instructions.replaySteps(new DefaultGraphTraversal<>());
+            default:
+                throw new IllegalArgumentException("Unknown argument type: " + type);
+        }
+    }
+
+    private static Class<?> forName(final String className) {
+        try {
+            return Class.forName(className, false, TraversalInstructions.class.getClassLoader());
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    ////////////////
+
+    private static Map<String, List<Method>> getMethods(final Class<?> type) {
+        final Map<String, List<Method>> methods = new HashMap<>();
+        for (final Method method : type.getMethods()) {
+            if (GraphTraversal.class.isAssignableFrom(method.getReturnType()) && !method.isBridge() &&
+                    !method.getName().equals("asAdmin") && !method.getName().equals("iterate"))
+                methods.computeIfAbsent(method.getName(), name -> new ArrayList<>()).add(method);
+        }
+        return methods;
+    }
+
+    private static Object invoke(final Map<String, List<Method>> methods, final Object target, final Instruction instruction) {
+        final Object[] arguments = instruction.arguments;
+        Method selected = null;
+        for (final Method method : methods.getOrDefault(instruction.operator, Collections.emptyList())) {
+            if (isApplicable(method, arguments) && (null == selected || isMoreSpecific(method, selected)))
+                selected = method;
+        }
+        if (null == selected)
+            throw new IllegalArgumentException("There is no method that matches the instruction " + instruction);
+        try {
+            return selected.invoke(target, arguments);
+        } catch (final InvocationTargetException e) {
+            throw new IllegalArgumentException("The instruction " + instruction + " failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean isApplicable(final Method method, final Object[] arguments) {
+        final Class<?>[] types = method.getParameterTypes();
+        if (types.length != arguments.length)
+            return false;
+        for (int i = 0; i < types.length; i++) {
+            if (null == arguments[i] ? types[i].isPrimitive() : !box(types[i]).isInstance(arguments[i]))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isMoreSpecific(final Method method, final Method other) {
+        final Class<?>[] types = method.getParameterTypes();
+        final Class<?>[] otherTypes = other.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (!box(otherTypes[i]).isAssignableFrom(box(types[i])))
+                return false;
+        }
+        return true;
+    }
+
+    private static Class<?> box(final Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        else if (type.equals(int.class)) return Integer.class;
+        else if (type.equals(long.class)) return Long.class;
+        else if (type.equals(double.class)) return Double.class;
+        else if (type.equals(boolean.class)) return Boolean.class;
+        else if (type.equals(float.class)) return Float.class;
+        else if (type.equals(short.class)) return Short.class;
+        else if (type.equals(byte.class)) return Byte.class;
+        else return Character.class;
+    }
+
+    /**
+     * A single method call: the name of the method and the arguments it was called with.
+     */
+    public static final class Instruction {
+
+        private final String operator;
+        private final Object[] arguments;
+
+        private Instruction(final String operator, final Object[] arguments) {
+            this.operator = operator;
+            this.arguments = arguments;
+        }
+
+        public String getOperator() {
+            return this.operator;
+        }
+
+        public Object[] getArguments() {
+            return this.arguments;
+        }
+
+        @Override
+        public String toString() {
+            final String arguments = Arrays.deepToString(this.arguments);
+            return this.operator + "(" + arguments.substring(1, arguments.length() - 1) + ")";
+        }
+    }
+
+    private static final class Pool {
+        private static final GryoPool INSTANCE = GryoPool.build().poolSize(16).type(GryoPool.Type.READER).create();
+    }
+}
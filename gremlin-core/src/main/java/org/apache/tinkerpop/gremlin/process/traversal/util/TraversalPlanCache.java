@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of strategized root traversals keyed by the shape of the traversal before its strategies are
+ * applied. The ids of a {@link GraphStep} and the values of the {@code has()} comparisons (e.g.
+ * {@code has('name','marko')} or {@code has('age',gt(30))}) of the root traversal are the parameters of the shape,
+ * so traversals that only differ in those values share a plan. Every other step, including the steps of child
+ * traversals, is part of the shape by its class, labels, string form and hash code. The strategies are part of the
+ * shape by identity as strategies are equal by class alone, whereas two instances of a strategy may be configured
+ * differently (e.g. the {@code PartitionStrategy} of two partitions or the {@code SackStrategy} of two
+ * {@code withSack()} calls). On a hit, {@link DefaultTraversal#applyStrategies()} clones the cached plan and binds
+ * the parameters of the traversal to it instead of applying the strategies.
+ * <p/>
+ * A shape is only cached if every parameter can still be found in the strategized traversal, either as the ids of
+ * the start step or as the predicate of a {@link HasContainer} of a root step, as is the case when a strategy folds
+ * {@code has()} into the start step. Traversals with lambdas are not cached. Strategies that make decisions from the
+ * parameter values (e.g. {@code GraphStatisticsStrategy}) will have the decision made for the first traversal of a
+ * shape reused by all the others. A {@link GraphStep} that sets its own iterator supplier must rebind it when cloned.
+ *
+ * @author agent
+ */
+public final class TraversalPlanCache {
+
+    private static final int IDS = -1;
+
+    private final Map<List<Object>, Plan> plans;
+    private final AtomicLong hits = new AtomicLong(0l);
+    private final AtomicLong misses = new AtomicLong(0l);
+
+    public TraversalPlanCache(final int maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("The maximum size of the plan cache must be greater than zero: " + maxSize);
+        this.plans = new LinkedHashMap<List<Object>, Plan>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Object>, Plan> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public int size() {
+        synchronized (this.plans) {
+            return this.plans.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (this.plans) {
+            this.plans.clear();
+        }
+    }
+
+    /**
+     * Get the shape of a root traversal that has not had its strategies applied.
+     *
+     * @return the shape or {@code null} if the traversal can not be cached
+     */
+    Shape getShape(final Traversal.Admin<?, ?> traversal) {
+        final List<Object> key = new ArrayList<>();
+        final List<Object> parameters = new ArrayList<>();
+        for (final TraversalStrategy<?> strategy : traversal.getStrategies().toList()) {
+            key.add(new Identity(strategy));
+        }
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof GraphStep && ((GraphStep) step).getIds().length > 0) {
+                final GraphStep<?, ?> graphStep = (GraphStep) step;
+                key.add(step.getClass());
+                key.add(step.getLabels());
+                key.add(graphStep.getReturnClass());
+                key.add(graphStep.isStartStep());
+                for (final Object id : graphStep.getIds()) {
+                    key.add(null == id ? null : id.getClass());
+                }
+                parameters.add(graphStep.getIds());
+            } else if (step instanceof HasStep) {
+                key.add(step.getClass());
+                key.add(step.getLabels());
+                for (final HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                    key.add(hasContainer.getKey());
+                    if (isParameter(hasContainer)) {
+                        key.add(hasContainer.getBiPredicate());
+                        key.add(hasContainer.getValue().getClass());
+                        parameters.add(hasContainer.getPredicate());
+                    } else
+                        key.add(hasContainer.getPredicate());
+                }
+            } else if (!addStep(step, key))
+                return null;
+        }
+        return new Shape(key, parameters);
+    }
+
+    /**
+     * Get a strategized copy of the traversal with the given shape with the parameters of the shape bound to it.
+     *
+     * @return the strategized traversal or {@code null} if there is no plan for the shape
+     */
+    Traversal.Admin<?, ?> getPlan(final Shape shape) {
+        final Plan plan;
+        synchronized (this.plans) {
+            plan = this.plans.get(shape.key);
+        }
+        if (null == plan || null == plan.traversal) {
+            this.misses.incrementAndGet();
+            return null;
+        }
+        final Traversal.Admin<?, ?> traversal = plan.traversal.clone();
+        for (int i = 0; i < shape.parameters.size(); i++) {
+            final Step<?, ?> step = traversal.getSteps().get(plan.steps[i]);
+            if (IDS == plan.hasContainers[i]) {
+                ((GraphStep) step).clearIds();
+                ((GraphStep) step).addIds((Object[]) shape.parameters.get(i));
+            } else
+                ((HasContainerHolder) step).getHasContainers().get(plan.hasContainers[i]).setPredicate((P) shape.parameters.get(i));
+        }
+        this.hits.incrementAndGet();
+        return traversal;
+    }
+
+    /**
+     * Cache the plan of a shape given the traversal of that shape after its strategies were applied. If the
+     * parameters of the shape can not be bound to the strategized traversal, the shape is cached as having no plan.
+     */
+    void putPlan(final Shape shape, final Traversal.Admin<?, ?> traversal) {
+        final int size = shape.parameters.size();
+        final int[] steps = new int[size];
+        final int[] hasContainers = new int[size];
+        boolean bindable = true;
+        for (int i = 0; i < size && bindable; i++) {
+            bindable = locate(shape.parameters.get(i), traversal, i, steps, hasContainers);
+        }
+        final Plan plan = bindable ? new Plan(traversal.clone(), steps, hasContainers) : new Plan(null, null, null);
+        synchronized (this.plans) {
+            this.plans.put(shape.key, plan);
+        }
+    }
+
+    private static boolean isParameter(final HasContainer hasContainer) {
+        final P<?> predicate = hasContainer.getPredicate();
+        return predicate.getClass().equals(P.class) &&
+                predicate.getBiPredicate() instanceof Compare &&
+                null != predicate.getValue() &&
+                !(predicate.getValue() instanceof Collection) &&
+                !hasContainer.getKey().equals(T.id.getAccessor());
+    }
+
+    private static boolean addStep(final Step<?, ?> step, final List<Object> key) {
+        if (step instanceof LambdaHolder)
+            return false;
+        key.add(step.getClass());
+        key.add(step.getLabels());
+        key.add(step.toString());
+        key.add(step.hashCode());
+        if (step instanceof TraversalParent) {
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                if (!addTraversal(child, key)) return false;
+            }
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                if (!addTraversal(child, key)) return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean addTraversal(final Traversal.Admin<?, ?> traversal, final List<Object> key) {
+        if (traversal instanceof LambdaHolder)
+            return false;
+        key.add(traversal.getClass());
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (!addStep(step, key)) return false;
+        }
+        return true;
+    }
+
+    private static boolean locate(final Object parameter, final Traversal.Admin<?, ?> traversal, final int index,
+                                  final int[] steps, final int[] hasContainers) {
+        int found = 0;
+        for (int i = 0; i < traversal.getSteps().size(); i++) {
+            final Step<?, ?> step = traversal.getSteps().get(i);
+            if (step instanceof GraphStep && ((GraphStep) step).getIds() == parameter) {
+                steps[index] = i;
+                hasContainers[index] = IDS;
+                found++;
+            }
+            if (step instanceof HasContainerHolder) {
+                final List<HasContainer> containers = ((HasContainerHolder) step).getHasContainers();
+                for (int j = 0; j < containers.size(); j++) {
+                    if (containers.get(j).getPredicate() == parameter) {
+                        steps[index] = i;
+                        hasContainers[index] = j;
+                        found++;
+                    }
+                }
+            }
+        }
+        return 1 == found;
+    }
+
+    /**
+     * Makes an object part of a key by its identity rather than by its {@code equals()}.
+     */
+    private static final class Identity {
+
+        private final Object object;
+
+        private Identity(final Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Identity && ((Identity) other).object == this.object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.object);
+        }
+    }
+
+    static final class Shape {
+
+        private final List<Object> key;
+        private final List<Object> parameters;
+
+        private Shape(final List<Object> key, final List<Object> parameters) {
+            this.key = key;
+            this.parameters = parameters;
+        }
+    }
+
+    private static final class Plan {
+
+        private final Traversal.Admin<?, ?> traversal;
+        private final int[] steps;
+        private final int[] hasContainers;
+
+        private Plan(final Traversal.Admin<?, ?> traversal, final int[] steps, final int[] hasContainers) {
+            this.traversal = traversal;
+            this.steps = steps;
+            this.hasContainers = hasContainers;
+        }
+    }
+}
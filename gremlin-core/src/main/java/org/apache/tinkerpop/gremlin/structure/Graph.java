@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.structure;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
@@ -390,6 +391,75 @@ public interface Graph extends AutoCloseable, Host {
 
     }
 
+    /**
+     * Gets the {@link Statistics} of the data in the {@code Graph} which traversal strategies may use to estimate the
+     * cost of a traversal. By default, no statistics are available.
+     */
+    public default Optional<Statistics> statistics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Estimates of the size and distribution of the data in a {@link Graph}. The values are not expected to be
+     * exact nor current and must only be used to compare the cost of equivalent traversals.
+     */
+    public interface Statistics {
+
+        /**
+         * The number of vertices in the graph.
+         */
+        public long vertexCount();
+
+        /**
+         * The number of vertices with the label.
+         */
+        public long vertexCount(final String label);
+
+        /**
+         * The number of edges in the graph.
+         */
+        public long edgeCount();
+
+        /**
+         * The number of edges with the label.
+         */
+        public long edgeCount(final String label);
+
+        /**
+         * The number of vertices that have at least one edge with the label in the direction. If the label is
+         * {@code null}, then edges of any label are counted. The direction must be {@link Direction#OUT} or
+         * {@link Direction#IN}.
+         */
+        public long vertexCount(final Direction direction, final String edgeLabel);
+
+        /**
+         * The fraction of the elements of the class, between {@code 0.0} and {@code 1.0}, that have a value for the
+         * key that satisfies the predicate. The {@link T#label} and {@link T#id} accessors are valid keys.
+         */
+        public double selectivity(final Class<? extends Element> elementClass, final String key, final P<?> predicate);
+
+        /**
+         * The average number of edges with the labels in the direction of those vertices that have at least one of
+         * them. If no labels are provided, then edges of any label are counted.
+         */
+        public default double averageDegree(final Direction direction, final String... edgeLabels) {
+            if (direction == Direction.BOTH)
+                return averageDegree(Direction.OUT, edgeLabels) + averageDegree(Direction.IN, edgeLabels);
+            long edges = 0l;
+            long vertices = 0l;
+            if (edgeLabels.length == 0) {
+                edges = edgeCount();
+                vertices = vertexCount(direction, null);
+            } else {
+                for (final String edgeLabel : edgeLabels) {
+                    edges = edges + edgeCount(edgeLabel);
+                    vertices = Math.max(vertices, vertexCount(direction, edgeLabel));
+                }
+            }
+            return 0l == vertices ? 0.0d : (double) edges / vertices;
+        }
+    }
+
     /**
      * Gets the {@link Features} exposed by the underlying {@code Graph} implementation.
      */
@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedPath;
@@ -41,7 +42,7 @@ import static org.junit.Assert.*;
 public class PathTest {
 
     private final static List<Supplier<Path>> PATH_SUPPLIERS =
-            Arrays.asList(MutablePath::make, ImmutablePath::make, DetachedPath::make, ReferencePath::make);
+            Arrays.asList(MutablePath::make, ImmutablePath::make, CompactPath::make, DetachedPath::make, ReferencePath::make);
 
     @Test
     public void shouldHaveStandardSemanticsImplementedCorrectly() {
@@ -155,6 +156,29 @@ public class PathTest {
         });
     }
 
+    @Test
+    public void shouldRetractLabels() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            Path path = supplier.get();
+            path = path.extend("marko", new LinkedHashSet<>(Arrays.asList("a", "b")));
+            path = path.extend("stephen", Collections.emptySet());
+            path = path.extend("matthias", Collections.singleton("c"));
+            path = path.extend("daniel", new LinkedHashSet<>(Arrays.asList("a", "c")));
+            path = path.retract(new HashSet<>(Arrays.asList("a", "c", "d")));
+            assertEquals(2, path.size());
+            assertEquals(Arrays.asList("marko", "stephen"), path.objects());
+            assertEquals(Collections.singleton("b"), path.labels().get(0));
+            assertTrue(path.labels().get(1).isEmpty());
+            assertTrue(path.hasLabel("b"));
+            assertFalse(path.hasLabel("a"));
+            assertFalse(path.hasLabel("c"));
+            assertEquals("marko", path.get("b"));
+            path = path.retract(Collections.singleton("b"));
+            assertEquals(Collections.singletonList("stephen"), path.objects());
+            assertFalse(path.hasLabel("b"));
+        });
+    }
+
     @Test
     public void shouldSelectSingleCorrectly() {
         PATH_SUPPLIERS.forEach(supplier -> {
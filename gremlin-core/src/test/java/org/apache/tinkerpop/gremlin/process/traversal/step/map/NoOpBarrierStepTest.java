@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class NoOpBarrierStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(__.barrier(), __.barrier(100));
+    }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhenTraversersBulk() {
+        final Integer[] starts = new Integer[100000];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        // equal injected values are bulked before they reach the barrier
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(starts).map(t -> t.get() / 4).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 10000, true);
+        traversal.addStep(barrier);
+        assertTrue(barrier.isAdaptive());
+        assertEquals(1000, barrier.getBarrierSize());
+        assertEquals(100000, traversal.toList().size());
+        assertEquals(10000, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldShrinkAdaptiveBarrierWhenTraversersDoNotBulk() {
+        final Integer[] starts = new Integer[10000];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(starts).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 10000, true);
+        traversal.addStep(barrier);
+        assertEquals(10000, traversal.toList().size());
+        assertEquals(100, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldNotResizeFixedBarrier() {
+        final Integer[] starts = new Integer[10000];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(starts).barrier(1000).asAdmin();
+        final NoOpBarrierStep<?> barrier = (NoOpBarrierStep) traversal.getEndStep();
+        assertFalse(barrier.isAdaptive());
+        assertEquals(10000, traversal.toList().size());
+        assertEquals(1000, barrier.getBarrierSize());
+    }
+}
@@ -20,15 +20,23 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -49,6 +57,34 @@ public class OrderGlobalStepTest extends StepTest {
         );
     }
 
+    @Test
+    public void shouldRetainTheTopTraversersOfALimit() {
+        final Random random = new Random(42l);
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(random.nextInt(500));
+        }
+        final List<Integer> sorted = new ArrayList<>(list);
+        Collections.sort(sorted);
+        final List<Integer> reversed = new ArrayList<>(list);
+        reversed.sort(Comparator.reverseOrder());
+
+        final Traversal.Admin<?, Object> traversal = withOrderLimit(__.inject(list).unfold().order().limit(10));
+        assertEquals(sorted.subList(0, 10), traversal.toList());
+        assertEquals(10l, TraversalHelper.getFirstStepOfAssignableClass(OrderGlobalStep.class, traversal).get().getLimit());
+        assertEquals(sorted.subList(5, 25), withOrderLimit(__.inject(list).unfold().order().range(5, 25)).toList());
+        assertEquals(reversed.subList(0, 100), withOrderLimit(__.inject(list).unfold().order().by(Order.decr).limit(100)).toList());
+        assertEquals(reversed.subList(0, 100), withOrderLimit(__.inject(list).unfold().barrier().order().by(Order.decr).limit(100)).toList());
+        assertEquals(sorted, withOrderLimit(__.inject(list).unfold().order().limit(20000)).toList());
+    }
+
+    private static <S, E> Traversal.Admin<S, E> withOrderLimit(final Traversal<S, E> traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(OrderLimitStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        return traversal.asAdmin();
+    }
+
     @Test
     public void shouldNotThrowContractException() {
         for (int x = 0; x < 1000; x++) {
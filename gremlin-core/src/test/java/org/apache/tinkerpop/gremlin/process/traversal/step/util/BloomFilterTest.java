@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class BloomFilterTest {
+
+    @Test
+    public void shouldAlwaysContainAddedObjects() {
+        final BloomFilter<Integer> filter = new BloomFilter<>(10000, 0.01d);
+        for (int i = 0; i < 10000; i++) {
+            filter.add(i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain(i));
+            assertFalse(filter.add(i));
+        }
+        filter.clear();
+        assertFalse(filter.mightContain(1));
+    }
+
+    @Test
+    public void shouldHaveFalsePositivesNearTheConfiguredProbability() {
+        final BloomFilter<Integer> filter = new BloomFilter<>(10000, 0.01d);
+        for (int i = 0; i < 10000; i++) {
+            filter.add(i);
+        }
+        int falsePositives = 0;
+        for (int i = 10000; i < 110000; i++) {
+            if (filter.mightContain(i)) falsePositives++;
+        }
+        assertTrue("False positives: " + falsePositives, falsePositives < 2000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowInvalidProbability() {
+        new BloomFilter<>(100, 1.0d);
+    }
+}
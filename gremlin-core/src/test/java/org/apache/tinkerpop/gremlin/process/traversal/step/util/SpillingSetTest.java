@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class SpillingSetTest {
+
+    private File directory;
+
+    @Before
+    public void setup() throws Exception {
+        this.directory = Files.createTempDirectory("spilling-set").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        for (final File file : this.directory.listFiles()) {
+            file.delete();
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void shouldDetectDuplicatesAcrossRuns() {
+        final SpillingSet<Object> set = new SpillingSet<>(10, this.directory, null);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.add(i));
+        }
+        assertEquals(1000, set.size());
+        assertTrue(set.getRunCount() > 0);
+        assertTrue(set.getRunCount() <= 9);
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(set.add(i));
+            assertTrue(set.contains(i));
+        }
+        assertFalse(set.contains(1000));
+        assertTrue(set.add(1000));
+        assertEquals(new HashSet<>(set), new HashSet<Object>() {{
+            for (int i = 0; i <= 1000; i++) add(i);
+        }});
+        set.close();
+    }
+
+    @Test
+    public void shouldDetectDuplicatesWithCollidingHashCodes() {
+        // "Aa" and "BB" have the same hash code
+        final SpillingSet<Object> set = new SpillingSet<>(2, this.directory, null);
+        assertTrue(set.add(Arrays.asList("Aa", "Aa")));
+        assertTrue(set.add(Arrays.asList("BB", "BB")));
+        assertTrue(set.add(Arrays.asList("Aa", "BB")));
+        assertTrue(set.add(Arrays.asList("BB", "Aa")));
+        assertEquals(2, set.getRunCount());
+        assertFalse(set.add(Arrays.asList("BB", "Aa")));
+        assertFalse(set.add(Arrays.asList("Aa", "Aa")));
+        assertTrue(set.add(Arrays.asList("BB", "BB", "Aa")));
+        set.close();
+    }
+
+    @Test
+    public void shouldDeleteRunsOnClearAndClose() {
+        final SpillingSet<Object> set = new SpillingSet<>(5, this.directory, null);
+        for (int i = 0; i < 20; i++) {
+            set.add("name" + i);
+        }
+        assertEquals(4, this.directory.listFiles().length);
+        set.clear();
+        assertEquals(0, set.size());
+        assertEquals(0, this.directory.listFiles().length);
+        assertTrue(set.add("name1"));
+        for (int i = 0; i < 20; i++) {
+            set.add("name" + i);
+        }
+        assertEquals(4, this.directory.listFiles().length);
+        set.close();
+        assertEquals(0, this.directory.listFiles().length);
+    }
+}
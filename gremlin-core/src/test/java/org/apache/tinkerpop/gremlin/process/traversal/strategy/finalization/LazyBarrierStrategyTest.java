@@ -21,7 +21,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -29,6 +31,7 @@ import org.junit.runners.Parameterized;
 import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -58,6 +61,9 @@ public class LazyBarrierStrategyTest {
     public void doTest() {
         applyAdjacentToIncidentStrategy(original);
         assertEquals(optimized, original);
+        for (final NoOpBarrierStep<?> barrier : TraversalHelper.getStepsOfClass(NoOpBarrierStep.class, original.asAdmin())) {
+            assertTrue(barrier.isAdaptive());
+        }
     }
 
     @Parameterized.Parameters(name = "{0}")
@@ -69,6 +75,8 @@ public class LazyBarrierStrategyTest {
                 {__.out().out().out().count(), __.out().out().barrier(size).out().barrier(size).count()},
                 {__.outE().inV().outE().inV().outE().inV().groupCount(), __.outE().inV().outE().inV().barrier(size).outE().inV().barrier(size).groupCount()},
                 {__.out().out().has("age", 32).out().count(), __.out().out().barrier(size).has("age", 32).out().barrier(size).count()},
+                {__.out().out().out().path(), __.out().out().barrier(size).out().barrier(size).path()},
+                {__.as("a").out().out().out().select("a"), __.as("a").out().out().barrier(size).out().barrier(size).select("a")},
         });
     }
 }
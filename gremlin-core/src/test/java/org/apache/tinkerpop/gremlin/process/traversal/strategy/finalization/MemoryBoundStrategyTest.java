@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class MemoryBoundStrategyTest {
+
+    private static final Integer[] NUMBERS = new Integer[1000];
+
+    static {
+        for (int i = 0; i < NUMBERS.length; i++) {
+            NUMBERS[i] = i % 300;
+        }
+    }
+
+    @Test
+    public void shouldSpillDedup() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().withStrategies(MemoryBoundStrategy.build().maxSize(16).create());
+        assertEquals(300, g.inject(NUMBERS).dedup().count().next().intValue());
+        assertEquals(300, g.inject(NUMBERS).dedup().toSet().size());
+    }
+
+    @Test
+    public void shouldApproximateDedup() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().withStrategies(MemoryBoundStrategy.build().maxSize(16).approximateDedup(1000, 0.01d).create());
+        final long count = g.inject(NUMBERS).dedup().count().next();
+        assertTrue(count <= 300 && count > 250);
+    }
+
+    @Test
+    public void shouldFailFastWhenAReducingBarrierExceedsTheMaxSize() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().withStrategies(MemoryBoundStrategy.build().maxSize(300).create());
+        assertEquals(300, g.inject(NUMBERS).groupCount().next().size());
+        final List<Exception> exceptions = new ArrayList<>();
+        try {
+            g.withStrategies(MemoryBoundStrategy.build().maxSize(299).create()).inject(NUMBERS).groupCount().next();
+        } catch (final IllegalStateException e) {
+            exceptions.add(e);
+        }
+        try {
+            g.withStrategies(MemoryBoundStrategy.build().maxSize(299).create()).inject(NUMBERS).aggregate("x").iterate();
+        } catch (final IllegalStateException e) {
+            exceptions.add(e);
+        }
+        try {
+            g.withStrategies(MemoryBoundStrategy.build().maxSize(299).create()).inject(NUMBERS).store("x").iterate();
+        } catch (final IllegalStateException e) {
+            exceptions.add(e);
+        }
+        try {
+            g.withStrategies(MemoryBoundStrategy.build().maxSize(299).create()).inject(NUMBERS).group("x").iterate();
+        } catch (final IllegalStateException e) {
+            exceptions.add(e);
+        }
+        try {
+            g.withStrategies(MemoryBoundStrategy.build().maxSize(299).create()).inject(NUMBERS).groupCount("x").iterate();
+        } catch (final IllegalStateException e) {
+            exceptions.add(e);
+        }
+        assertEquals(5, exceptions.size());
+        assertEquals(300, g.inject(NUMBERS).groupCount("x").<Map<Object, Long>>cap("x").next().size());
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenTheTraversalEnds() throws Exception {
+        final File directory = Files.createTempDirectory("memory-bound").toFile();
+        try {
+            final GraphTraversalSource g = EmptyGraph.instance().traversal().withStrategies(MemoryBoundStrategy.build().maxSize(16).spillDirectory(directory).create());
+            assertEquals(300, g.inject(NUMBERS).dedup().toList().size());
+            assertEquals(0, directory.listFiles().length);
+            assertEquals(300, g.inject(NUMBERS).dedup().count().next().intValue());
+            assertEquals(0, directory.listFiles().length);
+            g.inject(NUMBERS).dedup().iterate();
+            assertEquals(0, directory.listFiles().length);
+            // a traversal that is not iterated to its end deletes them when it is released
+            final Traversal<Integer, Integer> traversal = g.inject(NUMBERS).dedup();
+            assertEquals(100, traversal.next(100).size());
+            assertTrue(directory.listFiles().length > 0);
+            MemoryBoundStrategy.release(traversal.asAdmin());
+            assertEquals(0, directory.listFiles().length);
+        } finally {
+            for (final File file : directory.listFiles()) {
+                file.delete();
+            }
+            directory.delete();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireAMaxSize() {
+        MemoryBoundStrategy.build().create();
+    }
+}
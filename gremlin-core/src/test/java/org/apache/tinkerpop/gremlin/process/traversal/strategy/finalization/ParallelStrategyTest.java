@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FoldStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class ParallelStrategyTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal().withParallelism(4);
+
+    @Test
+    public void shouldReduceInPartitionsBeforeReducingBarrier() {
+        final Traversal.Admin<?, ?> traversal = g.V().out().out().count().asAdmin();
+        traversal.applyStrategies();
+        assertEquals(3, traversal.getSteps().size());
+        assertTrue(traversal.getStartStep() instanceof GraphStep);
+        assertTrue(traversal.getEndStep() instanceof CountGlobalStep);
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getSteps().get(1);
+        assertEquals(4, parallelStep.getParallelism());
+        assertTrue(parallelStep.isReducing());
+        final Traversal.Admin<?, ?> partition = parallelStep.getGlobalChildren().get(0);
+        assertEquals(3, partition.getSteps().size());
+        assertTrue(partition.getStartStep() instanceof VertexStep);
+        assertTrue(partition.getEndStep() instanceof CountGlobalStep);
+    }
+
+    @Test
+    public void shouldCollectPartitionsAtCollectingBarrier() {
+        final Traversal.Admin<?, ?> traversal = g.V().out().order().asAdmin();
+        traversal.applyStrategies();
+        assertEquals(3, traversal.getSteps().size());
+        assertTrue(traversal.getEndStep() instanceof OrderGlobalStep);
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getSteps().get(1);
+        assertFalse(parallelStep.isReducing());
+        assertEquals(1, parallelStep.getGlobalChildren().get(0).getSteps().size());
+    }
+
+    @Test
+    public void shouldNotReduceInPartitionsBeforeGroup() {
+        final Traversal.Admin<?, ?> traversal = g.V().out().group().by(__.label()).asAdmin();
+        traversal.applyStrategies();
+        assertTrue(traversal.getEndStep() instanceof GroupStep);
+        assertFalse(((ParallelStep<?, ?>) traversal.getSteps().get(1)).isReducing());
+    }
+
+    @Test
+    public void shouldNotReduceInPartitionsBeforeSeededFold() {
+        final Traversal.Admin<?, ?> traversal = g.V().out().fold(new ArrayList<>(), (BiFunction) Operator.addAll).asAdmin();
+        traversal.applyStrategies();
+        assertTrue(traversal.getEndStep() instanceof FoldStep);
+        assertFalse(((ParallelStep<?, ?>) traversal.getSteps().get(1)).isReducing());
+    }
+
+    @Test
+    public void shouldOnlySplitLambdasIfAllowed() {
+        assertNotParallel(g.V().map(t -> t.get()).count());
+        assertNotParallel(g.V().out().filter(t -> true).count());
+        assertNotParallel(g.V().out().local(__.map(t -> t.get())).count());
+
+        final GraphTraversalSource lambdas = EmptyGraph.instance().traversal().withStrategies(new ParallelStrategy(4, true));
+        final Traversal.Admin<?, ?> traversal = lambdas.V().map(t -> t.get()).count().asAdmin();
+        traversal.applyStrategies();
+        assertTrue(((ParallelStep<?, ?>) traversal.getSteps().get(1)).isReducing());
+    }
+
+    @Test
+    public void shouldNotReduceInPartitionsBeforeBarrierWithLambdaUnlessAllowed() {
+        final Traversal.Admin<?, ?> traversal = g.V().out().groupCount().by(v -> v.hashCode()).asAdmin();
+        traversal.applyStrategies();
+        assertFalse(((ParallelStep<?, ?>) traversal.getSteps().get(1)).isReducing());
+
+        final GraphTraversalSource lambdas = EmptyGraph.instance().traversal().withStrategies(new ParallelStrategy(4, true));
+        final Traversal.Admin<?, ?> allowed = lambdas.V().out().groupCount().by(v -> v.hashCode()).asAdmin();
+        allowed.applyStrategies();
+        assertTrue(((ParallelStep<?, ?>) allowed.getSteps().get(1)).isReducing());
+    }
+
+    @Test
+    public void shouldAllowBarriersInLocalChildren() {
+        final Traversal.Admin<?, ?> traversal = g.V().local(__.out().count()).sum().asAdmin();
+        traversal.applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(ParallelStep.class, traversal));
+    }
+
+    @Test
+    public void shouldNotApplyToUnsafeTraversals() {
+        assertNotParallel(g.V().count());
+        assertNotParallel(g.V().out().out());
+        assertNotParallel(g.V().out().dedup().count());
+        assertNotParallel(g.V().out().limit(10).count());
+        assertNotParallel(g.V().out().aggregate("x").count());
+        assertNotParallel(g.V().out().addE("knows").to("a").count());
+        assertNotParallel(g.V().union(__.out().count(), __.in().count()).sum());
+        assertNotParallel(g.V().out().count().profile());
+        assertNotParallel(g.inject(1, 2, 3).map(__.identity()).count());
+        assertNotParallel(g.withComputer().V().out().count());
+    }
+
+    private static void assertNotParallel(final Traversal<?, ?> traversal) {
+        traversal.asAdmin().applyStrategies();
+        assertFalse(TraversalHelper.hasStepOfAssignableClassRecursively(ParallelStep.class, traversal.asAdmin()));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class PathRetractionStrategyTest {
+
+    private static List<PathProcessor> applyPathRetractionStrategy(final Traversal<?, ?> traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(PathRetractionStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().applyStrategies();
+        return TraversalHelper.getStepsOfAssignableClass(PathProcessor.class, traversal.asAdmin());
+    }
+
+    @Test
+    public void shouldOnlyKeepTheLabelsThatLaterStepsRead() {
+        final List<PathProcessor> steps = applyPathRetractionStrategy(__.as("a").out().as("b").where(P.neq("a")).out().as("c").where(__.as("c").out().as("b")).select("c").local(__.select("b")));
+        assertEquals(3, steps.size());
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), steps.get(0).getKeepLabels());
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), steps.get(1).getKeepLabels());
+        assertEquals(Collections.singleton("b"), steps.get(2).getKeepLabels());
+        //
+        assertEquals(Collections.emptySet(), applyPathRetractionStrategy(__.as("a").out().as("b").select("a", "b")).get(0).getKeepLabels());
+    }
+
+    @Test
+    public void shouldNotRetractLabelsIfTheTraversalRequiresPaths() {
+        for (final PathProcessor step : applyPathRetractionStrategy(__.as("a").out().as("b").select("a").path())) {
+            assertNull(step.getKeepLabels());
+        }
+        for (final PathProcessor step : applyPathRetractionStrategy(__.as("a").out().as("b").select("a").filter(t -> t.path().hasLabel("b")))) {
+            assertNull(step.getKeepLabels());
+        }
+        for (final PathProcessor step : applyPathRetractionStrategy(__.as("a").out().as("b").select("a").match(__.as("a").out().as("b")))) {
+            assertNull(step.getKeepLabels());
+        }
+    }
+
+    @Test
+    public void shouldDropTheLabelsFromThePathsOfTheTraversers() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final Traverser.Admin<Object> retracted = nextTraverser(g.withStrategies(PathRetractionStrategy.instance()).inject(1).as("a").select("a").as("b").select("b"));
+        assertEquals(1, retracted.get());
+        assertEquals(0, retracted.path().size());
+        final Traverser.Admin<Object> traverser = nextTraverser(g.inject(1).as("a").select("a").as("b").select("b"));
+        assertEquals(1, traverser.get());
+        assertTrue(traverser.path().hasLabel("a"));
+    }
+
+    private static Traverser.Admin<Object> nextTraverser(final Traversal<?, ?> traversal) {
+        traversal.asAdmin().applyStrategies();
+        return (Traverser.Admin<Object>) traversal.asAdmin().getEndStep().next();
+    }
+}
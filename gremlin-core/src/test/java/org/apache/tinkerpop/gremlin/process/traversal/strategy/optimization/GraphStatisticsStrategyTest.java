@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ */
+@RunWith(Parameterized.class)
+public class GraphStatisticsStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    void applyGraphStatisticsStrategy(final Traversal traversal) {
+        final Graph graph = mock(Graph.class);
+        when(graph.statistics()).thenReturn(Optional.of(new TestStatistics()));
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(GraphStatisticsStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setGraph(graph);
+        traversal.asAdmin().applyStrategies();
+    }
+
+    @Test
+    public void doTest() {
+        applyGraphStatisticsStrategy(original);
+        assertEquals(optimized, original);
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        final int size = 10000;
+        final BiPredicate<Object, Object> lambda = (a, b) -> true;
+        return Arrays.asList(new Traversal[][]{
+                {__.V().has("age", gt(20)).has("name", "marko"), __.V().has("name", "marko").has("age", gt(20))},
+                {__.V().has("age", gt(20)).has("name", "marko").has(T.label, "person"), __.V().has("name", "marko").has("age", gt(20)).has(T.label, "person")},
+                {__.V().has("age", gt(20)).as("a").has("name", "marko"), __.V().has("age", gt(20)).as("a").has("name", "marko")},
+                {__.V().out().has("age", gt(20)).has("name", "marko"), __.V().out().barrier(size).has("name", "marko").has("age", gt(20))},
+                {__.V().has("age", P.test(lambda, 20)).has("name", "marko"), __.V().has("age", P.test(lambda, 20)).has("name", "marko")},
+                {__.V().values("age").is(gt(20)), __.V().values("age").is(gt(20))},
+                {__.V().as("a").out().as("b").where(__.as("a").out("created").as("b")), __.V().as("a").out().as("b").where(__.as("b").in("created").as("a"))},
+                {__.V().as("a").out().as("b").where(__.as("a").out("knows").as("b")), __.V().as("a").out().as("b").where(__.as("a").out("knows").as("b"))},
+                {__.V().as("a").out().as("b").where(__.as("a").out("created").has("name", "lop").as("b")), __.V().as("a").out().as("b").where(__.as("a").out("created").has("name", "lop").as("b"))},
+                {__.V().out("knows").out("knows").count(), __.V().out("knows").barrier(size).out("knows").count()},
+                {__.V().out("created").out("knows").count(), __.V().out("created").out("knows").count()},
+                {__.V().out("knows").out("knows").path(), __.V().out("knows").out("knows").path()},
+                {__.V().has("name", "marko").out("knows").out("knows").count(), __.V().has("name", "marko").out("knows").out("knows").count()},
+        });
+    }
+
+    /**
+     * A thousand vertices where each knows five of a hundred popular vertices and a hundred of them created ten each.
+     */
+    private static final class TestStatistics implements Graph.Statistics {
+
+        @Override
+        public long vertexCount() {
+            return 1000l;
+        }
+
+        @Override
+        public long vertexCount(final String label) {
+            return label.equals("person") ? 900l : 100l;
+        }
+
+        @Override
+        public long edgeCount() {
+            return 6000l;
+        }
+
+        @Override
+        public long edgeCount(final String label) {
+            return label.equals("knows") ? 5000l : 1000l;
+        }
+
+        @Override
+        public long vertexCount(final Direction direction, final String edgeLabel) {
+            if (null == edgeLabel)
+                return 1000l;
+            else if (edgeLabel.equals("knows"))
+                return direction == Direction.OUT ? 1000l : 100l;
+            else
+                return direction == Direction.OUT ? 100l : 1000l;
+        }
+
+        @Override
+        public double selectivity(final Class<? extends Element> elementClass, final String key, final P<?> predicate) {
+            return key.equals("name") ? 0.001d : key.equals(T.label.getAccessor()) ? 0.9d : 0.5d;
+        }
+    }
+}
@@ -67,6 +67,7 @@ public class OrderLimitStrategyTest {
                 {__.order().limit(1), 1l},
                 {__.out().order().range(7, 15), 15l},
                 {__.order().select("a").limit(7), 7l},
-                {__.order().out().limit(10), Long.MAX_VALUE}});
+                {__.order().out().limit(10), Long.MAX_VALUE},
+                {__.order().range(5, -1), Long.MAX_VALUE}});
     }
 }
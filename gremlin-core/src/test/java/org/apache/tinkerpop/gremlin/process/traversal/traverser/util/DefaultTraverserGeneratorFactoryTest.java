@@ -23,12 +23,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_S_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_S_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.LP_O_OB_P_S_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.LP_O_OB_S_SE_SL_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.O_OB_S_SE_SL_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.O_OB_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 
@@ -79,6 +81,29 @@ public class DefaultTraverserGeneratorFactoryTest {
         traversal = traversalSource.withBulk(false).V().out().path().asAdmin();
         traversal.applyStrategies();
         assertEquals(LP_O_OB_P_S_SE_SL_Traverser.class, traversal.getTraverserGenerator().generate(start, traversal.getStartStep(), 1l).getClass());
+    }
 
+    @Test
+    public void shouldOnlyRecycleTraversersWithoutPaths() {
+        final GraphTraversalSource traversalSource = EmptyGraph.instance().traversal().withRecycling();
+        final Object start = new Object();
+
+        Traversal.Admin traversal = traversalSource.V().out().asAdmin();
+        traversal.applyStrategies();
+        assertEquals(RecyclingTraverserGenerator.class, traversal.getTraverserGenerator().getClass());
+        assertEquals(B_O_Traverser.class, traversal.getTraverserGenerator().generate(start, traversal.getStartStep(), 1l).getClass());
+        //
+        traversal = traversalSource.V().repeat(__.out()).times(10).asAdmin();
+        traversal.applyStrategies();
+        assertEquals(RecyclingTraverserGenerator.class, traversal.getTraverserGenerator().getClass());
+        assertEquals(B_O_S_SE_SL_Traverser.class, traversal.getTraverserGenerator().generate(start, traversal.getStartStep(), 1l).getClass());
+        //
+        traversal = traversalSource.V().out().path().asAdmin();
+        traversal.applyStrategies();
+        assertEquals(B_LP_O_P_S_SE_SL_TraverserGenerator.instance(), traversal.getTraverserGenerator());
+        //
+        traversal = traversalSource.withBulk(false).V().out().asAdmin();
+        traversal.applyStrategies();
+        assertEquals(O_OB_S_SE_SL_TraverserGenerator.instance(), traversal.getTraverserGenerator());
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class RecyclingTraverserGeneratorTest {
+
+    @Test
+    public void shouldReuseRecycledTraversers() {
+        final RecyclingTraverserGenerator generator = new RecyclingTraverserGenerator(B_O_TraverserGenerator.instance());
+        assertTrue(generator.getProvidedRequirements().contains(TraverserRequirement.RECYCLE));
+        final Traverser.Admin<String> traverser = generator.generate("marko", EmptyStep.instance(), 2l);
+        traverser.setStepId("1");
+        final Traverser.Admin<String> split = traverser.split();
+        assertNotSame(traverser, split);
+        split.recycle();
+        final Traverser.Admin<Integer> recycled = traverser.split(29, EmptyStep.instance());
+        assertSame(split, recycled);
+        assertEquals(29, recycled.get().intValue());
+        assertEquals(2l, recycled.bulk());
+        assertEquals("1", recycled.getStepId());
+        assertEquals("marko", traverser.get());
+        // the pool is empty again
+        assertNotSame(split, traverser.split());
+    }
+
+    @Test
+    public void shouldOnlyRecycleInTheThreadThatCreatedTheGenerator() throws Exception {
+        final RecyclingTraverserGenerator generator = new RecyclingTraverserGenerator(B_O_TraverserGenerator.instance());
+        final Traverser.Admin<String> traverser = generator.generate("marko", EmptyStep.instance(), 1l);
+        final AtomicReference<Traverser.Admin<String>> split = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            split.set(traverser.split());
+            split.get().recycle();
+        });
+        thread.start();
+        thread.join();
+        assertEquals("marko", split.get().get());
+        assertNotSame(split.get(), traverser.split());
+    }
+}
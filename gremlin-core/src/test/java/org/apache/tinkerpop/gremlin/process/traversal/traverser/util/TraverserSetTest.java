@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class TraverserSetTest {
+
+    @Test
+    public void shouldMergeEqualTraversersInInsertionOrder() {
+        final TraverserSet<String> set = new TraverserSet<>();
+        set.add(traverser("marko", 1));
+        set.add(traverser("stephen", 2));
+        set.add(traverser("marko", 3));
+        assertEquals(2, set.size());
+        assertEquals(6, set.bulkSize());
+        assertEquals(4, set.get(traverser("marko", 1)).bulk());
+        assertEquals("marko", set.remove().get());
+        assertEquals("stephen", set.peek().get());
+        assertEquals("stephen", set.remove().get());
+        assertTrue(set.isEmpty());
+        assertNull(set.poll());
+        set.add(traverser("daniel", 1));
+        assertEquals("daniel", set.remove().get());
+    }
+
+    @Test
+    public void shouldRemoveThroughIterator() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            set.add(traverser(i, 1));
+        }
+        final Iterator<Traverser.Admin<Integer>> iterator = set.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() % 2 == 0) iterator.remove();
+        }
+        assertEquals(50, set.size());
+        assertFalse(set.contains(traverser(0, 1)));
+        assertTrue(set.remove(traverser(1, 1)));
+        assertEquals(3, set.remove().get().intValue());
+    }
+
+    @Test
+    public void shouldBehaveLikeLinkedHashMap() {
+        final Random random = new Random(42l);
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        final Map<Integer, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            final int action = random.nextInt(10);
+            if (action < 6) {
+                final int value = random.nextInt(1000);
+                set.add(traverser(value, 1));
+                map.merge(value, 1l, Long::sum);
+            } else if (action < 9) {
+                if (map.isEmpty())
+                    assertNull(set.poll());
+                else {
+                    final Map.Entry<Integer, Long> entry = map.entrySet().iterator().next();
+                    final Traverser.Admin<Integer> traverser = set.remove();
+                    assertEquals(entry.getKey(), traverser.get());
+                    assertEquals(entry.getValue().longValue(), traverser.bulk());
+                    map.remove(entry.getKey());
+                }
+            } else {
+                final int value = random.nextInt(1000);
+                assertEquals(null != map.remove(value), set.remove(traverser(value, 1)));
+            }
+            assertEquals(map.size(), set.size());
+        }
+        final List<Integer> values = new ArrayList<>();
+        set.forEach(traverser -> values.add(traverser.get()));
+        assertEquals(new ArrayList<>(map.keySet()), values);
+    }
+
+    @Test
+    public void shouldSort() {
+        final TraverserSet<Integer> set = new TraverserSet<>();
+        for (int i = 100; i > 0; i--) {
+            set.add(traverser(i, 1));
+        }
+        set.sort((a, b) -> a.get().compareTo(b.get()));
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, set.remove().get().intValue());
+        }
+    }
+
+    private static <S> Traverser.Admin<S> traverser(final S object, final long bulk) {
+        final Traverser.Admin<S> traverser = new B_O_Traverser<>(object, bulk);
+        traverser.setStepId(EmptyStep.instance().getId());
+        return traverser;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.remote.traversal.strategy.decoration.RemoteStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author agent
+ */
+public class TraversalInstructionsTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal().withStrategies(RemoteStrategy.instance());
+
+    @Test
+    public void shouldOnlyRecordTheTraversalsOfRemoteSources() {
+        assertTrue(g.V(1).out("knows").values("name").asAdmin().getInstructions().isPresent());
+        assertFalse(EmptyGraph.instance().traversal().V(1).out("knows").values("name").asAdmin().getInstructions().isPresent());
+        assertFalse(g.withoutStrategies(RemoteStrategy.class).V(1).out("knows").asAdmin().getInstructions().isPresent());
+        assertFalse(new DefaultGraphTraversal<>().out().asAdmin().getInstructions().isPresent());
+        assertTrue(__.out().asAdmin().getInstructions().isPresent());
+    }
+
+    @Test
+    public void shouldKeepTheEncodedFormUntilAnotherCallIsRecorded() {
+        final GraphTraversal<?, ?> traversal = g.V(1).out("knows");
+        final TraversalInstructions instructions = traversal.asAdmin().getInstructions().get();
+        final byte[] bytes = instructions.toBytes();
+        assertSame(bytes, instructions.toBytes());
+        assertTrue(instructions.isReplayOf(traversal.asAdmin()));
+        assertTrue(instructions.isReplayOf(traversal.asAdmin()));
+
+        traversal.values("name");
+        assertNotSame(bytes, instructions.toBytes());
+        assertFalse(Arrays.equals(bytes, instructions.toBytes()));
+        assertTrue(instructions.isReplayOf(traversal.asAdmin()));
+    }
+
+    @Test
+    public void shouldVerifyInjectedTraversalsMoreThanOnce() {
+        final Traversal.Admin<?, ?> traversal = g.inject(1, 2, 3).sum().asAdmin();
+        final TraversalInstructions instructions = traversal.getInstructions().get();
+        assertTrue(instructions.isReplayOf(traversal));
+        assertTrue(instructions.isReplayOf(traversal));
+        final Traversal.Admin<?, ?> other = g.inject(1, 2, 3).sum().asAdmin();
+        assertTrue(other.getInstructions().get().isReplayOf(other));
+        assertFalse(other.getInstructions().get().isReplayOf(g.inject(1, 2, 4).sum().asAdmin()));
+    }
+
+    @Test
+    public void shouldReplayEncodedInstructions() {
+        final List<Traversal<?, ?>> traversals = Arrays.asList(
+                g.V(1, 2).out("knows", "created").has("name", P.within("marko", "josh")).values("age"),
+                g.V().has(T.label, "person").as("a").out().where(P.neq("a")).select(Pop.first, "a").by("name"),
+                g.V().repeat(__.out()).times(2).emit().path().by(T.id),
+                g.V().until(__.has("name", "ripple")).repeat(__.both().simplePath()).limit(1),
+                g.V().group().by(T.label).by(__.values("age").sum()).select(Column.values).unfold(),
+                g.V().order().by("age", Order.decr).range(Scope.global, 1, 3).fold(0, Operator.sum),
+                g.V().choose(__.hasLabel("person"), __.out(), __.in()).coalesce(__.values("lang"), __.constant("none")),
+                g.V().union(__.outE().has("weight", P.gt(0.5).and(P.lte(1.0))), __.inE()).otherV().dedup().count(),
+                g.V().match(__.as("a").out().as("b"), __.as("b").in().as("c")).select("a", "c"),
+                g.V().optional(__.out()).not(__.hasNot("name")).is(P.neq(null)).valueMap(true, "name"),
+                g.addV("person").property("name", "stephen").addE("knows").to(__.V(1)).property("weight", 0.5d),
+                g.inject(1, 2, 3).sack(Operator.sum).by(__.identity()).tail(Scope.local, 2));
+
+        for (final Traversal<?, ?> traversal : traversals) {
+            final TraversalInstructions instructions = traversal.asAdmin().getInstructions().get();
+            assertTrue(instructions.isReplayOf(traversal.asAdmin()));
+            final GraphTraversal.Admin<?, ?> replayed = TraversalInstructions.fromBytes(instructions.toBytes()).replay(g);
+            assertEquals(traversal.asAdmin(), replayed);
+            assertEquals(traversal.toString(), replayed.toString());
+            assertEquals(instructions.toString(), replayed.getInstructions().get().toString());
+        }
+    }
+
+    @Test
+    public void shouldRecordTheCallsOfTheTraversal() {
+        final Traversal.Admin<?, ?> traversal = g.V(1).out("knows").values("name").asAdmin();
+        assertEquals("g.V([1]).to(OUT, [knows]).values([name])", traversal.getInstructions().get().toString());
+        assertEquals("__.select(keys)", __.select(Column.keys).asAdmin().getInstructions().get().toString());
+    }
+
+    @Test
+    public void shouldCloneInstructionsWithTraversal() {
+        final Traversal.Admin<?, ?> traversal = g.V().out().asAdmin();
+        final Traversal.Admin<?, ?> clone = traversal.clone();
+        assertNotSame(traversal.getInstructions().get(), clone.getInstructions().get());
+        assertEquals(traversal.getInstructions().get().toString(), clone.getInstructions().get().toString());
+        clone.addStep(new IdentityStep<>(clone));
+        assertTrue(traversal.getInstructions().get().isReplayOf(traversal));
+        assertFalse(clone.getInstructions().get().isReplayOf(clone));
+    }
+
+    @Test
+    public void shouldNotReplayStepsThatWereNotRecorded() {
+        final Traversal.Admin<?, ?> traversal = g.V().out().asAdmin();
+        traversal.addStep(new IdentityStep<>(traversal));
+        assertFalse(traversal.getInstructions().get().isReplayOf(traversal));
+
+        final Traversal.Admin<?, ?> child = __.out().asAdmin();
+        child.addStep(new IdentityStep<>(child));
+        final Traversal.Admin<?, ?> parent = g.V().local(child).asAdmin();
+        assertFalse(parent.getInstructions().get().isReplayOf(parent));
+
+        final Traversal.Admin<?, ?> unrecorded = new DefaultGraphTraversal<>();
+        unrecorded.addStep(new IdentityStep<>(unrecorded));
+        try {
+            g.V().local(unrecorded).asAdmin().getInstructions().get().toBytes();
+            fail("A child traversal without instructions should not be encoded");
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void shouldNotEncodeLambdas() {
+        try {
+            g.V().map(t -> t.get()).asAdmin().getInstructions().get().toBytes();
+            fail("Lambdas should not be encoded");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class TraversalPlanCacheTest {
+
+    @Test
+    public void shouldBindParametersToCachedPlan() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().withPlanCache(10);
+        final TraversalPlanCache cache = g.getStrategies().getPlanCache().get();
+
+        final Traversal.Admin<?, ?> first = g.V(1).has("name", "marko").out().has("age", P.gt(30)).values("name").asAdmin();
+        first.applyStrategies();
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+
+        final Traversal.Admin<?, ?> second = g.V(2).has("name", "josh").out().has("age", P.gt(20)).values("name").asAdmin();
+        second.applyStrategies();
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+        assertTrue(second.isLocked());
+
+        final Traversal.Admin<?, ?> expected = EmptyGraph.instance().traversal().V(2).has("name", "josh").out().has("age", P.gt(20)).values("name").asAdmin();
+        expected.applyStrategies();
+        assertEquals(expected.toString(), second.toString());
+        assertEquals(expected, second);
+        assertArrayEquals(new Object[]{2}, ((GraphStep) second.getStartStep()).getIds());
+        second.getSteps().forEach(step -> assertTrue(step.getTraversal() == second));
+
+        // the cached plan is not changed by binding the parameters of a traversal to it
+        final Traversal.Admin<?, ?> third = g.V(1).has("name", "marko").out().has("age", P.gt(30)).values("name").asAdmin();
+        third.applyStrategies();
+        assertEquals(2, cache.getHits());
+        assertEquals(first.toString(), third.toString());
+        assertNotSame(((HasStep) first.getSteps().get(1)).getHasContainers().get(0), ((HasStep) third.getSteps().get(1)).getHasContainers().get(0));
+    }
+
+    @Test
+    public void shouldNotShareCachedPlansAcrossShapes() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().withPlanCache(10);
+        final TraversalPlanCache cache = g.getStrategies().getPlanCache().get();
+        g.V(1).has("name", "marko").asAdmin().applyStrategies();
+        g.V(1).has("name", 1).asAdmin().applyStrategies();
+        g.V(1, 2).has("name", "marko").asAdmin().applyStrategies();
+        g.V(1).has("age", "marko").asAdmin().applyStrategies();
+        g.V(1).has("name", P.neq("marko")).asAdmin().applyStrategies();
+        g.V(1).has("name", "marko").out("knows").asAdmin().applyStrategies();
+        g.V(1).has("name", "marko").out("created").asAdmin().applyStrategies();
+        g.V(1).has("name", "marko").as("a").asAdmin().applyStrategies();
+        g.V(1).has("name", "marko").where(__.out().has("name", "josh")).asAdmin().applyStrategies();
+        g.V(1).has("name", "marko").where(__.out().has("name", "peter")).asAdmin().applyStrategies();
+        assertEquals(0, cache.getHits());
+        assertEquals(10, cache.getMisses());
+        assertEquals(10, cache.size());
+        // least recently used shape is evicted
+        g.V(1).has("name", "marko").in().asAdmin().applyStrategies();
+        assertEquals(10, cache.size());
+        g.V(2).has("name", "josh").asAdmin().applyStrategies();
+        assertEquals(0, cache.getHits());
+        g.V(2).has("name", "josh").in().asAdmin().applyStrategies();
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void shouldNotCacheTraversalsWithLambdas() {
+        final GraphTraversalSource g = EmptyGraph.instance().traversal().withPlanCache(10);
+        final TraversalPlanCache cache = g.getStrategies().getPlanCache().get();
+        g.V(1).map(t -> t.get()).asAdmin().applyStrategies();
+        g.V(1).where(__.filter(t -> true)).asAdmin().applyStrategies();
+        g.V(1).order().by((Function<Vertex, Object>) Vertex::id).asAdmin().applyStrategies();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+        // child traversals are applied with their root
+        final Traversal.Admin<?, ?> traversal = g.V(1).where(__.has(T.id, 2)).asAdmin();
+        traversal.applyStrategies();
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getMisses());
+    }
+}
@@ -21,7 +21,10 @@ package org.apache.tinkerpop.gremlin.process.util;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
@@ -89,4 +92,39 @@ public class BulkSetTest {
         }
         assertEquals(11, set.size());
     }
+
+    @Test
+    public void shouldRemoveAndKeepInsertionOrder() {
+        final BulkSet<Integer> set = new BulkSet<>();
+        for (int i = 0; i < 1000; i++) {
+            set.add(i, i + 1);
+        }
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertTrue(set.removeAll(Arrays.asList(2, 4, 1000)));
+        assertEquals(997, set.uniqueSize());
+        assertEquals(500500 - 1 - 3 - 5, set.longSize());
+        assertFalse(set.contains(4));
+        assertEquals(4, set.get(3));
+        set.add(0);
+        final List<Integer> order = new ArrayList<>();
+        set.forEach((object, bulk) -> order.add(object));
+        assertEquals(Integer.valueOf(1), order.get(0));
+        assertEquals(Integer.valueOf(3), order.get(1));
+        assertEquals(Integer.valueOf(0), order.get(order.size() - 1));
+    }
+
+    @Test
+    public void shouldSupportNull() {
+        final BulkSet<String> set = new BulkSet<>();
+        set.add(null);
+        set.add("marko");
+        set.add(null, 2);
+        assertTrue(set.contains(null));
+        assertEquals(3, set.get(null));
+        assertEquals(4, set.size());
+        assertTrue(set.remove(null));
+        assertEquals(1, set.size());
+        assertEquals("{marko=1}", set.toString());
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInstructions;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.Serializer;
@@ -60,6 +61,11 @@ public abstract class Client {
     protected volatile boolean initialized;
     protected final Client.Settings settings;
 
+    /**
+     * Scripts registered with {@link #prepare(String, String)} by their identifier.
+     */
+    protected final ConcurrentMap<String, String> preparedScripts = new ConcurrentHashMap<>();
+
     Client(final Cluster cluster, final Client.Settings settings) {
         this.cluster = cluster;
         this.settings = settings;
@@ -268,6 +274,58 @@ public abstract class Client {
         return submitAsync(buildMessage(request).create());
     }
 
+    /**
+     * Registers a Gremlin script under an identifier so that it can be submitted with
+     * {@link #submitPrepared(String, Map)} by supplying only its bindings. The script is sent to the server with the
+     * first request for it on each connection, after which the server evaluates requests on that connection from
+     * the identifier alone. Scripts should use bindings for all of their variable parts so that the server compiles
+     * them once.
+     *
+     * @param scriptId the identifier of the script which must be unique for this {@code Client}
+     * @param gremlin the gremlin script to prepare
+     */
+    public Client prepare(final String scriptId, final String gremlin) {
+        if (null == scriptId || scriptId.isEmpty()) throw new IllegalArgumentException("The scriptId cannot be null or empty");
+        if (null == gremlin) throw new IllegalArgumentException("The gremlin script cannot be null");
+        preparedScripts.put(scriptId, gremlin);
+        return this;
+    }
+
+    /**
+     * Submits a script registered with {@link #prepare(String, String)} with the specified bound parameters to the
+     * server and returns a {@link ResultSet} once the write of the request is complete.
+     *
+     * @param scriptId the identifier the script was prepared with
+     * @param parameters a map of parameters that will be bound to the script on execution
+     */
+    public ResultSet submitPrepared(final String scriptId, final Map<String, Object> parameters) {
+        try {
+            return submitPreparedAsync(scriptId, parameters).get();
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * The asynchronous version of {@link #submitPrepared(String, Map)} where the returned future will complete when
+     * the write of the request completes.
+     *
+     * @param scriptId the identifier the script was prepared with
+     * @param parameters a map of parameters that will be bound to the script on execution
+     */
+    public CompletableFuture<ResultSet> submitPreparedAsync(final String scriptId, final Map<String, Object> parameters) {
+        final String gremlin = preparedScripts.get(scriptId);
+        if (null == gremlin) throw new IllegalArgumentException(String.format("No script was prepared with the scriptId of [%s]", scriptId));
+
+        final RequestMessage.Builder request = RequestMessage.build(Tokens.OPS_EVAL)
+                .add(Tokens.ARGS_SCRIPT_ID, scriptId, Tokens.ARGS_GREMLIN, gremlin)
+                .add(Tokens.ARGS_BATCH_SIZE, cluster.connectionPoolSettings().resultIterationBatchSize);
+
+        Optional.ofNullable(parameters).ifPresent(params -> request.addArg(Tokens.ARGS_BINDINGS, parameters));
+
+        return submitAsync(buildMessage(request).create());
+    }
+
     /**
      * A low-level method that allows the submission of a manually constructed {@link RequestMessage}.
      */
@@ -527,21 +585,36 @@ public abstract class Client {
 
         @Override
         public CompletableFuture<ResultSet> submitAsync(final Traversal traversal) {
+            // prefer the compact instruction form of the traversal which RemoteStrategy only assigns to the traversal
+            // it submits when they replay to that traversal and fall back to java serialization otherwise
+            final Optional<byte[]> instructions = encodeInstructions(traversal.asAdmin());
+            final String argument = instructions.isPresent() ? Tokens.ARGS_INSTRUCTIONS : Tokens.ARGS_GREMLIN;
             final byte[] serializedTraversal;
             try {
-                serializedTraversal = Serializer.serializeObject(traversal);
+                serializedTraversal = instructions.isPresent() ? instructions.get() : Serializer.serializeObject(traversal);
             } catch (Exception ex) {
                 throw new RuntimeException(ex);
             }
 
             try {
                 return submitAsync(buildMessage(RequestMessage.build(Tokens.OPS_TRAVERSE)
-                        .processor("traversal").addArg(Tokens.ARGS_GREMLIN, serializedTraversal)).create());
+                        .processor("traversal").addArg(argument, serializedTraversal)).create());
             } catch (Exception ex) {
                 throw new RuntimeException(ex);
             }
         }
 
+        private static Optional<byte[]> encodeInstructions(final Traversal.Admin<?, ?> traversal) {
+            final Optional<TraversalInstructions> instructions = traversal.getInstructions();
+            if (!instructions.isPresent()) return Optional.empty();
+            try {
+                return Optional.of(instructions.get().toBytes());
+            } catch (IllegalStateException | IllegalArgumentException ex) {
+                logger.debug("Submitting the traversal with java serialization as its instructions could not be encoded - {}", ex.getMessage());
+                return Optional.empty();
+            }
+        }
+
         @Override
         public synchronized Client init() {
             if (close.isDone()) throw new IllegalStateException("Client is closed");
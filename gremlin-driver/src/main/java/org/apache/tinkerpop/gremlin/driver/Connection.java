@@ -31,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -84,6 +85,12 @@ final class Connection {
     private final AtomicReference<CompletableFuture<Void>> closeFuture = new AtomicReference<>();
     private final AtomicBoolean shutdownInitiated = new AtomicBoolean(false);
 
+    /**
+     * The prepared scripts that were written to the server on this connection by their identifier. The server keeps
+     * them for the channel, so later requests for the same script only need to send the identifier.
+     */
+    private final ConcurrentMap<String, String> preparedScripts = new ConcurrentHashMap<>();
+
     public Connection(final URI uri, final ConnectionPool pool, final int maxInProcess) throws ConnectionException {
         this.uri = uri;
         this.cluster = pool.getCluster();
@@ -176,7 +183,9 @@ final class Connection {
         }
     }
 
-    public ChannelPromise write(final RequestMessage requestMessage, final CompletableFuture<ResultSet> future) {
+    public ChannelPromise write(final RequestMessage message, final CompletableFuture<ResultSet> future) {
+        final RequestMessage requestMessage = withoutPreparedScript(message);
+
         // once there is a completed write, then create a traverser for the result set and complete
         // the promise so that the client knows that that it can start checking for results.
         final Connection thisConnection = this;
@@ -195,6 +204,13 @@ final class Connection {
                         // the callback for when the read was successful, meaning that ResultQueue.markComplete()
                         // was called
                         readCompleted.thenAcceptAsync(v -> {
+                            // the server may refuse to prepare a script, so it is only left out of later requests
+                            // once a request that carried it succeeded. requests that are sent before then simply
+                            // carry the script again
+                            if (requestMessage.optionalArgs(Tokens.ARGS_SCRIPT_ID).isPresent() && requestMessage.optionalArgs(Tokens.ARGS_GREMLIN).isPresent())
+                                preparedScripts.put(requestMessage.<String>optionalArgs(Tokens.ARGS_SCRIPT_ID).get(),
+                                        requestMessage.<String>optionalArgs(Tokens.ARGS_GREMLIN).get());
+
                             thisConnection.returnToPool();
                             tryShutdown();
                         }, cluster.executor());
@@ -237,6 +253,23 @@ final class Connection {
         return promise;
     }
 
+    /**
+     * Removes the script from a request for a prepared script that was already written on this connection.
+     */
+    private RequestMessage withoutPreparedScript(final RequestMessage requestMessage) {
+        final Optional<String> scriptId = requestMessage.optionalArgs(Tokens.ARGS_SCRIPT_ID);
+        if (!scriptId.isPresent() || !requestMessage.getArgs().getOrDefault(Tokens.ARGS_GREMLIN, "").equals(preparedScripts.get(scriptId.get())))
+            return requestMessage;
+
+        final RequestMessage.Builder builder = RequestMessage.build(requestMessage.getOp())
+                .overrideRequestId(requestMessage.getRequestId())
+                .processor(requestMessage.getProcessor());
+        requestMessage.getArgs().entrySet().stream()
+                .filter(kv -> !kv.getKey().equals(Tokens.ARGS_GREMLIN))
+                .forEach(kv -> builder.addArg(kv.getKey(), kv.getValue()));
+        return builder.create();
+    }
+
     public void returnToPool() {
         try {
             if (pool != null) pool.returnConnection(this);
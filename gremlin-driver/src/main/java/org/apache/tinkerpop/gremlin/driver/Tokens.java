@@ -46,9 +46,11 @@ public final class Tokens {
     public static final String ARGS_COORDINATES = "coordinates";
     public static final String ARGS_GREMLIN = "gremlin";
     public static final String ARGS_IMPORTS = "imports";
+    public static final String ARGS_INSTRUCTIONS = "instructions";
     public static final String ARGS_INFO_TYPE = "infoType";
     public static final String ARGS_LANGUAGE = "language";
     public static final String ARGS_SCRIPT_EVAL_TIMEOUT = "scriptEvaluationTimeout";
+    public static final String ARGS_SCRIPT_ID = "scriptId";
 
     /**
      * @deprecated As of release 3.1.0-incubating, replaced by {@link #ARGS_ALIASES}.
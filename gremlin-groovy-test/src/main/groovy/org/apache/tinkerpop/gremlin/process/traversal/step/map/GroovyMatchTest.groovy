@@ -37,6 +37,14 @@ public abstract class GroovyMatchTest {
         }
     }
 
+    public static class GenericJoinMatchTraversals extends Traversals {
+        @Before
+        public void setupTest() {
+            super.setupTest();
+            g = graphProvider.traversal(graph, MatchAlgorithmStrategy.build().algorithm(MatchStep.GenericJoinMatchAlgorithm.class).create());
+        }
+    }
+
     public static class CountMatchTraversals extends Traversals {
         @Before
         public void setupTest() {
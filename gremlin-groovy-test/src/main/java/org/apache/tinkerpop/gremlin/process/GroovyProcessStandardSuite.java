@@ -139,6 +139,7 @@ public class GroovyProcessStandardSuite extends ProcessStandardSuite {
             GroovyMapValuesTest.Traversals.class,
             GroovyMatchTest.CountMatchTraversals.class,
             GroovyMatchTest.GreedyMatchTraversals.class,
+            GroovyMatchTest.GenericJoinMatchTraversals.class,
             GroovyMaxTest.Traversals.class,
             GroovyMeanTest.Traversals.class,
             GroovyMinTest.Traversals.class,
@@ -294,6 +294,13 @@ public class ScriptEngines implements AutoCloseable {
         return m;
     }
 
+    /**
+     * Gets the {@code ScriptEngine} for the specified language if it has been initialized.
+     */
+    public Optional<ScriptEngine> get(final String language) {
+        return Optional.ofNullable(scriptEngines.get(language));
+    }
+
     /**
      * Get the set of {@code ScriptEngine} that implement {@link DependencyManager} interface.
      */
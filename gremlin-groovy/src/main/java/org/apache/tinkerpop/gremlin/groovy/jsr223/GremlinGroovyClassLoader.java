@@ -19,14 +19,21 @@
 package org.apache.tinkerpop.gremlin.groovy.jsr223;
 
 import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilerConfiguration;
 
+import java.util.List;
+
 /**
- * A {@code GroovyClassLoader} extension that provides access to the {@code removeClassCacheEntry(String)} method.
+ * A {@code GroovyClassLoader} extension that provides access to the {@code removeClassCacheEntry(String)} method so
+ * that the classes of scripts that were evicted from the cache of the {@link GremlinGroovyScriptEngine} can be
+ * unloaded.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
 class GremlinGroovyClassLoader extends GroovyClassLoader {
+    private final ThreadLocal<List<String>> definedClassNames = new ThreadLocal<>();
+
     public GremlinGroovyClassLoader(final ClassLoader parent, final CompilerConfiguration conf) {
         super(parent, conf);
     }
@@ -35,4 +42,32 @@ class GremlinGroovyClassLoader extends GroovyClassLoader {
     protected void removeClassCacheEntry(final String name) {
         super.removeClassCacheEntry(name);
     }
+
+    /**
+     * Compiles a script and adds the names of the classes it defined, which are the script class and the classes of
+     * its closures, to {@code classNames}.
+     */
+    Class parseClass(final String script, final String fileName, final List<String> classNames) throws CompilationFailedException {
+        definedClassNames.set(classNames);
+        try {
+            return parseClass(script, fileName);
+        } finally {
+            definedClassNames.remove();
+        }
+    }
+
+    @Override
+    protected void setClassCacheEntry(final Class cls) {
+        super.setClassCacheEntry(cls);
+        final List<String> classNames = definedClassNames.get();
+        if (classNames != null) classNames.add(cls.getName());
+    }
+
+    /**
+     * Removes the classes of a script, as collected by {@link #parseClass(String, String, List)}, from the class
+     * cache.
+     */
+    void removeClassCacheEntries(final List<String> classNames) {
+        classNames.forEach(this::removeClassCacheEntry);
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.groovy.DefaultImportCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.EmptyImportCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.ImportCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.NoImportCustomizerProvider;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.CompilationOptionsCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.ConfigurationCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.InterpreterModeCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.loaders.GremlinLoader;
@@ -49,6 +50,7 @@ import org.codehaus.groovy.runtime.MetaClassHelper;
 import org.codehaus.groovy.runtime.MethodClosure;
 import org.codehaus.groovy.syntax.SyntaxException;
 import org.codehaus.groovy.util.ReferenceBundle;
+import org.javatuples.Pair;
 
 import javax.script.Bindings;
 import javax.script.CompiledScript;
@@ -64,20 +66,25 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
- * Provides methods to compile and evaluate Gremlin scripts. Compiled scripts are stored in a managed cache to cut
- * down on compilation times of future evaluations of the same script.  This {@code ScriptEngine} implementation is
- * heavily adapted from the {@code GroovyScriptEngineImpl} to include some additional functionality.
+ * Provides methods to compile and evaluate Gremlin scripts. Compiled scripts are stored in a bounded cache to cut
+ * down on compilation times of future evaluations of the same script, where the least recently used class is evicted
+ * and unloaded once the cache is full.  The size of the cache and the lifting of literals into bindings before
+ * compilation are configured with the {@link CompilationOptionsCustomizerProvider}.  This {@code ScriptEngine}
+ * implementation is heavily adapted from the {@code GroovyScriptEngineImpl} to include some additional functionality.
  *
  * @see org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor
  *
@@ -143,9 +150,15 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     };
 
     /**
-     * Script to generated Class map.
+     * Script to generated Class map. A hit only stamps the entry with the time of its use, so the map is read without
+     * a lock and the least recently used scripts are evicted once it holds more than {@link #classCacheMaxSize}.
      */
-    private ManagedConcurrentValueMap<String, Class> classMap = new ManagedConcurrentValueMap<>(ReferenceBundle.getSoftBundle());
+    private final ConcurrentHashMap<String, ScriptClass> classMap = new ConcurrentHashMap<>();
+    private final int classCacheMaxSize;
+    private final AtomicBoolean classCacheEvicting = new AtomicBoolean(false);
+    private final AtomicLong classCacheHits = new AtomicLong(0L);
+    private final AtomicLong classCacheMisses = new AtomicLong(0L);
+    private final AtomicLong classCacheEvictions = new AtomicLong(0L);
 
     /**
      * Global closures map - this is used to simulate a single global functions namespace
@@ -173,6 +186,7 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
 
     private final Set<Artifact> artifactsToUse = new HashSet<>();
     private final boolean interpreterModeEnabled;
+    private final boolean autoParameterizeEnabled;
 
     /**
      * Creates a new instance using the {@link DefaultImportCustomizerProvider}.
@@ -206,10 +220,19 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         interpreterModeEnabled = providers.stream()
                 .anyMatch(p -> p.getClass().equals(InterpreterModeCustomizerProvider.class));
 
+        final CompilationOptionsCustomizerProvider compilationOptions = providers.stream()
+                .filter(p -> p instanceof CompilationOptionsCustomizerProvider)
+                .map(p -> (CompilationOptionsCustomizerProvider) p)
+                .findFirst().orElseGet(CompilationOptionsCustomizerProvider::new);
+        autoParameterizeEnabled = compilationOptions.isAutoParameterize();
+
+        classCacheMaxSize = compilationOptions.getClassCacheMaxSize();
+
         // remove used providers as the rest will be applied directly
         customizerProviders = providers.stream()
                 .filter(p -> p != null &&
-                             !((p instanceof ImportCustomizerProvider)))
+                             !((p instanceof ImportCustomizerProvider)) &&
+                             !((p instanceof CompilationOptionsCustomizerProvider)))
                 .collect(Collectors.toList());
 
         createClassLoader();
@@ -381,18 +404,34 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
             globalClosures.setBundle(bundle);
         } catch (ClassCastException cce) { /*ignore.*/ }
 
+        final ParameterizedScript parameterized = parameterize(script, context);
+        final Bindings bindings = context.getBindings(ScriptContext.ENGINE_SCOPE);
         try {
+            bindings.putAll(parameterized.getParameters());
             registerBindingTypes(context);
-            final Class clazz = getScriptClass(script);
+            final Class clazz = getScriptClass(parameterized.getScript());
             if (null == clazz) throw new ScriptException("Script class is null");
             return eval(clazz, context);
         } catch (SyntaxException e) {
             throw new ScriptException(e.getMessage(), e.getSourceLocator(), e.getLine());
         } catch (Exception e) {
             throw new ScriptException(e);
+        } finally {
+            parameterized.getParameters().keySet().forEach(bindings::remove);
         }
     }
 
+    /**
+     * Lifts the literals of the script into bindings when enabled with the
+     * {@link CompilationOptionsCustomizerProvider}, unless the names of those bindings are already in use.
+     */
+    private ParameterizedScript parameterize(final String script, final ScriptContext context) {
+        if (!autoParameterizeEnabled) return ParameterizedScript.unchanged(script);
+        final ParameterizedScript parameterized = ParameterizedScript.parameterize(script);
+        return parameterized.getParameters().keySet().stream().anyMatch(k -> context.getAttributesScope(k) != -1) ?
+                ParameterizedScript.unchanged(script) : parameterized;
+    }
+
     /**
      * Create bindings to be used by this {@code ScriptEngine}.  In this case, {@link SimpleBindings} are returned.
      */
@@ -464,17 +503,92 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         return makeInterface(thiz, clazz);
     }
 
+    /**
+     * The number of compiled classes in the cache.
+     */
+    public int getClassCacheSize() {
+        return classMap.size();
+    }
+
+    /**
+     * The number of times the compiled class of a script was found in the cache.
+     */
+    public long getClassCacheHitCount() {
+        return classCacheHits.get();
+    }
+
+    /**
+     * The number of times a script had to be compiled as its class was not in the cache.
+     */
+    public long getClassCacheMissCount() {
+        return classCacheMisses.get();
+    }
+
+    /**
+     * The number of compiled classes that were evicted from the cache because it was full.
+     */
+    public long getClassCacheEvictionCount() {
+        return classCacheEvictions.get();
+    }
+
     Class getScriptClass(final String script) throws SyntaxException, CompilationFailedException, IOException {
-        Class clazz = classMap.get(script);
-        if (clazz != null) return clazz;
+        final ScriptClass cached = classMap.get(script);
+        if (cached != null) {
+            cached.lastUsed = System.nanoTime();
+            classCacheHits.incrementAndGet();
+            return cached.clazz;
+        }
+
+        classCacheMisses.incrementAndGet();
+        final GremlinGroovyClassLoader scriptLoader = loader;
+        final List<String> classNames = new ArrayList<>();
+        final ScriptClass scriptClass = new ScriptClass(scriptLoader.parseClass(script, generateScriptName(), classNames),
+                scriptLoader, classNames);
+
+        // a script that was compiled concurrently by another thread keeps the class of that thread
+        final ScriptClass existing = classMap.putIfAbsent(script, scriptClass);
+        if (existing != null) {
+            scriptClass.unload();
+            return existing.clazz;
+        }
 
-        clazz = loader.parseClass(script, generateScriptName());
-        classMap.put(script, clazz);
-        return clazz;
+        if (classMap.size() > classCacheMaxSize) evictScriptClasses();
+        return scriptClass.clazz;
+    }
+
+    /**
+     * Evicts the least recently used scripts until the cache is back to its maximum size, or by a tenth of that size
+     * if that is more, so that the entries do not have to be sorted each time a script is compiled. Only one thread
+     * evicts at a time - the others go on while the cache is briefly over its size and the evicting thread checks the
+     * size again once it is done.
+     */
+    private void evictScriptClasses() {
+        while (classMap.size() > classCacheMaxSize && classCacheEvicting.compareAndSet(false, true)) {
+            final List<ScriptClass> evicted = new ArrayList<>();
+            try {
+                final int toEvict = Math.max(classMap.size() - classCacheMaxSize, classCacheMaxSize / 10);
+                // the use of each entry is read once as it may change while the entries are sorted
+                classMap.entrySet().stream()
+                        .map(kv -> Pair.with(kv.getValue().lastUsed, kv))
+                        .sorted(Comparator.comparingLong(Pair::getValue0))
+                        .limit(toEvict)
+                        .forEach(p -> {
+                            if (classMap.remove(p.getValue1().getKey(), p.getValue1().getValue()))
+                                evicted.add(p.getValue1().getValue());
+                        });
+            } finally {
+                classCacheEvicting.set(false);
+            }
+
+            // the classloader holds on to every class it defined so the evicted scripts must be removed from it as
+            // well for their classes to be unloaded
+            evicted.forEach(ScriptClass::unload);
+            classCacheEvictions.addAndGet(evicted.size());
+        }
     }
 
     boolean isCached(final String script) {
-        return classMap.get(script) != null;
+        return classMap.containsKey(script);
     }
 
     Object eval(final Class scriptClass, final ScriptContext context) throws ScriptException {
@@ -682,4 +796,25 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         }
         return buf.toString();
     }
+
+    /**
+     * The compiled class of a script in the cache along with the names of the classes of its closures, which the
+     * classloader has to let go of as well for the script to be unloaded.
+     */
+    private static final class ScriptClass {
+        private final Class clazz;
+        private final GremlinGroovyClassLoader loader;
+        private final List<String> classNames;
+        private volatile long lastUsed = System.nanoTime();
+
+        private ScriptClass(final Class clazz, final GremlinGroovyClassLoader loader, final List<String> classNames) {
+            this.clazz = clazz;
+            this.loader = loader;
+            this.classNames = classNames;
+        }
+
+        private void unload() {
+            loader.removeClassCacheEntries(classNames);
+        }
+    }
 }
\ No newline at end of file
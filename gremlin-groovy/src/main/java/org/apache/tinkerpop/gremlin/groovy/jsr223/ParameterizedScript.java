@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.jsr223;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A Groovy script with its number and string literals lifted into parameters, so that scripts which only differ in
+ * their literals, like {@code g.V(1).out('knows')} and {@code g.V(2).out('created')}, are compiled to a single class
+ * by the {@link GremlinGroovyScriptEngine}. Each literal is replaced with a variable that is bound to the value of
+ * the literal, which has the type Groovy would have given the literal.
+ * <p/>
+ * The script is only scanned, not parsed, so the lifting is conservative. Literals are left in place within braces,
+ * where they may belong to a closure that outlives the evaluation, after a {@code .} or a {@code case} and before a
+ * {@code :} where they may be map keys, labels or property names. Scripts that use slashy or multi-line strings,
+ * {@code GString} interpolation, annotations or that declare classes or static members are not parameterized at all.
+ *
+ * @author agent
+ */
+final class ParameterizedScript {
+
+    /**
+     * The prefix of the names of the parameters. Scripts that already contain it are not parameterized.
+     */
+    static final String PARAMETER_PREFIX = "_lit_";
+
+    private static final Set<String> UNSUPPORTED_KEYWORDS = new HashSet<>(Arrays.asList(
+            "class", "interface", "enum", "trait", "static", "import", "package"));
+
+    private final String script;
+    private final Map<String, Object> parameters;
+
+    private ParameterizedScript(final String script, final Map<String, Object> parameters) {
+        this.script = script;
+        this.parameters = parameters;
+    }
+
+    /**
+     * The script with its literals replaced by the names of the parameters.
+     */
+    public String getScript() {
+        return script;
+    }
+
+    /**
+     * The values of the lifted literals keyed by the names of the parameters that replaced them.
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Lift the literals of the script into parameters. The script is returned unchanged, without parameters, if it
+     * has no literals that can be lifted.
+     */
+    public static ParameterizedScript parameterize(final String script) {
+        if (!script.contains(PARAMETER_PREFIX)) {
+            final ParameterizedScript parameterized = new Scanner(script).scan();
+            if (null != parameterized) return parameterized;
+        }
+        return unchanged(script);
+    }
+
+    /**
+     * The script as it is, without parameters.
+     */
+    public static ParameterizedScript unchanged(final String script) {
+        return new ParameterizedScript(script, Collections.emptyMap());
+    }
+
+    private static final class Scanner {
+        private final String script;
+        private final StringBuilder lifted;
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+        private int position = 0;
+        private int depth = 0;
+        private char last = 0;
+        private char beforeLast = 0;
+        private String lastIdentifier = null;
+
+        private Scanner(final String script) {
+            this.script = script;
+            this.lifted = new StringBuilder(script.length());
+        }
+
+        /**
+         * @return the parameterized script or {@code null} if it can not be parameterized
+         */
+        private ParameterizedScript scan() {
+            while (position < script.length()) {
+                final char c = script.charAt(position);
+                if (Character.isWhitespace(c)) {
+                    lifted.append(c);
+                    position++;
+                } else if (c == '/') {
+                    if (!skipComment()) return null;
+                } else if (c == '@') {
+                    return null;
+                } else if (Character.isJavaIdentifierStart(c)) {
+                    final int start = position;
+                    while (position < script.length() && Character.isJavaIdentifierPart(script.charAt(position))) {
+                        position++;
+                    }
+                    final String identifier = script.substring(start, position);
+                    if (UNSUPPORTED_KEYWORDS.contains(identifier)) return null;
+                    append(identifier);
+                    lastIdentifier = identifier;
+                } else if (c == '\'' || c == '"') {
+                    final int start = position;
+                    final String value = readString(c);
+                    if (null == value) return null;
+                    appendLiteral(script.substring(start, position), value);
+                } else if (c >= '0' && c <= '9') {
+                    final int start = position;
+                    final Object value = readNumber();
+                    if (null == value) return null;
+                    appendLiteral(script.substring(start, position), value);
+                } else {
+                    if (c == '{') depth++;
+                    else if (c == '}') depth--;
+                    append(String.valueOf(c));
+                    position++;
+                }
+            }
+
+            return parameters.isEmpty() ? null : new ParameterizedScript(lifted.toString(), parameters);
+        }
+
+        private void append(final String token) {
+            lifted.append(token);
+            beforeLast = token.length() > 1 ? token.charAt(token.length() - 2) : last;
+            last = token.charAt(token.length() - 1);
+            lastIdentifier = null;
+        }
+
+        private void appendLiteral(final String literal, final Object value) {
+            // a literal directly after a "." is a property name unless the "." is part of a range
+            final boolean afterDot = last == '.' && beforeLast != '.';
+            if (depth > 0 || afterDot || "case".equals(lastIdentifier) || nextSignificant() == ':' || nextSignificant() == '/') {
+                append(literal);
+            } else {
+                final String name = PARAMETER_PREFIX + parameters.size();
+                parameters.put(name, value);
+                append(name);
+            }
+        }
+
+        private char nextSignificant() {
+            for (int i = position; i < script.length(); i++) {
+                if (!Character.isWhitespace(script.charAt(i))) return script.charAt(i);
+            }
+            return 0;
+        }
+
+        /**
+         * Copies a comment to the lifted script. Any other "/" is a division or a slashy string which the scanner
+         * does not tell apart.
+         */
+        private boolean skipComment() {
+            final int start = position;
+            if (script.startsWith("//", position)) {
+                final int end = script.indexOf('\n', position);
+                position = -1 == end ? script.length() : end;
+            } else if (script.startsWith("/*", position)) {
+                final int end = script.indexOf("*/", position + 2);
+                if (-1 == end) return false;
+                position = end + 2;
+            } else {
+                return false;
+            }
+            lifted.append(script, start, position);
+            return true;
+        }
+
+        private String readString(final char quote) {
+            if (script.startsWith(new String(new char[]{quote, quote, quote}), position)) return null;
+
+            final StringBuilder value = new StringBuilder();
+            position++;
+            while (position < script.length()) {
+                final char c = script.charAt(position);
+                if (c == quote) {
+                    position++;
+                    return value.toString();
+                } else if (c == '\n' || c == '\r' || (c == '$' && quote == '"')) {
+                    return null;
+                } else if (c == '\\') {
+                    if (position + 1 >= script.length()) return null;
+                    final char escaped = script.charAt(position + 1);
+                    position += 2;
+                    switch (escaped) {
+                        case 'b': value.append('\b'); break;
+                        case 't': value.append('\t'); break;
+                        case 'n': value.append('\n'); break;
+                        case 'f': value.append('\f'); break;
+                        case 'r': value.append('\r'); break;
+                        case '"':
+                        case '\'':
+                        case '\\':
+                        case '$':
+                            value.append(escaped);
+                            break;
+                        case 'u':
+                            if (position + 4 > script.length()) return null;
+                            try {
+                                value.append((char) Integer.parseInt(script.substring(position, position + 4), 16));
+                            } catch (NumberFormatException nfe) {
+                                return null;
+                            }
+                            position += 4;
+                            break;
+                        default:
+                            return null;
+                    }
+                } else {
+                    value.append(c);
+                    position++;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Reads a decimal number literal and gives it the type Groovy gives it. Hexadecimal, octal and binary
+         * literals as well as literals with underscores are not supported.
+         */
+        private Object readNumber() {
+            final int start = position;
+            boolean decimal = false;
+            skipDigits();
+            if (position + 1 < script.length() && script.charAt(position) == '.' && isDigit(script.charAt(position + 1))) {
+                decimal = true;
+                position++;
+                skipDigits();
+            }
+            if (position < script.length() && (script.charAt(position) == 'e' || script.charAt(position) == 'E')) {
+                position++;
+                if (position < script.length() && (script.charAt(position) == '+' || script.charAt(position) == '-'))
+                    position++;
+                if (position >= script.length() || !isDigit(script.charAt(position))) return null;
+                decimal = true;
+                skipDigits();
+            }
+
+            final String digits = script.substring(start, position);
+            if (digits.length() > 1 && digits.charAt(0) == '0' && isDigit(digits.charAt(1))) return null;
+
+            char suffix = 0;
+            if (position < script.length() && "iIlLgGfFdD".indexOf(script.charAt(position)) >= 0)
+                suffix = Character.toLowerCase(script.charAt(position++));
+            if (position < script.length() && Character.isJavaIdentifierPart(script.charAt(position))) return null;
+
+            try {
+                switch (suffix) {
+                    case 'i':
+                        return decimal ? null : Integer.valueOf(digits);
+                    case 'l':
+                        return decimal ? null : Long.valueOf(digits);
+                    case 'g':
+                        return decimal ? new BigDecimal(digits) : new BigInteger(digits);
+                    case 'f':
+                        return Float.valueOf(digits);
+                    case 'd':
+                        return Double.valueOf(digits);
+                    default:
+                        if (decimal) return new BigDecimal(digits);
+                        final BigInteger value = new BigInteger(digits);
+                        if (value.bitLength() < 32) return value.intValue();
+                        if (value.bitLength() < 64) return value.longValue();
+                        return value;
+                }
+            } catch (NumberFormatException nfe) {
+                return null;
+            }
+        }
+
+        private void skipDigits() {
+            while (position < script.length() && isDigit(script.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isDigit(final char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
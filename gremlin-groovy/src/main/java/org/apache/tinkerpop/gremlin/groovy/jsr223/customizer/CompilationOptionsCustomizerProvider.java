@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.jsr223.customizer;
+
+import org.apache.tinkerpop.gremlin.groovy.CompilerCustomizerProvider;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+
+/**
+ * Provides options for how the {@link org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine} compiles
+ * and caches scripts. Like the {@link InterpreterModeCustomizerProvider}, this class is not a true
+ * {@link CompilerCustomizerProvider} as it does not create a {@code CompilationCustomizer}, but is read by the
+ * {@code GremlinGroovyScriptEngine} when it is initialized.
+ * <p/>
+ * The engine keeps the classes it compiled in a cache keyed by the script so that scripts which are evaluated
+ * repeatedly are only compiled once. The cache holds at most {@code classCacheMaxSize} classes and evicts the least
+ * recently used one when it is full. With {@code autoParameterize} enabled, the engine lifts the number and string
+ * literals of a script into bindings before compiling it, so that scripts which only differ in their literals share
+ * a single compiled class.
+ *
+ * @author agent
+ */
+public class CompilationOptionsCustomizerProvider implements CompilerCustomizerProvider {
+    public static final int DEFAULT_CLASS_CACHE_MAX_SIZE = 10000;
+
+    private final int classCacheMaxSize;
+    private final boolean autoParameterize;
+
+    public CompilationOptionsCustomizerProvider() {
+        this(DEFAULT_CLASS_CACHE_MAX_SIZE);
+    }
+
+    public CompilationOptionsCustomizerProvider(final Integer classCacheMaxSize) {
+        this(classCacheMaxSize, false);
+    }
+
+    public CompilationOptionsCustomizerProvider(final Integer classCacheMaxSize, final Boolean autoParameterize) {
+        if (classCacheMaxSize < 1)
+            throw new IllegalArgumentException("The classCacheMaxSize must be greater than zero: " + classCacheMaxSize);
+        this.classCacheMaxSize = classCacheMaxSize;
+        this.autoParameterize = autoParameterize;
+    }
+
+    public int getClassCacheMaxSize() {
+        return classCacheMaxSize;
+    }
+
+    public boolean isAutoParameterize() {
+        return autoParameterize;
+    }
+
+    @Override
+    public CompilationCustomizer create() {
+        throw new UnsupportedOperationException("This is a marker implementation that does not create a CompilationCustomizer instance");
+    }
+}
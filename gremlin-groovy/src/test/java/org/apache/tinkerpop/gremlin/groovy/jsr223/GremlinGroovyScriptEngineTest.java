@@ -19,11 +19,13 @@
 package org.apache.tinkerpop.gremlin.groovy.jsr223;
 
 import groovy.lang.Closure;
+import groovy.lang.GroovyClassLoader;
 import groovy.lang.MissingPropertyException;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.tinkerpop.gremlin.groovy.CompilerCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.NoImportCustomizerProvider;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.CompilationOptionsCustomizerProvider;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.InterpreterModeCustomizerProvider;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -38,6 +40,7 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.awt.*;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -48,14 +51,17 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
@@ -86,6 +92,73 @@ public class GremlinGroovyScriptEngineTest {
         assertFalse(engine.isCached(script));
     }
 
+    @Test
+    public void shouldEvictLeastRecentlyUsedClassWhenCacheIsFull() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(new CompilationOptionsCustomizerProvider(2));
+        assertEquals(2, engine.eval("1+1"));
+        assertEquals(4, engine.eval("2+2"));
+        assertEquals(2, engine.eval("1+1"));
+        assertEquals(6, engine.eval("3+3"));
+
+        assertTrue(engine.isCached("1+1"));
+        assertFalse(engine.isCached("2+2"));
+        assertTrue(engine.isCached("3+3"));
+        assertEquals(2, engine.getClassCacheSize());
+        assertEquals(1, engine.getClassCacheHitCount());
+        assertEquals(3, engine.getClassCacheMissCount());
+        assertEquals(1, engine.getClassCacheEvictionCount());
+
+        assertEquals(4, engine.eval("2+2"));
+        assertEquals(4, engine.getClassCacheMissCount());
+    }
+
+    @Test
+    public void shouldUnloadClosureClassesOfEvictedScripts() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(new CompilationOptionsCustomizerProvider(1));
+        final Class scriptClass = engine.getScriptClass("[1, 2].collect { it + 1 }");
+        final GroovyClassLoader loader = (GroovyClassLoader) scriptClass.getClassLoader().getParent();
+        assertEquals(2, Stream.of(loader.getLoadedClasses()).filter(c -> c.getName().startsWith(scriptClass.getName())).count());
+
+        assertEquals(4, engine.eval("2+2"));
+        assertEquals(1, engine.getClassCacheEvictionCount());
+        assertFalse(engine.isCached("[1, 2].collect { it + 1 }"));
+        assertEquals(0, Stream.of(loader.getLoadedClasses()).filter(c -> c.getName().startsWith(scriptClass.getName())).count());
+    }
+
+    @Test
+    public void shouldCompileScriptsConcurrentlyWithinTheCacheSize() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(new CompilationOptionsCustomizerProvider(10));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int x = i % 20;
+            results.add(executor.submit(() -> engine.eval(x + "+1")));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i % 20 + 1, results.get(i).get());
+        }
+        executor.shutdown();
+
+        assertEquals(200, engine.getClassCacheHitCount() + engine.getClassCacheMissCount());
+        assertThat(engine.getClassCacheSize(), lessThanOrEqualTo(10));
+    }
+
+    @Test
+    public void shouldShareClassOfScriptsThatOnlyDifferInLiterals() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(new CompilationOptionsCustomizerProvider(10, true));
+        assertEquals(Arrays.asList(1, "a", 2147483648L, new BigDecimal("0.5"), 0.5d), engine.eval("[1, 'a', 2147483648, 0.5, 0.5d]"));
+        assertEquals(Arrays.asList(2, "b", 2147483649L, new BigDecimal("1.5"), 1.5d), engine.eval("[2, \"b\", 2147483649, 1.5, 1.5d]"));
+        assertEquals(1, engine.getClassCacheSize());
+        assertEquals(1, engine.getClassCacheHitCount());
+
+        // the lifted literals do not stay behind in the bindings
+        assertFalse(engine.getBindings(ScriptContext.ENGINE_SCOPE).keySet().stream().anyMatch(k -> k.startsWith(ParameterizedScript.PARAMETER_PREFIX)));
+
+        // literals of closures stay in place as the closure may be called after the evaluation
+        final Closure closure = (Closure) engine.eval("{ x -> x + 1 }");
+        assertEquals(2, closure.call(1));
+    }
+
     @Test
     public void shouldEvalWithNoBindings() throws Exception {
         final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine();
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.jsr223;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author agent
+ */
+public class ParameterizedScriptTest {
+
+    @Test
+    public void shouldLiftLiterals() {
+        final ParameterizedScript parameterized = ParameterizedScript.parameterize("g.V(1).has('name', \"marko\").out('kno\\'ws')");
+        assertEquals("g.V(_lit_0).has(_lit_1, _lit_2).out(_lit_3)", parameterized.getScript());
+        assertEquals(Arrays.asList(1, "name", "marko", "kno'ws"), Arrays.asList(parameterized.getParameters().values().toArray()));
+    }
+
+    @Test
+    public void shouldGiveNumbersTheirGroovyType() {
+        final ParameterizedScript parameterized = ParameterizedScript.parameterize(
+                "[1, 2147483648, 9223372036854775808, 1L, 1i, 1g, 0.5, 1e3, 0.5f, 0.5d, 0.5g]");
+        assertEquals(Arrays.asList(1, 2147483648L, new BigInteger("9223372036854775808"), 1L, 1, BigInteger.ONE,
+                new BigDecimal("0.5"), new BigDecimal("1e3"), 0.5f, 0.5d, new BigDecimal("0.5")),
+                Arrays.asList(parameterized.getParameters().values().toArray()));
+    }
+
+    @Test
+    public void shouldLeaveLiteralsThatAreNotValues() {
+        assertUnchanged("[name: 'marko', 'age': 29]", "[name: _lit_0, 'age': _lit_1]");
+        assertUnchanged("x.'name'", "x.'name'");
+        assertUnchanged("switch (x) { case 'a': 1 }", "switch (x) { case 'a': 1 }");
+        assertUnchanged("g.V().map { it.get().value('age') + 1 }", "g.V().map { it.get().value('age') + 1 }");
+        assertUnchanged("(1..10).sum() // 'comment'", "(_lit_0.._lit_1).sum() // 'comment'");
+    }
+
+    @Test
+    public void shouldNotParameterizeUnsupportedScripts() {
+        for (final String script : Arrays.asList("1 / 2", "~/a+/", "\"name $x\"", "'''a'''", "0x1F", "010", "1_000",
+                "class A { }", "@groovy.transform.Field int x = 1", "_lit_0 + 1", "x + y")) {
+            final ParameterizedScript parameterized = ParameterizedScript.parameterize(script);
+            assertEquals(script, parameterized.getScript());
+            assertEquals(Collections.emptyMap(), parameterized.getParameters());
+        }
+    }
+
+    private static void assertUnchanged(final String script, final String expected) {
+        assertEquals(expected, ParameterizedScript.parameterize(script).getScript());
+    }
+}
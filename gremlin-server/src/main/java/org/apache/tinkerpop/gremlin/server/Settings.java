@@ -120,6 +120,36 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * The number of serialized bytes that a batch of results should come close to. When greater than zero, the
+     * number of items in a batch starts at {@link #resultIterationBatchSize} and is adjusted from the sizes of the
+     * batches already serialized for the request, so that small items are sent in fewer frames and large ones do not
+     * produce frames that exceed the {@code maxContentLength} of the client. A batch size supplied on the request
+     * disables the adjustment. Defaults to 0 which always uses {@link #resultIterationBatchSize}.
+     */
+    public int resultIterationBatchTargetBytes = 0;
+
+    /**
+     * The time in milliseconds that iterating and serializing a batch of results should not exceed when
+     * {@link #resultIterationBatchTargetBytes} is enabled. Defaults to 0 which only targets the number of bytes.
+     */
+    public long resultIterationBatchTargetLatency = 0;
+
+    /**
+     * Number of result batches that may be waiting for or undergoing serialization on the event loop of the channel
+     * while the worker continues to iterate the result. Batches are detached before they are handed off and the
+     * last batch is always serialized by the worker before the transaction is committed. Defaults to 0 which
+     * serializes every batch on the worker that iterates the result.
+     */
+    public int serializationPipelineDepth = 0;
+
+    /**
+     * The maximum number of scripts that a client may prepare on a single connection with the
+     * {@code scriptId} argument of an {@code eval} request. A prepared script can then be evaluated by sending only
+     * its identifier and bindings. Defaults to 1000.
+     */
+    public int maxPreparedScripts = 1000;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
@@ -164,6 +194,22 @@ public class Settings {
      */
     public int writeBufferLowWaterMark = 1024 * 32;
 
+    /**
+     * Time in milliseconds that the writes of a single response may be paused in total because the client does not
+     * consume the results as fast as they are produced, after which the response fails with a timeout. The worker
+     * that iterates the response is not available to other requests while it is paused. Defaults to 30000 and 0
+     * disables this setting.
+     */
+    public long writePauseTimeout = 30000L;
+
+    /**
+     * The maximum number of responses across all connections whose writes may be paused at the same time for clients
+     * that are slow to consume their results. A paused response keeps its worker of the {@link #gremlinPool}, so
+     * this bounds the number of workers that slow clients can hold. A response that would have to pause beyond that
+     * fails immediately, even if its client would have caught up. Defaults to 0, which does not limit them.
+     */
+    public int maxPausedResponses = 0;
+
     /**
      * If set to {@code true} the {@code aliases} option is required on requests and Gremlin Server will use that
      * information to control which {@link Graph} instances are transaction managed for that request.  If this
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The monitor on which workers wait for a channel to drain its outbound buffer. A worker parks here when the channel
+ * is no longer writable or when the frames of its own response that are still waiting to be flushed exceed the
+ * {@code writeBufferHighWaterMark}, and is woken by the {@link WritabilityHandler} or by the completion of one of
+ * its writes. The per-response accounting keeps a single large result from filling the outbound buffer of a channel
+ * that is shared with other in-flight requests of the same session.
+ * <p/>
+ * Pausing does not suspend the iteration of a response: the worker thread stays parked here and is not available to
+ * other requests until the channel drains. Each response may thus only be paused for a limited time in total, and the
+ * number of responses that may be paused at once across all channels can be limited by the permits that the
+ * {@link WritabilityHandler} installs.
+ *
+ * @author agent
+ */
+public final class ChannelWritability {
+
+    /**
+     * Upper bound on a single wait so that a channel whose pipeline does not contain the {@link WritabilityHandler}
+     * (e.g. a custom {@link org.apache.tinkerpop.gremlin.server.Channelizer}) still makes progress.
+     */
+    private static final long MAX_WAIT_MILLIS = 1000;
+
+    private final Channel channel;
+    private final Semaphore pauses;
+
+    private ChannelWritability(final Channel channel, final Semaphore pauses) {
+        this.channel = channel;
+        this.pauses = pauses;
+    }
+
+    /**
+     * Creates the monitor for the channel with the permits that are shared by all the channels of the server and
+     * of which a response holds one while it is paused.
+     *
+     * @param pauses the permits or {@code null} to not limit the number of paused responses
+     */
+    public static void install(final Channel channel, final Semaphore pauses) {
+        channel.attr(StateKey.WRITABILITY).set(new ChannelWritability(channel, pauses));
+    }
+
+    /**
+     * Gets the monitor for the channel, creating it if this is the first response written to it.
+     */
+    public static ChannelWritability of(final Channel channel) {
+        final ChannelWritability writability = channel.attr(StateKey.WRITABILITY).get();
+        if (writability != null) return writability;
+        final ChannelWritability created = new ChannelWritability(channel, null);
+        final ChannelWritability existing = channel.attr(StateKey.WRITABILITY).setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+
+    /**
+     * Wakes all the workers waiting on the channel so that they re-check whether they can write.
+     */
+    public static void signal(final Channel channel) {
+        final ChannelWritability writability = channel.attr(StateKey.WRITABILITY).get();
+        if (writability != null) writability.signal();
+    }
+
+    private synchronized void signal() {
+        notifyAll();
+    }
+
+    /**
+     * Starts the byte accounting for a single response.
+     *
+     * @param highWaterMark the number of unflushed bytes of the response above which it pauses
+     * @param pauseTimeoutMillis the total time the response may be paused where zero or less does not limit it
+     */
+    public Response newResponse(final long highWaterMark, final long pauseTimeoutMillis) {
+        return new Response(highWaterMark, pauseTimeoutMillis);
+    }
+
+    /**
+     * Tracks the bytes of one response that were written to the channel but not yet flushed to the socket.
+     */
+    public final class Response {
+        private final long highWaterMark;
+        private final long pauseTimeoutMillis;
+        private final AtomicLong pendingBytes = new AtomicLong(0);
+        private long pausedMillis = 0;
+
+        private Response(final long highWaterMark, final long pauseTimeoutMillis) {
+            this.highWaterMark = highWaterMark;
+            this.pauseTimeoutMillis = pauseTimeoutMillis;
+        }
+
+        public long getPendingBytes() {
+            return pendingBytes.get();
+        }
+
+        /**
+         * Determines if the response has to wait before writing its next frame.
+         */
+        public boolean isBlocked() {
+            return channel.isActive() && (!channel.isWritable() || pendingBytes.get() > highWaterMark);
+        }
+
+        /**
+         * Waits until the response is no longer blocked, the channel is closed or the timeout elapses. The time
+         * waited counts towards the total pause time of the response.
+         *
+         * @param timeoutMillis the maximum time to wait where zero or less waits until the pause time of the
+         *                      response is used up
+         * @return {@code false} if the timeout or the pause time elapsed while the response was still blocked
+         * @throws TimeoutException if the maximum number of responses is already paused
+         */
+        public boolean await(final long timeoutMillis) throws InterruptedException, TimeoutException {
+            if (!isBlocked()) return true;
+            long wait = timeoutMillis > 0 ? timeoutMillis : Long.MAX_VALUE;
+            if (pauseTimeoutMillis > 0) {
+                if (pausedMillis >= pauseTimeoutMillis) return false;
+                wait = Math.min(wait, pauseTimeoutMillis - pausedMillis);
+            }
+            if (pauses != null && !pauses.tryAcquire())
+                throw new TimeoutException("The response could not be paused as the 'maxPausedResponses' are already paused for clients that are not consuming their results");
+
+            final long start = System.currentTimeMillis();
+            final long deadline = Long.MAX_VALUE == wait ? Long.MAX_VALUE : start + wait;
+            try {
+                synchronized (ChannelWritability.this) {
+                    while (isBlocked()) {
+                        final long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) return false;
+                        ChannelWritability.this.wait(Math.min(remaining, MAX_WAIT_MILLIS));
+                    }
+                }
+                return true;
+            } finally {
+                pausedMillis += System.currentTimeMillis() - start;
+                if (pauses != null) pauses.release();
+            }
+        }
+
+        /**
+         * Writes and flushes the frame, counting its bytes as pending until the write completes.
+         */
+        public ChannelFuture write(final ChannelHandlerContext ctx, final Frame frame) {
+            final long size = frame.getSize();
+            pendingBytes.addAndGet(size);
+            return ctx.writeAndFlush(frame).addListener(f -> {
+                pendingBytes.addAndGet(-size);
+                signal();
+            });
+        }
+    }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.tinkerpop.gremlin.server.handler;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * A holder for a {@code String} or {@code ByteBuf} that represents a message to be written back to the requesting
  * client.
@@ -34,4 +36,17 @@ public class Frame {
     public Object getMsg() {
         return msg;
     }
+
+    /**
+     * Gets the number of bytes in a binary message or the number of characters in a text message. The size must be
+     * taken before the frame is written as the {@code ByteBuf} is released once it has been flushed.
+     */
+    public int getSize() {
+        if (msg instanceof ByteBuf)
+            return ((ByteBuf) msg).readableBytes();
+        else if (msg instanceof String)
+            return ((String) msg).length();
+        else
+            return 0;
+    }
 }
@@ -24,6 +24,8 @@ import org.apache.tinkerpop.gremlin.server.auth.Authenticator;
 import org.apache.tinkerpop.gremlin.server.op.session.Session;
 import io.netty.util.AttributeKey;
 
+import java.util.Map;
+
 /**
  * Keys used in the various handlers to store state in the pipeline.
  *
@@ -54,4 +56,14 @@ public class StateKey {
      * The key for the current request.
      */
     public static final AttributeKey<RequestMessage> REQUEST_MESSAGE = AttributeKey.valueOf("request");
+
+    /**
+     * The key for the {@link ChannelWritability} that workers wait on when the channel cannot take more writes.
+     */
+    public static final AttributeKey<ChannelWritability> WRITABILITY = AttributeKey.valueOf("writability");
+
+    /**
+     * The key for the scripts that the client prepared on the channel, mapped by their identifier.
+     */
+    public static final AttributeKey<Map<String, String>> PREPARED_SCRIPTS = AttributeKey.valueOf("preparedScripts");
 }
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Wakes the workers that are writing responses to a channel when Netty signals that the channel became writable
+ * again or that it was closed. Workers park on the {@link ChannelWritability} of the channel rather than polling
+ * {@link io.netty.channel.Channel#isWritable()} while a client is slow to consume its results. The handler is shared
+ * by the channels of a server and so are the permits that limit how many of their responses may be paused at once.
+ *
+ * @author agent
+ */
+@ChannelHandler.Sharable
+public class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+    private final Semaphore pauses;
+
+    /**
+     * @param maxPausedResponses the number of responses that may be paused at once where zero or less does not
+     *                           limit them
+     */
+    public WritabilityHandler(final int maxPausedResponses) {
+        this.pauses = maxPausedResponses > 0 ? new Semaphore(maxPausedResponses) : null;
+    }
+
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
+        ChannelWritability.install(ctx.channel(), pauses);
+        super.handlerAdded(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) ChannelWritability.signal(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        ChannelWritability.signal(ctx.channel());
+        super.channelInactive(ctx);
+    }
+}
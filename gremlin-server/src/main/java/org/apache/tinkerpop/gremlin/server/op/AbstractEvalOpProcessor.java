@@ -27,6 +27,7 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.TimedInterruptTimeoutException;
 import org.apache.tinkerpop.gremlin.server.handler.GremlinResponseFrameEncoder;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
@@ -35,6 +36,7 @@ import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.Attribute;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -116,6 +119,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
         switch (message.getOp()) {
             case Tokens.OPS_EVAL:
                 op = validateEvalMessage(message).orElse(getEvalOp());
+                prepareScript(ctx);
                 break;
             case Tokens.OPS_INVALID:
                 final String msgInvalid = String.format("Message could not be parsed.  Check the format of the request. [%s]", message);
@@ -131,8 +135,8 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
     }
 
     protected Optional<ThrowingConsumer<Context>> validateEvalMessage(final RequestMessage message) throws OpProcessorException {
-        if (!message.optionalArgs(Tokens.ARGS_GREMLIN).isPresent()) {
-            final String msg = String.format("A message with an [%s] op code requires a [%s] argument.", Tokens.OPS_EVAL, Tokens.ARGS_GREMLIN);
+        if (!message.optionalArgs(Tokens.ARGS_GREMLIN).isPresent() && !message.optionalArgs(Tokens.ARGS_SCRIPT_ID).isPresent()) {
+            final String msg = String.format("A message with an [%s] op code requires a [%s] or a [%s] argument.", Tokens.OPS_EVAL, Tokens.ARGS_GREMLIN, Tokens.ARGS_SCRIPT_ID);
             throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
         }
 
@@ -152,6 +156,47 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
         return Optional.empty();
     }
 
+    /**
+     * Registers the script of a request that carries both a {@link Tokens#ARGS_SCRIPT_ID} and a
+     * {@link Tokens#ARGS_GREMLIN} argument as a prepared script of the channel, so that later requests on that channel
+     * may send the identifier alone. This is called from {@link #select(Context)}, which runs on the event loop in
+     * the order that requests arrive, so a prepared script is always registered before a request that refers to it
+     * is evaluated.
+     */
+    protected void prepareScript(final Context context) throws OpProcessorException {
+        final RequestMessage message = context.getRequestMessage();
+        final Optional<String> scriptId = message.optionalArgs(Tokens.ARGS_SCRIPT_ID);
+        if (!scriptId.isPresent()) return;
+
+        final Attribute<Map<String, String>> attribute = context.getChannelHandlerContext().channel().attr(StateKey.PREPARED_SCRIPTS);
+        attribute.setIfAbsent(new ConcurrentHashMap<>());
+        final Map<String, String> preparedScripts = attribute.get();
+
+        final Optional<String> script = message.optionalArgs(Tokens.ARGS_GREMLIN);
+        if (script.isPresent()) {
+            if (!preparedScripts.containsKey(scriptId.get()) && preparedScripts.size() >= context.getSettings().maxPreparedScripts) {
+                final String msg = String.format("The [%s] of [%s] cannot be prepared as the connection already has the maximum of %s prepared scripts.",
+                        Tokens.ARGS_SCRIPT_ID, scriptId.get(), context.getSettings().maxPreparedScripts);
+                throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
+            }
+            preparedScripts.put(scriptId.get(), script.get());
+        } else if (!preparedScripts.containsKey(scriptId.get())) {
+            final String msg = String.format("The [%s] of [%s] does not refer to a script prepared on this connection - send it with a [%s] argument first.",
+                    Tokens.ARGS_SCRIPT_ID, scriptId.get(), Tokens.ARGS_GREMLIN);
+            throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
+        }
+    }
+
+    /**
+     * Gets the script to evaluate which is either given by the {@link Tokens#ARGS_GREMLIN} argument of the request or
+     * was prepared on the channel under its {@link Tokens#ARGS_SCRIPT_ID}.
+     */
+    protected String resolveScript(final Context context) {
+        final Map<String, Object> args = context.getRequestMessage().getArgs();
+        if (args.containsKey(Tokens.ARGS_GREMLIN)) return (String) args.get(Tokens.ARGS_GREMLIN);
+        return context.getChannelHandlerContext().channel().attr(StateKey.PREPARED_SCRIPTS).get().get((String) args.get(Tokens.ARGS_SCRIPT_ID));
+    }
+
     /**
      * A generalized implementation of the "eval" operation.  It handles script evaluation and iteration of results
      * so as to write {@link ResponseMessage} objects down the Netty pipeline.  It also handles script timeouts,
@@ -175,7 +220,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
 
         final Map<String, Object> args = msg.getArgs();
 
-        final String script = (String) args.get(Tokens.ARGS_GREMLIN);
+        final String script = resolveScript(context);
         final String language = args.containsKey(Tokens.ARGS_LANGUAGE) ? (String) args.get(Tokens.ARGS_LANGUAGE) : null;
         final Bindings bindings = new SimpleBindings();
 
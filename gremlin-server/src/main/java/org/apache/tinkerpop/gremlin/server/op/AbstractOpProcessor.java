@@ -30,6 +30,7 @@ import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.ChannelWritability;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
 import org.slf4j.Logger;
@@ -40,7 +41,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -60,6 +60,13 @@ public abstract class AbstractOpProcessor implements OpProcessor {
      * {@link Settings#serializedResponseTimeout} configuration and break the serialization process if
      * it begins to take too long to do so, throwing a {@link java.util.concurrent.TimeoutException} in such
      * cases.
+     * <p/>
+     * Writes are paused while the channel is not writable or while the frames of this response that have not yet
+     * been flushed exceed the {@link Settings#writeBufferHighWaterMark}. The worker parks on the
+     * {@link ChannelWritability} of the channel until the client catches up rather than polling it. The worker is
+     * not released while paused because sessionless requests must iterate, serialize and commit on the thread that
+     * holds the transaction, so the response fails once it was paused for longer than the
+     * {@link Settings#writePauseTimeout} or if {@link Settings#maxPausedResponses} are already paused.
      *
      * @param context The Gremlin Server {@link Context} object containing settings, request message, etc.
      * @param itty The result to iterator
@@ -71,6 +78,7 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         final Settings settings = context.getSettings();
         final MessageSerializer serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
         final boolean useBinary = ctx.channel().attr(StateKey.USE_BINARY).get();
+        final ChannelWritability.Response response = ChannelWritability.of(ctx.channel()).newResponse(settings.writeBufferHighWaterMark, settings.writePauseTimeout);
         boolean warnOnce = false;
 
         // sessionless requests are always transaction managed, but in-session requests are configurable.
@@ -92,92 +100,154 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         final StopWatch stopWatch = new StopWatch();
         stopWatch.start();
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request, otherwise it may adapt to the size of the results
+        final ResultBatchSize batchSize = ResultBatchSize.of(settings, (Integer) msg.getArgs().get(Tokens.ARGS_BATCH_SIZE));
+        List<Object> aggregate = new ArrayList<>(batchSize.get());
+        long batchStart = System.nanoTime();
+
+        // when enabled, pages other than the last are serialized on the event loop while iteration continues
+        final SerializationPipeline pipeline = settings.serializationPipelineDepth > 0 ?
+                new SerializationPipeline(ctx, settings.serializationPipelineDepth) : null;
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
         boolean hasMore = itty.hasNext();
 
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
-
-            // have to check the aggregate size because it is possible that the channel is not writeable (below)
-            // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
-            // the expected resultIterationBatchSize.  Total serialization time for the response remains in
-            // effect so if the client is "slow" it may simply timeout.
-            if (aggregate.size() < resultIterationBatchSize) aggregate.add(itty.next());
-
-            // send back a page of results if batch size is met or if it's the end of the results being iterated.
-            // also check writeability of the channel to prevent OOME for slow clients.
-            if (ctx.channel().isWritable()) {
-                if (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
-                    final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
-
-                    // serialize here because in sessionless requests the serialization must occur in the same
-                    // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
-                    // thread that processed the eval of the script so, we have to push serialization down into that
-                    Frame frame;
-                    try {
-                        frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code);
-                    } catch (Exception ex) {
-                        // exception is handled in makeFrame() - serialization error gets written back to driver
-                        // at that point
-                        if (manageTransactions) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
-                        break;
+        try {
+            while (hasMore) {
+                if (Thread.interrupted()) throw new InterruptedException();
+
+                if (aggregate.isEmpty()) batchStart = System.nanoTime();
+                aggregate.add(itty.next());
+
+                // send back a page of results if batch size is met or if it's the end of the results being iterated.
+                if (aggregate.size() >= batchSize.get() || !itty.hasNext()) {
+                    // hold the page until the client has consumed enough of the response to prevent OOME for slow
+                    // clients. this isn't blocking the IO thread - just a worker, and total serialization time for the
+                    // response remains in effect so if the client is "slow" it may simply timeout.
+                    if (response.isBlocked()) {
+                        // don't keep triggering this warning over and over again for the same request
+                        if (!warnOnce) {
+                            logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
+                            warnOnce = true;
+                        }
+
+                        if (!response.await(remainingMillis(settings, stopWatch)))
+                            throw new TimeoutException(settings.serializedResponseTimeout > 0 && stopWatch.getTime() >= settings.serializedResponseTimeout ?
+                                    serializedResponseTimeoutMessage(true) : writePauseTimeoutMessage(settings));
                     }
 
-                    // only need to reset the aggregation list if there's more stuff to write
-                    if (itty.hasNext())
-                        aggregate = new ArrayList<>(resultIterationBatchSize);
-                    else {
-                        // iteration and serialization are both complete which means this finished successfully. note that
-                        // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
-                        // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
-                        // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
-                        // there are no more items to iterate and serialization is complete
-                        if (managedTransactionsForRequest) attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
-
-                        // exit the result iteration loop as there are no more results left.  using this external control
-                        // because of the above commit.  some graphs may open a new transaction on the call to
-                        // hasNext()
-                        hasMore = false;
+                    if (!ctx.channel().isActive())
+                        throw new IllegalStateException(String.format("Channel closed before the response to %s was completely written", msg.getRequestId()));
+
+                    boolean handedOff = false;
+                    if (pipeline != null) {
+                        // a page that failed to serialize on the event loop has already written the error back
+                        if (pipeline.isCancelled()) {
+                            if (manageTransactions) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                            break;
+                        }
+
+                        // the last page is never handed off as it has to be serialized before the commit below
+                        final List<Object> detached = itty.hasNext() ? SerializationPipeline.detach(aggregate) : null;
+                        if (detached != null) {
+                            final long start = batchStart;
+                            if (!pipeline.submit(() -> {
+                                        final Frame frame = makeFrame(ctx, msg, serializer, useBinary, detached, ResponseStatusCode.PARTIAL_CONTENT);
+                                        batchSize.record(detached.size(), frame.getSize(), System.nanoTime() - start);
+                                        return frame;
+                                    }, response, remainingMillis(settings, stopWatch)))
+                                throw new TimeoutException(serializedResponseTimeoutMessage(warnOnce));
+                            aggregate = new ArrayList<>(batchSize.get());
+                            handedOff = true;
+                        } else {
+                            // pages that were handed off have to be written before this one and, if this is the last
+                            // page, must have serialized successfully before the transaction is committed
+                            if (!pipeline.drain(remainingMillis(settings, stopWatch)))
+                                throw new TimeoutException(serializedResponseTimeoutMessage(warnOnce));
+                            if (pipeline.isCancelled()) {
+                                if (manageTransactions) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                                break;
+                            }
+                        }
                     }
 
-                    // the flush is called after the commit has potentially occurred.  in this way, if a commit was
-                    // required then it will be 100% complete before the client receives it. the "frame" at this point
-                    // should have completely detached objects from the transaction (i.e. serialization has occurred)
-                    // so a new one should not be opened on the flush down the netty pipeline
-                    ctx.writeAndFlush(frame);
-                }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
+                    if (!handedOff) {
+                        final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
+
+                        // serialize here because in sessionless requests the serialization must occur in the same
+                        // thread as the eval.  as eval occurs in the GremlinExecutor there's no way to get back to the
+                        // thread that processed the eval of the script so, we have to push serialization down into that
+                        Frame frame;
+                        try {
+                            frame = makeFrame(ctx, msg, serializer, useBinary, aggregate, code);
+                        } catch (Exception ex) {
+                            // exception is handled in makeFrame() - serialization error gets written back to driver
+                            // at that point
+                            if (manageTransactions) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                            break;
+                        }
+
+                        batchSize.record(aggregate.size(), frame.getSize(), System.nanoTime() - batchStart);
+
+                        // only need to reset the aggregation list if there's more stuff to write
+                        if (itty.hasNext())
+                            aggregate = new ArrayList<>(batchSize.get());
+                        else {
+                            // iteration and serialization are both complete which means this finished successfully. note that
+                            // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
+                            // local errors will get rolledback below because the exceptions aren't thrown in those cases to be
+                            // caught by the GremlinExecutor for global rollback logic. this only needs to be committed if
+                            // there are no more items to iterate and serialization is complete
+                            if (managedTransactionsForRequest) attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
+
+                            // exit the result iteration loop as there are no more results left.  using this external control
+                            // because of the above commit.  some graphs may open a new transaction on the call to
+                            // hasNext()
+                            hasMore = false;
+                        }
+
+                        // the flush is called after the commit has potentially occurred.  in this way, if a commit was
+                        // required then it will be 100% complete before the client receives it. the "frame" at this point
+                        // should have completely detached objects from the transaction (i.e. serialization has occurred)
+                        // so a new one should not be opened on the flush down the netty pipeline
+                        response.write(ctx, frame);
+                    }
                 }
 
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
-            }
+                stopWatch.split();
+                if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
+                    throw new TimeoutException(serializedResponseTimeoutMessage(warnOnce));
+                }
 
-            stopWatch.split();
-            if (settings.serializedResponseTimeout > 0 && stopWatch.getSplitTime() > settings.serializedResponseTimeout) {
-                final String timeoutMsg = String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
-                        warnOnce ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "");
-                throw new TimeoutException(timeoutMsg.trim());
+                stopWatch.unsplit();
             }
-
-            stopWatch.unsplit();
+        } finally {
+            // stop serializing pages that were handed off if the response ended before the last page was written
+            if (pipeline != null && hasMore) pipeline.cancel();
         }
 
         stopWatch.stop();
     }
 
+    private static long remainingMillis(final Settings settings, final StopWatch stopWatch) {
+        if (settings.serializedResponseTimeout <= 0) return 0;
+        stopWatch.split();
+        final long remaining = Math.max(1, settings.serializedResponseTimeout - stopWatch.getSplitTime());
+        stopWatch.unsplit();
+        return remaining;
+    }
+
+    private static String writePauseTimeoutMessage(final Settings settings) {
+        return String.format("Writes of the response were paused for longer than the 'writePauseTimeout' setting of %s ms as the client was not consuming the results", settings.writePauseTimeout);
+    }
+
+    private static String serializedResponseTimeoutMessage(final boolean paused) {
+        return String.format("Serialization of the entire response exceeded the 'serializeResponseTimeout' setting %s",
+                paused ? "[Gremlin Server paused writes to client as messages were not being consumed quickly enough]" : "").trim();
+    }
+
     protected static Frame makeFrame(final ChannelHandlerContext ctx, final RequestMessage msg,
                                    final MessageSerializer serializer, final boolean useBinary, List<Object> aggregate,
                                    final ResponseStatusCode code) throws Exception {
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import com.codahale.metrics.Histogram;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * The number of result items to place in each frame of a response. A fixed size simply reports the frames it is
+ * told about to the frame metrics. An adaptive size keeps a moving average of the serialized bytes and of the time
+ * spent per item for the request and resizes the next batch so that a frame comes close to
+ * {@link Settings#resultIterationBatchTargetBytes} without taking longer than
+ * {@link Settings#resultIterationBatchTargetLatency}. The size at most doubles from one batch to the next so that a
+ * run of unusually small items does not produce one huge frame.
+ *
+ * @author agent
+ */
+final class ResultBatchSize {
+    static final Histogram frameBytesHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "frame", "bytes"));
+    static final Histogram frameItemsHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "frame", "items"));
+
+    static final int MAX_BATCH_SIZE = 65536;
+
+    /**
+     * Weight of the most recent batch in the moving averages.
+     */
+    private static final double ALPHA = 0.5;
+
+    private final boolean adaptive;
+    private final long targetBytes;
+    private final long targetNanos;
+    private volatile int size;
+    private double bytesPerItem = -1;
+    private double nanosPerItem = -1;
+
+    private ResultBatchSize(final int size, final boolean adaptive, final long targetBytes, final long targetNanos) {
+        this.size = Math.max(1, size);
+        this.adaptive = adaptive;
+        this.targetBytes = targetBytes;
+        this.targetNanos = targetNanos;
+    }
+
+    /**
+     * Creates the batch size for a request, which is only adaptive if the request did not specify its own size.
+     */
+    static ResultBatchSize of(final Settings settings, final Integer requestedBatchSize) {
+        if (requestedBatchSize != null || settings.resultIterationBatchTargetBytes <= 0)
+            return new ResultBatchSize(null == requestedBatchSize ? settings.resultIterationBatchSize : requestedBatchSize, false, 0, 0);
+        return new ResultBatchSize(settings.resultIterationBatchSize, true, settings.resultIterationBatchTargetBytes,
+                TimeUnit.MILLISECONDS.toNanos(settings.resultIterationBatchTargetLatency));
+    }
+
+    /**
+     * The number of items for the next batch.
+     */
+    int get() {
+        return size;
+    }
+
+    /**
+     * Records a serialized frame and, if adaptive, resizes the batches that follow it.
+     *
+     * @param items the number of results in the frame
+     * @param bytes the size of the serialized frame
+     * @param nanos the time taken to iterate and serialize the results of the frame
+     */
+    synchronized void record(final int items, final int bytes, final long nanos) {
+        frameBytesHistogram.update(bytes);
+        frameItemsHistogram.update(items);
+        if (!adaptive || items == 0) return;
+
+        bytesPerItem = average(bytesPerItem, (double) bytes / items);
+        nanosPerItem = average(nanosPerItem, (double) nanos / items);
+
+        double next = targetBytes / Math.max(1.0d, bytesPerItem);
+        if (targetNanos > 0) next = Math.min(next, targetNanos / Math.max(1.0d, nanosPerItem));
+        size = (int) Math.max(1, Math.min(Math.min(next, 2.0d * size), MAX_BATCH_SIZE));
+    }
+
+    private static double average(final double average, final double sample) {
+        return average < 0 ? sample : ALPHA * sample + (1 - ALPHA) * average;
+    }
+}
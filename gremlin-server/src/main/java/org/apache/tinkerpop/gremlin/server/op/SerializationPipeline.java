@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op;
+
+import io.netty.channel.ChannelHandlerContext;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.server.handler.ChannelWritability;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.util.function.ThrowingSupplier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands batches of a result off to the event loop of the channel for serialization so that the worker can keep
+ * iterating the result while earlier batches are encoded. At most {@code depth} batches are in flight at once. The
+ * event loop runs the batches in the order they were submitted, so frames reach the client in result order.
+ * <p/>
+ * Only batches that no longer need the graph are handed off - see {@link #detach(List)}. Everything else, including
+ * the final batch that precedes the commit of the transaction, is serialized by the worker once the pipeline is
+ * {@link #drain(long) drained}.
+ *
+ * @author agent
+ */
+final class SerializationPipeline {
+
+    private final ChannelHandlerContext ctx;
+    private final int depth;
+    private final Semaphore slots;
+    private volatile boolean cancelled = false;
+
+    SerializationPipeline(final ChannelHandlerContext ctx, final int depth) {
+        this.ctx = ctx;
+        this.depth = depth;
+        this.slots = new Semaphore(depth);
+    }
+
+    /**
+     * Determines if a batch failed to serialize or the pipeline was cancelled, in which case the response is over.
+     */
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stops the serialization of the batches that have not yet been started.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Queues the serialization and write of a batch, waiting for a free slot if {@code depth} batches are in flight.
+     *
+     * @param timeoutMillis the maximum time to wait for a slot where zero or less waits indefinitely
+     * @return {@code false} if no slot became free within the timeout
+     */
+    boolean submit(final ThrowingSupplier<Frame> serialization, final ChannelWritability.Response response,
+                   final long timeoutMillis) throws InterruptedException {
+        if (!acquire(1, timeoutMillis)) return false;
+        ctx.executor().execute(() -> {
+            try {
+                // makeFrame() has already written the serialization error back to the client if this fails
+                if (!cancelled) response.write(ctx, serialization.get());
+            } catch (Exception ex) {
+                cancelled = true;
+            } finally {
+                slots.release();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Waits for all submitted batches to be serialized and written.
+     *
+     * @param timeoutMillis the maximum time to wait where zero or less waits indefinitely
+     * @return {@code false} if batches were still in flight when the timeout elapsed
+     */
+    boolean drain(final long timeoutMillis) throws InterruptedException {
+        if (!acquire(depth, timeoutMillis)) return false;
+        slots.release(depth);
+        return true;
+    }
+
+    private boolean acquire(final int permits, final long timeoutMillis) throws InterruptedException {
+        if (timeoutMillis > 0) return slots.tryAcquire(permits, timeoutMillis, TimeUnit.MILLISECONDS);
+        slots.acquire(permits);
+        return true;
+    }
+
+    /**
+     * Detaches the graph elements of a batch so that it can be serialized away from the transaction of the worker.
+     *
+     * @return the detached batch or {@code null} if the batch holds graph objects nested inside other results, in
+     * which case it has to be serialized by the worker
+     */
+    static List<Object> detach(final List<Object> batch) {
+        final List<Object> detached = new ArrayList<>(batch.size());
+        for (final Object o : batch) {
+            if (o instanceof Element || o instanceof Property || o instanceof Path)
+                detached.add(DetachedFactory.detach(o, true));
+            else if (isGraphIndependent(o))
+                detached.add(o);
+            else
+                return null;
+        }
+        return detached;
+    }
+
+    private static boolean isGraphIndependent(final Object o) {
+        if (null == o || o instanceof Number || o instanceof String || o instanceof Boolean
+                || o instanceof Character || o instanceof Enum)
+            return true;
+        if (o instanceof Map) {
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) o).entrySet()) {
+                if (!isGraphIndependent(entry.getKey()) || !isGraphIndependent(entry.getValue())) return false;
+            }
+            return true;
+        }
+        if (o instanceof Collection) {
+            for (final Object item : (Collection<?>) o) {
+                if (!isGraphIndependent(item)) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+}
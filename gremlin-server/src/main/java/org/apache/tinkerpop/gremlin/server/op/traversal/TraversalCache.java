@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import com.codahale.metrics.Meter;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInstructions;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A bounded cache of traversals that were replayed from their encoded {@link TraversalInstructions} and had their
+ * strategies applied, keyed by the graph they were compiled against and by the encoded instructions. The least
+ * recently used traversal is evicted once the cache is full. Every request is given its own clone of the cached
+ * traversal so the strategies are only applied the first time a traversal is submitted.
+ *
+ * @author agent
+ */
+final class TraversalCache {
+
+    static final Meter cacheHitMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "traversal", "cache", "hits"));
+    static final Meter cacheMissMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "traversal", "cache", "misses"));
+
+    private final Map<List<Object>, Traversal.Admin<?, ?>> traversals;
+
+    TraversalCache(final int maxSize) {
+        this.traversals = new LinkedHashMap<List<Object>, Traversal.Admin<?, ?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Object>, Traversal.Admin<?, ?>> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get a clone of the compiled traversal of the instructions or {@code null} if they are not cached.
+     */
+    Traversal.Admin<?, ?> get(final String graphName, final byte[] instructions) {
+        final Traversal.Admin<?, ?> compiled;
+        synchronized (this.traversals) {
+            compiled = this.traversals.get(key(graphName, instructions));
+        }
+        if (null == compiled) {
+            cacheMissMeter.mark();
+            return null;
+        }
+        cacheHitMeter.mark();
+        final Traversal.Admin<?, ?> traversal = compiled.clone();
+        shareSideEffects(traversal, traversal.getSideEffects());
+        return traversal;
+    }
+
+    /**
+     * Cache a copy of a traversal that had its strategies applied but that has not been iterated.
+     */
+    void put(final String graphName, final byte[] instructions, final Traversal.Admin<?, ?> compiled) {
+        final Traversal.Admin<?, ?> traversal = compiled.clone();
+        synchronized (this.traversals) {
+            this.traversals.put(key(graphName, instructions), traversal);
+        }
+    }
+
+    int size() {
+        synchronized (this.traversals) {
+            return this.traversals.size();
+        }
+    }
+
+    private static List<Object> key(final String graphName, final byte[] instructions) {
+        return Arrays.asList(graphName, ByteBuffer.wrap(instructions));
+    }
+
+    /**
+     * A clone only copies the side-effects of the root traversal so point the child traversals at that copy rather
+     * than at the side-effects of the cached traversal.
+     */
+    private static void shareSideEffects(final Traversal.Admin<?, ?> traversal, final TraversalSideEffects sideEffects) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    child.setSideEffects(sideEffects);
+                    shareSideEffects(child, sideEffects);
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    child.setSideEffects(sideEffects);
+                    shareSideEffects(child, sideEffects);
+                }
+            }
+        }
+    }
+}
@@ -28,10 +28,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInstructions;
 import org.apache.tinkerpop.gremlin.server.Context;
-import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
+import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
@@ -41,6 +42,7 @@ import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -51,7 +53,11 @@ import java.util.concurrent.TimeoutException;
 import static com.codahale.metrics.MetricRegistry.name;
 
 /**
- * Simple {@link OpProcessor} implementation that iterates remotely submitted serialized {@link Traversal} objects.
+ * Simple {@link OpProcessor} implementation that iterates remotely submitted {@link Traversal} objects. A traversal is
+ * either submitted as a java serialized {@link Traversal} in the {@link Tokens#ARGS_GREMLIN} argument or as its Gryo
+ * encoded {@link TraversalInstructions} in the {@link Tokens#ARGS_INSTRUCTIONS} argument. The latter are replayed
+ * against the graph and the compiled traversal is cached by its instructions so that the strategies are not applied
+ * again when the same instructions are submitted.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -60,6 +66,28 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     public static final String OP_PROCESSOR_NAME = "traversal";
     public static final Timer traversalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal"));
 
+    /**
+     * Configuration setting for the maximum number of compiled traversals to cache where zero disables the cache.
+     */
+    public static final String CONFIG_CACHE_MAX_SIZE = "cacheMaxSize";
+
+    /**
+     * Default number of compiled traversals to cache.
+     */
+    public static final int DEFAULT_CACHE_MAX_SIZE = 1000;
+
+    static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
+
+    static {
+        DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
+        DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
+            put(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+        }};
+    }
+
+    private TraversalCache cache = null;
+    private boolean cacheInitialized = false;
+
     public TraversalOpProcessor() {
         super(true);
     }
@@ -82,8 +110,8 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final ThrowingConsumer<Context> op;
         switch (message.getOp()) {
             case Tokens.OPS_TRAVERSE:
-                if (!message.optionalArgs(Tokens.ARGS_GREMLIN).isPresent()) {
-                    final String msg = String.format("A message with an [%s] op code requires a [%s] argument.", Tokens.OPS_TRAVERSE, Tokens.ARGS_GREMLIN);
+                if (!message.optionalArgs(Tokens.ARGS_GREMLIN).isPresent() && !message.optionalArgs(Tokens.ARGS_INSTRUCTIONS).isPresent()) {
+                    final String msg = String.format("A message with an [%s] op code requires a [%s] or an [%s] argument.", Tokens.OPS_TRAVERSE, Tokens.ARGS_GREMLIN, Tokens.ARGS_INSTRUCTIONS);
                     throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
                 }
 
@@ -122,21 +150,30 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         if (logger.isDebugEnabled())
             logger.debug("Traversal request {} for in thread {}", msg.getRequestId(), Thread.currentThread().getName());
 
-        final byte[] serializedTraversal = (byte[]) msg.getArgs().get(Tokens.ARGS_GREMLIN);
+        final byte[] instructions = (byte[]) msg.getArgs().get(Tokens.ARGS_INSTRUCTIONS);
 
         // earlier validation in selection of this op method should free us to cast this without worry
         final Map<String, String> aliases = (Map<String, String>) msg.optionalArgs(Tokens.ARGS_ALIASES).get();
+        final String graphName = aliases.entrySet().iterator().next().getValue();
+        final Graph graph = context.getGraphManager().getGraphs().get(graphName);
+        final TraversalCache cache = null == instructions ? null : getCache(context.getSettings());
 
+        final Traversal.Admin<?,?> cached = null == cache ? null : cache.get(graphName, instructions);
         final Traversal.Admin<?,?> traversal;
         try {
-            traversal = (Traversal.Admin) Serializer.deserializeObject(serializedTraversal);
+            if (null != cached)
+                traversal = cached;
+            else if (null != instructions)
+                traversal = TraversalInstructions.fromBytes(instructions).replay(graph.traversal());
+            else
+                traversal = (Traversal.Admin) Serializer.deserializeObject((byte[]) msg.getArgs().get(Tokens.ARGS_GREMLIN));
         } catch (Exception ex) {
             throw new OpProcessorException("Could not deserialize the Traversal instance",
                     ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION)
                             .statusMessage(ex.getMessage()).create());
         }
 
-        if (traversal.isLocked())
+        if (null == instructions && traversal.isLocked())
             throw new OpProcessorException("Locked Traversals cannot be processed by the server",
                     ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION)
                             .statusMessage("Locked Traversals cannot be processed by the server").create());
@@ -144,20 +181,22 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final Timer.Context timerContext = traversalOpTimer.time();
         try {
             final ChannelHandlerContext ctx = context.getChannelHandlerContext();
-            final GraphManager graphManager = context.getGraphManager();
-            final String graphName = aliases.entrySet().iterator().next().getValue();
-            final Graph graph = graphManager.getGraphs().get(graphName);
             final boolean supportsTransactions = graph.features().graph().supportsTransactions();
 
-            configureTraversal(traversal, graph);
+            // a replayed traversal is already configured for the graph by the traversal source it was spawned from
+            if (null == instructions) configureTraversal(traversal, graph);
 
             context.getGremlinExecutor().getExecutorService().submit(() -> {
                 try {
                     if (supportsTransactions && graph.tx().isOpen()) graph.tx().rollback();
 
                     try {
-                        // compile the traversal - without it getEndStep() has nothing in it
-                        traversal.applyStrategies();
+                        // compile the traversal - without it getEndStep() has nothing in it. a cached traversal is
+                        // already compiled and a newly compiled one is cached before it is iterated.
+                        if (!traversal.isLocked()) {
+                            traversal.applyStrategies();
+                            if (null != cache) cache.put(graphName, instructions, traversal);
+                        }
                         handleIterator(context, new DetachingIterator<>(traversal.getEndStep()));
                     } catch (TimeoutException ex) {
                         final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - %s", msg.getRequestId(), ex.getMessage());
@@ -189,6 +228,21 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         }
     }
 
+    private synchronized TraversalCache getCache(final Settings settings) {
+        if (!this.cacheInitialized) {
+            final Settings.ProcessorSettings processorSettings = settings.processors.stream()
+                    .filter(p -> p.className.equals(TraversalOpProcessor.class.getCanonicalName()))
+                    .findAny().orElse(DEFAULT_SETTINGS);
+            final int maxSize = Integer.parseInt(processorSettings.config.getOrDefault(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE).toString());
+            if (maxSize > 0) {
+                this.cache = new TraversalCache(maxSize);
+                MetricManager.INSTANCE.getGuage(this.cache::size, name(GremlinServer.class, "op", "traversal", "cache", "size"));
+            }
+            this.cacheInitialized = true;
+        }
+        return this.cache;
+    }
+
     private static void configureTraversal(final Traversal.Admin<?, ?> traversal, final Graph graph) {
         traversal.setGraph(graph);
         final List<TraversalStrategy<?>> strategies = TraversalStrategies.GlobalCache.getStrategies(graph.getClass()).toList();
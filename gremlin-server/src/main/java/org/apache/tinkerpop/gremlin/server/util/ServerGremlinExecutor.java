@@ -19,6 +19,8 @@
 package org.apache.tinkerpop.gremlin.server.util;
 
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.engine.ScriptEngines;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.server.Channelizer;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
@@ -37,8 +39,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * The core of script execution in Gremlin Server.  Given {@link Settings} and optionally other arguments, this
  * class will construct a {@link GremlinExecutor} to be used by Gremlin Server.  A typical usage would be to
@@ -137,6 +142,8 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
 
         logger.info("Initialized GremlinExecutor and configured ScriptEngines.");
 
+        registerClassCacheMetrics();
+
         // script engine init may have altered the graph bindings or maybe even created new ones - need to
         // re-apply those references back
         gremlinExecutor.getGlobalBindings().entrySet().stream()
@@ -159,6 +166,27 @@ public class ServerGremlinExecutor<T extends ScheduledExecutorService> {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Exposes the class cache statistics of the gremlin-groovy {@code ScriptEngine} as gauges. The engine is looked
+     * up each time a gauge is read as it is replaced when the {@link ScriptEngines} are reset.
+     */
+    private void registerClassCacheMetrics() {
+        registerClassCacheGauge("hits", GremlinGroovyScriptEngine::getClassCacheHitCount);
+        registerClassCacheGauge("misses", GremlinGroovyScriptEngine::getClassCacheMissCount);
+        registerClassCacheGauge("evictions", GremlinGroovyScriptEngine::getClassCacheEvictionCount);
+        registerClassCacheGauge("size", e -> (long) e.getClassCacheSize());
+    }
+
+    private void registerClassCacheGauge(final String metric, final Function<GremlinGroovyScriptEngine, Long> value) {
+        // a new ServerGremlinExecutor replaces the gauges of the one it succeeds in the same JVM
+        final String gaugeName = name(GremlinServer.class, "op", "eval", "cache", metric);
+        MetricManager.INSTANCE.getRegistry().remove(gaugeName);
+        MetricManager.INSTANCE.getGuage(() -> gremlinExecutor.getScriptEngines().get("gremlin-groovy")
+                .filter(engine -> engine instanceof GremlinGroovyScriptEngine)
+                .map(engine -> value.apply((GremlinGroovyScriptEngine) engine))
+                .orElse(0L), gaugeName);
+    }
+
     public void addHostOption(final String key, final Object value) {
         hostOptions.put(key, value);
     }
@@ -297,6 +297,51 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldSubmitPreparedScripts() throws Exception {
+        final Cluster cluster = Cluster.open();
+        final Client client = cluster.connect().prepare("add", "x + y");
+
+        for (int i = 0; i < 10; i++) {
+            final Map<String, Object> params = new HashMap<>();
+            params.put("x", i);
+            params.put("y", 1);
+            assertEquals(i + 1, client.submitPrepared("add", params).all().get().get(0).getInt());
+        }
+
+        try {
+            client.submitPreparedAsync("subtract", Collections.emptyMap());
+            fail("Should have thrown an exception as the script was not prepared");
+        } catch (Exception ex) {
+            assertThat(ex, instanceOf(IllegalArgumentException.class));
+        }
+
+        cluster.close();
+    }
+
+    @Test
+    public void shouldResendPreparedScriptThatTheServerRefused() throws Exception {
+        final Cluster cluster = Cluster.build().minConnectionPoolSize(1).maxConnectionPoolSize(1).create();
+        final Client client = cluster.connect().prepare("add", "x + 1");
+
+        // the server refuses the null binding key before it prepares the script
+        try {
+            final Map<String, Object> params = new HashMap<>();
+            params.put(null, 1);
+            client.submitPrepared("add", params).all().get();
+            fail("Should have thrown an exception as the binding is not allowed");
+        } catch (Exception ex) {
+            final Throwable root = ExceptionUtils.getRootCause(ex);
+            assertThat(root, instanceOf(ResponseException.class));
+            assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, ((ResponseException) root).getResponseStatusCode());
+        }
+
+        assertEquals(2, client.submitPrepared("add", Collections.singletonMap("x", 1)).all().get().get(0).getInt());
+        assertEquals(3, client.submitPrepared("add", Collections.singletonMap("x", 2)).all().get().get(0).getInt());
+
+        cluster.close();
+    }
+
     @Test
     public void shouldProcessRequestsOutOfOrder() throws Exception {
         final Cluster cluster = Cluster.open();
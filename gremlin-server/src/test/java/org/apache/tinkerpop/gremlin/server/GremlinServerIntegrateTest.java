@@ -18,7 +18,12 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -26,6 +31,7 @@ import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 import org.apache.commons.lang.exception.ExceptionUtils;
+import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.tinkerpop.gremlin.driver.Client;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
@@ -35,6 +41,7 @@ import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV1d0;
 import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
 import org.apache.tinkerpop.gremlin.driver.simple.NioClient;
 import org.apache.tinkerpop.gremlin.driver.simple.SimpleClient;
@@ -47,6 +54,7 @@ import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.SimpleSandboxExtens
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.TimedInterruptCustomizerProvider;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.server.channel.NioChannelizer;
+import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.session.SessionOpProcessor;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
 import org.apache.tinkerpop.gremlin.util.Log4jRecordingAppender;
@@ -115,6 +123,12 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 settings.writeBufferHighWaterMark = 64;
                 settings.writeBufferLowWaterMark = 32;
                 break;
+            case "shouldFailPausedResponsesOfClientsThatDoNotRead":
+                settings.writeBufferHighWaterMark = 64;
+                settings.writeBufferLowWaterMark = 32;
+                settings.writePauseTimeout = 4000;
+                settings.maxPausedResponses = 1;
+                break;
             case "shouldReceiveFailureTimeOutOnScriptEval":
                 settings.scriptEvaluationTimeout = 200;
                 break;
@@ -127,6 +141,17 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldBatchResultsByTwos":
                 settings.resultIterationBatchSize = 2;
                 break;
+            case "shouldAdaptBatchSizeToTargetBytes":
+                settings.resultIterationBatchSize = 1;
+                settings.resultIterationBatchTargetBytes = 65536;
+                break;
+            case "shouldBatchResultsInOrderWithPipelinedSerialization":
+                settings.resultIterationBatchSize = 2;
+                settings.serializationPipelineDepth = 2;
+                break;
+            case "shouldRejectPreparedScriptsBeyondTheLimit":
+                settings.maxPreparedScripts = 1;
+                break;
             case "shouldWorkOverNioTransport":
                 settings.channelizer = NioChannelizer.class.getName();
                 break;
@@ -411,6 +436,99 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+
+    @Test
+    public void shouldFailPausedResponsesOfClientsThatDoNotRead() throws Exception {
+        final String fatty = "['" + IntStream.range(0, 1000).mapToObj(i -> "x").collect(Collectors.joining()) + "'] * 100000";
+        final Socket first = openWebSocketThatDoesNotRead();
+        final Socket second = openWebSocketThatDoesNotRead();
+        final Cluster cluster = Cluster.open();
+        final Client client = cluster.connect();
+
+        // the paused and failed responses are logged at the warn level
+        final Logger opLogger = Logger.getLogger(AbstractEvalOpProcessor.class);
+        final Level previousLevel = opLogger.getLevel();
+        opLogger.setLevel(Level.WARN);
+        try {
+            // the first response pauses once the buffers of the connection are full
+            sendEval(first, fatty);
+            assertThat(waitForLog("Pausing response writing as writeBufferHighWaterMark exceeded on", 10000), is(true));
+
+            // a second one can not pause as well and fails rather than taking up another worker
+            sendEval(second, fatty);
+            assertThat(waitForLog("'maxPausedResponses' are already paused", 3000), is(true));
+
+            // other clients are still served while the first response is paused
+            assertEquals(2, client.submit("1+1").all().get().get(0).getInt());
+            assertThat(recordingAppender.logContainsAny("'writePauseTimeout'"), is(false));
+
+            // and the first response fails once it was paused for too long
+            assertThat(waitForLog("'writePauseTimeout'", 10000), is(true));
+        } finally {
+            opLogger.setLevel(previousLevel);
+            cluster.close();
+            first.close();
+            second.close();
+        }
+    }
+
+    private boolean waitForLog(final String fragment, final long timeoutMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            if (recordingAppender.logContainsAny(fragment)) return true;
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    /**
+     * Opens a WebSocket connection to the server with a small receive buffer and, after the handshake, never reads
+     * from it again.
+     */
+    private static Socket openWebSocketThatDoesNotRead() throws Exception {
+        final Socket socket = new Socket();
+        socket.setReceiveBufferSize(1024);
+        socket.connect(new InetSocketAddress("localhost", 8182));
+        socket.getOutputStream().write(("GET /gremlin HTTP/1.1\r\n" +
+                "Host: localhost:8182\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n" +
+                "Sec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        // consume the handshake response up to the empty line that ends its headers
+        final InputStream in = socket.getInputStream();
+        int matched = 0;
+        while (matched < 4) {
+            final int b = in.read();
+            if (b < 0) throw new IllegalStateException("Connection closed during the WebSocket handshake");
+            matched = (b == (matched % 2 == 0 ? '\r' : '\n')) ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+        return socket;
+    }
+
+    /**
+     * Sends the script as a masked text frame where the mask of zeros leaves the payload as it is.
+     */
+    private static void sendEval(final Socket socket, final String gremlin) throws Exception {
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                .addArg(Tokens.ARGS_BATCH_SIZE, 10)
+                .addArg(Tokens.ARGS_GREMLIN, gremlin).create();
+        final byte[] payload = new GraphSONMessageSerializerV1d0().serializeRequestAsString(request).getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        frame.write(0x81);
+        if (payload.length < 126) {
+            frame.write(0x80 | payload.length);
+        } else {
+            frame.write(0x80 | 126);
+            frame.write(payload.length >>> 8);
+            frame.write(payload.length & 0xFF);
+        }
+        frame.write(new byte[4]);
+        frame.write(payload);
+        socket.getOutputStream().write(frame.toByteArray());
+        socket.getOutputStream().flush();
+    }
     @Test
     public void shouldReturnInvalidRequestArgsWhenGremlinArgIsNotSupplied() throws Exception {
         try (SimpleClient client = new WebSocketClient()) {
@@ -512,6 +630,44 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldAdaptBatchSizeToTargetBytes() throws Exception {
+        try (SimpleClient client = new WebSocketClient()) {
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "(0..<1000).collect{it}").create();
+
+            // batches start at one item and double while the frames stay well below the target bytes
+            final List<ResponseMessage> msgs = client.submit(request);
+            assertEquals(10, msgs.size());
+            assertEquals(1, ((List<Integer>) msgs.get(0).getResult().getData()).size());
+            assertEquals(2, ((List<Integer>) msgs.get(1).getResult().getData()).size());
+            assertEquals(4, ((List<Integer>) msgs.get(2).getResult().getData()).size());
+
+            final List<Integer> results = new ArrayList<>();
+            msgs.forEach(m -> results.addAll((List<Integer>) m.getResult().getData()));
+            assertEquals(1000, results.size());
+            IntStream.range(0, 1000).forEach(i -> assertEquals(i, results.get(i).intValue()));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldBatchResultsInOrderWithPipelinedSerialization() throws Exception {
+        try (SimpleClient client = new WebSocketClient()) {
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_GREMLIN, "(0..<1000).collect{it}").create();
+
+            final List<ResponseMessage> msgs = client.submit(request);
+            assertEquals(500, msgs.size());
+            IntStream.range(0, 500).forEach(i -> {
+                assertEquals(i < 499 ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS, msgs.get(i).getStatus().getCode());
+                assertEquals(i * 2, ((List<Integer>) msgs.get(i).getResult().getData()).get(0).intValue());
+                assertEquals(i * 2 + 1, ((List<Integer>) msgs.get(i).getResult().getData()).get(1).intValue());
+            });
+        }
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void shouldBatchResultsByOnesByOverridingFromClientSide() throws Exception {
@@ -752,6 +908,58 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldEvaluatePreparedScriptFromItsIdentifier() throws Exception {
+        try (SimpleClient client = new WebSocketClient()) {
+            final RequestMessage prepare = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_SCRIPT_ID, "add")
+                    .addArg(Tokens.ARGS_GREMLIN, "x + 1")
+                    .addArg(Tokens.ARGS_BINDINGS, Collections.singletonMap("x", 1)).create();
+            assertEquals(2, ((List<Integer>) client.submit(prepare).get(0).getResult().getData()).get(0).intValue());
+
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_SCRIPT_ID, "add")
+                    .addArg(Tokens.ARGS_BINDINGS, Collections.singletonMap("x", 2)).create();
+            assertEquals(3, ((List<Integer>) client.submit(request).get(0).getResult().getData()).get(0).intValue());
+
+            final RequestMessage unknown = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_SCRIPT_ID, "subtract")
+                    .addArg(Tokens.ARGS_BINDINGS, Collections.singletonMap("x", 2)).create();
+            assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, client.submit(unknown).get(0).getStatus().getCode());
+        }
+
+        // prepared scripts belong to the connection they were sent on
+        try (SimpleClient client = new WebSocketClient()) {
+            final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_SCRIPT_ID, "add")
+                    .addArg(Tokens.ARGS_BINDINGS, Collections.singletonMap("x", 2)).create();
+            assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, client.submit(request).get(0).getStatus().getCode());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRejectPreparedScriptsBeyondTheLimit() throws Exception {
+        try (SimpleClient client = new WebSocketClient()) {
+            final RequestMessage first = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_SCRIPT_ID, "first")
+                    .addArg(Tokens.ARGS_GREMLIN, "1").create();
+            assertEquals(1, ((List<Integer>) client.submit(first).get(0).getResult().getData()).get(0).intValue());
+
+            final RequestMessage second = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_SCRIPT_ID, "second")
+                    .addArg(Tokens.ARGS_GREMLIN, "2").create();
+            assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, client.submit(second).get(0).getStatus().getCode());
+
+            // a script that is already prepared may still be replaced
+            final RequestMessage replace = RequestMessage.build(Tokens.OPS_EVAL)
+                    .addArg(Tokens.ARGS_SCRIPT_ID, "first")
+                    .addArg(Tokens.ARGS_GREMLIN, "3").create();
+            assertEquals(3, ((List<Integer>) client.submit(replace).get(0).getResult().getData()).get(0).intValue());
+        }
+    }
+
     @Test
     public void shouldFailWithBadScriptEval() throws Exception {
         try (SimpleClient client = new WebSocketClient()) {
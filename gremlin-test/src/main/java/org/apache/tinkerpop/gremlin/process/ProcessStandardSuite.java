@@ -144,6 +144,7 @@ public class ProcessStandardSuite extends AbstractGremlinSuite {
             MapValuesTest.Traversals.class,
             MatchTest.CountMatchTraversals.class,
             MatchTest.GreedyMatchTraversals.class,
+            MatchTest.GenericJoinMatchTraversals.class,
             MaxTest.Traversals.class,
             MeanTest.Traversals.class,
             MinTest.Traversals.class,
@@ -508,6 +508,14 @@ public abstract class MatchTest extends AbstractGremlinProcessTest {
         }
     }
 
+    public static class GenericJoinMatchTraversals extends Traversals {
+        @Before
+        public void setupTest() {
+            super.setupTest();
+            g = graphProvider.traversal(graph, MatchAlgorithmStrategy.build().algorithm(MatchStep.GenericJoinMatchAlgorithm.class).create());
+        }
+    }
+
     public static class CountMatchTraversals extends Traversals {
         // make sure default works -- i.e. CountMatchAlgorithm
         /*@Before
@@ -41,7 +41,8 @@ import java.util.List;
  */
 public final class Neo4jGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private List<HasContainer> hasContainers = new ArrayList<>();
+    private boolean onGraphComputer = false;
 
     public Neo4jGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -49,6 +50,24 @@ public final class Neo4jGraphStep<S, E extends Element> extends GraphStep<S, E>
         this.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges()));
     }
 
+    @Override
+    public void onGraphComputer() {
+        super.onGraphComputer();
+        this.onGraphComputer = true;
+    }
+
+    @Override
+    public Neo4jGraphStep<S, E> clone() {
+        final Neo4jGraphStep<S, E> clone = (Neo4jGraphStep<S, E>) super.clone();
+        clone.hasContainers = new ArrayList<>(this.hasContainers.size());
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.hasContainers.add(hasContainer.clone());
+        }
+        if (!this.onGraphComputer)
+            clone.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(clone.returnClass) ? clone.vertices() : clone.edges()));
+        return clone;
+    }
+
     private Iterator<? extends Edge> edges() {
         return IteratorUtils.filter(this.getTraversal().getGraph().get().edges(this.ids), edge -> HasContainer.testAll((Edge) edge, this.hasContainers));
     }
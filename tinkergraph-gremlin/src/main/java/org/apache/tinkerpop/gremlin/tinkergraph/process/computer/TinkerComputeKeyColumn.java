@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.List;
+
+/**
+ * The values of a single {@link VertexComputeKey} for every vertex of a {@link TinkerGraphComputerView}, indexed by
+ * vertex slot. A vertex with a single value that has no meta-properties stores just that value, in a primitive
+ * {@code long[]} if the value is a {@code Double} or a {@code Long} and in an {@code Object[]} otherwise. Only
+ * multiple values for a key and values with meta-properties are stored as a list of {@link VertexProperty} objects.
+ * The arrays are allocated the first time they are needed.
+ * <p/>
+ * A slot is only ever written by the worker executing its vertex, so the column needs no synchronization beyond the
+ * allocation of the arrays.
+ *
+ * @author agent
+ */
+final class TinkerComputeKeyColumn {
+
+    private static final byte ABSENT = 0;
+    private static final byte DOUBLE = 1;
+    private static final byte LONG = 2;
+    private static final byte OBJECT = 3;
+    private static final byte PROPERTIES = 4;
+
+    private final byte[] types;
+    private volatile long[] primitives;
+    private volatile Object[] objects;
+
+    TinkerComputeKeyColumn(final int size) {
+        this.types = new byte[size];
+    }
+
+    public boolean isEmpty(final int slot) {
+        return ABSENT == this.types[slot];
+    }
+
+    /**
+     * Determines if the slot holds a list of {@link VertexProperty} objects rather than a single value.
+     */
+    public boolean hasProperties(final int slot) {
+        return PROPERTIES == this.types[slot];
+    }
+
+    public Object getValue(final int slot) {
+        switch (this.types[slot]) {
+            case DOUBLE:
+                return Double.longBitsToDouble(this.primitives[slot]);
+            case LONG:
+                return this.primitives[slot];
+            case OBJECT:
+                return this.objects[slot];
+            default:
+                throw new IllegalStateException("The slot does not hold a single value: " + slot);
+        }
+    }
+
+    public void setValue(final int slot, final Object value) {
+        if (value instanceof Double) {
+            this.primitives()[slot] = Double.doubleToRawLongBits((Double) value);
+            this.types[slot] = DOUBLE;
+        } else if (value instanceof Long) {
+            this.primitives()[slot] = (Long) value;
+            this.types[slot] = LONG;
+        } else {
+            this.objects()[slot] = value;
+            this.types[slot] = OBJECT;
+        }
+    }
+
+    public List<VertexProperty<?>> getProperties(final int slot) {
+        return (List<VertexProperty<?>>) this.objects[slot];
+    }
+
+    public void setProperties(final int slot, final List<VertexProperty<?>> properties) {
+        this.objects()[slot] = properties;
+        this.types[slot] = PROPERTIES;
+    }
+
+    public void clear(final int slot) {
+        if (OBJECT == this.types[slot] || PROPERTIES == this.types[slot])
+            this.objects[slot] = null;
+        this.types[slot] = ABSENT;
+    }
+
+    public int size() {
+        return this.types.length;
+    }
+
+    private long[] primitives() {
+        long[] primitives = this.primitives;
+        if (null == primitives) {
+            synchronized (this) {
+                primitives = this.primitives;
+                if (null == primitives) this.primitives = primitives = new long[this.types.length];
+            }
+        }
+        return primitives;
+    }
+
+    private Object[] objects() {
+        Object[] objects = this.objects;
+        if (null == objects) {
+            synchronized (this) {
+                objects = this.objects;
+                if (null == objects) this.objects = objects = new Object[this.types.length];
+            }
+        }
+        return objects;
+    }
+}
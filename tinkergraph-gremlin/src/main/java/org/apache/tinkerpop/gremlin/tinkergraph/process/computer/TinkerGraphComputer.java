@@ -19,8 +19,10 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerProgress;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputerListener;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
@@ -37,10 +39,12 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
@@ -49,6 +53,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -68,10 +73,12 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
+    private final List<GraphComputerListener> listeners = new ArrayList<>();
     private int workers = Runtime.getRuntime().availableProcessors();
+    private final int chunkSize;
     private final GraphFilter graphFilter = new GraphFilter();
 
     private final ThreadFactory threadFactoryBoss = new BasicThreadFactory.Builder().namingPattern(TinkerGraphComputer.class.getSimpleName() + "-boss").build();
@@ -84,6 +91,7 @@ public final class TinkerGraphComputer implements GraphComputer {
 
     public TinkerGraphComputer(final TinkerGraph graph) {
         this.graph = graph;
+        this.chunkSize = graph.configuration().getInt(TinkerGraph.GREMLIN_TINKERGRAPH_COMPUTER_CHUNK_SIZE, 1024);
     }
 
     @Override
@@ -116,6 +124,12 @@ public final class TinkerGraphComputer implements GraphComputer {
         return this;
     }
 
+    @Override
+    public GraphComputer listener(final GraphComputerListener listener) {
+        this.listeners.add(listener);
+        return this;
+    }
+
     @Override
     public GraphComputer vertices(final Traversal<Vertex, Vertex> vertexFilter) {
         this.graphFilter.setVertexFilter(vertexFilter);
@@ -157,33 +171,35 @@ public final class TinkerGraphComputer implements GraphComputer {
         return computerService.submit(() -> {
             final long time = System.currentTimeMillis();
             final TinkerGraphComputerView view;
-            final TinkerWorkerPool workers = new TinkerWorkerPool(this.workers);
+            final List<TinkerVertex> vertices;
+            final TinkerWorkerPool workers = new TinkerWorkerPool(this.workers, this.chunkSize);
             try {
                 if (null != this.vertexProgram) {
                     view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter, this.vertexProgram.getVertexComputeKeys());
+                    vertices = view.getVertices();
+                    this.messageBoard = new TinkerMessageBoard<>(view, this.vertexProgram.getMessageCombiner());
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
+                        final long iterationTime = System.currentTimeMillis();
                         this.memory.completeSubRound();
                         workers.setVertexProgram(this.vertexProgram);
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
-                        workers.executeVertexProgram(vertexProgram -> {
+                        workers.executeVertexProgram(vertices, (vertexProgram, partition) -> {
                             vertexProgram.workerIterationStart(this.memory.asImmutable());
-                            while (true) {
-                                final Vertex vertex = vertices.next();
-                                if (Thread.interrupted()) throw new TraversalInterruptedException();
-                                if (null == vertex) break;
+                            while (partition.hasNext()) {
+                                final Vertex vertex = partition.next();
                                 vertexProgram.execute(
                                         ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                        new TinkerMessenger<>(vertex, this.messageBoard),
                                         this.memory
                                 );
                             }
                             vertexProgram.workerIterationEnd(this.memory.asImmutable());
                         });
-                        this.messageBoard.completeIteration();
+                        final long messagesSent = this.messageBoard.completeIteration();
                         this.memory.completeSubRound();
+                        this.notifyListeners(listener -> listener.iterationCompleted(this.progress(vertices.size(), messagesSent, iterationTime)));
                         if (this.vertexProgram.terminate(this.memory)) {
                             this.memory.incrIteration();
                             break;
@@ -195,41 +211,40 @@ public final class TinkerGraphComputer implements GraphComputer {
                 } else {
                     // MapReduce only
                     view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter, Collections.emptySet());
+                    vertices = view.getVertices();
                 }
 
                 // execute mapreduce jobs
                 for (final MapReduce mapReduce : mapReducers) {
+                    final long mapTime = System.currentTimeMillis();
                     final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
                     workers.setMapReduce(mapReduce);
-                    workers.executeMapReduce(workerMapReduce -> {
+                    workers.executeMapReduce(vertices, (workerMapReduce, partition) -> {
                         workerMapReduce.workerStart(MapReduce.Stage.MAP);
-                        while (true) {
-                            if (Thread.interrupted()) throw new TraversalInterruptedException();
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) break;
-                            workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
+                        while (partition.hasNext()) {
+                            workerMapReduce.map(ComputerGraph.mapReduce(partition.next()), mapEmitter);
                         }
                         workerMapReduce.workerEnd(MapReduce.Stage.MAP);
                     });
                     // sort results if a map output sort is defined
                     mapEmitter.complete(mapReduce);
+                    this.notifyListeners(listener -> listener.mapReduceStageCompleted(mapReduce, MapReduce.Stage.MAP, this.progress(vertices.size(), 0l, mapTime)));
 
                     // no need to run combiners as this is single machine
                     if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+                        final long reduceTime = System.currentTimeMillis();
                         final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
-                        workers.executeMapReduce(workerMapReduce -> {
+                        final List<Map.Entry<?, Queue<?>>> keyValues = new ArrayList<>((Set) mapEmitter.reduceMap.entrySet());
+                        workers.executeMapReduce(keyValues, (workerMapReduce, partition) -> {
                             workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
-                            while (true) {
-                                if (Thread.interrupted()) throw new TraversalInterruptedException();
-                                final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                if (null == entry) break;
+                            while (partition.hasNext()) {
+                                final Map.Entry<?, Queue<?>> entry = partition.next();
                                 workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
                             }
                             workerMapReduce.workerEnd(MapReduce.Stage.REDUCE);
                         });
                         reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
+                        this.notifyListeners(listener -> listener.mapReduceStageCompleted(mapReduce, MapReduce.Stage.REDUCE, this.progress(keyValues.size(), 0l, reduceTime)));
                         mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
                     } else {
                         mapReduce.addResultToMemory(this.memory, mapEmitter.mapQueue.iterator());
@@ -244,9 +259,11 @@ public final class TinkerGraphComputer implements GraphComputer {
                 return new DefaultComputerResult(resultGraph, this.memory.asImmutable());
             } catch (InterruptedException ie) {
                 workers.closeNow();
+                TinkerHelper.dropGraphComputerView(this.graph);
                 throw new TraversalInterruptedException();
             } catch (Exception ex) {
                 workers.closeNow();
+                TinkerHelper.dropGraphComputerView(this.graph);
                 throw new RuntimeException(ex);
             } finally {
                 workers.close();
@@ -254,22 +271,19 @@ public final class TinkerGraphComputer implements GraphComputer {
         });
     }
 
-    @Override
-    public String toString() {
-        return StringFactory.graphComputerString(this);
+    private ComputerProgress progress(final long processed, final long messagesSent, final long startTime) {
+        final Runtime runtime = Runtime.getRuntime();
+        return new ComputerProgress(this.memory.getIteration(), processed, messagesSent,
+                System.currentTimeMillis() - startTime, runtime.totalMemory() - runtime.freeMemory());
     }
 
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
-
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
-        }
+    private void notifyListeners(final Consumer<GraphComputerListener> notification) {
+        this.listeners.forEach(notification);
+    }
 
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
-        }
+    @Override
+    public String toString() {
+        return StringFactory.graphComputerString(this);
     }
 
     @Override
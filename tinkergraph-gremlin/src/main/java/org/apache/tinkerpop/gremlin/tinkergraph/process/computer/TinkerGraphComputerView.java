@@ -22,7 +22,6 @@ import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -30,21 +29,21 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.wrapped.WrappedVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -53,16 +52,16 @@ public final class TinkerGraphComputerView {
 
     private final TinkerGraph graph;
     protected final Map<String, VertexComputeKey> computeKeys;
-    private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
+    private final Map<String, TinkerComputeKeyColumn> computeProperties;
     private final Set<Object> legalVertices = new HashSet<>();
     private final Map<Object, Set<Object>> legalEdges = new HashMap<>();
     private final GraphFilter graphFilter;
+    private final List<TinkerVertex> vertices = new ArrayList<>();
 
     public TinkerGraphComputerView(final TinkerGraph graph, final GraphFilter graphFilter, final Set<VertexComputeKey> computeKeys) {
         this.graph = graph;
         this.computeKeys = new HashMap<>();
         computeKeys.forEach(key -> this.computeKeys.put(key.getKey(), key));
-        this.computeProperties = new ConcurrentHashMap<>();
         this.graphFilter = graphFilter;
         if (this.graphFilter.hasFilter()) {
             graph.vertices().forEachRemaining(vertex -> {
@@ -78,19 +77,57 @@ public final class TinkerGraphComputerView {
                 }
             });
         }
+        // number the legal vertices so that per-vertex computer state can be held in arrays
+        graph.vertices().forEachRemaining(vertex -> {
+            if (this.legalVertex(vertex)) {
+                TinkerHelper.setComputerSlot((TinkerVertex) vertex, this.vertices.size());
+                this.vertices.add((TinkerVertex) vertex);
+            }
+        });
+        this.computeProperties = new HashMap<>();
+        this.computeKeys.keySet().forEach(key -> this.computeProperties.put(key, new TinkerComputeKeyColumn(this.vertices.size())));
+    }
+
+    /**
+     * The vertices that are part of the computation where the position of a vertex in the list is its slot.
+     */
+    public List<TinkerVertex> getVertices() {
+        return this.vertices;
+    }
+
+    /**
+     * Gets the slot of a vertex or {@code -1} if the vertex is not part of the computation. The vertex may be a
+     * wrapped or detached representation of a vertex of the graph.
+     */
+    public int getSlot(final Vertex vertex) {
+        final Vertex baseVertex = vertex instanceof WrappedVertex ? ((WrappedVertex<Vertex>) vertex).getBaseVertex() : vertex;
+        if (baseVertex instanceof TinkerVertex) {
+            final int slot = TinkerHelper.getComputerSlot((TinkerVertex) baseVertex);
+            if (slot >= 0 && slot < this.vertices.size() && this.vertices.get(slot) == baseVertex)
+                return slot;
+        }
+        final Iterator<Vertex> vertices = this.graph.vertices(vertex.id());
+        if (!vertices.hasNext()) return -1;
+        final Vertex graphVertex = vertices.next();
+        return graphVertex == baseVertex ? -1 : this.getSlot(graphVertex);
     }
 
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
-            this.addValue(vertex, key, property);
-            return property;
+            final TinkerComputeKeyColumn column = this.computeProperties.get(key);
+            final int slot = this.getComputeSlot(vertex);
+            if (column.isEmpty(slot)) {
+                column.setValue(slot, value);
+                return new ComputeVertexProperty<>(vertex, key, value);
+            } else {
+                final List<VertexProperty<?>> properties = new ArrayList<>(this.getValue(column, vertex, key, slot));
+                // the slot's first property takes the identifier derived from the vertex and key so any other needs its own
+                final ComputeVertexProperty<V> property = new ComputeVertexProperty<>(TinkerHelper.getNextVertexPropertyId(graph), vertex, key, value);
+                properties.add(property);
+                column.setProperties(slot, properties);
+                return property;
+            }
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
@@ -98,22 +135,40 @@ public final class TinkerGraphComputerView {
 
     public List<VertexProperty<?>> getProperty(final TinkerVertex vertex, final String key) {
         // if the vertex property is already on the vertex, use that.
-        final List<VertexProperty<?>> vertexProperty = this.getValue(vertex, key);
-        return vertexProperty.isEmpty() ? (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList()) : vertexProperty;
-        //return isComputeKey(key) ? this.getValue(vertex, key) : (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList());
+        final TinkerComputeKeyColumn column = this.computeProperties.get(key);
+        if (null != column) {
+            final int slot = this.getSlot(vertex);
+            if (slot >= 0 && !column.isEmpty(slot))
+                return this.getValue(column, vertex, key, slot);
+        }
+        return (List) TinkerHelper.getProperties(vertex).getOrDefault(key, Collections.emptyList());
     }
 
     public List<Property> getProperties(final TinkerVertex vertex) {
-        final Stream<Property> a = TinkerHelper.getProperties(vertex).values().stream().flatMap(list -> list.stream());
-        final Stream<Property> b = this.computeProperties.containsKey(vertex) ?
-                this.computeProperties.get(vertex).values().stream().flatMap(list -> list.stream()) :
-                Stream.empty();
-        return Stream.concat(a, b).collect(Collectors.toList());
+        final List<Property> properties = new ArrayList<>();
+        TinkerHelper.getProperties(vertex).values().forEach(properties::addAll);
+        final int slot = this.getSlot(vertex);
+        if (slot >= 0) {
+            this.computeProperties.forEach((key, column) -> {
+                if (!column.isEmpty(slot))
+                    properties.addAll(this.getValue(column, vertex, key, slot));
+            });
+        }
+        return properties;
     }
 
     public void removeProperty(final TinkerVertex vertex, final String key, final VertexProperty property) {
         if (isComputeKey(key)) {
-            this.removeValue(vertex, key, property);
+            final TinkerComputeKeyColumn column = this.computeProperties.get(key);
+            final int slot = this.getSlot(vertex);
+            if (null == column || slot < 0 || column.isEmpty(slot)) return;
+            if (column.hasProperties(slot)) {
+                final List<VertexProperty<?>> properties = column.getProperties(slot);
+                properties.remove(property);
+                if (properties.isEmpty()) column.clear(slot);
+            } else if (column.getValue(slot).equals(property.value())) {
+                column.clear(slot);
+            }
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
@@ -130,10 +185,8 @@ public final class TinkerGraphComputerView {
     protected void complete() {
         // remove all transient properties from the vertices
         for (final VertexComputeKey computeKey : this.computeKeys.values()) {
-            if (computeKey.isTransient()) {
-                final List<VertexProperty<?>> toRemove = this.computeProperties.values().stream().flatMap(map -> map.getOrDefault(computeKey.getKey(), Collections.emptyList()).stream()).collect(Collectors.toList());
-                toRemove.forEach(VertexProperty::remove);
-            }
+            if (computeKey.isTransient())
+                this.computeProperties.remove(computeKey.getKey());
         }
     }
 
@@ -191,15 +244,20 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
-        this.computeProperties.forEach((element, properties) -> {
-            properties.forEach((key, vertexProperties) -> {
-                vertexProperties.forEach(vertexProperty -> {
-                    final VertexProperty<?> newVertexProperty = ((Vertex) element).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
+        this.computeProperties.forEach((key, column) -> {
+            for (int slot = 0; slot < column.size(); slot++) {
+                if (column.isEmpty(slot)) continue;
+                final TinkerVertex vertex = this.vertices.get(slot);
+                this.getValue(column, vertex, key, slot).forEach(vertexProperty -> {
+                    // a derived identifier is not one of the graph's so the graph generates one in its place
+                    final VertexProperty<?> newVertexProperty = vertexProperty instanceof ComputeVertexProperty && ((ComputeVertexProperty) vertexProperty).hasDerivedId() ?
+                            vertex.property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value()) :
+                            vertex.property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
                     vertexProperty.properties().forEachRemaining(property -> {
                         newVertexProperty.property(property.key(), property.value());
                     });
                 });
-            });
+            }
         });
         this.computeProperties.clear();
     }
@@ -210,26 +268,63 @@ public final class TinkerGraphComputerView {
         return this.computeKeys.containsKey(key);
     }
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new ConcurrentHashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = Collections.synchronizedList(new ArrayList<>());
-            v.add(property);
-            return v;
-        });
+    private int getComputeSlot(final TinkerVertex vertex) {
+        final int slot = this.getSlot(vertex);
+        if (slot < 0)
+            throw new IllegalStateException(String.format("Vertex with id %s is not part of the computation", vertex.id()));
+        return slot;
     }
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.computeIfPresent(vertex, (k, v) -> {
-            v.computeIfPresent(key, (k1, v1) -> {
-                v1.remove(property);
-                return v1;
-            });
-            return v;
-        });
+    /**
+     * Materializes the {@link VertexProperty} objects of a non-empty slot.
+     */
+    private List<VertexProperty<?>> getValue(final TinkerComputeKeyColumn column, final TinkerVertex vertex, final String key, final int slot) {
+        return column.hasProperties(slot) ?
+                column.getProperties(slot) :
+                Collections.singletonList(new ComputeVertexProperty<>(vertex, key, column.getValue(slot)));
     }
 
-    private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    /**
+     * A {@link VertexProperty} of a compute key that is backed by a slot of a {@link TinkerComputeKeyColumn}. Adding
+     * a meta-property to it moves the slot from a plain value to a list holding this property. A slot holding a plain
+     * value is materialized into a new property on every read, so the identifier of such a property is derived from
+     * its vertex and key, which keeps it the same from one read to the next. A derived identifier lasts as long as
+     * the computation and the property is given one of the graph's identifiers when it is persisted.
+     */
+    private final class ComputeVertexProperty<V> extends TinkerVertexProperty<V> {
+
+        private ComputeVertexProperty(final TinkerVertex vertex, final String key, final V value) {
+            this(null, vertex, key, value);
+        }
+
+        private ComputeVertexProperty(final Object id, final TinkerVertex vertex, final String key, final V value) {
+            super(id, vertex, key, value);
+        }
+
+        @Override
+        public Object id() {
+            return this.hasDerivedId() ? Arrays.asList(this.element().id(), this.key()) : this.id;
+        }
+
+        private boolean hasDerivedId() {
+            return null == this.id;
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            final TinkerComputeKeyColumn column = computeProperties.get(this.key());
+            final int slot = getSlot(this.element());
+            if (null != column && slot >= 0 && !column.isEmpty(slot) && !column.hasProperties(slot) && column.getValue(slot).equals(this.value())) {
+                final List<VertexProperty<?>> properties = new ArrayList<>(1);
+                properties.add(this);
+                column.setProperties(slot, properties);
+            }
+            return super.property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            removeProperty((TinkerVertex) this.element(), this.key(), this);
+        }
     }
-}
\ No newline at end of file
+}
@@ -18,29 +18,128 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.Queue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Holds the messages of the current and the previous iteration in two arrays indexed by the slot that the
+ * {@link TinkerGraphComputerView} assigned each vertex. With a {@link MessageCombiner} a slot holds the single combined
+ * message of its vertex, otherwise it holds a lock-free stack of the messages sent to the vertex. The arrays are
+ * swapped at the end of each iteration rather than reallocated.
+ * <p/>
+ * A combiner is free to mutate and return the message it combines into (as {@code addAll} does), so a combined
+ * message is only ever combined under the lock of its slot's stripe.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
+    private static final int LOCK_STRIPES = 256;
+
+    private final TinkerGraphComputerView view;
+    private final MessageCombiner<M> combiner;
+    private AtomicReferenceArray<Object> sendMessages;
+    private AtomicReferenceArray<Object> receiveMessages;
+    private final LongAdder messagesSent = new LongAdder();
+    private final Object[] locks;
     public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    public Set<MessageScope> currentMessageScopes = ConcurrentHashMap.newKeySet();
+
+    public TinkerMessageBoard(final TinkerGraphComputerView view, final Optional<MessageCombiner<M>> combiner) {
+        this.view = view;
+        this.combiner = combiner.orElse(null);
+        this.locks = new Object[null == this.combiner ? 0 : LOCK_STRIPES];
+        for (int i = 0; i < this.locks.length; i++) {
+            this.locks[i] = new Object();
+        }
+        this.sendMessages = new AtomicReferenceArray<>(view.getVertices().size());
+        this.receiveMessages = new AtomicReferenceArray<>(view.getVertices().size());
+    }
+
+    public void sendMessage(final Vertex vertex, final M message) {
+        final int slot = this.view.getSlot(vertex);
+        if (slot < 0) return; // the vertex is not part of the computation so it will never receive the message
+        this.messagesSent.increment();
+        if (null == this.combiner) {
+            final Node<M> node = new Node<>(message);
+            do {
+                node.next = (Node<M>) this.sendMessages.get(slot);
+            } while (!this.sendMessages.compareAndSet(slot, node.next, node));
+        } else {
+            synchronized (this.locks[slot & (LOCK_STRIPES - 1)]) {
+                final M current = (M) this.sendMessages.get(slot);
+                this.sendMessages.set(slot, null == current ? message : this.combiner.combine(current, message));
+            }
+        }
+    }
+
+    public Iterator<M> receiveMessages(final Vertex vertex) {
+        final int slot = this.view.getSlot(vertex);
+        final Object messages = slot < 0 ? null : this.receiveMessages.get(slot);
+        if (null == messages)
+            return Collections.emptyIterator();
+        else if (null != this.combiner)
+            return IteratorUtils.of((M) messages);
+        else
+            return new NodeIterator<>((Node<M>) messages);
+    }
 
-    public void completeIteration() {
+    /**
+     * Makes the messages sent in the iteration receivable in the next one.
+     *
+     * @return the number of messages sent in the iteration
+     */
+    public long completeIteration() {
+        final AtomicReferenceArray<Object> messages = this.receiveMessages;
+        for (int i = 0; i < messages.length(); i++) {
+            messages.lazySet(i, null);
+        }
         this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
+        this.sendMessages = messages;
         this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        this.currentMessageScopes = ConcurrentHashMap.newKeySet();
+        return this.messagesSent.sumThenReset();
+    }
+
+    private static final class Node<M> {
+        private final M message;
+        private Node<M> next;
+
+        private Node(final M message) {
+            this.message = message;
+        }
+    }
+
+    private static final class NodeIterator<M> implements Iterator<M> {
+        private Node<M> node;
+
+        private NodeIterator(final Node<M> node) {
+            this.node = node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return null != this.node;
+        }
+
+        @Override
+        public M next() {
+            if (null == this.node) throw new NoSuchElementException();
+            final M message = this.node.message;
+            this.node = this.node.next;
+            return message;
+        }
     }
 }
@@ -23,14 +23,25 @@ import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 /**
+ * Executes {@link VertexProgram} and {@link MapReduce} work over a list of elements. The list is split into one
+ * contiguous range per worker and each worker claims chunks of its own range with a single atomic increment. Once its
+ * range is exhausted, a worker steals chunks from the ranges of the other workers, so no lock is taken per element
+ * and a slow worker does not hold up the iteration. Cancellation and thread interruption are checked each time a
+ * worker claims a chunk.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -39,14 +50,19 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
     private final int numberOfWorkers;
+    private final int chunkSize;
     private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
 
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
+    private volatile Partitions<?> partitions;
 
-    public TinkerWorkerPool(final int numberOfWorkers) {
+    public TinkerWorkerPool(final int numberOfWorkers, final int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("The chunk size must be greater than zero: " + chunkSize);
         this.numberOfWorkers = numberOfWorkers;
+        this.chunkSize = chunkSize;
         this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, THREAD_FACTORY_WORKER);
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
     }
@@ -59,35 +75,37 @@ public final class TinkerWorkerPool implements AutoCloseable {
         this.mapReducePool = new MapReducePool(mapReduce, this.numberOfWorkers);
     }
 
-    public void executeVertexProgram(final Consumer<VertexProgram> worker) throws InterruptedException {
+    public <E> void executeVertexProgram(final List<E> elements, final BiConsumer<VertexProgram, Iterator<E>> worker) throws InterruptedException {
+        final Partitions<E> partitions = new Partitions<>(elements, this.numberOfWorkers, this.chunkSize);
+        this.partitions = partitions;
         for (int i = 0; i < this.numberOfWorkers; i++) {
+            final int partition = i;
             this.completionService.submit(() -> {
                 final VertexProgram vp = this.vertexProgramPool.take();
-                worker.accept(vp);
+                worker.accept(vp, partitions.iterator(partition));
                 this.vertexProgramPool.offer(vp);
                 return null;
             });
         }
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            try {
-                this.completionService.take().get();
-            } catch (InterruptedException ie) {
-                throw ie;
-            } catch (final Exception e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
-        }
+        this.awaitWorkers();
     }
 
-    public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
+    public <E> void executeMapReduce(final List<E> elements, final BiConsumer<MapReduce, Iterator<E>> worker) throws InterruptedException {
+        final Partitions<E> partitions = new Partitions<>(elements, this.numberOfWorkers, this.chunkSize);
+        this.partitions = partitions;
         for (int i = 0; i < this.numberOfWorkers; i++) {
+            final int partition = i;
             this.completionService.submit(() -> {
                 final MapReduce mr = this.mapReducePool.take();
-                worker.accept(mr);
+                worker.accept(mr, partitions.iterator(partition));
                 this.mapReducePool.offer(mr);
                 return null;
             });
         }
+        this.awaitWorkers();
+    }
+
+    private void awaitWorkers() throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
             try {
                 this.completionService.take().get();
@@ -100,6 +118,8 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void closeNow() throws Exception {
+        final Partitions<?> partitions = this.partitions;
+        if (null != partitions) partitions.cancel();
         this.workerPool.shutdownNow();
     }
 
@@ -107,4 +127,71 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    /**
+     * The ranges of a list of elements, one per worker. The cursor of each range only ever moves forward, so a chunk
+     * is handed out exactly once whether it is claimed by the owner of the range or stolen by another worker.
+     */
+    static final class Partitions<E> {
+
+        private final List<E> elements;
+        private final int chunkSize;
+        private final AtomicLong[] cursors;
+        private final int[] ends;
+        private volatile boolean cancelled = false;
+
+        Partitions(final List<E> elements, final int numberOfPartitions, final int chunkSize) {
+            this.elements = elements;
+            this.chunkSize = chunkSize;
+            this.cursors = new AtomicLong[numberOfPartitions];
+            this.ends = new int[numberOfPartitions];
+            final long size = elements.size();
+            for (int i = 0; i < numberOfPartitions; i++) {
+                this.cursors[i] = new AtomicLong(size * i / numberOfPartitions);
+                this.ends[i] = (int) (size * (i + 1) / numberOfPartitions);
+            }
+        }
+
+        void cancel() {
+            this.cancelled = true;
+        }
+
+        /**
+         * An iterator for a single worker that starts on the range of the given partition and then visits the other
+         * ranges in turn. The iterator itself is not thread-safe and must not be shared between workers.
+         */
+        Iterator<E> iterator(final int partition) {
+            return new Iterator<E>() {
+                private int visited = 0;
+                private int current = 0;
+                private int end = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.current < this.end || this.claim();
+                }
+
+                @Override
+                public E next() {
+                    if (!this.hasNext()) throw new NoSuchElementException();
+                    return elements.get(this.current++);
+                }
+
+                private boolean claim() {
+                    if (cancelled || Thread.interrupted()) throw new TraversalInterruptedException();
+                    while (this.visited < cursors.length) {
+                        final int victim = (partition + this.visited) % cursors.length;
+                        final long start = cursors[victim].getAndAdd(chunkSize);
+                        if (start < ends[victim]) {
+                            this.current = (int) start;
+                            this.end = (int) Math.min(ends[victim], start + chunkSize);
+                            return true;
+                        }
+                        this.visited++;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
-import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
@@ -27,15 +26,16 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -43,7 +43,11 @@ import java.util.stream.Collectors;
  */
 public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private List<HasContainer> hasContainers = new ArrayList<>();
+    private String orderKey = null;
+    private boolean orderDescending = false;
+    private long orderLimit = Long.MAX_VALUE;
+    private boolean onGraphComputer = false;
 
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -56,40 +60,79 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         this.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges()));
     }
 
+    @Override
+    public void onGraphComputer() {
+        super.onGraphComputer();
+        this.onGraphComputer = true;
+    }
+
+    @Override
+    public TinkerGraphStep<S, E> clone() {
+        final TinkerGraphStep<S, E> clone = (TinkerGraphStep<S, E>) super.clone();
+        clone.hasContainers = new ArrayList<>(this.hasContainers.size());
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.hasContainers.add(hasContainer.clone());
+        }
+        if (!this.onGraphComputer)
+            clone.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(clone.returnClass) ? clone.vertices() : clone.edges()));
+        return clone;
+    }
+
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
             return this.iteratorList(graph.edges(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                            .collect(Collectors.<Edge>toList()).iterator();
+        Collection<TinkerEdge> indexed = null;
+        if (null != this.orderKey && TinkerHelper.getIndexType(graph, this.orderKey, Edge.class) == TinkerGraph.IndexType.ORDERED) {
+            // an equality lookup is assumed to be more selective than reading the ordered index up to the limit
+            indexed = TinkerHelper.queryEdgeIndex(graph, this.hasContainers, true);
+            if (null == indexed) {
+                final List<TinkerEdge> ordered = TinkerHelper.queryEdgeIndexOrdered(graph, this.orderKey, this.orderDescending, this.orderLimit,
+                        edge -> HasContainer.testAll(edge, this.hasContainers));
+                if (null != ordered)
+                    return ordered.iterator();
+            }
+        }
+        if (null == indexed)
+            indexed = TinkerHelper.queryEdgeIndex(graph, this.hasContainers, false);
+        return null == indexed ?
+                this.iteratorList(graph.edges()) :
+                this.iteratorList(indexed.iterator());
     }
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
             return this.iteratorList(graph.vertices(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                            .filter(vertex -> HasContainer.testAll(vertex, this.hasContainers))
-                            .collect(Collectors.<Vertex>toList()).iterator();
+        Collection<TinkerVertex> indexed = null;
+        if (null != this.orderKey && TinkerHelper.getIndexType(graph, this.orderKey, Vertex.class) == TinkerGraph.IndexType.ORDERED) {
+            // an equality lookup is assumed to be more selective than reading the ordered index up to the limit
+            indexed = TinkerHelper.queryVertexIndex(graph, this.hasContainers, true);
+            if (null == indexed) {
+                final List<TinkerVertex> ordered = TinkerHelper.queryVertexIndexOrdered(graph, this.orderKey, this.orderDescending, this.orderLimit,
+                        vertex -> HasContainer.testAll(vertex, this.hasContainers));
+                if (null != ordered)
+                    return ordered.iterator();
+            }
+        }
+        if (null == indexed)
+            indexed = TinkerHelper.queryVertexIndex(graph, this.hasContainers, false);
+        return null == indexed ?
+                this.iteratorList(graph.vertices()) :
+                this.iteratorList(indexed.iterator());
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
-        return this.hasContainers.stream()
-                .filter(c -> indexedKeys.contains(c.getKey()) && c.getPredicate().getBiPredicate() == Compare.eq)
-                .findAny()
-                .orElseGet(() -> null);
+    /**
+     * Notifies the step that its results are ordered by the value of the specified key and that only the first
+     * {@code limit} of them are required. If the key has an {@link TinkerGraph.IndexType#ORDERED} index when the
+     * step is iterated, only those elements are read from the index (in order) rather than all matching elements.
+     */
+    public void setOrderLimit(final String key, final boolean descending, final long limit) {
+        this.orderKey = key;
+        this.orderDescending = descending;
+        this.orderLimit = limit;
     }
 
     @Override
@@ -18,14 +18,21 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ElementValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.javatuples.Pair;
+
+import java.util.Comparator;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -55,9 +62,25 @@ public final class TinkerGraphStepStrategy extends AbstractTraversalStrategy<Tra
                 traversal.removeStep(currentStep);
                 currentStep = currentStep.getNextStep();
             }
+            if (currentStep instanceof OrderGlobalStep && currentStep.getNextStep() instanceof RangeGlobalStep)
+                applyOrderLimit(tinkerGraphStep, (OrderGlobalStep<?, ?>) currentStep, (RangeGlobalStep<?>) currentStep.getNextStep());
         });
     }
 
+    /**
+     * Lets the {@link TinkerGraphStep} read elements from an ordered index for {@code order().by(key).limit(n)}.
+     * The {@link OrderGlobalStep} and {@link RangeGlobalStep} are left in place so that they still sort and limit the
+     * (now small) set of elements that the index yields.
+     */
+    private static void applyOrderLimit(final TinkerGraphStep<?, ?> tinkerGraphStep, final OrderGlobalStep<?, ?> orderGlobalStep, final RangeGlobalStep<?> rangeGlobalStep) {
+        if (orderGlobalStep.getComparators().size() != 1 || rangeGlobalStep.getHighRange() < 0)
+            return;
+        final Pair<? extends Traversal.Admin<?, ?>, ? extends Comparator<?>> comparator = orderGlobalStep.getComparators().get(0);
+        if (comparator.getValue0() instanceof ElementValueTraversal && (comparator.getValue1() == Order.incr || comparator.getValue1() == Order.decr))
+            tinkerGraphStep.setOrderLimit(((ElementValueTraversal<?>) comparator.getValue0()).getPropertyKey(),
+                    comparator.getValue1() == Order.decr, rangeGlobalStep.getHighRange());
+    }
+
     public static TinkerGraphStepStrategy instance() {
         return INSTANCE;
     }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The edges of a single label on one side of a {@link TinkerVertex} stored as two parallel arrays: the edges and the
+ * vertices at the other end of those edges. It is used instead of a {@code HashSet} when TinkerGraph is configured
+ * with {@link TinkerGraph.AdjacencyStorage#ARRAY}. There is no per-edge entry object, and vertex traversals read the
+ * adjacent vertex column directly without dereferencing each edge. Removal is {@code O(degree)} as the array must be
+ * scanned for the edge, which is the trade-off for the smaller footprint.
+ * <p/>
+ * Duplicate checks are not performed on {@link #add(Edge)} as {@link TinkerHelper} only ever adds newly created
+ * edges.
+ *
+ * @author agent
+ */
+final class TinkerAdjacencyList extends AbstractCollection<Edge> {
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private final boolean out;
+    private Edge[] edges = new Edge[DEFAULT_CAPACITY];
+    private Vertex[] adjacentVertices = new Vertex[DEFAULT_CAPACITY];
+    private int size = 0;
+    private int modCount = 0;
+
+    /**
+     * @param out {@code true} if the edges are outgoing edges and thus the adjacent vertex is the in-vertex
+     */
+    TinkerAdjacencyList(final boolean out) {
+        this.out = out;
+    }
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (this.size == this.edges.length) {
+            final int capacity = this.size + (this.size >> 1) + 1;
+            this.edges = Arrays.copyOf(this.edges, capacity);
+            this.adjacentVertices = Arrays.copyOf(this.adjacentVertices, capacity);
+        }
+        this.edges[this.size] = edge;
+        this.adjacentVertices[this.size] = this.out ? ((TinkerEdge) edge).inVertex : ((TinkerEdge) edge).outVertex;
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object edge) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i] == edge) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(final Object edge) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.edges[i] == edge) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(this.edges, this.size, Object[].class);
+    }
+
+    /**
+     * Adds the vertices at the other end of every edge to the provided collection.
+     */
+    public void addAdjacentVertices(final Collection<? super Vertex> vertices) {
+        for (int i = 0; i < this.size; i++) {
+            vertices.add(this.adjacentVertices[i]);
+        }
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private int current = 0;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return this.current < size;
+            }
+
+            @Override
+            public Edge next() {
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (this.current >= size) throw new NoSuchElementException();
+                this.last = this.current++;
+                return edges[this.last];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) throw new IllegalStateException();
+                if (this.expectedModCount != modCount) throw new ConcurrentModificationException();
+                removeAt(this.last);
+                this.current = this.last;
+                this.last = -1;
+                this.expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Removes by moving the last edge into the vacated slot, so the iteration order of the remaining edges is not
+     * preserved (the same guarantee as the {@code HashSet} this replaces).
+     */
+    private void removeAt(final int index) {
+        final int last = --this.size;
+        this.edges[index] = this.edges[last];
+        this.adjacentVertices[index] = this.adjacentVertices[last];
+        this.edges[last] = null;
+        this.adjacentVertices[last] = null;
+        this.modCount++;
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -60,6 +61,8 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         if (null == this.properties) this.properties = new HashMap<>();
         this.properties.put(key, newProperty);
         TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.writeAheadLog && graph.edges.containsKey(this.id)) graph.writeAheadLog.propertySet(newProperty);
         return newProperty;
 
     }
@@ -80,12 +83,12 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
 
         if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
+            final Collection<Edge> edges = outVertex.outEdges.get(this.label());
             if (null != edges)
                 edges.remove(this);
         }
         if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
+            final Collection<Edge> edges = inVertex.inEdges.get(this.label());
             if (null != edges)
                 edges.remove(this);
         }
@@ -94,6 +97,7 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         ((TinkerGraph) this.graph()).edges.remove(this.id());
         this.properties = null;
         this.removed = true;
+        if (null != ((TinkerGraph) this.graph()).writeAheadLog) ((TinkerGraph) this.graph()).writeAheadLog.edgeRemoved(this);
     }
 
     @Override
@@ -39,10 +39,17 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optim
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -115,6 +122,11 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE = "gremlin.tinkergraph.adjacencyStorage";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_COMPACTION_THRESHOLD = "gremlin.tinkergraph.writeAheadLogCompactionThreshold";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC = "gremlin.tinkergraph.writeAheadLogSync";
+    public static final String GREMLIN_TINKERGRAPH_COMPUTER_CHUNK_SIZE = "gremlin.tinkergraph.computerChunkSize";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
@@ -126,11 +138,14 @@ public final class TinkerGraph implements Graph {
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerWriteAheadLog writeAheadLog = null;
+    private volatile TinkerGraphStatistics statistics = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final AdjacencyStorage adjacencyStorage;
 
     private final Configuration configuration;
     private final String graphLocation;
@@ -146,6 +161,8 @@ public final class TinkerGraph implements Graph {
         vertexPropertyIdManager = selectIdManager(configuration, GREMLIN_TINKERGRAPH_VERTEX_PROPERTY_ID_MANAGER, VertexProperty.class);
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
+        adjacencyStorage = AdjacencyStorage.valueOf(
+                configuration.getString(GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, AdjacencyStorage.HASH.name()));
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -155,6 +172,14 @@ public final class TinkerGraph implements Graph {
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
         if (graphLocation != null) loadGraph();
+
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false)) {
+            if (null == graphLocation)
+                throw new IllegalStateException(String.format("The %s must be specified if %s is enabled",
+                        GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+            openWriteAheadLog(configuration.getLong(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_COMPACTION_THRESHOLD, 100000l),
+                    configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC, false));
+        }
     }
 
     /**
@@ -203,6 +228,7 @@ public final class TinkerGraph implements Graph {
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
         this.vertices.put(vertex.id(), vertex);
+        if (null != this.writeAheadLog) this.writeAheadLog.vertexAdded(vertex);
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -245,11 +271,26 @@ public final class TinkerGraph implements Graph {
         this.vertexIndex = null;
         this.edgeIndex = null;
         this.graphComputerView = null;
+        this.statistics = null;
+        if (null != this.writeAheadLog) this.writeAheadLog.cleared();
     }
 
+    /**
+     * Closes the graph. If the graph is persisted to {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} then the entire graph
+     * is written there, unless the {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is enabled, in which case the
+     * mutations are already on disk and only the log is closed.
+     */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (null != writeAheadLog) {
+            try {
+                writeAheadLog.close();
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not close the write-ahead log of the graph at %s", graphLocation), ex);
+            }
+        } else if (graphLocation != null) {
+            saveGraph();
+        }
     }
 
     @Override
@@ -257,6 +298,21 @@ public final class TinkerGraph implements Graph {
         throw Exceptions.transactionsNotSupported();
     }
 
+    /**
+     * Gets the statistics of the graph which are gathered by scanning all of its elements. The snapshot is reused
+     * until the number of vertices or edges has changed by more than a tenth, so changes to properties alone are not
+     * reflected until then.
+     */
+    @Override
+    public Optional<Statistics> statistics() {
+        TinkerGraphStatistics statistics = this.statistics;
+        if (null == statistics || statistics.isStale(this.vertices.size(), this.edges.size())) {
+            statistics = new TinkerGraphStatistics(this);
+            this.statistics = statistics;
+        }
+        return Optional.of(statistics);
+    }
+
     @Override
     public Configuration configuration() {
         return configuration;
@@ -282,6 +338,8 @@ public final class TinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals("snapshot")) {
+                    TinkerSnapshot.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -291,6 +349,17 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    private void openWriteAheadLog(final long compactionThreshold, final boolean sync) {
+        try {
+            final TinkerWriteAheadLog log = new TinkerWriteAheadLog(this, new File(graphLocation + ".wal"),
+                    compactionThreshold, sync, this::saveSnapshot);
+            log.replay();
+            this.writeAheadLog = log;
+        } catch (Exception ex) {
+            throw new RuntimeException(String.format("Could not open the write-ahead log of the graph at %s", graphLocation), ex);
+        }
+    }
+
     private void saveGraph() {
         final File f = new File(graphLocation);
         if (f.exists()) {
@@ -302,22 +371,46 @@ public final class TinkerGraph implements Graph {
             }
         }
 
+        writeGraph(graphLocation);
+    }
+
+    /**
+     * Writes the graph to a temporary file that then replaces the one at the graph location, so that a failure
+     * part way through a compaction of the write-ahead log never leaves a partially written graph behind.
+     */
+    private void saveSnapshot() {
+        final String tempLocation = graphLocation + ".tmp";
+        new File(tempLocation).delete();
+        writeGraph(tempLocation);
+        try {
+            try {
+                Files.move(Paths.get(tempLocation), Paths.get(graphLocation), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(Paths.get(tempLocation), Paths.get(graphLocation), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception ex) {
+            throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
+        }
+    }
+
+    private void writeGraph(final String location) {
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(location);
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(location);
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                io(IoCore.gryo()).writeGraph(location);
+            } else if (graphFormat.equals("snapshot")) {
+                TinkerSnapshot.write(this, new File(location));
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(location);
             }
         } catch (Exception ex) {
             throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
         }
     }
 
-
     private <T extends Element> Iterator<T> createElementIterator(final Class<T> clazz, final Map<Object, T> elements,
                                                                   final IdManager idManager,
                                                                   final Object... ids) {
@@ -488,12 +581,26 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. An {@link IndexType#ORDERED} index is used for range predicates such as
+     * {@code has("age", gt(30))} and for {@code order().by(key).limit(n)} in addition to equality lookups.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -533,6 +640,96 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over several keys, such that
+     * a traversal with an equality {@code has()} for each of the keys is answered by a single lookup. The label may
+     * be included with {@code T.label.getAccessor()}. An element is only indexed if it has exactly one value for each
+     * key. When a traversal can be answered by several indices, the one that yields the fewest elements is used.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the keys to index (at least two)
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the keys of the index in the order they were given on creation
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the keys of all the composite indices for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indices for
+     * @param <E>          The type of the element class
+     * @return the set of key lists currently being indexed
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The types of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * Supports equality lookups only.
+         */
+        HASH,
+
+        /**
+         * Keeps the indexed values sorted so that it supports range lookups and ordered iteration as well as
+         * equality lookups. Values that are not {@code Comparable} can only be found by equality.
+         */
+        ORDERED
+    }
+
+    /**
+     * The data structure used by each {@link TinkerVertex} to hold its incident edges per label.
+     */
+    public enum AdjacencyStorage {
+        /**
+         * Incident edges are held in a {@code HashSet} per label. This is the default and gives constant time edge
+         * removal at the cost of an entry object per edge.
+         */
+        HASH,
+
+        /**
+         * Incident edges are held in compact arrays per label alongside an array of the adjacent vertices. This uses
+         * significantly less memory per edge and iterates adjacent vertices without touching the edges, but edge
+         * removal is linear in the degree of the vertex for that label.
+         */
+        ARRAY
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
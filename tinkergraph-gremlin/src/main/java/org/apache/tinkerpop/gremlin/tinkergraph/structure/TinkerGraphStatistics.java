@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A snapshot of the {@link Graph.Statistics} of a {@link TinkerGraph} gathered with a single scan of its elements.
+ * Label and degree counts are exact at the time of the scan. The values of each property key are kept in a fixed
+ * size random sample from which the selectivity of a predicate is estimated. {@link TinkerGraph#statistics()} takes
+ * a new snapshot once the number of vertices or edges has changed by more than a tenth.
+ *
+ * @author agent
+ */
+final class TinkerGraphStatistics implements Graph.Statistics {
+
+    static final int SAMPLE_SIZE = 1000;
+
+    private final long vertexCount;
+    private final long edgeCount;
+    private final Map<String, Long> vertexLabelCounts = new HashMap<>();
+    private final Map<String, Long> edgeLabelCounts = new HashMap<>();
+    private final Map<String, Long> outVertexCounts = new HashMap<>();
+    private final Map<String, Long> inVertexCounts = new HashMap<>();
+    private long verticesWithOutEdges = 0l;
+    private long verticesWithInEdges = 0l;
+    private final Map<String, Sample> vertexSamples = new HashMap<>();
+    private final Map<String, Sample> edgeSamples = new HashMap<>();
+    private final Random random = new Random(0l);
+
+    TinkerGraphStatistics(final TinkerGraph graph) {
+        this.vertexCount = graph.vertices.size();
+        this.edgeCount = graph.edges.size();
+        final Sample vertexIds = new Sample();
+        for (final Vertex v : graph.vertices.values()) {
+            final TinkerVertex vertex = (TinkerVertex) v;
+            this.vertexLabelCounts.merge(vertex.label, 1l, Long::sum);
+            vertexIds.offer(vertex.id, this.random);
+            if (null != vertex.properties) {
+                for (final Map.Entry<String, List<VertexProperty>> entry : vertex.properties.entrySet()) {
+                    final Sample sample = this.vertexSamples.computeIfAbsent(entry.getKey(), k -> new Sample());
+                    sample.elements++;
+                    for (final VertexProperty property : entry.getValue()) {
+                        sample.offer(property.value(), this.random);
+                    }
+                }
+            }
+            if (countAdjacentLabels(vertex.outEdges, this.outVertexCounts)) this.verticesWithOutEdges++;
+            if (countAdjacentLabels(vertex.inEdges, this.inVertexCounts)) this.verticesWithInEdges++;
+        }
+        vertexIds.elements = this.vertexCount;
+        this.vertexSamples.put(T.id.getAccessor(), vertexIds);
+
+        final Sample edgeIds = new Sample();
+        for (final Edge e : graph.edges.values()) {
+            final TinkerEdge edge = (TinkerEdge) e;
+            this.edgeLabelCounts.merge(edge.label, 1l, Long::sum);
+            edgeIds.offer(edge.id, this.random);
+            if (null != edge.properties) {
+                for (final Property property : edge.properties.values()) {
+                    final Sample sample = this.edgeSamples.computeIfAbsent(property.key(), k -> new Sample());
+                    sample.elements++;
+                    sample.offer(property.value(), this.random);
+                }
+            }
+        }
+        edgeIds.elements = this.edgeCount;
+        this.edgeSamples.put(T.id.getAccessor(), edgeIds);
+    }
+
+    private static boolean countAdjacentLabels(final Map<String, Collection<Edge>> adjacentEdges, final Map<String, Long> counts) {
+        if (null == adjacentEdges)
+            return false;
+        boolean adjacent = false;
+        for (final Map.Entry<String, Collection<Edge>> entry : adjacentEdges.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                counts.merge(entry.getKey(), 1l, Long::sum);
+                adjacent = true;
+            }
+        }
+        return adjacent;
+    }
+
+    /**
+     * Determines if the graph has grown or shrunk enough since the snapshot was taken for it to be taken again.
+     */
+    boolean isStale(final long vertexCount, final long edgeCount) {
+        return Math.abs(vertexCount - this.vertexCount) > this.vertexCount / 10 ||
+                Math.abs(edgeCount - this.edgeCount) > this.edgeCount / 10;
+    }
+
+    @Override
+    public long vertexCount() {
+        return this.vertexCount;
+    }
+
+    @Override
+    public long vertexCount(final String label) {
+        return this.vertexLabelCounts.getOrDefault(label, 0l);
+    }
+
+    @Override
+    public long edgeCount() {
+        return this.edgeCount;
+    }
+
+    @Override
+    public long edgeCount(final String label) {
+        return this.edgeLabelCounts.getOrDefault(label, 0l);
+    }
+
+    @Override
+    public long vertexCount(final Direction direction, final String edgeLabel) {
+        if (direction == Direction.BOTH)
+            throw new IllegalArgumentException("The direction must be OUT or IN: " + direction);
+        if (null == edgeLabel)
+            return direction == Direction.OUT ? this.verticesWithOutEdges : this.verticesWithInEdges;
+        return (direction == Direction.OUT ? this.outVertexCounts : this.inVertexCounts).getOrDefault(edgeLabel, 0l);
+    }
+
+    @Override
+    public double selectivity(final Class<? extends Element> elementClass, final String key, final P<?> predicate) {
+        final boolean vertex = Vertex.class.isAssignableFrom(elementClass);
+        final long elements = vertex ? this.vertexCount : this.edgeCount;
+        if (0l == elements)
+            return 0.0d;
+        if (key.equals(T.label.getAccessor())) {
+            long matches = 0l;
+            for (final Map.Entry<String, Long> entry : (vertex ? this.vertexLabelCounts : this.edgeLabelCounts).entrySet()) {
+                if (test(predicate, entry.getKey())) matches = matches + entry.getValue();
+            }
+            return (double) matches / elements;
+        }
+        final Sample sample = (vertex ? this.vertexSamples : this.edgeSamples).get(key);
+        return null == sample ? 0.0d : ((double) sample.elements / elements) * sample.selectivity(predicate);
+    }
+
+    private static boolean test(final P predicate, final Object value) {
+        try {
+            return predicate.test(value);
+        } catch (final RuntimeException e) {
+            // values of a key may be of different types which not every predicate can compare
+            return false;
+        }
+    }
+
+    /**
+     * A reservoir sample of the values of a property key.
+     */
+    private static final class Sample {
+
+        private final Object[] values = new Object[SAMPLE_SIZE];
+        private long seen = 0l;
+        private long elements = 0l;
+
+        private void offer(final Object value, final Random random) {
+            if (this.seen < SAMPLE_SIZE)
+                this.values[(int) this.seen] = value;
+            else {
+                final long index = (long) (random.nextDouble() * (this.seen + 1));
+                if (index < SAMPLE_SIZE) this.values[(int) index] = value;
+            }
+            this.seen++;
+        }
+
+        private double selectivity(final P<?> predicate) {
+            final int size = (int) Math.min(this.seen, SAMPLE_SIZE);
+            if (0 == size)
+                return 0.0d;
+            int matches = 0;
+            for (int i = 0; i < size; i++) {
+                if (test(predicate, this.values[i])) matches++;
+            }
+            // a value that is not in the sample is not necessarily absent from the graph
+            return 0 == matches && this.seen > size ? 0.5d / size : (double) matches / size;
+        }
+    }
+}
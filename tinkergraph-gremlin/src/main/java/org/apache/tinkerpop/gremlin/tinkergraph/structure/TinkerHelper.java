@@ -20,8 +20,10 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -29,6 +31,7 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -66,15 +70,20 @@ public final class TinkerHelper {
         graph.edges.put(edge.id(), edge);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
+        if (null != graph.writeAheadLog) {
+            // the properties were attached before the edge was part of the graph so they were not logged
+            graph.writeAheadLog.edgeAdded(edge);
+            edge.properties().forEachRemaining(graph.writeAheadLog::propertySet);
+        }
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
-        Set<Edge> edges = vertex.outEdges.get(label);
+        Collection<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = createAdjacency((TinkerGraph) vertex.graph(), true);
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
@@ -82,14 +91,29 @@ public final class TinkerHelper {
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
-        Set<Edge> edges = vertex.inEdges.get(label);
+        Collection<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = createAdjacency((TinkerGraph) vertex.graph(), false);
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
+    private static Collection<Edge> createAdjacency(final TinkerGraph graph, final boolean out) {
+        return graph.adjacencyStorage == TinkerGraph.AdjacencyStorage.ARRAY ?
+                new TinkerAdjacencyList(out) :
+                new HashSet<>();
+    }
+
+    private static void addAdjacentVertices(final Collection<Edge> edges, final boolean out, final List<Vertex> vertices) {
+        if (edges instanceof TinkerAdjacencyList)
+            ((TinkerAdjacencyList) edges).addAdjacentVertices(vertices);
+        else if (out)
+            edges.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+        else
+            edges.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+    }
+
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
         return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
     }
@@ -98,6 +122,27 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    public static Collection<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<HasContainer> hasContainers, final boolean equalityOnly) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.get(hasContainers, equalityOnly);
+    }
+
+    public static Collection<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<HasContainer> hasContainers, final boolean equalityOnly) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.get(hasContainers, equalityOnly);
+    }
+
+    public static List<TinkerVertex> queryVertexIndexOrdered(final TinkerGraph graph, final String key, final boolean descending, final long limit, final Predicate<TinkerVertex> filter) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.getOrdered(key, descending, limit, filter);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndexOrdered(final TinkerGraph graph, final String key, final boolean descending, final long limit, final Predicate<TinkerEdge> filter) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.getOrdered(key, descending, limit, filter);
+    }
+
+    public static TinkerGraph.IndexType getIndexType(final TinkerGraph graph, final String key, final Class<? extends Element> elementClass) {
+        final TinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? graph.vertexIndex : graph.edgeIndex;
+        return null == index ? null : index.getIndexType(key);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -114,6 +159,18 @@ public final class TinkerHelper {
         graph.graphComputerView = null;
     }
 
+    public static Object getNextVertexPropertyId(final TinkerGraph graph) {
+        return graph.vertexPropertyIdManager.getNextId(graph);
+    }
+
+    public static int getComputerSlot(final TinkerVertex vertex) {
+        return vertex.computerSlot;
+    }
+
+    public static void setComputerSlot(final TinkerVertex vertex, final int slot) {
+        vertex.computerSlot = slot;
+    }
+
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
         return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
     }
@@ -145,13 +202,13 @@ public final class TinkerHelper {
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
-            graph.vertexIndex.remove(key, value, vertex);
+            graph.vertexIndex.autoRemove(key, value, vertex);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
-            graph.edgeIndex.remove(key, value, edge);
+            graph.edgeIndex.autoRemove(key, value, edge);
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
@@ -184,21 +241,21 @@ public final class TinkerHelper {
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (vertex.outEdges != null) {
                 if (edgeLabels.length == 0)
-                    vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
+                    vertex.outEdges.values().forEach(edges -> addAdjacentVertices(edges, true, vertices));
                 else if (edgeLabels.length == 1)
-                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    addAdjacentVertices(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()), true, vertices);
                 else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).forEach(edges -> addAdjacentVertices(edges, true, vertices));
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
             if (vertex.inEdges != null) {
                 if (edgeLabels.length == 0)
-                    vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
+                    vertex.inEdges.values().forEach(edges -> addAdjacentVertices(edges, false, vertices));
                 else if (edgeLabels.length == 1)
-                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    addAdjacentVertices(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()), false, vertices);
                 else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).forEach(edges -> addAdjacentVertices(edges, false, vertices));
             }
         }
         return (Iterator) vertices.iterator();
@@ -18,27 +18,56 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
-    protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    /**
+     * The key under which the label of an element is given to a composite index (the type parameter hides
+     * {@code T} itself).
+     */
+    private static final String LABEL = org.apache.tinkerpop.gremlin.structure.T.label.getAccessor();
+
+    protected Map<String, ConcurrentMap<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<String, ConcurrentNavigableMap<Object, Set<T>>> orderedIndex = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicLong> orderedCounts = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentMap<T, Integer>> orderedElements = new ConcurrentHashMap<>();
+    protected Map<List<String>, CompositeIndex<T>> compositeIndex = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -47,65 +76,225 @@ final class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
+        final ConcurrentNavigableMap<Object, Set<T>> orderedMap = this.orderedIndex.get(key);
+        if (null != orderedMap && value instanceof Comparable) {
+            final AtomicLong count = this.orderedCounts.get(key);
+            final ConcurrentMap<T, Integer> elements = this.orderedElements.get(key);
+            if (addToBucket(orderedMap, value, element) && null != count) {
+                count.incrementAndGet();
+                elements.merge(element, 1, Integer::sum);
+            }
+            return;
         }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
+        addToBucket(this.index.computeIfAbsent(key, k -> new ConcurrentHashMap<>()), value, element);
+    }
+
+    public List<T> get(final String key, final Object value) {
+        return new ArrayList<>(this.bucket(key, value));
+    }
+
+    /**
+     * Adds the element to the bucket of the value, creating the bucket if needed. Buckets are concurrent sets so
+     * that readers never block and never need a copy of the bucket. Writers hold the monitor of the bucket only
+     * for the add itself so that an add can't land in a bucket that a concurrent {@link #removeFromBucket} has
+     * just unlinked from the map for being empty, in which case the add is retried against a new bucket.
+     *
+     * @return {@code true} if the element was not already in the bucket
+     */
+    private static <T> boolean addToBucket(final ConcurrentMap<Object, Set<T>> buckets, final Object value, final T element) {
+        while (true) {
+            final Set<T> bucket = buckets.computeIfAbsent(value, v -> ConcurrentHashMap.newKeySet());
+            synchronized (bucket) {
+                if (buckets.get(value) == bucket)
+                    return bucket.add(element);
+            }
         }
-        objects.add(element);
+    }
 
+    /**
+     * Removes the element from the bucket of the value and unlinks the bucket if it is left empty.
+     *
+     * @return {@code true} if the element was in the bucket
+     */
+    private static <T> boolean removeFromBucket(final ConcurrentMap<Object, Set<T>> buckets, final Object value, final T element) {
+        final Set<T> bucket = buckets.get(value);
+        if (null == bucket)
+            return false;
+        synchronized (bucket) {
+            final boolean removed = bucket.remove(element);
+            if (bucket.isEmpty())
+                buckets.remove(value, bucket);
+            return removed;
+        }
     }
 
-    public List<T> get(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null == keyMap) {
-            return Collections.emptyList();
-        } else {
-            Set<T> set = keyMap.get(value);
-            if (null == set)
-                return Collections.emptyList();
-            else
-                return new ArrayList<>(set);
+    /**
+     * Get the candidate elements for a set of {@link HasContainer} objects from the most selective index that can
+     * answer one (or several, in the case of a composite index) of them. The cardinality of each index lookup is
+     * taken from the size of the bucket it would return, while range lookups on an
+     * {@link TinkerGraph.IndexType#ORDERED} index are only counted as far as needed to know that they are not the
+     * most selective. The candidates must still be tested against all of the containers.
+     * <p/>
+     * An equality lookup returns the live bucket rather than a copy of it, so the caller should consume it right
+     * away. Iterating it is safe while the index is being updated, although concurrent updates may or may not be
+     * seen.
+     *
+     * @param equalityOnly only consider index lookups by equality
+     * @return the candidate elements or {@code null} if no index can answer any of the containers
+     */
+    public Collection<T> get(final List<HasContainer> hasContainers, final boolean equalityOnly) {
+        final Map<String, Object> equalities = new HashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getBiPredicate() == Compare.eq && null != hasContainer.getValue())
+                equalities.putIfAbsent(hasContainer.getKey(), hasContainer.getValue());
         }
+
+        Supplier<Collection<T>> best = null;
+        long bestCount = Long.MAX_VALUE;
+        for (final CompositeIndex<T> composite : this.compositeIndex.values()) {
+            if (equalities.keySet().containsAll(composite.keys)) {
+                final List<Object> values = composite.keys.stream().map(equalities::get).collect(Collectors.toList());
+                final Set<T> bucket = composite.get(values);
+                if (bucket.size() < bestCount) {
+                    bestCount = bucket.size();
+                    best = () -> bucket;
+                }
+            }
+        }
+        for (final Map.Entry<String, Object> equality : equalities.entrySet()) {
+            if (this.indexedKeys.contains(equality.getKey())) {
+                final Set<T> bucket = this.bucket(equality.getKey(), equality.getValue());
+                if (bucket.size() < bestCount) {
+                    bestCount = bucket.size();
+                    best = () -> bucket;
+                }
+            }
+        }
+        if (!equalityOnly) {
+            for (final HasContainer hasContainer : hasContainers) {
+                final ConcurrentNavigableMap<Object, Set<T>> orderedMap = this.orderedIndex.get(hasContainer.getKey());
+                if (null != orderedMap && hasContainer.getBiPredicate() != Compare.eq && isRangePredicate(hasContainer.getPredicate())) {
+                    final List<Collection<Set<T>>> ranges = this.ranges(orderedMap, hasContainer.getPredicate());
+                    final long count = countUpTo(ranges, bestCount);
+                    if (count < bestCount) {
+                        bestCount = count;
+                        best = () -> {
+                            final Set<T> elements = new LinkedHashSet<>();
+                            ranges.forEach(range -> range.forEach(elements::addAll));
+                            return elements;
+                        };
+                    }
+                }
+            }
+        }
+        return null == best ? null : best.get();
     }
 
-    public long count(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null == keyMap) {
-            return 0;
-        } else {
-            Set<T> set = keyMap.get(value);
-            if (null == set)
-                return 0;
-            else
-                return set.size();
+    private Set<T> bucket(final String key, final Object value) {
+        final ConcurrentNavigableMap<Object, Set<T>> orderedMap = this.orderedIndex.get(key);
+        final Map<Object, Set<T>> keyMap = null != orderedMap && value instanceof Comparable ? orderedMap : this.index.get(key);
+        final Set<T> bucket = null == keyMap ? null : keyMap.get(value);
+        return null == bucket ? Collections.emptySet() : bucket;
+    }
+
+    private List<Collection<Set<T>>> ranges(final ConcurrentNavigableMap<Object, Set<T>> orderedMap, final P<?> predicate) {
+        final List<Collection<Set<T>>> buckets = new ArrayList<>();
+        for (final Range range : toRanges(predicate)) {
+            if (!range.isEmpty())
+                buckets.add(orderedMap.subMap(range.low, range.lowInclusive, range.high, range.highInclusive).values());
         }
+        return buckets;
     }
 
-    public void remove(final String key, final Object value, final T element) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
+    private static <T> long countUpTo(final List<Collection<Set<T>>> ranges, final long limit) {
+        long count = 0;
+        for (final Collection<Set<T>> range : ranges) {
+            for (final Set<T> bucket : range) {
+                count = count + bucket.size();
+                if (count >= limit)
+                    return count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get up to {@code limit} distinct elements in the order of their value for the key. Only the values that are of
+     * the same type family as the first (or last, if descending) value are considered. If the index does not hold
+     * a comparable value for every element of the graph, then {@code null} is returned as the elements without one
+     * could not be ordered. The same goes for an element with several values for the key, which could not be ordered
+     * by the traversal either. This is decided on each call, so the index is used again once such values are removed.
+     * <p/>
+     * The number of entries in the index is compared with the number of distinct elements in it, which is the
+     * number of elements the key has a reference count for, and both are compared with the number of elements in the
+     * graph.
+     */
+    public List<T> getOrdered(final String key, final boolean descending, final long limit, final Predicate<T> filter) {
+        final ConcurrentNavigableMap<Object, Set<T>> orderedMap = this.orderedIndex.get(key);
+        if (null == orderedMap || orderedMap.isEmpty())
+            return null;
+        // values that are not comparable are kept in the hash index and the buckets of it are unlinked once empty
+        final Map<Object, Set<T>> unorderedMap = this.index.get(key);
+        if (null != unorderedMap && !unorderedMap.isEmpty())
+            return null;
+        final long total = Vertex.class.isAssignableFrom(this.indexClass) ? this.graph.vertices.size() : this.graph.edges.size();
+        final long indexed = this.orderedElements.get(key).size();
+        if (indexed != total || this.orderedCounts.get(key).get() != indexed)
+            return null;
+        // mixed families can't be ordered in the traversal itself so let the traversal deal with it as usual
+        final Map.Entry<Object, Set<T>> first = orderedMap.firstEntry();
+        final Map.Entry<Object, Set<T>> last = orderedMap.lastEntry();
+        if (null == first || null == last || !family(first.getKey()).equals(family(last.getKey())))
+            return null;
+
+        final Set<T> elements = new LinkedHashSet<>();
+        for (final Set<T> set : (descending ? orderedMap.descendingMap() : orderedMap).values()) {
+            for (final T element : set) {
+                if (filter.test(element)) {
+                    elements.add(element);
+                    if (elements.size() >= limit)
+                        return new ArrayList<>(elements);
                 }
             }
         }
+        return new ArrayList<>(elements);
+    }
+
+    public long count(final String key, final Object value) {
+        return this.bucket(key, value).size();
     }
 
+    public void remove(final String key, final Object value, final T element) {
+        final ConcurrentNavigableMap<Object, Set<T>> orderedMap = this.orderedIndex.get(key);
+        if (null != orderedMap && value instanceof Comparable) {
+            final AtomicLong count = this.orderedCounts.get(key);
+            final ConcurrentMap<T, Integer> elements = this.orderedElements.get(key);
+            if (removeFromBucket(orderedMap, value, element) && null != count) {
+                count.decrementAndGet();
+                elements.computeIfPresent(element, (e, c) -> c == 1 ? null : c - 1);
+            }
+            return;
+        }
+
+        final ConcurrentMap<Object, Set<T>> keyMap = this.index.get(key);
+        if (null != keyMap)
+            removeFromBucket(keyMap, value, element);
+    }
+
+    /**
+     * Removes the element from every index. Only the buckets of the values the element currently holds for the
+     * indexed keys are visited, so the element must be removed from the index before its properties are cleared.
+     */
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
-                }
+            for (final String key : this.indexedKeys) {
+                if (key.equals(LABEL))
+                    this.remove(key, element.label(), element);
+                else
+                    element.properties(key).forEachRemaining(property -> this.remove(key, property.value(), element));
+            }
+            for (final CompositeIndex<T> composite : this.compositeIndex.values()) {
+                composite.remove(element);
             }
         }
     }
@@ -116,21 +305,74 @@ final class TinkerIndex<T extends Element> {
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateCompositeIndices(key, element);
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
             this.remove(key, oldValue, element);
+        this.updateCompositeIndices(key, element);
+    }
+
+    private void updateCompositeIndices(final String key, final T element) {
+        for (final CompositeIndex<T> composite : this.compositeIndex.values()) {
+            if (composite.keys.contains(key))
+                composite.update(element);
+        }
+    }
+
+    public void createCompositeIndex(final List<String> keys) {
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys");
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+        if (new HashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys of a composite index must be unique: " + keys);
+        if (keys.stream().allMatch(key -> key.equals(LABEL)))
+            throw new IllegalArgumentException("A composite index requires at least one property key");
+
+        if (this.compositeIndex.containsKey(keys))
+            return;
+        final CompositeIndex<T> composite = new CompositeIndex<>(new ArrayList<>(keys));
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>stream() :
+                this.graph.edges.values().<T>stream())
+                .forEach(e -> composite.update((T) e));
+        this.compositeIndex.put(composite.keys, composite);
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        this.compositeIndex.remove(keys);
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return Collections.unmodifiableSet(this.compositeIndex.keySet());
     }
 
     public void createKeyIndex(final String key) {
+        this.createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
 
-        if (this.indexedKeys.contains(key))
+        if (this.indexedKeys.contains(key)) {
+            if (this.getIndexType(key) != indexType)
+                throw new IllegalStateException(String.format("The key %s is already indexed as %s", key, this.getIndexType(key)));
             return;
+        }
+        if (indexType == TinkerGraph.IndexType.ORDERED) {
+            this.orderedCounts.put(key, new AtomicLong(0));
+            this.orderedElements.put(key, new ConcurrentHashMap<>());
+            this.orderedIndex.put(key, new ConcurrentSkipListMap<>(VALUE_ORDER));
+        }
         this.indexedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
@@ -144,6 +386,10 @@ final class TinkerIndex<T extends Element> {
     public void dropKeyIndex(final String key) {
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
+        if (this.orderedIndex.containsKey(key))
+            this.orderedIndex.remove(key).clear();
+        this.orderedCounts.remove(key);
+        this.orderedElements.remove(key);
 
         this.indexedKeys.remove(key);
     }
@@ -151,4 +397,196 @@ final class TinkerIndex<T extends Element> {
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        if (!this.indexedKeys.contains(key))
+            return null;
+        return this.orderedIndex.containsKey(key) ? TinkerGraph.IndexType.ORDERED : TinkerGraph.IndexType.HASH;
+    }
+
+    /**
+     * Determines if the predicate can be answered by a range scan of an {@link TinkerGraph.IndexType#ORDERED} index,
+     * which is the case for {@link Compare} predicates other than {@link Compare#neq} and conjunctions or disjunctions
+     * of them (e.g. {@code inside()}, {@code outside()} and {@code between()}).
+     */
+    private static boolean isRangePredicate(final P<?> predicate) {
+        if (predicate instanceof ConnectiveP)
+            return ((ConnectiveP<?>) predicate).getPredicates().stream().allMatch(TinkerIndex::isRangePredicate);
+        return predicate.getBiPredicate() instanceof Compare && predicate.getBiPredicate() != Compare.neq &&
+                predicate.getValue() instanceof Comparable;
+    }
+
+    private static List<Range> toRanges(final P<?> predicate) {
+        if (predicate instanceof OrP) {
+            final List<Range> ranges = new ArrayList<>();
+            for (final P<?> p : ((OrP<?>) predicate).getPredicates()) {
+                ranges.addAll(toRanges(p));
+            }
+            return ranges;
+        } else if (predicate instanceof AndP) {
+            List<Range> ranges = null;
+            for (final P<?> p : ((AndP<?>) predicate).getPredicates()) {
+                final List<Range> childRanges = toRanges(p);
+                if (null == ranges)
+                    ranges = childRanges;
+                else {
+                    final List<Range> intersections = new ArrayList<>();
+                    for (final Range a : ranges) {
+                        for (final Range b : childRanges) {
+                            intersections.add(a.intersect(b));
+                        }
+                    }
+                    ranges = intersections;
+                }
+            }
+            return null == ranges ? Collections.emptyList() : ranges;
+        } else {
+            final Object value = predicate.getValue();
+            final Bound low = new Bound(family(value), false);
+            final Bound high = new Bound(family(value), true);
+            switch ((Compare) predicate.getBiPredicate()) {
+                case eq:
+                    return Collections.singletonList(new Range(value, true, value, true));
+                case lt:
+                    return Collections.singletonList(new Range(low, true, value, false));
+                case lte:
+                    return Collections.singletonList(new Range(low, true, value, true));
+                case gt:
+                    return Collections.singletonList(new Range(value, false, high, true));
+                case gte:
+                    return Collections.singletonList(new Range(value, true, high, true));
+                default:
+                    throw new IllegalArgumentException("The predicate can not be answered by an ordered index: " + predicate);
+            }
+        }
+    }
+
+    /**
+     * Values that are compared by an ordered index belong to a family within which they are mutually comparable.
+     * All {@link Number} values are a single family so that, as with {@link Compare}, {@code 1} and {@code 1l} are
+     * treated as equal. Every other value belongs to the family of its class.
+     */
+    private static String family(final Object value) {
+        if (value instanceof Bound)
+            return ((Bound) value).family;
+        return value instanceof Number ? Number.class.getName() : value.getClass().getName();
+    }
+
+    private static final Comparator<Object> VALUE_ORDER = (a, b) -> {
+        final int familyComparison = family(a).compareTo(family(b));
+        if (familyComparison != 0)
+            return familyComparison;
+        if (a instanceof Bound)
+            return b instanceof Bound && ((Bound) a).high == ((Bound) b).high ? 0 : ((Bound) a).high ? 1 : -1;
+        if (b instanceof Bound)
+            return ((Bound) b).high ? -1 : 1;
+        if (a instanceof Number && !a.getClass().equals(b.getClass()))
+            return compareNumbers((Number) a, (Number) b);
+        return ((Comparable) a).compareTo(b);
+    };
+
+    /**
+     * Compares numbers of different classes exactly through {@link BigDecimal}. NaN and the infinities have no
+     * {@link BigDecimal} form, so when one of them is involved the numbers are compared as doubles, which orders them
+     * as {@link Double#compareTo(Double)} does.
+     */
+    private static int compareNumbers(final Number a, final Number b) {
+        if (!isFinite(a) || !isFinite(b))
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString()));
+    }
+
+    private static boolean isFinite(final Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            final double d = number.doubleValue();
+            return !Double.isNaN(d) && !Double.isInfinite(d);
+        }
+        return true;
+    }
+
+    /**
+     * An index over the values of several keys (where {@code T.label} may be one of them). An element is only
+     * indexed if it has exactly one value for each of the keys. The values an element is currently indexed under are
+     * kept so that updates and removals don't have to search the buckets.
+     */
+    private static final class CompositeIndex<T extends Element> {
+        private final List<String> keys;
+        private final ConcurrentMap<Object, Set<T>> buckets = new ConcurrentHashMap<>();
+        private final Map<T, List<Object>> indexedValues = new ConcurrentHashMap<>();
+
+        private CompositeIndex(final List<String> keys) {
+            this.keys = keys;
+        }
+
+        private Set<T> get(final List<Object> values) {
+            return this.buckets.getOrDefault(values, Collections.emptySet());
+        }
+
+        private void update(final T element) {
+            this.remove(element);
+            final List<Object> values = new ArrayList<>(this.keys.size());
+            for (final String key : this.keys) {
+                if (key.equals(LABEL))
+                    values.add(element.label());
+                else {
+                    final Iterator<? extends Property<Object>> properties = element.properties(key);
+                    if (!properties.hasNext())
+                        return;
+                    values.add(properties.next().value());
+                    if (properties.hasNext())
+                        return;
+                }
+            }
+            addToBucket(this.buckets, values, element);
+            this.indexedValues.put(element, values);
+        }
+
+        private void remove(final T element) {
+            final List<Object> values = this.indexedValues.remove(element);
+            if (null != values)
+                removeFromBucket(this.buckets, values, element);
+        }
+    }
+
+    /**
+     * A sentinel value that sorts before (or after, if {@code high}) every value of its family.
+     */
+    private static final class Bound {
+        private final String family;
+        private final boolean high;
+
+        private Bound(final String family, final boolean high) {
+            this.family = family;
+            this.high = high;
+        }
+    }
+
+    private static final class Range {
+        private final Object low;
+        private final boolean lowInclusive;
+        private final Object high;
+        private final boolean highInclusive;
+
+        private Range(final Object low, final boolean lowInclusive, final Object high, final boolean highInclusive) {
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+        }
+
+        private boolean isEmpty() {
+            final int comparison = VALUE_ORDER.compare(this.low, this.high);
+            return comparison > 0 || (comparison == 0 && !(this.lowInclusive && this.highInclusive));
+        }
+
+        private Range intersect(final Range other) {
+            final int lowComparison = VALUE_ORDER.compare(this.low, other.low);
+            final int highComparison = VALUE_ORDER.compare(this.high, other.high);
+            return new Range(
+                    lowComparison > 0 ? this.low : other.low,
+                    lowComparison > 0 ? this.lowInclusive : lowComparison < 0 ? other.lowInclusive : this.lowInclusive && other.lowInclusive,
+                    highComparison < 0 ? this.high : other.high,
+                    highComparison < 0 ? this.highInclusive : highComparison > 0 ? other.highInclusive : this.highInclusive && other.highInclusive);
+        }
+    }
 }
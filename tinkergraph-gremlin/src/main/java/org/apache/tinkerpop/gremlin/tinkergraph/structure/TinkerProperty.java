@@ -82,5 +82,7 @@ public final class TinkerProperty<V> implements Property<V> {
         } else {
             ((TinkerVertexProperty) this.element).properties.remove(this.key);
         }
+        final TinkerGraph graph = (TinkerGraph) this.element.graph();
+        if (null != graph.writeAheadLog) graph.writeAheadLog.propertyRemoved(this);
     }
 }
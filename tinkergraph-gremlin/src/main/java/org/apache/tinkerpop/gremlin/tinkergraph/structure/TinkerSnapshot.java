@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.ByteBufferInput;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes the {@code snapshot} format of {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT}, which is a
+ * binary image of a {@link TinkerGraph} meant to be loaded as quickly as possible. Rather than creating each element
+ * through the {@link org.apache.tinkerpop.gremlin.structure.Graph} API, as a {@code GraphReader} must, the elements
+ * are constructed directly and the indices, whose definitions are part of the snapshot, are built once all of the
+ * elements are loaded.
+ * <p/>
+ * The file is a header followed by chunks that are each memory-mapped when read, which keeps the file size free of
+ * the two gigabyte limit of a single {@code MappedByteBuffer}. Every chunk is a one byte type and a four byte length
+ * followed by its content:
+ * <ul>
+ *     <li>{@code STRINGS} - the vertex count and a table of every label and property key, which the other chunks
+ *     refer to by position</li>
+ *     <li>{@code VERTICES} - a column of labels, a column of ids and then the properties of each vertex</li>
+ *     <li>{@code EDGES} - the out edges of a range of vertices as offsets into the columns that follow (so each
+ *     vertex's edges are contiguous), then columns of labels, in vertex positions and ids, then the properties of
+ *     each edge</li>
+ *     <li>{@code INDICES} - the keys and types of the indices</li>
+ * </ul>
+ * Ids and values are Gryo-encoded.
+ *
+ * @author agent
+ */
+final class TinkerSnapshot {
+
+    private static final int MAGIC = 0x54475331;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int CHUNK_HEADER_SIZE = 5;
+    private static final int ELEMENTS_PER_CHUNK = 1 << 16;
+
+    private static final byte STRINGS = 1;
+    private static final byte VERTICES = 2;
+    private static final byte EDGES = 3;
+    private static final byte INDICES = 4;
+
+    private TinkerSnapshot() {
+    }
+
+    static void write(final TinkerGraph graph, final File file) throws IOException {
+        final Kryo kryo = createKryo();
+        final Map<String, Integer> strings = new HashMap<>();
+        final List<TinkerVertex> vertices = new ArrayList<>(graph.vertices.size());
+        final Map<Vertex, Integer> ordinals = new IdentityHashMap<>(graph.vertices.size());
+        for (final Vertex vertex : graph.vertices.values()) {
+            ordinals.put(vertex, vertices.size());
+            vertices.add((TinkerVertex) vertex);
+            intern(strings, vertex.label());
+            for (final List<VertexProperty> vertexProperties : TinkerHelper.getProperties((TinkerVertex) vertex).values()) {
+                for (final VertexProperty<?> vertexProperty : vertexProperties) {
+                    intern(strings, vertexProperty.key());
+                    vertexProperty.properties().forEachRemaining(property -> intern(strings, property.key()));
+                }
+            }
+            for (final Collection<Edge> edges : outEdges((TinkerVertex) vertex).values()) {
+                for (final Edge edge : edges) {
+                    intern(strings, edge.label());
+                    edge.keys().forEach(key -> intern(strings, key));
+                }
+            }
+        }
+        for (final String key : indexedKeys(graph)) {
+            intern(strings, key);
+        }
+
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(channel, header);
+
+            final Output output = new Output(1 << 16, -1);
+            final String[] table = new String[strings.size()];
+            strings.forEach((string, position) -> table[position] = string);
+            output.writeVarInt(vertices.size(), true);
+            output.writeVarInt(table.length, true);
+            for (final String string : table) {
+                output.writeString(string);
+            }
+            writeChunk(channel, STRINGS, output);
+
+            for (int start = 0; start < vertices.size(); start = start + ELEMENTS_PER_CHUNK) {
+                writeVertices(kryo, strings, vertices.subList(start, Math.min(vertices.size(), start + ELEMENTS_PER_CHUNK)), output);
+                writeChunk(channel, VERTICES, output);
+            }
+
+            int start = 0;
+            while (start < vertices.size()) {
+                // a chunk holds all of the out edges of each of its vertices
+                int end = start;
+                int edges = 0;
+                while (end < vertices.size() && (end == start || edges < ELEMENTS_PER_CHUNK)) {
+                    edges = edges + degree(vertices.get(end++));
+                }
+                writeEdges(kryo, strings, ordinals, vertices, start, end, output);
+                writeChunk(channel, EDGES, output);
+                start = end;
+            }
+
+            writeIndices(graph, strings, output);
+            writeChunk(channel, INDICES, output);
+        }
+    }
+
+    static void read(final TinkerGraph graph, final File file) throws IOException {
+        final Kryo kryo = createKryo();
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(Math.max(HEADER_SIZE, CHUNK_HEADER_SIZE));
+            header.limit(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph snapshot", file));
+            final int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(String.format("%s is a version %s TinkerGraph snapshot but only version %s is supported", file, version, VERSION));
+
+            String[] strings = new String[0];
+            TinkerVertex[] vertices = new TinkerVertex[0];
+            int vertexCount = 0;
+            long position = HEADER_SIZE;
+            final long size = channel.size();
+            while (position < size) {
+                header.clear();
+                header.limit(CHUNK_HEADER_SIZE);
+                readFully(channel, header, position);
+                header.flip();
+                final byte type = header.get();
+                final int length = header.getInt();
+                final ByteBufferInput input = new ReadOnlyInput(channel.map(FileChannel.MapMode.READ_ONLY, position + CHUNK_HEADER_SIZE, length));
+                switch (type) {
+                    case STRINGS:
+                        vertices = new TinkerVertex[input.readVarInt(true)];
+                        strings = new String[input.readVarInt(true)];
+                        for (int i = 0; i < strings.length; i++) {
+                            strings[i] = input.readString();
+                        }
+                        break;
+                    case VERTICES:
+                        vertexCount = vertexCount + readVertices(graph, kryo, strings, vertices, vertexCount, input);
+                        break;
+                    case EDGES:
+                        readEdges(graph, kryo, strings, vertices, input);
+                        break;
+                    case INDICES:
+                        readIndices(graph, strings, input);
+                        break;
+                    default:
+                        throw new IOException(String.format("Unknown chunk type %s in TinkerGraph snapshot %s", type, file));
+                }
+                position = position + CHUNK_HEADER_SIZE + length;
+            }
+        }
+    }
+
+    private static void writeVertices(final Kryo kryo, final Map<String, Integer> strings, final List<TinkerVertex> vertices, final Output output) {
+        output.writeVarInt(vertices.size(), true);
+        for (final TinkerVertex vertex : vertices) {
+            output.writeVarInt(strings.get(vertex.label()), true);
+        }
+        for (final TinkerVertex vertex : vertices) {
+            kryo.writeClassAndObject(output, vertex.id());
+        }
+        for (final TinkerVertex vertex : vertices) {
+            final Map<String, List<VertexProperty>> properties = TinkerHelper.getProperties(vertex);
+            output.writeVarInt(properties.values().stream().mapToInt(List::size).sum(), true);
+            for (final List<VertexProperty> vertexProperties : properties.values()) {
+                for (final VertexProperty<?> vertexProperty : vertexProperties) {
+                    output.writeVarInt(strings.get(vertexProperty.key()), true);
+                    kryo.writeClassAndObject(output, vertexProperty.id());
+                    kryo.writeClassAndObject(output, vertexProperty.value());
+                    writeProperties(kryo, strings, vertexProperty.properties(), vertexProperty.keys().size(), output);
+                }
+            }
+        }
+    }
+
+    private static int readVertices(final TinkerGraph graph, final Kryo kryo, final String[] strings,
+                                    final TinkerVertex[] vertices, final int offset, final ByteBufferInput input) {
+        final int count = input.readVarInt(true);
+        final int[] labels = new int[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = input.readVarInt(true);
+        }
+        for (int i = 0; i < count; i++) {
+            final TinkerVertex vertex = new TinkerVertex(kryo.readClassAndObject(input), strings[labels[i]], graph);
+            graph.vertices.put(vertex.id(), vertex);
+            vertices[offset + i] = vertex;
+        }
+        for (int i = 0; i < count; i++) {
+            final TinkerVertex vertex = vertices[offset + i];
+            final int propertyCount = input.readVarInt(true);
+            if (propertyCount > 0)
+                vertex.properties = new HashMap<>();
+            for (int j = 0; j < propertyCount; j++) {
+                final String key = strings[input.readVarInt(true)];
+                final TinkerVertexProperty<Object> vertexProperty = new TinkerVertexProperty<>(
+                        kryo.readClassAndObject(input), vertex, key, kryo.readClassAndObject(input));
+                final int metaPropertyCount = input.readVarInt(true);
+                if (metaPropertyCount > 0)
+                    vertexProperty.properties = new HashMap<>();
+                for (int k = 0; k < metaPropertyCount; k++) {
+                    final String metaKey = strings[input.readVarInt(true)];
+                    vertexProperty.properties.put(metaKey, new TinkerProperty<>(vertexProperty, metaKey, kryo.readClassAndObject(input)));
+                }
+                vertex.properties.computeIfAbsent(key, k -> new ArrayList<>()).add(vertexProperty);
+            }
+        }
+        return count;
+    }
+
+    private static void writeEdges(final Kryo kryo, final Map<String, Integer> strings, final Map<Vertex, Integer> ordinals,
+                                   final List<TinkerVertex> vertices, final int start, final int end, final Output output) {
+        final List<Edge> edges = new ArrayList<>();
+        output.writeVarInt(start, true);
+        output.writeVarInt(end - start, true);
+        for (int i = start; i < end; i++) {
+            output.writeInt(edges.size());
+            outEdges(vertices.get(i)).values().forEach(edges::addAll);
+        }
+        output.writeInt(edges.size());
+        for (final Edge edge : edges) {
+            output.writeVarInt(strings.get(edge.label()), true);
+        }
+        for (final Edge edge : edges) {
+            output.writeInt(ordinals.get(((TinkerEdge) edge).inVertex));
+        }
+        for (final Edge edge : edges) {
+            kryo.writeClassAndObject(output, edge.id());
+        }
+        for (final Edge edge : edges) {
+            writeProperties(kryo, strings, edge.properties(), edge.keys().size(), output);
+        }
+    }
+
+    private static void readEdges(final TinkerGraph graph, final Kryo kryo, final String[] strings,
+                                  final TinkerVertex[] vertices, final ByteBufferInput input) {
+        final int start = input.readVarInt(true);
+        final int vertexCount = input.readVarInt(true);
+        final int[] offsets = new int[vertexCount + 1];
+        for (int i = 0; i <= vertexCount; i++) {
+            offsets[i] = input.readInt();
+        }
+        final int edgeCount = offsets[vertexCount];
+        final int[] labels = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            labels[i] = input.readVarInt(true);
+        }
+        final int[] inVertices = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            inVertices[i] = input.readInt();
+        }
+        final TinkerEdge[] edges = new TinkerEdge[edgeCount];
+        for (int i = 0; i < vertexCount; i++) {
+            final TinkerVertex outVertex = vertices[start + i];
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                final String label = strings[labels[j]];
+                final TinkerVertex inVertex = vertices[inVertices[j]];
+                final TinkerEdge edge = new TinkerEdge(kryo.readClassAndObject(input), outVertex, label, inVertex);
+                graph.edges.put(edge.id(), edge);
+                TinkerHelper.addOutEdge(outVertex, label, edge);
+                TinkerHelper.addInEdge(inVertex, label, edge);
+                edges[j] = edge;
+            }
+        }
+        for (final TinkerEdge edge : edges) {
+            final int propertyCount = input.readVarInt(true);
+            if (propertyCount > 0)
+                edge.properties = new HashMap<>();
+            for (int i = 0; i < propertyCount; i++) {
+                final String key = strings[input.readVarInt(true)];
+                edge.properties.put(key, new TinkerProperty<>(edge, key, kryo.readClassAndObject(input)));
+            }
+        }
+    }
+
+    private static void writeProperties(final Kryo kryo, final Map<String, Integer> strings,
+                                        final Iterator<? extends Property<?>> properties, final int count, final Output output) {
+        output.writeVarInt(count, true);
+        while (properties.hasNext()) {
+            final Property<?> property = properties.next();
+            output.writeVarInt(strings.get(property.key()), true);
+            kryo.writeClassAndObject(output, property.value());
+        }
+    }
+
+    private static void writeIndices(final TinkerGraph graph, final Map<String, Integer> strings, final Output output) {
+        for (final Class<? extends Element> elementClass : elementClasses()) {
+            final List<String> keys = new ArrayList<>(graph.getIndexedKeys(elementClass));
+            output.writeVarInt(keys.size(), true);
+            for (final String key : keys) {
+                output.writeVarInt(strings.get(key), true);
+                output.writeByte(TinkerHelper.getIndexType(graph, key, elementClass).ordinal());
+            }
+            final List<List<String>> compositeKeys = new ArrayList<>(graph.getCompositeIndexedKeys(elementClass));
+            output.writeVarInt(compositeKeys.size(), true);
+            for (final List<String> composite : compositeKeys) {
+                output.writeVarInt(composite.size(), true);
+                for (final String key : composite) {
+                    output.writeVarInt(strings.get(key), true);
+                }
+            }
+        }
+    }
+
+    private static void readIndices(final TinkerGraph graph, final String[] strings, final ByteBufferInput input) {
+        for (final Class<? extends Element> elementClass : elementClasses()) {
+            final int keyCount = input.readVarInt(true);
+            for (int i = 0; i < keyCount; i++) {
+                final String key = strings[input.readVarInt(true)];
+                graph.createIndex(key, elementClass, TinkerGraph.IndexType.values()[input.readByte()]);
+            }
+            final int compositeCount = input.readVarInt(true);
+            for (int i = 0; i < compositeCount; i++) {
+                final String[] keys = new String[input.readVarInt(true)];
+                for (int j = 0; j < keys.length; j++) {
+                    keys[j] = strings[input.readVarInt(true)];
+                }
+                graph.createCompositeIndex(elementClass, keys);
+            }
+        }
+    }
+
+    private static List<Class<? extends Element>> elementClasses() {
+        final List<Class<? extends Element>> elementClasses = new ArrayList<>();
+        elementClasses.add(Vertex.class);
+        elementClasses.add(Edge.class);
+        return elementClasses;
+    }
+
+    private static List<String> indexedKeys(final TinkerGraph graph) {
+        final List<String> keys = new ArrayList<>();
+        for (final Class<? extends Element> elementClass : elementClasses()) {
+            keys.addAll(graph.getIndexedKeys(elementClass));
+            graph.getCompositeIndexedKeys(elementClass).forEach(keys::addAll);
+        }
+        return keys;
+    }
+
+    private static Map<String, Collection<Edge>> outEdges(final TinkerVertex vertex) {
+        return null == vertex.outEdges ? new HashMap<>() : vertex.outEdges;
+    }
+
+    private static int degree(final TinkerVertex vertex) {
+        return outEdges(vertex).values().stream().mapToInt(Collection::size).sum();
+    }
+
+    private static void intern(final Map<String, Integer> strings, final String string) {
+        if (!strings.containsKey(string))
+            strings.put(string, strings.size());
+    }
+
+    private static Kryo createKryo() {
+        return GryoMapper.build().addRegistry(TinkerIoRegistry.getInstance()).create().createMapper();
+    }
+
+    private static void writeChunk(final FileChannel channel, final byte type, final Output output) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+        header.put(type).putInt(output.position()).flip();
+        writeFully(channel, header);
+        writeFully(channel, ByteBuffer.wrap(output.getBuffer(), 0, output.position()));
+        output.clear();
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, current);
+            if (read < 0)
+                throw new IOException("Unexpected end of TinkerGraph snapshot");
+            current = current + read;
+        }
+    }
+
+    /**
+     * A {@code ByteBufferInput} over a read-only chunk. Kryo reads an ASCII string by clearing, and then restoring,
+     * the stop bit of its last byte in place, which a read-only buffer rejects, so those strings are read a byte at a
+     * time instead.
+     */
+    private static final class ReadOnlyInput extends ByteBufferInput {
+
+        ReadOnlyInput(final ByteBuffer buffer) {
+            super(buffer);
+        }
+
+        @Override
+        public String readString() {
+            // the high bit of the first byte marks a length-prefixed (null, empty or UTF-8) string
+            if ((this.getByteBuffer().get(this.position()) & 0x80) != 0)
+                return super.readString();
+            final StringBuilder ascii = new StringBuilder();
+            byte b;
+            do {
+                b = this.readByte();
+                ascii.append((char) (b & 0x7F));
+            } while ((b & 0x80) == 0);
+            return ascii.toString();
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -43,9 +44,10 @@ import java.util.stream.Collectors;
 public final class TinkerVertex extends TinkerElement implements Vertex {
 
     protected Map<String, List<VertexProperty>> properties;
-    protected Map<String, Set<Edge>> outEdges;
-    protected Map<String, Set<Edge>> inEdges;
+    protected Map<String, Collection<Edge>> outEdges;
+    protected Map<String, Collection<Edge>> inEdges;
     private final TinkerGraph graph;
+    protected int computerSlot = -1;
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label);
@@ -105,6 +107,7 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             list.add(vertexProperty);
             this.properties.put(key, list);
             TinkerHelper.autoUpdateIndex(this, key, value, null);
+            if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.vertexPropertyAdded(vertexProperty);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         }
@@ -130,10 +133,11 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         final List<Edge> edges = new ArrayList<>();
         this.edges(Direction.BOTH).forEachRemaining(edges::add);
         edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
         TinkerHelper.removeElementIndex(this);
+        this.properties = null;
         this.graph.vertices.remove(this.id);
         this.removed = true;
+        if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.vertexRemoved(this);
     }
 
     @Override
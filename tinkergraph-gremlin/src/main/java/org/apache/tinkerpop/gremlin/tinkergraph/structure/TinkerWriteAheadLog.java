@@ -0,0 +1,473 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the mutations made to a {@link TinkerGraph} that is persisted with
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} enabled. Each mutation is written as a Gryo-encoded record
+ * as it happens, so that closing the graph only has to close the log and a graph that was not closed (e.g. after a
+ * crash) loses nothing that reached the log. When the graph is opened the snapshot at
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is loaded as usual and the log is replayed on top of it.
+ * Once the log holds {@link TinkerGraph#GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_COMPACTION_THRESHOLD} records, it is
+ * compacted without holding up the mutation that crossed the threshold: the log is renamed to a retired segment, a
+ * new log is started in its place and a background thread writes a new snapshot and then deletes the retired
+ * segment. On open, a retired segment that is still present is replayed before the log.
+ * <p/>
+ * Every record is framed by its length and a CRC32 checksum so that a partially written record at the end of the
+ * log is detected and discarded on replay. As the snapshot is written while the graph continues to change, it may
+ * already hold the effect of records in the new log, and a crash can happen after a new snapshot is written but
+ * before the retired segment is deleted, so replaying a record is a no-op if its effect is already present in the
+ * graph.
+ *
+ * @author agent
+ */
+final class TinkerWriteAheadLog implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte ADD_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte ADD_VERTEX_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX_PROPERTY = 6;
+    private static final byte SET_EDGE_PROPERTY = 7;
+    private static final byte REMOVE_EDGE_PROPERTY = 8;
+    private static final byte SET_META_PROPERTY = 9;
+    private static final byte REMOVE_META_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    /**
+     * The number of times a background snapshot is attempted as it may fail on a change the graph is in the middle of.
+     */
+    private static final int SNAPSHOT_ATTEMPTS = 3;
+
+    private static final BasicThreadFactory THREAD_FACTORY_COMPACTION = new BasicThreadFactory.Builder()
+            .namingPattern("tinkergraph-wal-compaction-%d").daemon(true).build();
+
+    private final TinkerGraph graph;
+    private final File file;
+    private final File retiredFile;
+    private FileChannel channel;
+    private final long compactionThreshold;
+    private final boolean sync;
+    private final Runnable snapshot;
+    private final Kryo kryo;
+    private final Output output = new Output(4096, -1);
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    private final CRC32 checksum = new CRC32();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(THREAD_FACTORY_COMPACTION);
+    private Future<?> compaction = null;
+    private long records = 0;
+
+    /**
+     * @param compactionThreshold the number of records after which {@code snapshot} is called and the log truncated
+     * @param sync                force each record to the storage device before the mutation returns
+     * @param snapshot            writes the current state of the graph to its snapshot file
+     */
+    TinkerWriteAheadLog(final TinkerGraph graph, final File file, final long compactionThreshold,
+                        final boolean sync, final Runnable snapshot) throws IOException {
+        this.graph = graph;
+        this.file = file;
+        this.compactionThreshold = compactionThreshold;
+        this.sync = sync;
+        this.snapshot = snapshot;
+        this.retiredFile = new File(file.getPath() + ".compacting");
+        this.kryo = GryoMapper.build().addRegistry(TinkerIoRegistry.getInstance()).create().createMapper();
+
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists())
+            parent.mkdirs();
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Applies every complete record in the log to the graph and positions the log after the last of them. Anything
+     * after the last complete record is truncated. If a compaction did not finish, the retired segment is replayed
+     * first and the compaction is completed before returning. The graph must not be logging to this log while it is
+     * replayed.
+     */
+    synchronized void replay() throws IOException {
+        if (this.retiredFile.exists()) {
+            try (final FileChannel retired = FileChannel.open(this.retiredFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                this.replay(retired);
+            }
+        }
+        this.replay(this.channel);
+
+        if (this.retiredFile.exists()) {
+            this.snapshot.run();
+            Files.delete(this.retiredFile.toPath());
+            this.channel.truncate(0);
+            this.channel.position(0);
+            this.records = 0;
+        }
+    }
+
+    private void replay(final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        long position = 0;
+        channel.position(0);
+        while (position + HEADER_SIZE <= size) {
+            this.header.clear();
+            if (!readFully(channel, this.header))
+                break;
+            this.header.flip();
+            final int length = this.header.getInt();
+            final int expectedChecksum = this.header.getInt();
+            if (length < 0 || position + HEADER_SIZE + length > size)
+                break;
+            final ByteBuffer payload = ByteBuffer.allocate(length);
+            if (!readFully(channel, payload))
+                break;
+            this.checksum.reset();
+            this.checksum.update(payload.array(), 0, length);
+            if ((int) this.checksum.getValue() != expectedChecksum)
+                break;
+            this.apply(new Input(payload.array()));
+            position = position + HEADER_SIZE + length;
+            this.records++;
+        }
+        channel.truncate(position);
+        channel.position(position);
+    }
+
+    void vertexAdded(final Vertex vertex) {
+        this.append(ADD_VERTEX, output -> {
+            this.kryo.writeClassAndObject(output, vertex.id());
+            output.writeString(vertex.label());
+        });
+    }
+
+    void vertexRemoved(final Vertex vertex) {
+        this.append(REMOVE_VERTEX, output -> this.kryo.writeClassAndObject(output, vertex.id()));
+    }
+
+    void edgeAdded(final Edge edge) {
+        this.append(ADD_EDGE, output -> {
+            this.kryo.writeClassAndObject(output, edge.id());
+            output.writeString(edge.label());
+            this.kryo.writeClassAndObject(output, edge.outVertex().id());
+            this.kryo.writeClassAndObject(output, edge.inVertex().id());
+        });
+    }
+
+    void edgeRemoved(final Edge edge) {
+        this.append(REMOVE_EDGE, output -> this.kryo.writeClassAndObject(output, edge.id()));
+    }
+
+    void vertexPropertyAdded(final VertexProperty<?> vertexProperty) {
+        this.append(ADD_VERTEX_PROPERTY, output -> {
+            this.kryo.writeClassAndObject(output, vertexProperty.element().id());
+            this.kryo.writeClassAndObject(output, vertexProperty.id());
+            output.writeString(vertexProperty.key());
+            this.kryo.writeClassAndObject(output, vertexProperty.value());
+        });
+    }
+
+    void vertexPropertyRemoved(final VertexProperty<?> vertexProperty) {
+        this.append(REMOVE_VERTEX_PROPERTY, output -> {
+            this.kryo.writeClassAndObject(output, vertexProperty.element().id());
+            this.kryo.writeClassAndObject(output, vertexProperty.id());
+        });
+    }
+
+    /**
+     * Logs a property being set on an {@link Edge} or a {@link VertexProperty}.
+     */
+    void propertySet(final Property<?> property) {
+        if (property.element() instanceof Edge) {
+            this.append(SET_EDGE_PROPERTY, output -> {
+                this.kryo.writeClassAndObject(output, property.element().id());
+                output.writeString(property.key());
+                this.kryo.writeClassAndObject(output, property.value());
+            });
+        } else {
+            final VertexProperty<?> vertexProperty = (VertexProperty<?>) property.element();
+            this.append(SET_META_PROPERTY, output -> {
+                this.kryo.writeClassAndObject(output, vertexProperty.element().id());
+                this.kryo.writeClassAndObject(output, vertexProperty.id());
+                output.writeString(property.key());
+                this.kryo.writeClassAndObject(output, property.value());
+            });
+        }
+    }
+
+    /**
+     * Logs a property being removed from an {@link Edge} or a {@link VertexProperty}.
+     */
+    void propertyRemoved(final Property<?> property) {
+        if (property.element() instanceof Edge) {
+            this.append(REMOVE_EDGE_PROPERTY, output -> {
+                this.kryo.writeClassAndObject(output, property.element().id());
+                output.writeString(property.key());
+            });
+        } else {
+            final VertexProperty<?> vertexProperty = (VertexProperty<?>) property.element();
+            this.append(REMOVE_META_PROPERTY, output -> {
+                this.kryo.writeClassAndObject(output, vertexProperty.element().id());
+                this.kryo.writeClassAndObject(output, vertexProperty.id());
+                output.writeString(property.key());
+            });
+        }
+    }
+
+    void cleared() {
+        this.append(CLEAR, output -> {
+        });
+    }
+
+    /**
+     * Starts a compaction in the background unless one is still running, in which case the log keeps growing until
+     * the next record after it has finished. The log is only retired if the previous retired segment was deleted,
+     * otherwise the failed snapshot is just attempted again.
+     */
+    private void compact() {
+        if (null != this.compaction && !this.compaction.isDone())
+            return;
+        try {
+            if (!this.retiredFile.exists()) {
+                this.channel.force(true);
+                this.channel.close();
+                move(this.file, this.retiredFile);
+                this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException(String.format("Could not retire the write-ahead log at %s", this.file), ex);
+        }
+        this.records = 0;
+        this.compaction = this.compactor.submit(this::writeSnapshot);
+    }
+
+    /**
+     * Writes a new snapshot of the graph and deletes the retired segment whose records it now holds. The graph is
+     * read while it changes and a change that is only half made can fail the snapshot, so it is attempted a few
+     * times. A snapshot that still can't be written leaves the retired segment in place, where it is safe until the
+     * next compaction or {@link #close()}.
+     */
+    private void writeSnapshot() {
+        for (int attempt = 1; attempt <= SNAPSHOT_ATTEMPTS; attempt++) {
+            try {
+                this.snapshot.run();
+                Files.delete(this.retiredFile.toPath());
+                return;
+            } catch (Exception ignored) {
+                // try again with the graph as it is now
+            }
+        }
+    }
+
+    /**
+     * Waits for a running compaction and closes the log. If the background snapshot could not be written, it is
+     * written here, where the graph is no longer expected to change, and any failure to do so is reported after
+     * the log is closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.compactor.shutdown();
+        try {
+            this.compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!this.channel.isOpen())
+            return;
+        this.channel.force(true);
+        this.channel.close();
+        if (this.retiredFile.exists()) {
+            try {
+                this.snapshot.run();
+                Files.delete(this.retiredFile.toPath());
+            } catch (RuntimeException ex) {
+                throw new IOException(String.format("Could not compact the write-ahead log at %s", this.file), ex);
+            }
+        }
+    }
+
+    private synchronized void append(final byte operation, final Consumer<Output> record) {
+        // mutations of the graph computer view are not part of the graph
+        if (TinkerHelper.inComputerMode(this.graph))
+            return;
+        if (!this.channel.isOpen())
+            throw new IllegalStateException(String.format("The write-ahead log at %s is closed", this.file));
+
+        this.output.clear();
+        this.output.writeByte(operation);
+        record.accept(this.output);
+        final int length = this.output.position();
+        this.checksum.reset();
+        this.checksum.update(this.output.getBuffer(), 0, length);
+        this.header.clear();
+        this.header.putInt(length).putInt((int) this.checksum.getValue()).flip();
+        final ByteBuffer payload = ByteBuffer.wrap(this.output.getBuffer(), 0, length);
+        try {
+            while (this.header.hasRemaining() || payload.hasRemaining()) {
+                this.channel.write(new ByteBuffer[]{this.header, payload});
+            }
+            if (this.sync)
+                this.channel.force(false);
+        } catch (IOException ex) {
+            throw new IllegalStateException(String.format("Could not append to the write-ahead log at %s", this.file), ex);
+        }
+
+        if (++this.records >= this.compactionThreshold)
+            this.compact();
+    }
+
+    private static boolean readFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0)
+                return false;
+        }
+        return true;
+    }
+
+    private static void move(final File source, final File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source.toPath(), target.toPath());
+        }
+    }
+
+    private void apply(final Input input) {
+        final byte operation = input.readByte();
+        switch (operation) {
+            case ADD_VERTEX: {
+                final Object id = this.kryo.readClassAndObject(input);
+                final String label = input.readString();
+                if (!this.graph.vertices.containsKey(id))
+                    this.graph.addVertex(T.id, id, T.label, label);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                if (null != vertex)
+                    vertex.remove();
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = this.kryo.readClassAndObject(input);
+                final String label = input.readString();
+                final Vertex outVertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final Vertex inVertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                if (null != outVertex && null != inVertex && !this.graph.edges.containsKey(id))
+                    outVertex.addEdge(label, inVertex, T.id, id);
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                if (null != edge)
+                    edge.remove();
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final Object id = this.kryo.readClassAndObject(input);
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (null != vertex && null == this.vertexProperty(vertex, id))
+                    vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final VertexProperty<?> vertexProperty = null == vertex ? null : this.vertexProperty(vertex, this.kryo.readClassAndObject(input));
+                if (null != vertexProperty)
+                    vertexProperty.remove();
+                break;
+            }
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (null != edge)
+                    edge.property(key, value);
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Property<?> property = null == edge ? Property.empty() : edge.property(key);
+                if (property.isPresent())
+                    property.remove();
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final VertexProperty<?> vertexProperty = null == vertex ? null : this.vertexProperty(vertex, this.kryo.readClassAndObject(input));
+                if (null != vertexProperty)
+                    vertexProperty.property(input.readString(), this.kryo.readClassAndObject(input));
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final VertexProperty<?> vertexProperty = null == vertex ? null : this.vertexProperty(vertex, this.kryo.readClassAndObject(input));
+                if (null != vertexProperty) {
+                    final Property<?> property = vertexProperty.property(input.readString());
+                    if (property.isPresent())
+                        property.remove();
+                }
+                break;
+            }
+            case CLEAR:
+                this.graph.clear();
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown operation %s in the write-ahead log at %s", operation, this.file));
+        }
+    }
+
+    private VertexProperty<?> vertexProperty(final Vertex vertex, final Object id) {
+        final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties();
+        while (vertexProperties.hasNext()) {
+            final VertexProperty<Object> vertexProperty = vertexProperties.next();
+            if (vertexProperty.id().equals(id))
+                return vertexProperty;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * @author agent
+ */
+public class TinkerGraphComputerViewTest {
+
+    @Test
+    public void shouldKeepComputePropertyIdentifiersStableAcrossReads() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final TinkerVertex vertex = (TinkerVertex) graph.addVertex();
+        final TinkerGraphComputerView view = new TinkerGraphComputerView(graph, new GraphFilter(),
+                Collections.singleton(VertexComputeKey.of("rank", false)));
+
+        final Object id = ((VertexProperty<?>) view.addProperty(vertex, "rank", 0.5d)).id();
+        final VertexProperty<?> property = view.getProperty(vertex, "rank").get(0);
+        assertEquals(id, property.id());
+        assertEquals(property.id(), view.getProperty(vertex, "rank").get(0).id());
+        assertEquals(property, view.getProperty(vertex, "rank").get(0));
+
+        // a second property of the key gets an identifier of its own and the first one keeps its identifier
+        view.addProperty(vertex, "rank", 0.25d);
+        final List<VertexProperty<?>> properties = new ArrayList<>(view.getProperty(vertex, "rank"));
+        assertEquals(2, properties.size());
+        assertEquals(property.id(), properties.get(0).id());
+        assertNotEquals(properties.get(0).id(), properties.get(1).id());
+        assertEquals(properties, view.getProperty(vertex, "rank"));
+
+        properties.get(0).remove();
+        assertEquals(Collections.singletonList(properties.get(1)), view.getProperty(vertex, "rank"));
+        graph.close();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent
+ */
+public class TinkerMessageBoardTest {
+
+    @Test
+    public void shouldCombineMessagesThatTheCombinerMutates() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Vertex vertex = graph.addVertex();
+        final TinkerGraphComputerView view = new TinkerGraphComputerView(graph, new GraphFilter(), Collections.emptySet());
+        // combines like TraversalVertexProgramMessageCombiner by adding into the first message
+        final MessageCombiner<List<Integer>> combiner = (a, b) -> {
+            a.addAll(b);
+            return a;
+        };
+        final TinkerMessageBoard<List<Integer>> messageBoard = new TinkerMessageBoard<>(view, Optional.of(combiner));
+
+        final int threads = 8;
+        final int messages = 10000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < messages; j++) {
+                    messageBoard.sendMessage(vertex, new ArrayList<>(Collections.singletonList(j)));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * messages, messageBoard.completeIteration());
+        final List<List<Integer>> received = IteratorUtils.list(messageBoard.receiveMessages(vertex));
+        assertEquals(1, received.size());
+        assertEquals(threads * messages, received.get(0).size());
+        graph.close();
+    }
+}
@@ -21,12 +21,32 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerProgress;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputerListener;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.peerpressure.ClusterPopulationMapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.peerpressure.PeerPressureVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.LazyBarrierStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MemoryBoundStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.GraphStatisticsStrategy;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
 import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
@@ -39,6 +59,7 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolver;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -56,17 +77,29 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -297,6 +330,273 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseOrderedVertexIndexForRangeQueries() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("age", i % 2 == 0 ? i : (long) i, "probe", i);
+        }
+        g.addVertex("age", "unknown", "probe", -1);
+
+        // as with the hash index tests, the probe predicate is only evaluated for vertices that come out of the
+        // index so if it sees an age outside of the range then the index was not used
+        final GraphTraversalSource t = g.traversal();
+        assertEquals(new Long(10), t.V().has("age", P.gte(90)).has("probe", P.test((a, b) -> {
+            assertTrue((int) a >= 90);
+            return true;
+        }, 0)).count().next());
+        assertEquals(new Long(10), t.V().has("age", P.lt(10L)).has("probe", P.test((a, b) -> {
+            assertTrue((int) a < 10);
+            return true;
+        }, 0)).count().next());
+        assertEquals(new Long(9), t.V().has("age", P.inside(10, 20)).has("probe", P.test((a, b) -> {
+            assertTrue((int) a > 10 && (int) a < 20);
+            return true;
+        }, 0)).count().next());
+        assertEquals(new Long(10), t.V().has("age", P.between(10, 20)).has("probe", P.test((a, b) -> {
+            assertTrue((int) a >= 10 && (int) a < 20);
+            return true;
+        }, 0)).count().next());
+        assertEquals(new Long(4), t.V().has("age", P.outside(2, 97)).has("probe", P.test((a, b) -> {
+            assertTrue((int) a < 2 || (int) a > 97);
+            return true;
+        }, 0)).count().next());
+        assertEquals(new Long(1), t.V().has("age", 51).count().next());
+        assertEquals(new Long(1), t.V().has("age", "unknown").count().next());
+        assertEquals(new Long(0), t.V().has("age", P.gt(100)).count().next());
+
+        t.V().has("age", P.lt(50)).drop().iterate();
+        assertEquals(new Long(50), t.V().has("age", P.gte(0)).count().next());
+        t.V().has("age", P.gte(50)).property("age", 1000).iterate();
+        assertEquals(new Long(0), t.V().has("age", P.between(0, 1000)).count().next());
+        assertEquals(new Long(50), t.V().has("age", P.lte(1000)).count().next());
+    }
+
+    @Test
+    public void shouldUseOrderedVertexIndexForOrderLimit() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("age", i, "probe", i);
+        }
+
+        final GraphTraversalSource t = g.traversal();
+        final AtomicInteger probed = new AtomicInteger(0);
+        assertEquals(Arrays.asList(99, 98, 97), t.V().has("probe", P.test((a, b) -> probed.incrementAndGet() > 0, 0))
+                .order().by("age", Order.decr).limit(3).values("age").toList());
+        assertEquals(3, probed.get());
+
+        probed.set(0);
+        assertEquals(Arrays.asList(1, 3, 5), t.V().has("probe", P.test((a, b) -> {
+            probed.incrementAndGet();
+            return (int) a % 2 == 1;
+        }, 0)).order().by("age", Order.incr).limit(3).values("age").toList());
+        assertEquals(6, probed.get());
+
+        // a vertex without an age can't be ordered so the index must not be used to answer the traversal
+        g.addVertex("probe", 100);
+        probed.set(0);
+        try {
+            t.V().has("probe", P.test((a, b) -> probed.incrementAndGet() > 0, 0)).order().by("age", Order.decr).limit(3).toList();
+        } catch (Exception ignored) {
+            // the order() will fail on the vertex without an age
+        }
+        assertEquals(101, probed.get());
+    }
+
+    @Test
+    public void shouldOrderNonFiniteNumbersInOrderedVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        g.addVertex("weight", 1);
+        g.addVertex("weight", Double.NaN);
+        g.addVertex("weight", 2L);
+        g.addVertex("weight", Double.POSITIVE_INFINITY);
+        g.addVertex("weight", Float.NEGATIVE_INFINITY);
+        g.addVertex("weight", 0.5d);
+
+        final GraphTraversalSource t = g.traversal();
+        assertEquals(new Long(1), t.V().has("weight", Double.NaN).count().next());
+        assertEquals(new Long(1), t.V().has("weight", Double.POSITIVE_INFINITY).count().next());
+        assertEquals(new Long(1), t.V().has("weight", 2L).count().next());
+        assertEquals(new Long(1), t.V().has("weight", 0.5d).count().next());
+
+        t.V().has("weight", Double.NaN).drop().iterate();
+        assertEquals(new Long(0), t.V().has("weight", Double.NaN).count().next());
+        assertEquals(new Long(5), t.V().count().next());
+    }
+
+    @Test
+    public void shouldUseOrderedVertexIndexForOrderLimitAgainOnceUnorderableValuesAreRemoved() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        for (int i = 0; i < 10; i++) {
+            g.addVertex("age", i, "probe", i);
+        }
+        final Vertex v = g.addVertex("age", Arrays.asList(1, 2), "probe", 10);
+
+        final GraphTraversalSource t = g.traversal();
+        final AtomicInteger probed = new AtomicInteger(0);
+        try {
+            t.V().has("probe", P.test((a, b) -> probed.incrementAndGet() > 0, 0)).order().by("age", Order.decr).limit(3).toList();
+        } catch (Exception ignored) {
+            // the order() will fail on the list that is not comparable
+        }
+        assertEquals(11, probed.get());
+
+        v.property("age", 10);
+        probed.set(0);
+        assertEquals(Arrays.asList(10, 9, 8), t.V().has("probe", P.test((a, b) -> probed.incrementAndGet() > 0, 0))
+                .order().by("age", Order.decr).limit(3).values("age").toList());
+        assertEquals(3, probed.get());
+    }
+
+    @Test
+    public void shouldNotUseOrderedVertexIndexForOrderLimitWithMultiPropertiesOfTheKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        for (int i = 0; i < 10; i++) {
+            g.addVertex("age", i, "probe", i);
+        }
+        // two values for one vertex make up for the missing value of another in the number of index entries
+        final Vertex multi = g.addVertex("age", 20, "probe", 10);
+        multi.property(VertexProperty.Cardinality.list, "age", 21);
+        final Vertex missing = g.addVertex("probe", 11);
+
+        final GraphTraversalSource t = g.traversal();
+        final AtomicInteger probed = new AtomicInteger(0);
+        try {
+            t.V().has("probe", P.test((a, b) -> probed.incrementAndGet() > 0, 0)).order().by("age", Order.decr).limit(3).toList();
+            fail("The vertex without an age can not be ordered");
+        } catch (Exception ignored) {
+            // the order() fails on the vertex without an age as it does without an index
+        }
+        assertEquals(12, probed.get());
+
+        // with a value for every vertex the multi-properties still keep the index from being used
+        missing.property("age", 30);
+        probed.set(0);
+        try {
+            t.V().has("probe", P.test((a, b) -> probed.incrementAndGet() > 0, 0)).order().by("age", Order.decr).limit(3).toList();
+        } catch (Exception ignored) {
+            // the order() fails on the vertex with several ages
+        }
+        assertEquals(12, probed.get());
+
+        multi.properties("age").forEachRemaining(p -> {
+            if (p.value().equals(21)) p.remove();
+        });
+        probed.set(0);
+        assertEquals(Arrays.asList(30, 20, 9), t.V().has("probe", P.test((a, b) -> probed.incrementAndGet() > 0, 0))
+                .order().by("age", Order.decr).limit(3).values("age").toList());
+        assertEquals(3, probed.get());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "status");
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+        for (int i = 0; i < 100; i++) {
+            g.addVertex(T.label, i % 2 == 0 ? "person" : "software", "tenant", i % 5, "status", i % 3 == 0 ? "active" : "inactive", "probe", i);
+        }
+
+        final GraphTraversalSource t = g.traversal();
+        assertEquals(new Long(4), t.V().hasLabel("person").has("tenant", 0).has("status", "active").has("probe", P.test((a, b) -> {
+            assertTrue((int) a % 2 == 0 && (int) a % 5 == 0 && (int) a % 3 == 0);
+            return true;
+        }, 0)).count().next());
+
+        t.V().has("probe", 0).property("status", "inactive").iterate();
+        assertEquals(new Long(3), t.V().hasLabel("person").has("tenant", 0).has("status", "active").count().next());
+        t.V().has("probe", 30).drop().iterate();
+        assertEquals(new Long(2), t.V().hasLabel("person").has("tenant", 0).has("status", "active").count().next());
+        t.V().has("probe", 60).properties("status").drop().iterate();
+        assertEquals(new Long(1), t.V().hasLabel("person").has("tenant", 0).has("status", "active").count().next());
+        t.V().has("probe", 60).property("status", "active").iterate();
+        assertEquals(new Long(2), t.V().hasLabel("person").has("tenant", 0).has("status", "active").count().next());
+
+        g.dropCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "status");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(new Long(2), t.V().hasLabel("person").has("tenant", 0).has("status", "active").count().next());
+    }
+
+    @Test
+    public void shouldUseMostSelectiveVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+        g.createIndex("status", Vertex.class);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("tenant", 1, "status", i < 3 ? "suspended" : "active", "probe", i);
+        }
+
+        // the status index yields three vertices while the tenant index yields all of them
+        final GraphTraversalSource t = g.traversal();
+        assertEquals(new Long(3), t.V().has("tenant", 1).has("status", "suspended").has("probe", P.test((a, b) -> {
+            assertTrue((int) a < 3);
+            return true;
+        }, 0)).count().next());
+        assertEquals(new Long(97), t.V().has("status", "active").has("tenant", 1).count().next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOneKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, "tenant");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCreateIndexOfDifferentTypeForIndexedKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+    }
+
+    @Test
+    public void shouldMaintainIndicesUnderConcurrentUpdates() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("status", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+
+        // every thread works on its own vertices but they all share the same few index buckets
+        final int threads = 8;
+        final int verticesPerThread = 250;
+        final List<Thread> workers = new ArrayList<>();
+        final AtomicInteger failures = new AtomicInteger(0);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Thread(() -> {
+                try {
+                    final List<Vertex> vertices = new ArrayList<>();
+                    for (int j = 0; j < verticesPerThread; j++) {
+                        vertices.add(g.addVertex("status", "new", "age", j % 10));
+                    }
+                    for (int j = 0; j < verticesPerThread; j++) {
+                        vertices.get(j).property("status", "done");
+                        vertices.get(j).property("age", 100);
+                        if (j % 2 == 0)
+                            vertices.get(j).remove();
+                    }
+                } catch (Exception ex) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(0, failures.get());
+
+        final GraphTraversalSource t = g.traversal();
+        final long remaining = threads * verticesPerThread / 2;
+        assertEquals(new Long(0), t.V().has("status", "new").count().next());
+        assertEquals(new Long(remaining), t.V().has("status", "done").count().next());
+        assertEquals(new Long(0), t.V().has("age", P.lt(100)).count().next());
+        assertEquals(new Long(remaining), t.V().has("age", P.gte(100)).count().next());
+        assertEquals(10, t.V().order().by("age", Order.decr).limit(10).toList().size());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -439,6 +739,271 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final Configuration conf = snapshotConfiguration("shouldPersistToSnapshot");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistIndicesToSnapshot() {
+        final Configuration conf = snapshotConfiguration("shouldPersistIndicesToSnapshot");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.ORDERED);
+        graph.createIndex("weight", Edge.class);
+        graph.createCompositeIndex(Vertex.class, T.label.getAccessor(), "name");
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        assertEquals(2, reloadedGraph.getIndexedKeys(Vertex.class).size());
+        assertEquals(TinkerGraph.IndexType.ORDERED, TinkerHelper.getIndexType(reloadedGraph, "age", Vertex.class));
+        assertEquals(1, reloadedGraph.getIndexedKeys(Edge.class).size());
+        assertEquals(1, reloadedGraph.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(new Long(1), reloadedGraph.traversal().V().has("age", P.test((t, u) -> {
+            assertEquals(29, t);
+            return true;
+        }, 0)).has("name", "marko").count().next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistLargeGraphToSnapshot() {
+        final Configuration conf = snapshotConfiguration("shouldPersistLargeGraphToSnapshot");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        // enough vertices and edges to be split over several chunks
+        final int count = 70000;
+        final List<Vertex> vertices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vertices.add(graph.addVertex(T.label, "v" + (i % 3), "i", i));
+        }
+        for (int i = 0; i < count; i++) {
+            vertices.get(i).addEdge("next", vertices.get((i + 1) % count), "i", i);
+            vertices.get(i).addEdge("skip", vertices.get((i + 7) % count));
+        }
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = reloadedGraph.traversal();
+        assertEquals(new Long(count), g.V().count().next());
+        assertEquals(new Long(2 * count), g.E().count().next());
+        assertEquals(new Long(count / 3 + 1), g.V().hasLabel("v0").count().next());
+        assertEquals(12345, g.V().has("i", 12344).out("next").values("i").next());
+        assertEquals(69999, g.V().has("i", 69999).outE("next").values("i").next());
+        assertEquals(6, g.V().has("i", 69999).out("skip").values("i").next());
+        assertEquals(69992, g.V().has("i", 69999).in("skip").values("i").next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistStringsOfEveryEncodingToSnapshot() {
+        final Configuration conf = snapshotConfiguration("shouldPersistStringsOfEveryEncodingToSnapshot");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        // empty, single character, ascii, long ascii and non-ascii strings are each encoded differently by kryo
+        final List<String> strings = Arrays.asList("", "a", "ascii", String.join("", Collections.nCopies(100, "ascii")), "n\u00e4me", "\u540d\u524d");
+        for (int i = 0; i < strings.size(); i++) {
+            graph.addVertex(T.label, strings.get(i).isEmpty() ? "empty" : strings.get(i), "i", i, "s", strings.get(i), "l", new ArrayList<>(strings));
+        }
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = reloadedGraph.traversal();
+        for (int i = 0; i < strings.size(); i++) {
+            assertEquals(strings.get(i), g.V().has("i", i).values("s").next());
+            assertEquals(strings, g.V().has("i", i).values("l").next());
+            assertEquals(strings.get(i).isEmpty() ? "empty" : strings.get(i), g.V().has("i", i).label().next());
+        }
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCompactWriteAheadLogToSnapshot() {
+        final Configuration conf = writeAheadLogConfiguration("shouldCompactWriteAheadLogToSnapshot", 10);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    private static Configuration snapshotConfiguration(final String name) {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + name + ".tgs";
+        new File(graphLocation).delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, "list");
+        return conf;
+    }
+
+    @Test
+    public void shouldRecoverFromWriteAheadLogWithoutClose() {
+        final Configuration conf = writeAheadLogConfiguration("shouldRecoverFromWriteAheadLogWithoutClose", 100000);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+
+        // never closed, as if the process had died
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(recoveredGraph, true, false);
+        recoveredGraph.close();
+    }
+
+    @Test
+    public void shouldReplayMutationsFromWriteAheadLog() {
+        final Configuration conf = writeAheadLogConfiguration("shouldReplayMutationsFromWriteAheadLog", 100000);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        final GraphTraversalSource g = graph.traversal();
+        g.V().has("name", "marko").next().remove();
+        g.V().has("name", "stephen").properties("location").has(T.value, "centreville").next().remove();
+        ((VertexProperty<?>) g.V().has("name", "stephen").properties("location").has(T.value, "dulles").next()).property("endTime", 2016);
+        ((VertexProperty<?>) g.V().has("name", "daniel").properties("location").has(T.value, "aachen").next()).property("startTime").remove();
+        g.E().has("skill", 5).next().property("skill", 1);
+        g.V().has("name", "matthias").next().property(VertexProperty.Cardinality.single, "name", "mbroecheler");
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = reloadedGraph.traversal();
+        assertEquals(new Long(5), r.V().count().next());
+        assertEquals(new Long(0), r.V().has("name", "marko").count().next());
+        assertEquals(g.E().count().next(), r.E().count().next());
+        assertEquals(new Long(2), r.V().has("name", "stephen").properties("location").count().next());
+        assertEquals(2016, r.V().has("name", "stephen").properties("location").has(T.value, "dulles").values("endTime").next());
+        assertEquals(new Long(0), r.V().has("name", "daniel").properties("location").has(T.value, "aachen").values("startTime").count().next());
+        assertEquals(g.E().has("skill", 5).count().next(), r.E().has("skill", 5).count().next());
+        assertEquals(g.E().has("skill", 1).count().next(), r.E().has("skill", 1).count().next());
+        assertEquals(new Long(1), r.V().has("name", "mbroecheler").count().next());
+        assertEquals(new Long(0), r.V().has("name", "matthias").count().next());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCompactWriteAheadLog() {
+        final Configuration conf = writeAheadLogConfiguration("shouldCompactWriteAheadLog", 10);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final String graphLocation = conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION);
+        assertTrue(new File(graphLocation).exists());
+        assertFalse(new File(graphLocation + ".wal.compacting").exists());
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldNotWaitForCompactionOfWriteAheadLog() throws Exception {
+        final Configuration conf = writeAheadLogConfiguration("shouldNotWaitForCompactionOfWriteAheadLog", 2);
+        final File file = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION) + ".wal");
+        final File retired = new File(file.getPath() + ".compacting");
+        final TinkerGraph graph = TinkerGraph.open();
+        final CountDownLatch snapshotStarted = new CountDownLatch(1);
+        final CountDownLatch releaseSnapshot = new CountDownLatch(1);
+        final TinkerWriteAheadLog log = new TinkerWriteAheadLog(graph, file, 2, false, () -> {
+            snapshotStarted.countDown();
+            try {
+                releaseSnapshot.await();
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+
+        // the second record starts a compaction whose snapshot blocks, yet further records are still appended
+        for (int i = 0; i < 10; i++) {
+            log.vertexAdded(graph.addVertex(T.id, i));
+        }
+        assertTrue(snapshotStarted.await(10, TimeUnit.SECONDS));
+        assertTrue(retired.exists());
+        assertTrue(file.length() > 0);
+
+        releaseSnapshot.countDown();
+        log.close();
+        assertFalse(retired.exists());
+
+        // the records appended during the compaction are still in the log
+        final TinkerGraph replayed = TinkerGraph.open();
+        final TinkerWriteAheadLog replayLog = new TinkerWriteAheadLog(replayed, file, 100000, false, () -> {});
+        replayLog.replay();
+        replayLog.close();
+        assertEquals(8, IteratorUtils.count(replayed.vertices()));
+    }
+
+    @Test
+    public void shouldReplayRetiredWriteAheadLogSegment() throws Exception {
+        final Configuration conf = writeAheadLogConfiguration("shouldReplayRetiredWriteAheadLogSegment", 100000);
+        final String graphLocation = conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // as if the process died during a compaction right after the log was retired
+        Files.move(Paths.get(graphLocation + ".wal"), Paths.get(graphLocation + ".wal.compacting"));
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        assertFalse(new File(graphLocation + ".wal.compacting").exists());
+        assertTrue(new File(graphLocation).exists());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldIgnorePartialRecordAtEndOfWriteAheadLog() throws Exception {
+        final Configuration conf = writeAheadLogConfiguration("shouldIgnorePartialRecordAtEndOfWriteAheadLog", 100000);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final File log = new File(conf.getString(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION) + ".wal");
+        final long length = log.length();
+        try (final FileOutputStream out = new FileOutputStream(log, true)) {
+            out.write(new byte[]{0, 0, 0, 64, 1, 2, 3});
+        }
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        assertEquals(length, log.length());
+        reloadedGraph.addVertex("name", "daniel");
+        reloadedGraph.close();
+
+        final TinkerGraph reloadedAgainGraph = TinkerGraph.open(conf);
+        assertEquals(new Long(7), reloadedAgainGraph.traversal().V().count().next());
+        reloadedAgainGraph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationForWriteAheadLog() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
+    private static Configuration writeAheadLogConfiguration(final String name, final long compactionThreshold) {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + name + ".kryo";
+        new File(graphLocation).delete();
+        new File(graphLocation + ".wal").delete();
+        new File(graphLocation + ".wal.compacting").delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_COMPACTION_THRESHOLD, compactionThreshold);
+        return conf;
+    }
+
     @Test
     public void shouldPersistToAnyGraphFormat() {
         final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToAnyGraphFormat.dat";
@@ -470,6 +1035,332 @@ public class TinkerGraphTest {
         assertEquals(TestIoBuilder.calledCreate, 1);
     }
 
+    @Test
+    public void shouldUseArrayAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, TinkerGraph.AdjacencyStorage.ARRAY.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        IoTest.assertModernGraph(graph, true, false);
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(3, g.V().has("name", "marko").out().count().next().longValue());
+        assertEquals(2, g.V().has("name", "marko").out("knows").count().next().longValue());
+        assertEquals(3, g.V().has("name", "lop").in("created").count().next().longValue());
+        assertEquals(3, g.V().has("name", "josh").both().count().next().longValue());
+
+        g.V().has("name", "marko").outE("knows").drop().iterate();
+        assertEquals(0, g.V().has("name", "marko").out("knows").count().next().longValue());
+        assertEquals(0, g.V().has("name", "vadas").in().count().next().longValue());
+        assertEquals(1, g.V().has("name", "marko").out().count().next().longValue());
+        assertEquals(4, IteratorUtils.count(graph.edges()));
+
+        g.V().has("name", "lop").drop().iterate();
+        assertEquals(0, g.V().has("name", "marko").out().count().next().longValue());
+        assertEquals(1, g.V().has("name", "josh").out().count().next().longValue());
+        assertEquals(1, IteratorUtils.count(graph.edges()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotOpenWithUnknownAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, "LINKED");
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldComputeOverEveryVertexWithSmallComputerChunkSize() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPUTER_CHUNK_SIZE, 3);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final TinkerGraph reference = TinkerGraph.open();
+        final Random random = new Random(42l);
+        for (int i = 0; i < 2000; i++) {
+            graph.addVertex(T.id, i);
+            reference.addVertex(T.id, i);
+        }
+        for (int i = 0; i < 8000; i++) {
+            final int out = random.nextInt(2000);
+            final int in = random.nextInt(2000);
+            graph.vertices(out).next().addEdge("link", graph.vertices(in).next());
+            reference.vertices(out).next().addEdge("link", reference.vertices(in).next());
+        }
+
+        final int workers = graph.compute().features().getMaxWorkers();
+        final ComputerResult chunked = graph.compute().workers(workers).program(PageRankVertexProgram.build().create(graph)).submit().get();
+        final ComputerResult expected = reference.compute().workers(1).program(PageRankVertexProgram.build().create(reference)).submit().get();
+        assertEquals(2000, IteratorUtils.count(chunked.graph().vertices()));
+        chunked.graph().vertices().forEachRemaining(v -> {
+            final double rank = v.value(PageRankVertexProgram.PAGE_RANK);
+            final double expectedRank = expected.graph().vertices(v.id()).next().value(PageRankVertexProgram.PAGE_RANK);
+            assertEquals(expectedRank, rank, 0.000001d);
+        });
+
+        final ComputerResult clustered = graph.compute().workers(workers)
+                .program(PeerPressureVertexProgram.build().create(graph))
+                .mapReduce(ClusterPopulationMapReduce.build().create()).submit().get();
+        final Map<Object, Long> populations = clustered.memory().get(ClusterPopulationMapReduce.DEFAULT_MEMORY_KEY);
+        assertEquals(2000l, populations.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void shouldReportProgressToGraphComputerListener() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final List<ComputerProgress> iterations = new ArrayList<>();
+        final List<MapReduce.Stage> stages = new ArrayList<>();
+        graph.compute().program(PageRankVertexProgram.build().iterations(5).create(graph))
+                .mapReduce(ClusterPopulationMapReduce.build().create())
+                .listener(new GraphComputerListener() {
+                    @Override
+                    public void iterationCompleted(final ComputerProgress progress) {
+                        iterations.add(progress);
+                    }
+
+                    @Override
+                    public void mapReduceStageCompleted(final MapReduce mapReduce, final MapReduce.Stage stage, final ComputerProgress progress) {
+                        stages.add(stage);
+                    }
+                }).submit().get();
+
+        // pagerank does an extra iteration to count the edges of each vertex
+        assertEquals(6, iterations.size());
+        for (int i = 0; i < iterations.size(); i++) {
+            assertEquals(i, iterations.get(i).getIteration());
+            assertEquals(6, iterations.get(i).getProcessed());
+            assertTrue(iterations.get(i).getUsedMemory() > 0);
+        }
+        assertEquals(6, iterations.get(0).getMessagesSent());
+        assertEquals(0, iterations.get(5).getMessagesSent());
+        assertEquals(Arrays.asList(MapReduce.Stage.MAP, MapReduce.Stage.REDUCE), stages);
+    }
+
+    @Test
+    public void shouldCancelComputationFromGraphComputerListener() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final AtomicInteger iterations = new AtomicInteger(0);
+        try {
+            graph.compute().program(PageRankVertexProgram.build().iterations(30).create(graph))
+                    .listener(new GraphComputerListener() {
+                        @Override
+                        public void iterationCompleted(final ComputerProgress progress) {
+                            if (iterations.incrementAndGet() == 2) throw new IllegalStateException("too slow");
+                        }
+                    }).submit().get();
+            fail("The computation should have been cancelled by the listener");
+        } catch (ExecutionException ex) {
+            assertEquals(2, iterations.get());
+        }
+        // the graph leaves computer mode once the computation is aborted
+        assertFalse(TinkerHelper.inComputerMode(graph));
+    }
+
+    @Test
+    public void shouldProvideStatistics() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final Graph.Statistics statistics = graph.statistics().get();
+        assertEquals(6, statistics.vertexCount());
+        assertEquals(4, statistics.vertexCount("person"));
+        assertEquals(0, statistics.vertexCount("nothing"));
+        assertEquals(6, statistics.edgeCount());
+        assertEquals(4, statistics.edgeCount("created"));
+        assertEquals(3, statistics.vertexCount(Direction.OUT, "created"));
+        assertEquals(2, statistics.vertexCount(Direction.IN, "created"));
+        assertEquals(3, statistics.vertexCount(Direction.OUT, null));
+        assertEquals(4.0d / 3.0d, statistics.averageDegree(Direction.OUT, "created"), 0.000001d);
+        assertEquals(2.0d, statistics.averageDegree(Direction.IN, "created"), 0.000001d);
+        assertEquals(1.0d / 6.0d, statistics.selectivity(Vertex.class, "name", P.eq("marko")), 0.000001d);
+        assertEquals(2.0d / 6.0d, statistics.selectivity(Vertex.class, "age", P.gt(30)), 0.000001d);
+        assertEquals(4.0d / 6.0d, statistics.selectivity(Vertex.class, T.label.getAccessor(), P.eq("person")), 0.000001d);
+        assertEquals(1.0d / 6.0d, statistics.selectivity(Vertex.class, T.id.getAccessor(), P.eq(1)), 0.000001d);
+        assertEquals(2.0d / 6.0d, statistics.selectivity(Edge.class, "weight", P.gt(0.5d)), 0.000001d);
+        assertEquals(0.0d, statistics.selectivity(Edge.class, "name", P.eq("marko")), 0.000001d);
+
+        // the snapshot is only taken again once the graph changes enough
+        graph.addVertex("name", "stephen");
+        assertEquals(7, graph.statistics().get().vertexCount());
+        assertEquals(7, graph.statistics().get().vertexCount());
+    }
+
+    @Test
+    public void shouldOrderHasContainersBySelectivity() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final Traversal.Admin<Vertex, Vertex> traversal = graph.traversal().withStrategies(GraphStatisticsStrategy.instance()).V().has("age", P.gt(20)).has("name", "josh").asAdmin();
+        traversal.applyStrategies();
+        final List<HasContainer> hasContainers = ((TinkerGraphStep<?, ?>) traversal.getStartStep()).getHasContainers();
+        assertEquals("name", hasContainers.get(0).getKey());
+        assertEquals("age", hasContainers.get(1).getKey());
+        assertEquals("josh", traversal.next().value("name"));
+        assertFalse(traversal.hasNext());
+    }
+
+    @Test
+    public void shouldTraverseWithParallelismLikeSequentialTraversal() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42l);
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(T.id, i, T.label, i % 2 == 0 ? "even" : "odd", "value", i % 7);
+        }
+        for (int i = 0; i < 2000; i++) {
+            graph.vertices(random.nextInt(500)).next().addEdge("link", graph.vertices(random.nextInt(500)).next());
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource p = graph.traversal().withParallelism(4);
+        assertEquals(g.V().out().out().count().next(), p.V().out().out().count().next());
+        assertEquals(g.V().out().out().values("value").sum().next(), p.V().out().out().values("value").sum().next());
+        assertEquals(g.V().both().values("value").fold().next(), p.V().both().values("value").fold().next());
+        assertEquals(g.V().both().values("value").fold(new ArrayList<>(), Operator.addAll).next(), p.V().both().values("value").fold(new ArrayList<>(), Operator.addAll).next());
+        assertEquals(g.V().both().values("value").fold(0, Operator.sum).next(), p.V().both().values("value").fold(0, Operator.sum).next());
+        assertEquals(g.V().out().out().groupCount().by("value").next(), p.V().out().out().groupCount().by("value").next());
+        assertEquals(g.V().out().group().by(T.label).by(__.values("value").sum()).next(), p.V().out().group().by(T.label).by(__.values("value").sum()).next());
+        assertEquals(g.V().local(__.out().count()).max().next(), p.V().local(__.out().count()).max().next());
+        assertEquals(g.V().out().in().order().by("value").by(T.id).id().toList(), p.V().out().in().order().by("value").by(T.id).id().toList());
+        assertEquals(0l, p.V().has("value", 100).out().count().next().longValue());
+    }
+
+    @Test
+    public void shouldBulkPathsWithAdaptiveLazyBarriers() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42l);
+        for (int i = 0; i < 200; i++) {
+            graph.addVertex(T.id, i, "value", i % 7);
+        }
+        for (int i = 0; i < 1000; i++) {
+            graph.vertices(random.nextInt(200)).next().addEdge("link", graph.vertices(random.nextInt(20)).next());
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource b = graph.traversal().withStrategies(LazyBarrierStrategy.instance());
+        assertEquals(g.V().out().out().out().count().next(), b.V().out().out().out().count().next());
+        assertEquals(g.V().out().out().out().path().groupCount().next(), b.V().out().out().out().path().groupCount().next());
+        assertEquals(g.V().as("a").out().out().out().select("a").groupCount().next(), b.V().as("a").out().out().out().select("a").groupCount().next());
+    }
+
+    @Test
+    public void shouldProduceTheSameResultsWithRecycledTraversers() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42l);
+        for (int i = 0; i < 200; i++) {
+            graph.addVertex(T.id, i, "value", i % 7);
+        }
+        for (int i = 0; i < 1000; i++) {
+            graph.vertices(random.nextInt(200)).next().addEdge("link", graph.vertices(random.nextInt(200)).next());
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource r = graph.traversal().withRecycling();
+        assertEquals(g.V().out().out().values("value").groupCount().next(), r.V().out().out().values("value").groupCount().next());
+        assertEquals(g.V().out().has("value", P.gt(2)).in().id().toList(), r.V().out().has("value", P.gt(2)).in().id().toList());
+        assertEquals(g.V().repeat(__.out()).times(3).barrier().groupCount().by(T.id).next(), r.V().repeat(__.out()).times(3).barrier().groupCount().by(T.id).next());
+        assertEquals(g.withSack(1).V().out().sack(Operator.sum).by("value").out().sack().sum().next(), r.withSack(1).V().out().sack(Operator.sum).by("value").out().sack().sum().next());
+        assertEquals(g.V().as("a").out().out().select("a").groupCount().next(), r.V().as("a").out().out().select("a").groupCount().next());
+        assertEquals(g.V().group().by(T.label).by(__.values("value").fold()).next(), r.V().group().by(T.label).by(__.values("value").fold()).next());
+        assertEquals(g.V().group().by("value").by(__.out().count()).next(), r.V().group().by("value").by(__.out().count()).next());
+    }
+
+    @Test
+    public void shouldBindParametersToCachedTraversalPlans() {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.createIndex("name", Vertex.class);
+        final Random random = new Random(42l);
+        for (int i = 0; i < 200; i++) {
+            graph.addVertex(T.id, i, "name", "name" + (i % 50), "age", i % 7);
+        }
+        for (int i = 0; i < 1000; i++) {
+            graph.vertices(random.nextInt(200)).next().addEdge("link", graph.vertices(random.nextInt(200)).next());
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource c = graph.traversal().withPlanCache(100);
+        final Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            final int id = random.nextInt(200);
+            ids.add(id);
+            final String name = "name" + random.nextInt(50);
+            final int age = random.nextInt(7);
+            assertEquals(g.V(id).out().values("name").toList(), c.V(id).out().values("name").toList());
+            assertEquals(g.V().has("name", name).out().has("age", P.gt(age)).id().toList(), c.V().has("name", name).out().has("age", P.gt(age)).id().toList());
+            assertEquals(g.V(id).has("age", age).out().out().count().next(), c.V(id).has("age", age).out().out().count().next());
+            assertEquals(g.V().has("age", age).where(__.out().has("age", 3)).count().next(), c.V().has("age", age).where(__.out().has("age", 3)).count().next());
+            assertEquals(g.V().has(T.id, id).values("name").toList(), c.V().has(T.id, id).values("name").toList());
+        }
+        // has(id) is folded into the start step and thus, each id has its own plan
+        assertEquals(4 + ids.size(), c.getStrategies().getPlanCache().get().size());
+        assertEquals(4 * 49 + 50 - ids.size(), c.getStrategies().getPlanCache().get().getHits());
+    }
+
+    @Test
+    public void shouldNotShareCachedPlansAcrossDifferentlyConfiguredStrategies() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource c = graph.traversal().withPlanCache(100);
+
+        final GraphTraversalSource a = c.withStrategies(PartitionStrategy.build().partitionKey("_partition").writePartition("a").addReadPartition("a").create());
+        final GraphTraversalSource b = c.withStrategies(PartitionStrategy.build().partitionKey("_partition").writePartition("b").addReadPartition("b").create());
+        a.addV().property("name", "x").iterate();
+        assertEquals(Collections.singletonList("x"), a.V().has("name", "x").values("name").toList());
+        assertEquals(0l, b.V().has("name", "x").count().next().longValue());
+
+        assertEquals(1.0d, c.withSack(1.0d).V(1).sack().next());
+        assertEquals(2.0d, c.withSack(2.0d).V(1).sack().next());
+        // the sack of a source is also bound to the cached plan of its own traversals
+        final GraphTraversalSource s = c.withSack(3.0d);
+        assertEquals(3.0d, s.V(1).sack().next());
+        assertEquals(3.0d, s.V(2).sack().next());
+
+        final List<Object> l1 = new ArrayList<>();
+        final List<Object> l2 = new ArrayList<>();
+        c.withSideEffect("a", l1).V().values("name").store("a").iterate();
+        c.withSideEffect("a", l2).V().values("name").store("a").iterate();
+        assertEquals(7, l1.size());
+        assertEquals(7, l2.size());
+        // a side-effect with an initial value supplier gives each traversal of a source its own value
+        final GraphTraversalSource e = c.<List<Object>>withSideEffect("a", ArrayList::new, (BinaryOperator) Operator.addAll);
+        assertEquals(7, e.V().values("name").store("a").<Collection<?>>cap("a").next().size());
+        assertEquals(7, e.V().values("name").store("a").<Collection<?>>cap("a").next().size());
+    }
+
+    @Test
+    public void shouldProduceTheSameMatchesWithGenericJoins() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42l);
+        for (int i = 0; i < 100; i++) {
+            graph.addVertex(T.id, i, "value", i % 5);
+        }
+        for (int i = 0; i < 800; i++) { // with parallel edges
+            graph.vertices(random.nextInt(100)).next().addEdge(random.nextBoolean() ? "a" : "b", graph.vertices(random.nextInt(100)).next());
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource j = graph.traversal().withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.GenericJoinMatchAlgorithm.class).create());
+        final Traversal<Vertex, Long> triangles = g.V().match(__.as("x").out().as("y"), __.as("y").out().as("z"), __.as("x").out().as("z")).count();
+        assertEquals(triangles.next(), j.V().match(__.as("x").out().as("y"), __.as("y").out().as("z"), __.as("x").out().as("z")).count().next());
+        assertEquals(g.V().match(__.as("x").out("a").as("y"), __.as("y").out("b").as("z"), __.as("z").out().as("w"), __.as("x").both().as("w")).select("x", "y", "z", "w").by(T.id).toList().size(),
+                j.V().match(__.as("x").out("a").as("y"), __.as("y").out("b").as("z"), __.as("z").out().as("w"), __.as("x").both().as("w")).select("x", "y", "z", "w").by(T.id).toList().size());
+        assertEquals(g.V().match(__.as("x").out().as("y"), __.as("y").in().as("z"), __.as("x").out().as("z"), __.as("z").has("value", 2)).groupCount().by(__.select("x").by(T.id)).next(),
+                j.V().match(__.as("x").out().as("y"), __.as("y").in().as("z"), __.as("x").out().as("z"), __.as("z").has("value", 2)).groupCount().by(__.select("x").by(T.id)).next());
+    }
+
+    @Test
+    public void shouldProduceTheSameResultsWithSpillingDedup() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(42l);
+        for (int i = 0; i < 200; i++) {
+            graph.addVertex(T.id, i, "value", i % 7);
+        }
+        for (int i = 0; i < 1000; i++) {
+            graph.vertices(random.nextInt(200)).next().addEdge("link", graph.vertices(random.nextInt(200)).next());
+        }
+
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource m = graph.traversal().withStrategies(MemoryBoundStrategy.build().maxSize(8).create());
+        assertEquals(g.V().out().out().dedup().id().toSet(), m.V().out().out().dedup().id().toSet());
+        assertEquals(g.V().out().out().dedup().count().next(), m.V().out().out().dedup().count().next());
+        assertEquals(g.V().outE().dedup().count().next(), m.V().outE().dedup().count().next());
+        assertEquals(g.V().as("a").out().as("b").dedup("a", "b").count().next(), m.V().as("a").out().as("b").dedup("a", "b").count().next());
+        assertEquals(g.V().out().out().dedup().by("value").count().next(), m.V().out().out().dedup().by("value").count().next());
+        assertEquals(g.V().local(__.out().out().dedup().count()).toList(), m.V().local(__.out().out().dedup().count()).toList());
+    }
+
     @Test
     public void shouldSerializeWithColorClassResolverToTinkerGraph() throws Exception {
         final Map<String,Color> colors = new HashMap<>();